@@ -66,18 +66,22 @@ public abstract class BenchmarkSupport {
 
         @Setup(Level.Trial)
         public void doSetup() {
-            MySqlConnectionConfiguration configuration = MySqlConnectionConfiguration.builder()
+            MySqlConnectionConfiguration configuration = configure(MySqlConnectionConfiguration.builder()
                 .host("127.0.0.1")
                 .connectTimeout(Duration.ofSeconds(3))
                 .user("root")
                 .password(PASSWORD)
                 .database("r2dbc")
-                .autodetectExtensions(false)
+                .autodetectExtensions(false))
                 .build();
 
             connection = MySqlConnectionFactory.from(configuration).create().block();
         }
 
+        protected MySqlConnectionConfiguration.Builder configure(MySqlConnectionConfiguration.Builder builder) {
+            return builder;
+        }
+
         @TearDown(Level.Trial)
         public void doTearDown() {
             Mono.from(connection.close()).block();
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.r2dbc.spi.Statement;
+import org.junit.platform.commons.annotation.Testable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Timeout;
+import reactor.core.publisher.Flux;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for execute {@code SELECT ?} by server-preparing statements, which hits the prepare cache.
+ * <p>
+ * The cached statement will be executed without {@code COM_STMT_RESET} if nothing is left behind by previous
+ * executions, compare to {@link SelectOneBenchmark} for the baseline of a single round trip.
+ */
+@State(Scope.Benchmark)
+@Threads(Threads.MAX)
+@Timeout(time = 10)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Testable
+public class PrepareCacheHitBenchmark extends BenchmarkSupport {
+
+    @Benchmark
+    @Testable
+    public BigInteger selectOne(PrepareConnectionState state) {
+        return select(state.connection.createStatement("SELECT ?").bind(0, 1));
+    }
+
+    @Benchmark
+    @Testable
+    public BigInteger selectOneByCursor(PrepareConnectionState state) {
+        // The cursor is exhausted, so the statement can still be executed without reset.
+        return select(state.connection.createStatement("SELECT ?").bind(0, 1).fetchSize(1));
+    }
+
+    private static BigInteger select(Statement statement) {
+        BigInteger val = Flux.from(statement.execute())
+            .flatMap(it -> it.map((row, rowMetadata) -> row.get(0, BigInteger.class)))
+            .blockLast();
+        if (val == null || 1 != val.intValue()) {
+            throw new IllegalStateException("ERROR different to val:" + val);
+        }
+        return val;
+    }
+
+    @State(Scope.Thread)
+    public static class PrepareConnectionState extends ConnectionState {
+
+        @Override
+        protected MySqlConnectionConfiguration.Builder configure(MySqlConnectionConfiguration.Builder builder) {
+            return builder.useServerPrepareStatement();
+        }
+    }
+}
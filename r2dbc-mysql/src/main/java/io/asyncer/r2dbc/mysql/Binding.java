@@ -16,10 +16,12 @@
 
 package io.asyncer.r2dbc.mysql;
 
+import io.asyncer.r2dbc.mysql.constant.MySqlType;
 import io.asyncer.r2dbc.mysql.message.client.PreparedExecuteMessage;
 import io.asyncer.r2dbc.mysql.message.client.PreparedTextQueryMessage;
 
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * A collection of {@link MySqlParameter} for one bind invocation of a parameterized statement.
@@ -76,12 +78,59 @@ final class Binding {
         return new PreparedExecuteMessage(statementId, immediate, values);
     }
 
+    /**
+     * Drains values as a parameter set of a bulk execution.
+     *
+     * @param statementId prepared statement identifier.
+     * @return the parameter set.
+     */
+    MySqlParameter[] toBulkValues(int statementId) {
+        if (values.length != 0 && values[0] == null) {
+            throw new IllegalStateException("Parameters has been used");
+        }
+
+        MySqlParameter[] values = drainValues();
+
+        QueryLogger.log(statementId, values);
+
+        return values;
+    }
+
     PreparedTextQueryMessage toTextMessage(Query query, String returning) {
+        return toTextMessage("", query, returning);
+    }
+
+    /**
+     * Converts bindings to a text message with statements which are prepended to it, e.g. the begin of a lazy
+     * transaction.
+     *
+     * @param prefix    the statements which are prepended, or empty.
+     * @param query     the query of the client-preparing statement.
+     * @param returning the {@code RETURNING} identifiers.
+     * @return the text message.
+     */
+    PreparedTextQueryMessage toTextMessage(String prefix, Query query, String returning) {
         MySqlParameter[] values = drainValues();
 
+        if (!prefix.isEmpty()) {
+            QueryLogger.log(prefix);
+        }
+
         QueryLogger.log(query, returning, values);
 
-        return new PreparedTextQueryMessage(query, returning, values);
+        return new PreparedTextQueryMessage(prefix, query, returning, values);
+    }
+
+    /**
+     * Converts bindings to a text message of a row for rewriting {@code INSERT} statements, or of a point query for
+     * coalescing. It will not be logged because the rewritten or coalesced statements will be logged.
+     *
+     * @param row the row of a rewritable {@code INSERT} statement, see {@link Query#getInsertValues()}, or the
+     *            {@link Query} of a point query.
+     * @return a text message of the row.
+     */
+    PreparedTextQueryMessage toRowMessage(Query row) {
+        return new PreparedTextQueryMessage(row, "", drainValues());
     }
 
     /**
@@ -99,6 +148,21 @@ final class Binding {
         }
     }
 
+    /**
+     * Checks if any bound value is a LOB parameter, which may be encoded asynchronously.
+     *
+     * @return if it contains a LOB parameter.
+     */
+    boolean containsLob() {
+        for (MySqlParameter value : this.values) {
+            if (value != null && value.getType().isLob()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     int findUnbind() {
         int size = this.values.length;
 
@@ -135,6 +199,55 @@ final class Binding {
         return String.format("Binding{values=%s}", Arrays.toString(values));
     }
 
+    /**
+     * Checks if bindings can be executed in a bulk execution. The types of parameters will be sent only once in a
+     * bulk execution, so the types of non-{@code null} values in the same position must be the same. And LOB values
+     * should be executed one-by-one to avoid large bulk packets.
+     *
+     * @param bindings the bindings of a parameterized statement.
+     * @return if bindings can be executed in a bulk execution.
+     */
+    static boolean isBulkCompatible(List<Binding> bindings) {
+        int size = bindings.size();
+
+        if (size <= 1) {
+            return false;
+        }
+
+        MySqlParameter[] first = bindings.get(0).values;
+        int length = first.length;
+
+        if (length == 0) {
+            return false;
+        }
+
+        MySqlType[] types = new MySqlType[length];
+
+        for (int i = 0; i < size; ++i) {
+            MySqlParameter[] values = bindings.get(i).values;
+
+            for (int j = 0; j < length; ++j) {
+                MySqlParameter value = values[j];
+
+                if (value == null || value.isNull()) {
+                    continue;
+                }
+
+                MySqlType type = value.getType();
+
+                if (type.isLob()) {
+                    return false;
+                } else if (types[j] == null) {
+                    types[j] = type;
+                } else if (types[j] != type) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
     private MySqlParameter[] drainValues() {
         MySqlParameter[] results = new MySqlParameter[this.values.length];
 
@@ -155,8 +155,9 @@ public final class Capability {
      */
     private static final long DEPRECATE_EOF = 1L << 24;
 
-    // Allow the server not to send column metadata in result set,
-    // should NEVER enable this option.
+    // Allow the server not to send column metadata in result set, should NEVER enable this option.
+    // It works with `resultset_metadata`, which affects all results of the session including text results,
+    // and the client cannot know their columns. See also MARIADB_CLIENT_CACHE_METADATA.
 //    private static final long OPTIONAL_RESULT_SET_METADATA = 1L << 25;
     private static final long ZSTD_COMPRESS = 1L << 26;
 
@@ -168,19 +169,34 @@ public final class Capability {
 
 //    private static final long MARIADB_CLIENT_PROGRESS = 1L << 32;
 //    private static final long MARIADB_CLIENT_COM_MULTI = 1L << 33;
-//    private static final long MARIADB_CLIENT_STMT_BULK_OPERATIONS = 1L << 34;
+
+    /**
+     * Allow to execute a prepared statement with multiple parameter sets by {@code COM_STMT_BULK_EXECUTE}.
+     */
+    private static final long MARIADB_CLIENT_STMT_BULK_OPERATIONS = 1L << 34;
 
     /**
      * Receive extended column type information from MariaDB to find out more specific details about column type.
      */
     private static final long MARIADB_CLIENT_EXTENDED_TYPE_INFO = 1L << 35;
-//    private static final long MARIADB_CLIENT_CACHE_METADATA = 1L << 36;
+
+    /**
+     * Allow MariaDB not to send column metadata of prepared statement results if it is unchanged, the client
+     * should cache the metadata of each prepared statement.
+     */
+    private static final long MARIADB_CLIENT_CACHE_METADATA = 1L << 36;
+
+    /**
+     * Receive affected rows and auto-generated id of each parameter set of {@code COM_STMT_BULK_EXECUTE}.
+     */
+    private static final long MARIADB_CLIENT_BULK_UNIT_RESULTS = 1L << 37;
 
     private static final long ALL_SUPPORTED = CLIENT_MYSQL | FOUND_ROWS | LONG_FLAG | CONNECT_WITH_DB |
         NO_SCHEMA | COMPRESS | LOCAL_FILES | IGNORE_SPACE | PROTOCOL_41 | INTERACTIVE | SSL |
         TRANSACTIONS | SECURE_SALT | MULTI_STATEMENTS | MULTI_RESULTS | PS_MULTI_RESULTS |
         PLUGIN_AUTH | CONNECT_ATTRS | VAR_INT_SIZED_AUTH | SESSION_TRACK | DEPRECATE_EOF | ZSTD_COMPRESS |
-        MARIADB_CLIENT_EXTENDED_TYPE_INFO;
+        MARIADB_CLIENT_STMT_BULK_OPERATIONS | MARIADB_CLIENT_EXTENDED_TYPE_INFO | MARIADB_CLIENT_CACHE_METADATA |
+        MARIADB_CLIENT_BULK_UNIT_RESULTS;
 
     /**
      * The default capabilities for a MySQL connection. It contains all client supported capabilities.
@@ -324,6 +340,27 @@ public final class Capability {
         return (bitmap & MARIADB_CLIENT_EXTENDED_TYPE_INFO) != 0;
     }
 
+    /**
+     * Checks if MariaDB metadata caching enabled, i.e. the server may skip column metadata of a prepared
+     * statement result if it is unchanged.
+     *
+     * @return if MariaDB metadata caching enabled.
+     */
+    public boolean isCacheMetadata() {
+        return (bitmap & MARIADB_CLIENT_CACHE_METADATA) != 0;
+    }
+
+    /**
+     * Checks if MariaDB bulk operations enabled, and it will return the result of each parameter set.
+     *
+     * @return if MariaDB bulk operations with unit results enabled.
+     */
+    public boolean isBulkUnitResults() {
+        long flags = MARIADB_CLIENT_STMT_BULK_OPERATIONS | MARIADB_CLIENT_BULK_UNIT_RESULTS;
+
+        return (bitmap & flags) == flags;
+    }
+
     /**
      * Extends MariaDB capabilities.
      *
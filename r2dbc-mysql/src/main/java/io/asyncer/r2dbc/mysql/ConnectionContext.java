@@ -21,12 +21,24 @@ import io.asyncer.r2dbc.mysql.codec.CodecContext;
 import io.asyncer.r2dbc.mysql.collation.CharCollation;
 import io.asyncer.r2dbc.mysql.constant.ServerStatuses;
 import io.asyncer.r2dbc.mysql.constant.ZeroDateOption;
+import io.asyncer.r2dbc.mysql.extension.MetricsRecorder;
+import io.asyncer.r2dbc.mysql.internal.util.StringInterner;
+import io.asyncer.r2dbc.mysql.message.server.CachedResultMetadata;
 import io.r2dbc.spi.IsolationLevel;
+import io.r2dbc.spi.TransactionDefinition;
 import org.jetbrains.annotations.Nullable;
+import reactor.core.publisher.Mono;
 
 import java.nio.file.Path;
 import java.time.Duration;
 import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
 
 import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
 
@@ -44,6 +56,12 @@ public final class ConnectionContext implements CodecContext {
 
     private static final ServerVersion MARIA_10_1_1 = ServerVersion.create(10, 1, 1, true);
 
+    private static final ServerVersion MYSQL_5_7_3 = ServerVersion.create(5, 7, 3);
+
+    private static final ServerVersion MARIA_10_2_4 = ServerVersion.create(10, 2, 4, true);
+
+    private static final int NAMES_CAPACITY = 512;
+
     private final ZeroDateOption zeroDateOption;
 
     @Nullable
@@ -53,6 +71,39 @@ public final class ConnectionContext implements CodecContext {
 
     private final boolean preserveInstants;
 
+    private final int preparePipelineWindow;
+
+    private final boolean rewriteBatchedInserts;
+
+    private final boolean fetchReadAhead;
+
+    private final int readLowWatermark;
+
+    private final int readHighWatermark;
+
+    private final boolean lobStreaming;
+
+    /**
+     * Kills the query of a connection by its identifier, {@code null} if it should not kill query on cancel.
+     */
+    @Nullable
+    private final IntFunction<Mono<Void>> queryKiller;
+
+    private final boolean queryPipelining;
+
+    private final boolean lazyTransactionBegin;
+
+    private final boolean resetConnectionOnRelease;
+
+    /**
+     * Coalesces concurrent point queries into multi-statement queries, {@code null} if it is disabled.
+     */
+    @Nullable
+    private final QueryBatcher queryBatcher;
+
+    @Nullable
+    private final MetricsRecorder metricsRecorder;
+
     private int connectionId = -1;
 
     private ServerVersion serverVersion = NONE_VERSION;
@@ -61,11 +112,39 @@ public final class ConnectionContext implements CodecContext {
 
     private PrepareCache prepareCache;
 
+    /**
+     * Cached prepared statements which may have states left behind, e.g. an open cursor.  They should be reset
+     * before the next execution.
+     */
+    private final Set<Integer> dirtyStatements = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The parameter types which are last bound to prepared statements.  The server remembers them, so they
+     * need not be sent again if not changed.
+     */
+    private final Map<Integer, short[]> boundTypes = new ConcurrentHashMap<>();
+
+    /**
+     * The column metadata of results of prepared statements, it is reused by following executions.
+     */
+    private final Map<Integer, CachedResultMetadata> resultMetadata = new ConcurrentHashMap<>();
+
+    /**
+     * The names of databases, tables and columns which are decoded from column definitions of results.
+     */
+    private final StringInterner names = new StringInterner(NAMES_CAPACITY);
+
     @Nullable
     private ZoneId timeZone;
 
     private String product = "Unknown";
 
+    private int maxAllowedPacket;
+
+    private int autoIncrementIncrement = 1;
+
+    private int maxPreparedStatements = -1;
+
     /**
      * Current isolation level inferred by past statements.
      * <p>
@@ -103,18 +182,68 @@ public final class ConnectionContext implements CodecContext {
      */
     private volatile short serverStatuses = ServerStatuses.AUTO_COMMIT;
 
+    /**
+     * The transaction which has begun lazily but has not been sent to the server, it will be sent with the next
+     * statement.
+     */
+    @Nullable
+    private volatile TransactionDefinition pendingTransaction;
+
+    /**
+     * The isolation level after session initialization, it is restored by resetting the connection.
+     */
+    private IsolationLevel initialIsolationLevel;
+
+    /**
+     * The lock wait timeout after session initialization, it is restored by resetting the connection.
+     */
+    private Duration initialLockWaitTimeout;
+
+    /**
+     * The statements to restore the configured session state after resetting the connection.
+     */
+    private List<String> restoreStatements = Collections.emptyList();
+
+    /**
+     * If the session state has been changed by the connection, e.g. the session isolation level.
+     */
+    private volatile boolean sessionChanged;
+
+    /**
+     * Creates a context of a connection.
+     *
+     * @param configuration the configuration of the connection.
+     * @param timeZone      the connection time zone, or {@code null} if it should be initialized by the server.
+     * @param queryKiller   kills the query of a connection by its identifier, or {@code null} if it should not kill
+     *                      query on cancel.
+     */
     ConnectionContext(
-        ZeroDateOption zeroDateOption,
-        @Nullable Path localInfilePath,
-        int localInfileBufferSize,
-        boolean preserveInstants,
-        @Nullable ZoneId timeZone
+        MySqlConnectionConfiguration configuration,
+        @Nullable ZoneId timeZone,
+        @Nullable IntFunction<Mono<Void>> queryKiller
     ) {
-        this.zeroDateOption = requireNonNull(zeroDateOption, "zeroDateOption must not be null");
-        this.localInfilePath = localInfilePath;
-        this.localInfileBufferSize = localInfileBufferSize;
-        this.preserveInstants = preserveInstants;
+        requireNonNull(configuration, "configuration must not be null");
+
+        int autoBatchSize = configuration.getAutoBatchSize();
+
+        this.zeroDateOption = configuration.getZeroDateOption();
+        this.localInfilePath = configuration.getLoadLocalInfilePath();
+        this.localInfileBufferSize = configuration.getLocalInfileBufferSize();
+        this.preserveInstants = configuration.isPreserveInstants();
         this.timeZone = timeZone;
+        this.preparePipelineWindow = configuration.getPreparePipelineWindow();
+        this.rewriteBatchedInserts = configuration.isRewriteBatchedInserts();
+        this.fetchReadAhead = configuration.isFetchReadAhead();
+        this.readLowWatermark = configuration.getReadLowWatermark();
+        this.readHighWatermark = configuration.getReadHighWatermark();
+        this.lobStreaming = configuration.isLobStreaming();
+        this.queryKiller = queryKiller;
+        this.queryPipelining = configuration.isQueryPipelining();
+        this.lazyTransactionBegin = configuration.isLazyTransactionBegin();
+        this.resetConnectionOnRelease = configuration.isResetConnectionOnRelease();
+        this.queryBatcher = autoBatchSize > 1 ?
+            new QueryBatcher(autoBatchSize, configuration.getAutoBatchWindow()) : null;
+        this.metricsRecorder = configuration.getExtensions().getMetricsRecorder();
     }
 
     /**
@@ -139,6 +268,10 @@ public final class ConnectionContext implements CodecContext {
      * @param lockWaitTimeout          the lock wait timeout.
      * @param product                  the server product name.
      * @param timeZone                 the server timezone.
+     * @param maxAllowedPacket         the session variable {@code max_allowed_packet}.
+     * @param autoIncrementIncrement   the session variable {@code auto_increment_increment}.
+     * @param maxPreparedStatements    the global variable {@code max_prepared_stmt_count}, or {@code -1} if it
+     *                                 is unknown.
      */
     void initSession(
         PrepareCache prepareCache,
@@ -146,13 +279,19 @@ public final class ConnectionContext implements CodecContext {
         boolean lockWaitTimeoutSupported,
         Duration lockWaitTimeout,
         @Nullable String product,
-        @Nullable ZoneId timeZone
+        @Nullable ZoneId timeZone,
+        int maxAllowedPacket,
+        int autoIncrementIncrement,
+        int maxPreparedStatements
     ) {
         this.prepareCache = prepareCache;
-        this.currentIsolationLevel = this.sessionIsolationLevel = isolationLevel;
+        this.currentIsolationLevel = this.sessionIsolationLevel = this.initialIsolationLevel = isolationLevel;
         this.lockWaitTimeoutSupported = lockWaitTimeoutSupported;
-        this.currentLockWaitTimeout = this.sessionLockWaitTimeout = lockWaitTimeout;
+        this.currentLockWaitTimeout = this.sessionLockWaitTimeout = this.initialLockWaitTimeout = lockWaitTimeout;
         this.product = product == null ? "Unknown" : product;
+        this.maxAllowedPacket = maxAllowedPacket;
+        this.autoIncrementIncrement = autoIncrementIncrement;
+        this.maxPreparedStatements = maxPreparedStatements;
 
         if (timeZone != null) {
             if (isTimeZoneInitialized()) {
@@ -206,6 +345,93 @@ public final class ConnectionContext implements CodecContext {
         return prepareCache;
     }
 
+    /**
+     * Marks a prepared statement that may have states left behind, so it should be reset before the next
+     * execution.
+     *
+     * @param statementId the prepared statement ID.
+     */
+    void markStatementDirty(int statementId) {
+        dirtyStatements.add(statementId);
+    }
+
+    /**
+     * Clears the dirty mark of a prepared statement.
+     *
+     * @param statementId the prepared statement ID.
+     * @return if the statement was marked as dirty, i.e. it should be reset before executing.
+     */
+    boolean clearStatementDirty(int statementId) {
+        if (dirtyStatements.remove(statementId)) {
+            // The statement will be reset, send parameter types again for safety.
+            boundTypes.remove(statementId);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Clears all states of a prepared statement, it should be called when the statement is closing.
+     *
+     * @param statementId the prepared statement ID.
+     */
+    void clearStatement(int statementId) {
+        dirtyStatements.remove(statementId);
+        boundTypes.remove(statementId);
+        resultMetadata.remove(statementId);
+    }
+
+    /**
+     * Gets the interned names of databases, tables and columns of this connection.
+     *
+     * @return the interned names.
+     */
+    public StringInterner getNames() {
+        return names;
+    }
+
+    /**
+     * Gets the cached column metadata of results of a prepared statement.
+     *
+     * @param statementId the prepared statement ID.
+     * @return the cached column metadata, or {@code null} if it is not cached.
+     */
+    @Nullable
+    public CachedResultMetadata getResultMetadata(int statementId) {
+        return resultMetadata.get(statementId);
+    }
+
+    /**
+     * Caches the column metadata of results of a prepared statement, it will be cleared when the statement is
+     * closing.
+     *
+     * @param statementId the prepared statement ID.
+     * @param metadata    the column metadata.
+     */
+    public void putResultMetadata(int statementId, CachedResultMetadata metadata) {
+        resultMetadata.put(statementId, metadata);
+    }
+
+    /**
+     * Binds parameter types to a prepared statement by an execution, and checks if the types should be sent to
+     * the server.
+     *
+     * @param statementId the prepared statement ID.
+     * @param types       the parameter types, or {@code null} if the bound types of the server are unknown.
+     * @return if the types are different from the last bound types.
+     */
+    public boolean bindParameterTypes(int statementId, @Nullable short[] types) {
+        if (types == null) {
+            boundTypes.remove(statementId);
+            return true;
+        }
+
+        short[] last = boundTypes.put(statementId, types);
+
+        return last == null || !Arrays.equals(last, types);
+    }
+
     boolean isTimeZoneInitialized() {
         return timeZone != null;
     }
@@ -244,6 +470,218 @@ public final class ConnectionContext implements CodecContext {
         return localInfileBufferSize;
     }
 
+    /**
+     * Gets the maximum number of server-preparing executions that can be written ahead.
+     *
+     * @return the window size, {@code 1} means no pipelining.
+     */
+    int getPreparePipelineWindow() {
+        return preparePipelineWindow;
+    }
+
+    /**
+     * Gets the maximum size of a packet that the server can receive, i.e. {@code max_allowed_packet}.  It is loaded
+     * only if rewriting batched inserts or MariaDB bulk executions may use it, otherwise it is a minimum default.
+     *
+     * @return the maximum packet size.
+     */
+    int getMaxAllowedPacket() {
+        return maxAllowedPacket;
+    }
+
+    /**
+     * Gets the maximum number of prepared statements of the server, i.e. {@code max_prepared_stmt_count}.
+     *
+     * @return the maximum number, or {@code -1} if it is unknown.
+     */
+    int getMaxPreparedStatements() {
+        return maxPreparedStatements;
+    }
+
+    /**
+     * Gets the interval between successive auto-generated keys, i.e. {@code auto_increment_increment}.  It is loaded
+     * only if rewriting batched inserts, otherwise it is {@literal 1}.
+     *
+     * @return the auto-increment interval.
+     */
+    int getAutoIncrementIncrement() {
+        return autoIncrementIncrement;
+    }
+
+    /**
+     * Checks if bindings of a client-preparing {@code INSERT} statement should be rewritten to multi-row
+     * {@code INSERT} statements.
+     *
+     * @return if rewrite batched inserts.
+     */
+    boolean isRewriteBatchedInserts() {
+        return rewriteBatchedInserts;
+    }
+
+    /**
+     * Checks if the next batch of rows should be fetched when half of the current batch has been consumed, instead
+     * of after the current batch is completed, when fetching by cursor.
+     *
+     * @return if read ahead when fetching by cursor.
+     */
+    boolean isFetchReadAhead() {
+        return fetchReadAhead;
+    }
+
+    /**
+     * Gets the low watermark of buffered server messages to resume reading.
+     *
+     * @return the low watermark.
+     */
+    public int getReadLowWatermark() {
+        return readLowWatermark;
+    }
+
+    /**
+     * Gets the high watermark of buffered server messages to suspend reading.
+     *
+     * @return the high watermark, {@code 0} means reading eagerly.
+     */
+    public int getReadHighWatermark() {
+        return readHighWatermark;
+    }
+
+    /**
+     * Checks if a large LOB field that exceeds a single packet should be streamed as packets arrive instead of
+     * being collected entirely.
+     *
+     * @return if stream large LOB fields.
+     */
+    public boolean isLobStreaming() {
+        return lobStreaming;
+    }
+
+    /**
+     * Checks if the executing query should be killed on the server side when its result is cancelled.
+     *
+     * @return if kill query on cancel.
+     */
+    public boolean isKillQueryOnCancel() {
+        return queryKiller != null;
+    }
+
+    /**
+     * Kills the query executing by this connection on the server side, e.g. by {@code KILL QUERY} from a side
+     * connection.
+     *
+     * @return a {@link Mono} that completes when the query is killed, or empty if it is not enabled.
+     */
+    public Mono<Void> killQuery() {
+        IntFunction<Mono<Void>> queryKiller = this.queryKiller;
+
+        if (queryKiller == null) {
+            return Mono.empty();
+        }
+
+        return Mono.defer(() -> queryKiller.apply(connectionId));
+    }
+
+    /**
+     * Checks if independent commands can be written before responses of previous commands are received.  It is
+     * disabled if the query may be killed or the server may request a local file, because both of them require
+     * that no command is written ahead.
+     *
+     * @return if pipeline independent commands.
+     */
+    public boolean isQueryPipelining() {
+        return queryPipelining && queryKiller == null && localInfilePath == null;
+    }
+
+    /**
+     * Checks if the session should be reset by {@code COM_RESET_CONNECTION} when the connection is released to a
+     * pool, instead of only rolling back the transaction.
+     *
+     * @return if reset the connection on release.
+     */
+    boolean isResetConnectionOnRelease() {
+        return resetConnectionOnRelease;
+    }
+
+    /**
+     * Checks if the server supports {@code COM_RESET_CONNECTION}.
+     *
+     * @return if the server supports resetting the connection.
+     */
+    boolean isResetConnectionSupported() {
+        return isMariaDb() ? serverVersion.isGreaterThanOrEqualTo(MARIA_10_2_4) :
+            serverVersion.isGreaterThanOrEqualTo(MYSQL_5_7_3);
+    }
+
+    /**
+     * Sets the statements to restore the configured session state after resetting the connection.
+     *
+     * @param statements the statements, e.g. setting configured session variables.
+     */
+    void setRestoreStatements(List<String> statements) {
+        this.restoreStatements = statements;
+    }
+
+    List<String> getRestoreStatements() {
+        return restoreStatements;
+    }
+
+    /**
+     * Marks the session state as changed by the connection, so it should be reset on release.
+     */
+    void markSessionChanged() {
+        this.sessionChanged = true;
+    }
+
+    boolean isSessionChanged() {
+        return sessionChanged;
+    }
+
+    /**
+     * Resets states of the session after the connection has been reset by {@code COM_RESET_CONNECTION}.  The
+     * server has deallocated all prepared statements, so the prepare cache and states of statements are cleared
+     * without closing them.
+     */
+    void resetSession() {
+        this.pendingTransaction = null;
+        this.sessionChanged = false;
+        this.currentIsolationLevel = this.sessionIsolationLevel = this.initialIsolationLevel;
+        this.currentLockWaitTimeout = this.sessionLockWaitTimeout = this.initialLockWaitTimeout;
+        this.prepareCache.clear();
+        this.dirtyStatements.clear();
+        this.boundTypes.clear();
+        this.resultMetadata.clear();
+    }
+
+    /**
+     * Checks if a transaction should begin with the first statement inside it, instead of a round trip of its
+     * own.
+     *
+     * @return if begin transactions lazily.
+     */
+    boolean isLazyTransactionBegin() {
+        return lazyTransactionBegin;
+    }
+
+    /**
+     * Gets the coalescer of concurrent point queries of this connection.
+     *
+     * @return the coalescer, or {@code null} if coalescing is disabled.
+     */
+    @Nullable
+    QueryBatcher getQueryBatcher() {
+        return queryBatcher;
+    }
+
+    /**
+     * Gets the recorder of metrics of this connection.
+     *
+     * @return the recorder, or {@code null} if metrics should not be recorded.
+     */
+    @Nullable
+    public MetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
+
     /**
      * Checks if the server supports InnoDB lock wait timeout.
      *
@@ -322,15 +760,45 @@ public final class ConnectionContext implements CodecContext {
         this.currentLockWaitTimeout = this.sessionLockWaitTimeout = timeoutSeconds;
     }
 
+    /**
+     * Begins a transaction lazily, it will be sent to the server with the next statement.  The isolation level
+     * of the transaction takes effect immediately.
+     *
+     * @param definition the definition of the transaction.
+     */
+    void beginPendingTransaction(TransactionDefinition definition) {
+        IsolationLevel isolationLevel = definition.getAttribute(TransactionDefinition.ISOLATION_LEVEL);
+
+        if (isolationLevel != null) {
+            this.currentIsolationLevel = isolationLevel;
+        }
+
+        this.pendingTransaction = definition;
+    }
+
+    /**
+     * Takes the transaction which has begun lazily, it should be sent to the server by the caller.
+     *
+     * @return the definition of the transaction, or {@code null} if there is no pending transaction.
+     */
+    @Nullable
+    TransactionDefinition takePendingTransaction() {
+        TransactionDefinition definition = this.pendingTransaction;
+
+        if (definition != null) {
+            this.pendingTransaction = null;
+        }
+
+        return definition;
+    }
+
     boolean isInTransaction() {
-        return (serverStatuses & ServerStatuses.IN_TRANSACTION) != 0;
+        return pendingTransaction != null || (serverStatuses & ServerStatuses.IN_TRANSACTION) != 0;
     }
 
     boolean isAutoCommit() {
         // Within transaction, autocommit remains disabled until end the transaction with COMMIT or ROLLBACK.
         // The autocommit mode then reverts to its previous state.
-        short serverStatuses = this.serverStatuses;
-        return (serverStatuses & ServerStatuses.IN_TRANSACTION) == 0 &&
-            (serverStatuses & ServerStatuses.AUTO_COMMIT) != 0;
+        return !isInTransaction() && (serverStatuses & ServerStatuses.AUTO_COMMIT) != 0;
     }
 }
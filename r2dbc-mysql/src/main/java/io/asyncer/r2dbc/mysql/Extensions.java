@@ -17,8 +17,10 @@
 package io.asyncer.r2dbc.mysql;
 
 import io.asyncer.r2dbc.mysql.extension.Extension;
+import io.asyncer.r2dbc.mysql.extension.MetricsRecorder;
 import io.netty.util.internal.logging.InternalLogger;
 import io.netty.util.internal.logging.InternalLoggerFactory;
+import org.jetbrains.annotations.Nullable;
 
 import java.security.AccessController;
 import java.security.PrivilegedAction;
@@ -39,8 +41,22 @@ final class Extensions {
 
     private final Extension[] extensions;
 
+    @Nullable
+    private final MetricsRecorder metricsRecorder;
+
     private Extensions(List<Extension> extensions) {
         this.extensions = toArray(extensions);
+        this.metricsRecorder = composeMetricsRecorder(this.extensions);
+    }
+
+    /**
+     * Gets the {@link MetricsRecorder} which reports to all registered recorders.
+     *
+     * @return the recorder, or {@code null} if no recorder is registered.
+     */
+    @Nullable
+    MetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
     }
 
     /**
@@ -126,4 +142,87 @@ final class Extensions {
         }
         return extensions.toArray(new Extension[0]);
     }
+
+    @Nullable
+    private static MetricsRecorder composeMetricsRecorder(Extension[] extensions) {
+        List<MetricsRecorder> recorders = new ArrayList<>();
+
+        for (Extension extension : extensions) {
+            if (extension instanceof MetricsRecorder) {
+                recorders.add((MetricsRecorder) extension);
+            }
+        }
+
+        switch (recorders.size()) {
+            case 0:
+                return null;
+            case 1:
+                return recorders.get(0);
+            default:
+                return new CompositeMetricsRecorder(recorders.toArray(new MetricsRecorder[0]));
+        }
+    }
+
+    private static final class CompositeMetricsRecorder implements MetricsRecorder {
+
+        private final MetricsRecorder[] recorders;
+
+        private CompositeMetricsRecorder(MetricsRecorder[] recorders) {
+            this.recorders = recorders;
+        }
+
+        @Override
+        public void recordRequestQueue(int depth, long waitNanos) {
+            for (MetricsRecorder recorder : recorders) {
+                recorder.recordRequestQueue(depth, waitNanos);
+            }
+        }
+
+        @Override
+        public void recordExchange(long firstRowNanos, long totalNanos) {
+            for (MetricsRecorder recorder : recorders) {
+                recorder.recordExchange(firstRowNanos, totalNanos);
+            }
+        }
+
+        @Override
+        public void recordRowsDecoded(long rows) {
+            for (MetricsRecorder recorder : recorders) {
+                recorder.recordRowsDecoded(rows);
+            }
+        }
+
+        @Override
+        public void recordBytesRead(long bytes, boolean compressed) {
+            for (MetricsRecorder recorder : recorders) {
+                recorder.recordBytesRead(bytes, compressed);
+            }
+        }
+
+        @Override
+        public void recordBytesWritten(long bytes, boolean compressed) {
+            for (MetricsRecorder recorder : recorders) {
+                recorder.recordBytesWritten(bytes, compressed);
+            }
+        }
+
+        @Override
+        public void recordCacheLookup(CacheType cache, boolean hit) {
+            for (MetricsRecorder recorder : recorders) {
+                recorder.recordCacheLookup(cache, hit);
+            }
+        }
+
+        @Override
+        public void recordCacheEviction(CacheType cache) {
+            for (MetricsRecorder recorder : recorders) {
+                recorder.recordCacheEviction(cache);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "CompositeMetricsRecorder" + Arrays.toString(recorders);
+        }
+    }
 }
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.constant.HostSelection;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.require;
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
+
+/**
+ * A selector of multiple hosts, it tries hosts one by one until a connection is established.
+ * <p>
+ * A host will be blacklisted for a while if it failed to connect, and the duration doubles for each consecutive
+ * failure.  Blacklisted hosts are tried only after all healthy hosts failed, so a connection can still be created
+ * if all hosts are blacklisted but some of them have recovered.
+ */
+final class HostSelector {
+
+    /**
+     * The maximum shift of the blacklist duration, i.e. up to {@code 32} times of the base duration.
+     */
+    private static final int MAX_BACKOFF_SHIFT = 5;
+
+    private final Host[] hosts;
+
+    private final HostSelection selection;
+
+    private final long blacklistNanos;
+
+    HostSelector(List<InetSocketAddress> addresses, HostSelection selection, Duration blacklistDuration) {
+        requireNonNull(addresses, "addresses must not be null");
+        require(!addresses.isEmpty(), "addresses must not be empty");
+        requireNonNull(selection, "selection must not be null");
+        requireNonNull(blacklistDuration, "blacklistDuration must not be null");
+
+        Host[] hosts = new Host[addresses.size()];
+
+        for (int i = 0; i < hosts.length; ++i) {
+            hosts[i] = new Host(requireNonNull(addresses.get(i), "address must not be null"));
+        }
+
+        this.hosts = hosts;
+        this.selection = selection;
+        // Avoid overflow when shifting, it is still hundreds of years.
+        this.blacklistNanos = Math.min(toNanos(blacklistDuration), Long.MAX_VALUE >> (MAX_BACKOFF_SHIFT + 2));
+    }
+
+    /**
+     * Connects to hosts one by one by the selection strategy until a connection is established.  If all hosts
+     * failed, the last error will be emitted with previous errors suppressed.
+     *
+     * @param connector the function to connect a host.
+     * @param onClose   the function to get a {@link Mono} that completes when a connection is closed.
+     * @param <T>       the type of connections.
+     * @return the established connection.
+     */
+    <T> Mono<T> connect(Function<InetSocketAddress, Mono<T>> connector, Function<T, Mono<Void>> onClose) {
+        return Mono.defer(() -> {
+            List<Throwable> errors = new ArrayList<>();
+
+            return Flux.fromIterable(candidates())
+                .concatMap(host -> connect(host, connector, onClose).onErrorResume(e -> {
+                    errors.add(e);
+                    return Mono.empty();
+                }))
+                .next()
+                .switchIfEmpty(Mono.defer(() -> Mono.error(failure(errors))));
+        });
+    }
+
+    /**
+     * Orders hosts for a connection, healthy hosts are ordered by the selection strategy, then blacklisted hosts
+     * which will be recovered sooner.
+     *
+     * @return the ordered hosts.
+     */
+    List<Host> candidates() {
+        long now = System.nanoTime();
+        List<Host> healthy = new ArrayList<>(hosts.length);
+        List<Host> blacklisted = new ArrayList<>();
+
+        for (Host host : hosts) {
+            if (host.isBlacklisted(now)) {
+                blacklisted.add(host);
+            } else {
+                healthy.add(host);
+            }
+        }
+
+        switch (selection) {
+            case RANDOM:
+                Collections.shuffle(healthy, ThreadLocalRandom.current());
+                break;
+            case LEAST_CONNECTIONS:
+                sortByConnections(healthy);
+                break;
+            default:
+                break;
+        }
+
+        if (!blacklisted.isEmpty()) {
+            blacklisted.sort((left, right) -> Long.signum(left.blacklistedUntil - right.blacklistedUntil));
+            healthy.addAll(blacklisted);
+        }
+
+        return healthy;
+    }
+
+    private <T> Mono<T> connect(
+        Host host,
+        Function<InetSocketAddress, Mono<T>> connector,
+        Function<T, Mono<Void>> onClose
+    ) {
+        return Mono.defer(() -> connector.apply(host.address))
+            .doOnNext(connection -> {
+                host.succeed();
+                host.connections.incrementAndGet();
+                onClose.apply(connection).subscribe(null, ignored -> host.release(), host::release);
+            })
+            .doOnError(ignored -> host.fail(blacklistNanos));
+    }
+
+    /**
+     * Sorts hosts by a snapshot of open connections, the sort is stable so the configured order is kept for
+     * hosts with the same number of connections.
+     *
+     * @param hosts the hosts to sort.
+     */
+    private static void sortByConnections(List<Host> hosts) {
+        int size = hosts.size();
+        int[] connections = new int[size];
+
+        for (int i = 0; i < size; ++i) {
+            connections[i] = hosts.get(i).connections.get();
+        }
+
+        // Insertion sort, there are always a few hosts.
+        for (int i = 1; i < size; ++i) {
+            Host host = hosts.get(i);
+            int count = connections[i];
+            int j = i - 1;
+
+            for (; j >= 0 && connections[j] > count; --j) {
+                hosts.set(j + 1, hosts.get(j));
+                connections[j + 1] = connections[j];
+            }
+
+            hosts.set(j + 1, host);
+            connections[j + 1] = count;
+        }
+    }
+
+    private static Throwable failure(List<Throwable> errors) {
+        int last = errors.size() - 1;
+        Throwable e = errors.get(last);
+
+        for (int i = 0; i < last; ++i) {
+            e.addSuppressed(errors.get(i));
+        }
+
+        return e;
+    }
+
+    private static long toNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * The state of a host.
+     */
+    static final class Host {
+
+        private final InetSocketAddress address;
+
+        private final AtomicInteger connections = new AtomicInteger();
+
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private volatile long blacklistedUntil;
+
+        private Host(InetSocketAddress address) {
+            this.address = address;
+        }
+
+        InetSocketAddress getAddress() {
+            return address;
+        }
+
+        int getConnections() {
+            return connections.get();
+        }
+
+        boolean isBlacklisted(long now) {
+            return failures.get() > 0 && blacklistedUntil - now > 0;
+        }
+
+        private void succeed() {
+            failures.set(0);
+        }
+
+        private void fail(long baseNanos) {
+            int shift = failures.updateAndGet(it -> Math.min(it + 1, MAX_BACKOFF_SHIFT + 1)) - 1;
+
+            this.blacklistedUntil = System.nanoTime() + (baseNanos << shift);
+        }
+
+        private void release() {
+            connections.decrementAndGet();
+        }
+
+        @Override
+        public String toString() {
+            return "Host{address=" + address + ", connections=" + connections + ", failures=" + failures + '}';
+        }
+    }
+}
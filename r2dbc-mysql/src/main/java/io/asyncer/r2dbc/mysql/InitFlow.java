@@ -92,6 +92,12 @@ final class InitFlow {
 
     private static final ServerVersion MYSQL_8 = ServerVersion.create(8, 0, 0);
 
+    /**
+     * The minimum default value of {@code max_allowed_packet} in MySQL and MariaDB, used if the server does not
+     * return it, or it is not required by any feature.
+     */
+    private static final int DEFAULT_MAX_ALLOWED_PACKET = 4 * 1024 * 1024;
+
     private static final BiConsumer<ServerMessage, SynchronousSink<Boolean>> INIT_DB = (message, sink) -> {
         if (message instanceof ErrorMessage) {
             ErrorMessage msg = (ErrorMessage) message;
@@ -176,33 +182,160 @@ final class InitFlow {
 
             logger.debug("Initializing client session: {}", variables);
 
-            return QueryFlow.setSessionVariables(client, variables)
-                .then(loadSessionVariables(client, codecs))
-                .flatMap(data -> loadAndInitInnoDbEngineStatus(data, client, codecs, lockWaitTimeout))
+            // All statements can be sent in one round trip if multi-statements are allowed.
+            boolean oneTrip = client.getContext().getCapability().isMultiStatementsAllowed();
+            Mono<SessionState> session = oneTrip ?
+                loadSession(client, codecs, variables, lockWaitTimeout, database) :
+                QueryFlow.setSessionVariables(client, variables)
+                    .then(loadSessionVariables(client, codecs))
+                    .flatMap(data -> loadAndInitInnoDbEngineStatus(data, client, codecs, lockWaitTimeout));
+
+            return session
                 .flatMap(data -> {
                     ConnectionContext context = client.getContext();
 
                     logger.debug("Initializing connection {} context: {}", context.getConnectionId(), data);
                     context.initSession(
-                        Caches.createPrepareCache(prepareCacheSize),
+                        Caches.createPrepareCache(limitPrepareCacheSize(prepareCacheSize,
+                            data.maxPreparedStatements), context.getMetricsRecorder()),
                         data.level,
                         data.lockWaitTimeoutSupported,
                         data.lockWaitTimeout,
                         data.product,
-                        data.timeZone
+                        data.timeZone,
+                        data.maxAllowedPacket,
+                        data.autoIncrementIncrement,
+                        data.maxPreparedStatements
                     );
+                    context.setRestoreStatements(restoreStatements(variables, lockWaitTimeout,
+                        data.lockWaitTimeoutSupported));
 
                     if (!data.lockWaitTimeoutSupported) {
                         logger.info(
                             "Lock wait timeout is not supported by server, all related operations will be ignored");
                     }
 
-                    return database.isEmpty() ? Mono.just(codecs) :
+                    return database.isEmpty() || oneTrip ? Mono.just(codecs) :
                         initDatabase(client, database).then(Mono.just(codecs));
                 });
         });
     }
 
+    /**
+     * Creates statements which restore the configured session state after the session is reset by
+     * {@code COM_RESET_CONNECTION}.
+     *
+     * @param variables       the session variables to set.
+     * @param lockWaitTimeout the lock wait timeout that should be set to session.
+     * @param supported       if the lock wait timeout is supported by the server.
+     * @return the statements to restore the session state.
+     */
+    private static List<String> restoreStatements(
+        List<String> variables,
+        @Nullable Duration lockWaitTimeout,
+        boolean supported
+    ) {
+        String setVariables = QueryFlow.sessionVariablesStatement(variables);
+        List<String> statements = new ArrayList<>(2);
+
+        if (!setVariables.isEmpty()) {
+            statements.add(setVariables);
+        }
+
+        if (lockWaitTimeout != null && supported) {
+            statements.add(StringUtils.lockWaitTimeoutStatement(lockWaitTimeout));
+        }
+
+        return statements;
+    }
+
+    /**
+     * Sets session variables, loads session data and the lock wait timeout, sets the lock wait timeout and uses the
+     * database by one multi-statement query.  Setting the lock wait timeout and using the database are sent
+     * optimistically at the end, if they fail, the lock wait timeout will be ignored as unsupported, and the
+     * database will be initialized by {@link #initDatabase(Client, String)}.
+     *
+     * @param client          the {@link Client} to exchange messages with.
+     * @param codecs          the {@link Codecs} to decode session data.
+     * @param variables       the session variables to set.
+     * @param lockWaitTimeout the lock wait timeout that should be set to session.
+     * @param database        the database to use, or empty if no database should be used.
+     * @return a {@link Mono} that indicates the session data.
+     */
+    private static Mono<SessionState> loadSession(
+        Client client,
+        Codecs codecs,
+        List<String> variables,
+        @Nullable Duration lockWaitTimeout,
+        String database
+    ) {
+        ConnectionContext context = client.getContext();
+        String setVariables = QueryFlow.sessionVariablesStatement(variables);
+        boolean timeZone = !context.isTimeZoneInitialized();
+        StringBuilder query = new StringBuilder(256);
+        List<Function<MySqlResult, Mono<Void>>> handlers = new ArrayList<>(5);
+        OneTripState state = new OneTripState();
+
+        if (!setVariables.isEmpty()) {
+            query.append(setVariables).append(';');
+            handlers.add(r -> Mono.from(r.getRowsUpdated()).then());
+        }
+
+        query.append(sessionVariablesQuery(context)).append(";SHOW VARIABLES LIKE 'innodb_lock_wait_timeout'");
+        handlers.add(r -> convertSessionData(r, context, timeZone).doOnNext(data -> state.data = data).then());
+        handlers.add(r -> Flux.from(r.map(readable -> readable.get(1, String.class)))
+            .doOnNext(value -> state.lockWaitTimeout = value)
+            .then());
+
+        if (lockWaitTimeout != null) {
+            query.append(';').append(StringUtils.lockWaitTimeoutStatement(lockWaitTimeout));
+            handlers.add(r -> Mono.from(r.getRowsUpdated())
+                .doOnNext(ignored -> state.lockWaitTimeoutSet = true)
+                .onErrorResume(e -> state.isLockWaitTimeoutSupported() ? Mono.error(e) : Mono.empty())
+                .then());
+        }
+
+        if (!database.isEmpty()) {
+            query.append(";USE ").append(StringUtils.quoteIdentifier(database));
+            handlers.add(r -> Mono.from(r.getRowsUpdated())
+                .doOnNext(ignored -> state.databaseUsed = true)
+                .onErrorResume(e -> {
+                    logger.debug("Use database failed: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then());
+        }
+
+        return new TextSimpleStatement(client, codecs, query.toString())
+            .execute()
+            .index()
+            .concatMap(indexed -> handlers.get(indexed.getT1().intValue()).apply(indexed.getT2()))
+            .then(Mono.defer(() -> {
+                SessionState data = state.data;
+
+                if (data == null) {
+                    return Mono.error(new IllegalStateException("Session data of the connection is not loaded"));
+                }
+
+                String value = state.lockWaitTimeout;
+
+                if (value != null && !value.isEmpty()) {
+                    data = data.lockWaitTimeout(Duration.ofSeconds(Long.parseLong(value)));
+                }
+
+                if (lockWaitTimeout != null) {
+                    if (state.lockWaitTimeoutSet) {
+                        data = data.lockWaitTimeout(lockWaitTimeout);
+                    } else {
+                        logger.warn("Lock wait timeout is not supported by server, ignore initial setting");
+                    }
+                }
+
+                return database.isEmpty() || state.databaseUsed ? Mono.just(data) :
+                    initDatabase(client, database).then(Mono.just(data));
+            }));
+    }
+
     private static Mono<SessionState> loadAndInitInnoDbEngineStatus(
         SessionState data,
         Client client,
@@ -238,24 +371,61 @@ final class InitFlow {
 
     private static Mono<SessionState> loadSessionVariables(Client client, Codecs codecs) {
         ConnectionContext context = client.getContext();
+        boolean timeZone = !context.isTimeZoneInitialized();
+
+        return new TextSimpleStatement(client, codecs, sessionVariablesQuery(context))
+            .execute()
+            .flatMap(r -> convertSessionData(r, context, timeZone))
+            .last();
+    }
+
+    private static String sessionVariablesQuery(ConnectionContext context) {
         StringBuilder query = new StringBuilder(128)
             .append("SELECT ")
             .append(transactionIsolationColumn(context))
             .append(",@@version_comment AS v");
 
-        Function<MySqlResult, Flux<SessionState>> handler;
-
-        if (context.isTimeZoneInitialized()) {
-            handler = r -> convertSessionData(r, false);
-        } else {
+        if (!context.isTimeZoneInitialized()) {
             query.append(",@@system_time_zone AS s,@@time_zone AS t");
-            handler = r -> convertSessionData(r, true);
         }
 
-        return new TextSimpleStatement(client, codecs, query.toString())
-            .execute()
-            .flatMap(handler)
-            .last();
+        if (isMaxAllowedPacketRequired(context)) {
+            query.append(",@@max_allowed_packet AS p");
+        }
+
+        if (context.isRewriteBatchedInserts()) {
+            // Generated keys of a rewritten INSERT statement are derived by it.
+            query.append(",@@auto_increment_increment AS a");
+        }
+
+        return query.append(",@@max_prepared_stmt_count AS m").toString();
+    }
+
+    /**
+     * Checks if {@code max_allowed_packet} should be loaded, rewritten {@code INSERT} statements and MariaDB bulk
+     * executions are split by it.
+     *
+     * @param context the connection context.
+     * @return if it is required.
+     */
+    private static boolean isMaxAllowedPacketRequired(ConnectionContext context) {
+        return context.isRewriteBatchedInserts() || context.getCapability().isBulkUnitResults();
+    }
+
+    /**
+     * Limits the capacity of the prepare cache to {@code max_prepared_stmt_count} of the server, because cached
+     * statements are kept open.
+     *
+     * @param prepareCacheSize      the configured capacity, negative means unbounded.
+     * @param maxPreparedStatements the {@code max_prepared_stmt_count}, or {@code -1} if it is unknown.
+     * @return the limited capacity.
+     */
+    private static int limitPrepareCacheSize(int prepareCacheSize, int maxPreparedStatements) {
+        if (maxPreparedStatements < 0 || (prepareCacheSize >= 0 && prepareCacheSize <= maxPreparedStatements)) {
+            return prepareCacheSize;
+        }
+
+        return maxPreparedStatements;
     }
 
     private static Mono<Void> initDatabase(Client client, String database) {
@@ -312,12 +482,23 @@ final class InitFlow {
         return "time_zone='" + offerStr + "'";
     }
 
-    private static Flux<SessionState> convertSessionData(MySqlResult r, boolean timeZone) {
+    private static Flux<SessionState> convertSessionData(MySqlResult r, ConnectionContext context,
+        boolean timeZone) {
+        boolean packet = isMaxAllowedPacketRequired(context);
+        boolean increment = context.isRewriteBatchedInserts();
+
         return r.map(readable -> {
             IsolationLevel level = convertIsolationLevel(readable.get(0, String.class));
             String product = readable.get(1, String.class);
-
-            return new SessionState(level, product, timeZone ? readZoneId(readable) : null);
+            Long maxAllowedPacket = packet ? readable.get("p", Long.class) : null;
+            Long autoIncrementIncrement = increment ? readable.get("a", Long.class) : null;
+            Long maxPreparedStatements = readable.get("m", Long.class);
+
+            return new SessionState(level, product, timeZone ? readZoneId(readable) : null,
+                maxAllowedPacket == null ? DEFAULT_MAX_ALLOWED_PACKET : (int) Math.min(maxAllowedPacket,
+                    Integer.MAX_VALUE),
+                autoIncrementIncrement == null ? 1 : autoIncrementIncrement.intValue(),
+                maxPreparedStatements == null ? -1 : (int) Math.min(maxPreparedStatements, Integer.MAX_VALUE));
         });
     }
 
@@ -394,6 +575,26 @@ final class InitFlow {
     private InitFlow() {
     }
 
+    /**
+     * The mutable state of results of the one-trip session initialization, results are handled one by one.
+     */
+    private static final class OneTripState {
+
+        @Nullable
+        private SessionState data;
+
+        @Nullable
+        private String lockWaitTimeout;
+
+        private boolean lockWaitTimeoutSet;
+
+        private boolean databaseUsed;
+
+        boolean isLockWaitTimeoutSupported() {
+            return lockWaitTimeout != null && !lockWaitTimeout.isEmpty();
+        }
+    }
+
     private static final class SessionState {
 
         private final IsolationLevel level;
@@ -408,8 +609,22 @@ final class InitFlow {
 
         private final boolean lockWaitTimeoutSupported;
 
-        SessionState(IsolationLevel level, @Nullable String product, @Nullable ZoneId timeZone) {
-            this(level, product, timeZone, Duration.ZERO, false);
+        private final int maxAllowedPacket;
+
+        private final int autoIncrementIncrement;
+
+        private final int maxPreparedStatements;
+
+        SessionState(
+            IsolationLevel level,
+            @Nullable String product,
+            @Nullable ZoneId timeZone,
+            int maxAllowedPacket,
+            int autoIncrementIncrement,
+            int maxPreparedStatements
+        ) {
+            this(level, product, timeZone, Duration.ZERO, false, maxAllowedPacket, autoIncrementIncrement,
+                maxPreparedStatements);
         }
 
         private SessionState(
@@ -417,17 +632,24 @@ final class InitFlow {
             @Nullable String product,
             @Nullable ZoneId timeZone,
             Duration lockWaitTimeout,
-            boolean lockWaitTimeoutSupported
+            boolean lockWaitTimeoutSupported,
+            int maxAllowedPacket,
+            int autoIncrementIncrement,
+            int maxPreparedStatements
         ) {
             this.level = level;
             this.product = product;
             this.timeZone = timeZone;
             this.lockWaitTimeout = lockWaitTimeout;
             this.lockWaitTimeoutSupported = lockWaitTimeoutSupported;
+            this.maxAllowedPacket = maxAllowedPacket;
+            this.autoIncrementIncrement = autoIncrementIncrement;
+            this.maxPreparedStatements = maxPreparedStatements;
         }
 
         SessionState lockWaitTimeout(Duration timeout) {
-            return new SessionState(level, product, timeZone, timeout, true);
+            return new SessionState(level, product, timeZone, timeout, true, maxAllowedPacket,
+                autoIncrementIncrement, maxPreparedStatements);
         }
 
         @Override
@@ -442,6 +664,9 @@ final class InitFlow {
             SessionState that = (SessionState) o;
 
             return lockWaitTimeoutSupported == that.lockWaitTimeoutSupported &&
+                maxAllowedPacket == that.maxAllowedPacket &&
+                autoIncrementIncrement == that.autoIncrementIncrement &&
+                maxPreparedStatements == that.maxPreparedStatements &&
                 level.equals(that.level) &&
                 Objects.equals(product, that.product) &&
                 Objects.equals(timeZone, that.timeZone) &&
@@ -454,7 +679,10 @@ final class InitFlow {
             result = 31 * result + (product != null ? product.hashCode() : 0);
             result = 31 * result + (timeZone != null ? timeZone.hashCode() : 0);
             result = 31 * result + lockWaitTimeout.hashCode();
-            return 31 * result + (lockWaitTimeoutSupported ? 1 : 0);
+            result = 31 * result + (lockWaitTimeoutSupported ? 1 : 0);
+            result = 31 * result + maxAllowedPacket;
+            result = 31 * result + autoIncrementIncrement;
+            return 31 * result + maxPreparedStatements;
         }
 
         @Override
@@ -464,6 +692,9 @@ final class InitFlow {
                 "', timeZone=" + timeZone +
                 ", lockWaitTimeout=" + lockWaitTimeout +
                 ", lockWaitTimeoutSupported=" + lockWaitTimeoutSupported +
+                ", maxAllowedPacket=" + maxAllowedPacket +
+                ", autoIncrementIncrement=" + autoIncrementIncrement +
+                ", maxPreparedStatements=" + maxPreparedStatements +
                 '}';
         }
     }
@@ -16,7 +16,9 @@
 
 package io.asyncer.r2dbc.mysql;
 
+import io.asyncer.r2dbc.mysql.cache.Caches;
 import io.asyncer.r2dbc.mysql.constant.CompressionAlgorithm;
+import io.asyncer.r2dbc.mysql.constant.HostSelection;
 import io.asyncer.r2dbc.mysql.constant.SslMode;
 import io.asyncer.r2dbc.mysql.constant.ZeroDateOption;
 import io.asyncer.r2dbc.mysql.extension.Extension;
@@ -29,6 +31,7 @@ import reactor.netty.resources.LoopResources;
 import reactor.netty.tcp.TcpResources;
 
 import javax.net.ssl.HostnameVerifier;
+import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -59,6 +62,10 @@ public final class MySqlConnectionConfiguration {
      */
     private static final int DEFAULT_PORT = 3306;
 
+    private static final Duration DEFAULT_HOST_BLACKLIST_DURATION = Duration.ofSeconds(5);
+
+    private static final Duration DEFAULT_AUTO_BATCH_WINDOW = Duration.ofMillis(1);
+
     /**
      * {@code true} if {@link #domain} is hostname, otherwise {@link #domain} is unix domain socket path.
      */
@@ -71,6 +78,21 @@ public final class MySqlConnectionConfiguration {
 
     private final int port;
 
+    /**
+     * Additional read-write hosts which will be tried if the primary host is unavailable, or selected by the
+     * {@link #hostSelection}.
+     */
+    private final List<InetSocketAddress> failoverHosts;
+
+    /**
+     * Hosts which are used for read-only transactions, e.g. replicas.
+     */
+    private final List<InetSocketAddress> readOnlyHosts;
+
+    private final HostSelection hostSelection;
+
+    private final Duration hostBlacklistDuration;
+
     private final MySqlSslConfiguration ssl;
 
     private final boolean tcpKeepAlive;
@@ -100,6 +122,8 @@ public final class MySqlConnectionConfiguration {
     @Nullable
     private final Predicate<String> preferPrepareStatement;
 
+    private final int adaptivePrepareThreshold;
+
     private final List<String> sessionVariables;
 
     @Nullable
@@ -117,6 +141,30 @@ public final class MySqlConnectionConfiguration {
 
     private final int prepareCacheSize;
 
+    private final int preparePipelineWindow;
+
+    private final boolean rewriteBatchedInserts;
+
+    private final boolean fetchReadAhead;
+
+    private final int readLowWatermark;
+
+    private final int readHighWatermark;
+
+    private final boolean lobStreaming;
+
+    private final boolean killQueryOnCancel;
+
+    private final boolean queryPipelining;
+
+    private final boolean lazyTransactionBegin;
+
+    private final boolean resetConnectionOnRelease;
+
+    private final int autoBatchSize;
+
+    private final Duration autoBatchWindow;
+
     private final Set<CompressionAlgorithm> compressionAlgorithms;
 
     private final int zstdCompressionLevel;
@@ -132,25 +180,33 @@ public final class MySqlConnectionConfiguration {
     private final AddressResolverGroup<?> resolver;
 
     private MySqlConnectionConfiguration(
-        boolean isHost, String domain, int port, MySqlSslConfiguration ssl,
-        boolean tcpKeepAlive, boolean tcpNoDelay, @Nullable Duration connectTimeout,
+        boolean isHost, String domain, int port, List<InetSocketAddress> failoverHosts,
+        List<InetSocketAddress> readOnlyHosts, HostSelection hostSelection, Duration hostBlacklistDuration,
+        MySqlSslConfiguration ssl, boolean tcpKeepAlive, boolean tcpNoDelay, @Nullable Duration connectTimeout,
         ZeroDateOption zeroDateOption,
         boolean preserveInstants,
         String connectionTimeZone,
         boolean forceConnectionTimeZoneToSession,
         String user, @Nullable CharSequence password, @Nullable String database,
         boolean createDatabaseIfNotExist, @Nullable Predicate<String> preferPrepareStatement,
-        List<String> sessionVariables, @Nullable Duration lockWaitTimeout, @Nullable Duration statementTimeout,
+        int adaptivePrepareThreshold, List<String> sessionVariables,
+        @Nullable Duration lockWaitTimeout, @Nullable Duration statementTimeout,
         @Nullable Path loadLocalInfilePath, int localInfileBufferSize,
-        int queryCacheSize, int prepareCacheSize,
+        int queryCacheSize, int prepareCacheSize, int preparePipelineWindow, boolean rewriteBatchedInserts,
+        boolean fetchReadAhead, int readLowWatermark, int readHighWatermark, boolean lobStreaming,
+        boolean killQueryOnCancel, boolean queryPipelining, boolean lazyTransactionBegin,
+        boolean resetConnectionOnRelease, int autoBatchSize, Duration autoBatchWindow,
         Set<CompressionAlgorithm> compressionAlgorithms, int zstdCompressionLevel,
-        @Nullable LoopResources loopResources,
-        Extensions extensions, @Nullable Publisher<String> passwordPublisher,
+        @Nullable LoopResources loopResources, Extensions extensions, @Nullable Publisher<String> passwordPublisher,
         @Nullable AddressResolverGroup<?> resolver
     ) {
         this.isHost = isHost;
         this.domain = domain;
         this.port = port;
+        this.failoverHosts = failoverHosts;
+        this.readOnlyHosts = readOnlyHosts;
+        this.hostSelection = hostSelection;
+        this.hostBlacklistDuration = hostBlacklistDuration;
         this.tcpKeepAlive = tcpKeepAlive;
         this.tcpNoDelay = tcpNoDelay;
         this.connectTimeout = connectTimeout;
@@ -164,6 +220,7 @@ public final class MySqlConnectionConfiguration {
         this.database = database == null || database.isEmpty() ? "" : database;
         this.createDatabaseIfNotExist = createDatabaseIfNotExist;
         this.preferPrepareStatement = preferPrepareStatement;
+        this.adaptivePrepareThreshold = adaptivePrepareThreshold;
         this.sessionVariables = sessionVariables;
         this.lockWaitTimeout = lockWaitTimeout;
         this.statementTimeout = statementTimeout;
@@ -171,6 +228,18 @@ public final class MySqlConnectionConfiguration {
         this.localInfileBufferSize = localInfileBufferSize;
         this.queryCacheSize = queryCacheSize;
         this.prepareCacheSize = prepareCacheSize;
+        this.preparePipelineWindow = preparePipelineWindow;
+        this.rewriteBatchedInserts = rewriteBatchedInserts;
+        this.fetchReadAhead = fetchReadAhead;
+        this.readLowWatermark = readLowWatermark;
+        this.readHighWatermark = readHighWatermark;
+        this.lobStreaming = lobStreaming;
+        this.killQueryOnCancel = killQueryOnCancel;
+        this.queryPipelining = queryPipelining;
+        this.lazyTransactionBegin = lazyTransactionBegin;
+        this.resetConnectionOnRelease = resetConnectionOnRelease;
+        this.autoBatchSize = autoBatchSize;
+        this.autoBatchWindow = autoBatchWindow;
         this.compressionAlgorithms = compressionAlgorithms;
         this.zstdCompressionLevel = zstdCompressionLevel;
         this.loopResources = loopResources == null ? TcpResources.get() : loopResources;
@@ -200,6 +269,22 @@ public final class MySqlConnectionConfiguration {
         return port;
     }
 
+    List<InetSocketAddress> getFailoverHosts() {
+        return failoverHosts;
+    }
+
+    List<InetSocketAddress> getReadOnlyHosts() {
+        return readOnlyHosts;
+    }
+
+    HostSelection getHostSelection() {
+        return hostSelection;
+    }
+
+    Duration getHostBlacklistDuration() {
+        return hostBlacklistDuration;
+    }
+
     @Nullable
     Duration getConnectTimeout() {
         return connectTimeout;
@@ -255,6 +340,10 @@ public final class MySqlConnectionConfiguration {
         return preferPrepareStatement;
     }
 
+    int getAdaptivePrepareThreshold() {
+        return adaptivePrepareThreshold;
+    }
+
     List<String> getSessionVariables() {
         return sessionVariables;
     }
@@ -286,6 +375,54 @@ public final class MySqlConnectionConfiguration {
         return prepareCacheSize;
     }
 
+    int getPreparePipelineWindow() {
+        return preparePipelineWindow;
+    }
+
+    boolean isRewriteBatchedInserts() {
+        return rewriteBatchedInserts;
+    }
+
+    boolean isFetchReadAhead() {
+        return fetchReadAhead;
+    }
+
+    int getReadLowWatermark() {
+        return readLowWatermark;
+    }
+
+    int getReadHighWatermark() {
+        return readHighWatermark;
+    }
+
+    boolean isLobStreaming() {
+        return lobStreaming;
+    }
+
+    boolean isKillQueryOnCancel() {
+        return killQueryOnCancel;
+    }
+
+    boolean isQueryPipelining() {
+        return queryPipelining;
+    }
+
+    boolean isLazyTransactionBegin() {
+        return lazyTransactionBegin;
+    }
+
+    boolean isResetConnectionOnRelease() {
+        return resetConnectionOnRelease;
+    }
+
+    int getAutoBatchSize() {
+        return autoBatchSize;
+    }
+
+    Duration getAutoBatchWindow() {
+        return autoBatchWindow;
+    }
+
     Set<CompressionAlgorithm> getCompressionAlgorithms() {
         return compressionAlgorithms;
     }
@@ -324,6 +461,10 @@ public final class MySqlConnectionConfiguration {
         return isHost == that.isHost &&
             domain.equals(that.domain) &&
             port == that.port &&
+            failoverHosts.equals(that.failoverHosts) &&
+            readOnlyHosts.equals(that.readOnlyHosts) &&
+            hostSelection == that.hostSelection &&
+            hostBlacklistDuration.equals(that.hostBlacklistDuration) &&
             ssl.equals(that.ssl) &&
             tcpKeepAlive == that.tcpKeepAlive &&
             tcpNoDelay == that.tcpNoDelay &&
@@ -337,6 +478,7 @@ public final class MySqlConnectionConfiguration {
             database.equals(that.database) &&
             createDatabaseIfNotExist == that.createDatabaseIfNotExist &&
             Objects.equals(preferPrepareStatement, that.preferPrepareStatement) &&
+            adaptivePrepareThreshold == that.adaptivePrepareThreshold &&
             sessionVariables.equals(that.sessionVariables) &&
             Objects.equals(lockWaitTimeout, that.lockWaitTimeout) &&
             Objects.equals(statementTimeout, that.statementTimeout) &&
@@ -344,6 +486,18 @@ public final class MySqlConnectionConfiguration {
             localInfileBufferSize == that.localInfileBufferSize &&
             queryCacheSize == that.queryCacheSize &&
             prepareCacheSize == that.prepareCacheSize &&
+            preparePipelineWindow == that.preparePipelineWindow &&
+            rewriteBatchedInserts == that.rewriteBatchedInserts &&
+            fetchReadAhead == that.fetchReadAhead &&
+            readLowWatermark == that.readLowWatermark &&
+            readHighWatermark == that.readHighWatermark &&
+            lobStreaming == that.lobStreaming &&
+            killQueryOnCancel == that.killQueryOnCancel &&
+            queryPipelining == that.queryPipelining &&
+            lazyTransactionBegin == that.lazyTransactionBegin &&
+            resetConnectionOnRelease == that.resetConnectionOnRelease &&
+            autoBatchSize == that.autoBatchSize &&
+            autoBatchWindow.equals(that.autoBatchWindow) &&
             compressionAlgorithms.equals(that.compressionAlgorithms) &&
             zstdCompressionLevel == that.zstdCompressionLevel &&
             Objects.equals(loopResources, that.loopResources) &&
@@ -354,23 +508,28 @@ public final class MySqlConnectionConfiguration {
 
     @Override
     public int hashCode() {
-        return Objects.hash(isHost, domain, port, ssl, tcpKeepAlive, tcpNoDelay, connectTimeout,
+        return Objects.hash(isHost, domain, port, failoverHosts, readOnlyHosts, hostSelection,
+            hostBlacklistDuration, ssl, tcpKeepAlive, tcpNoDelay, connectTimeout,
             preserveInstants, connectionTimeZone, forceConnectionTimeZoneToSession,
             zeroDateOption, user, password, database, createDatabaseIfNotExist,
             preferPrepareStatement,
+            adaptivePrepareThreshold,
             sessionVariables,
             lockWaitTimeout,
             statementTimeout,
             loadLocalInfilePath, localInfileBufferSize,
-            queryCacheSize, prepareCacheSize,
-            compressionAlgorithms, zstdCompressionLevel,
-            loopResources, extensions, passwordPublisher, resolver);
+            queryCacheSize, prepareCacheSize, preparePipelineWindow, rewriteBatchedInserts, fetchReadAhead,
+            readLowWatermark, readHighWatermark, lobStreaming, killQueryOnCancel, queryPipelining,
+            lazyTransactionBegin, resetConnectionOnRelease, autoBatchSize, autoBatchWindow, compressionAlgorithms,
+            zstdCompressionLevel, loopResources, extensions, passwordPublisher, resolver);
     }
 
     @Override
     public String toString() {
         return "MySqlConnectionConfiguration{" +
-                (isHost ? "host='" + domain + "', port=" + port + ", ssl=" + ssl +
+                (isHost ? "host='" + domain + "', port=" + port + ", failoverHosts=" + failoverHosts +
+                          ", readOnlyHosts=" + readOnlyHosts + ", hostSelection=" + hostSelection +
+                          ", hostBlacklistDuration=" + hostBlacklistDuration + ", ssl=" + ssl +
                           ", tcpNoDelay=" + tcpNoDelay + ", tcpKeepAlive=" + tcpKeepAlive :
                         "unixSocket='" + domain + "'") +
                 buildCommonToStringPart() +
@@ -386,6 +545,7 @@ public final class MySqlConnectionConfiguration {
                 ", user='" + user + "', password=" + password +
                 ", database='" + database + "', createDatabaseIfNotExist=" + createDatabaseIfNotExist +
                 ", preferPrepareStatement=" + preferPrepareStatement +
+                ", adaptivePrepareThreshold=" + adaptivePrepareThreshold +
                 ", sessionVariables=" + sessionVariables +
                 ", lockWaitTimeout=" + lockWaitTimeout +
                 ", statementTimeout=" + statementTimeout +
@@ -393,6 +553,18 @@ public final class MySqlConnectionConfiguration {
                 ", localInfileBufferSize=" + localInfileBufferSize +
                 ", queryCacheSize=" + queryCacheSize +
                 ", prepareCacheSize=" + prepareCacheSize +
+                ", preparePipelineWindow=" + preparePipelineWindow +
+                ", rewriteBatchedInserts=" + rewriteBatchedInserts +
+                ", fetchReadAhead=" + fetchReadAhead +
+                ", readLowWatermark=" + readLowWatermark +
+                ", readHighWatermark=" + readHighWatermark +
+                ", lobStreaming=" + lobStreaming +
+                ", killQueryOnCancel=" + killQueryOnCancel +
+                ", queryPipelining=" + queryPipelining +
+                ", lazyTransactionBegin=" + lazyTransactionBegin +
+                ", resetConnectionOnRelease=" + resetConnectionOnRelease +
+                ", autoBatchSize=" + autoBatchSize +
+                ", autoBatchWindow=" + autoBatchWindow +
                 ", compressionAlgorithms=" + compressionAlgorithms +
                 ", zstdCompressionLevel=" + zstdCompressionLevel +
                 ", loopResources=" + loopResources +
@@ -420,6 +592,14 @@ public final class MySqlConnectionConfiguration {
 
         private int port = DEFAULT_PORT;
 
+        private final List<InetSocketAddress> failoverHosts = new ArrayList<>();
+
+        private final List<InetSocketAddress> readOnlyHosts = new ArrayList<>();
+
+        private HostSelection hostSelection = HostSelection.SEQUENTIAL;
+
+        private Duration hostBlacklistDuration = DEFAULT_HOST_BLACKLIST_DURATION;
+
         @Nullable
         private Duration connectTimeout;
 
@@ -463,6 +643,8 @@ public final class MySqlConnectionConfiguration {
         @Nullable
         private Predicate<String> preferPrepareStatement;
 
+        private int adaptivePrepareThreshold;
+
         @Nullable
         private Duration lockWaitTimeout;
 
@@ -480,6 +662,30 @@ public final class MySqlConnectionConfiguration {
 
         private int prepareCacheSize = 256;
 
+        private int preparePipelineWindow = 1;
+
+        private boolean rewriteBatchedInserts;
+
+        private boolean fetchReadAhead;
+
+        private int readLowWatermark;
+
+        private int readHighWatermark;
+
+        private boolean lobStreaming;
+
+        private boolean killQueryOnCancel;
+
+        private boolean queryPipelining;
+
+        private boolean lazyTransactionBegin;
+
+        private boolean resetConnectionOnRelease;
+
+        private int autoBatchSize = 1;
+
+        private Duration autoBatchWindow = DEFAULT_AUTO_BATCH_WINDOW;
+
         private Set<CompressionAlgorithm> compressionAlgorithms =
             Collections.singleton(CompressionAlgorithm.UNCOMPRESSED);
 
@@ -513,25 +719,36 @@ public final class MySqlConnectionConfiguration {
             } else {
                 requireNonNull(domain, "unixSocket must not be null when using unix domain socket");
                 require(!sslMode.startSsl(), "sslMode must be disabled when using unix domain socket");
+                require(failoverHosts.isEmpty() && readOnlyHosts.isEmpty(),
+                    "multiple hosts must not be used with unix domain socket");
             }
 
-            int prepareCacheSize = preferPrepareStatement == null ? 0 : this.prepareCacheSize;
+            require(readHighWatermark == 0 || readLowWatermark < readHighWatermark,
+                "readLowWatermark must be less than readHighWatermark");
+
+            int prepareCacheSize = preferPrepareStatement == null && adaptivePrepareThreshold <= 0 ? 0 :
+                this.prepareCacheSize;
 
             MySqlSslConfiguration ssl = MySqlSslConfiguration.create(sslMode, tlsVersion, sslHostnameVerifier,
                 sslCa, sslKey, sslKeyPassword, sslCert, sslContextBuilderCustomizer);
-            return new MySqlConnectionConfiguration(isHost, domain, port, ssl, tcpKeepAlive, tcpNoDelay,
+            return new MySqlConnectionConfiguration(isHost, domain, port,
+                InternalArrays.asImmutableList(failoverHosts.toArray(new InetSocketAddress[0])),
+                InternalArrays.asImmutableList(readOnlyHosts.toArray(new InetSocketAddress[0])),
+                hostSelection, hostBlacklistDuration, ssl, tcpKeepAlive, tcpNoDelay,
                 connectTimeout, zeroDateOption,
                 preserveInstants,
                 connectionTimeZone,
                 forceConnectionTimeZoneToSession,
                 user, password, database,
-                createDatabaseIfNotExist, preferPrepareStatement,
+                createDatabaseIfNotExist, preferPrepareStatement, adaptivePrepareThreshold,
                 sessionVariables,
                 lockWaitTimeout,
                 statementTimeout,
                 loadLocalInfilePath,
-                localInfileBufferSize, queryCacheSize, prepareCacheSize,
-                compressionAlgorithms, zstdCompressionLevel, loopResources,
+                localInfileBufferSize, queryCacheSize, prepareCacheSize, preparePipelineWindow,
+                rewriteBatchedInserts, fetchReadAhead, readLowWatermark, readHighWatermark, lobStreaming,
+                killQueryOnCancel, queryPipelining, lazyTransactionBegin, resetConnectionOnRelease,
+                autoBatchSize, autoBatchWindow, compressionAlgorithms, zstdCompressionLevel, loopResources,
                 Extensions.from(extensions, autodetectExtensions), passwordPublisher, resolver);
         }
 
@@ -588,6 +805,87 @@ public final class MySqlConnectionConfiguration {
             return this;
         }
 
+        /**
+         * Adds a read-write host with the default port {@code 3306} for failover or load balancing.
+         *
+         * @param host the host.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code host} is {@code null}.
+         * @see #addHost(String, int)
+         * @since 1.3.2
+         */
+        public Builder addHost(String host) {
+            return addHost(host, DEFAULT_PORT);
+        }
+
+        /**
+         * Adds a read-write host for failover or load balancing.  The host configured by {@link #host(String)}
+         * is the first one, hosts are selected by {@link #hostSelection(HostSelection)} when connecting.  All
+         * hosts use the same user, database, SSL and other options.
+         *
+         * @param host the host.
+         * @param port the port.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code host} is {@code null}, or the {@code port} is negative or
+         *                                  bigger than {@literal 65535}.
+         * @since 1.3.2
+         */
+        public Builder addHost(String host, int port) {
+            this.failoverHosts.add(createHost(host, port));
+            return this;
+        }
+
+        /**
+         * Adds a read-only host, e.g. a replica, which is used by
+         * {@link MySqlConnectionFactory#create(io.r2dbc.spi.TransactionDefinition)} for read-only transactions.
+         * If there is no read-only host, read-only transactions use read-write hosts.
+         *
+         * @param host the host.
+         * @param port the port.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code host} is {@code null}, or the {@code port} is negative or
+         *                                  bigger than {@literal 65535}.
+         * @since 1.3.2
+         */
+        public Builder addReadOnlyHost(String host, int port) {
+            this.readOnlyHosts.add(createHost(host, port));
+            return this;
+        }
+
+        /**
+         * Configures the strategy to select a host when there are multiple hosts.  Default to
+         * {@link HostSelection#SEQUENTIAL}.
+         *
+         * @param hostSelection the host selection strategy.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code hostSelection} is {@code null}.
+         * @since 1.3.2
+         */
+        public Builder hostSelection(HostSelection hostSelection) {
+            this.hostSelection = requireNonNull(hostSelection, "hostSelection must not be null");
+            return this;
+        }
+
+        /**
+         * Configures the base duration to blacklist a host after it failed to connect when there are multiple
+         * hosts.  Default to {@code 5} seconds.
+         * <p>
+         * The duration doubles for each consecutive failure of the host, up to {@code 32} times.  Blacklisted
+         * hosts are tried only after all healthy hosts failed.
+         *
+         * @param duration the base duration of blacklisting.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code duration} is {@code null} or negative.
+         * @since 1.3.2
+         */
+        public Builder hostBlacklistDuration(Duration duration) {
+            requireNonNull(duration, "duration must not be null");
+            require(!duration.isNegative(), "duration must not be negative");
+
+            this.hostBlacklistDuration = duration;
+            return this;
+        }
+
         /**
          * Configures the password.  Default login without password.
          * <p>
@@ -897,6 +1195,7 @@ public final class MySqlConnectionConfiguration {
          */
         public Builder useClientPrepareStatement() {
             this.preferPrepareStatement = null;
+            this.adaptivePrepareThreshold = 0;
             return this;
         }
 
@@ -934,6 +1233,38 @@ public final class MySqlConnectionConfiguration {
             requireNonNull(preferPrepareStatement, "preferPrepareStatement must not be null");
 
             this.preferPrepareStatement = preferPrepareStatement;
+            this.adaptivePrepareThreshold = 0;
+            return this;
+        }
+
+        /**
+         * Configures the protocol of parameterized statements and simple statements to be chosen adaptively by
+         * execution frequency.
+         * <p>
+         * A statement is executed by the text protocol until its SQL has been executed {@code threshold} times
+         * on the connection, then it is promoted to the binary protocol, i.e. server-preparing, and the prepared
+         * statement is cached by the server-preparing cache.  So one-off SQL does not cost an extra round trip of
+         * preparing, and frequently executed SQL is prepared once.  The frequency is estimated by a sketch which
+         * ages periodically, so SQL which is no longer executed frequently will fall back to the text protocol.
+         * <p>
+         * The server-preparing cache will be limited to {@code max_prepared_stmt_count} of the server, and
+         * nothing will be promoted if the server disables prepared statements.  If the server refuses to prepare
+         * a promoted statement because the limit has been reached globally, that execution falls back to the text
+         * protocol.
+         *
+         * @param threshold the number of executions to promote, between {@code 1} and {@code 7}.  {@code 1}
+         *                  means always server-preparing.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code threshold} is not between {@code 1} and {@code 7}.
+         * @see #prepareCacheSize(int)
+         * @since 1.3.2
+         */
+        public Builder useAdaptivePrepareStatement(int threshold) {
+            require(threshold >= 1 && threshold <= Caches.MAX_PROMOTE_THRESHOLD,
+                "threshold must be between 1 and " + Caches.MAX_PROMOTE_THRESHOLD);
+
+            this.preferPrepareStatement = null;
+            this.adaptivePrepareThreshold = threshold;
             return this;
         }
 
@@ -1030,7 +1361,7 @@ public final class MySqlConnectionConfiguration {
          * Configures the maximum size of the server-preparing cache. Usually it should be power of two.
          * Default to {@code 256}. Driver will use unbounded cache if size is less than {@code 0}. It is used
          * only if using server-preparing parameterized statements, i.e. the {@link #useServerPrepareStatement}
-         * is set.
+         * or {@link #useAdaptivePrepareStatement} is set.
          * <p>
          * Notice: the cache is using EC model (the PACELC theorem) for ensure consistency. Consistency is
          * very important because MySQL contains a hard limit of all server-prepared statements which has been
@@ -1047,6 +1378,269 @@ public final class MySqlConnectionConfiguration {
             return this;
         }
 
+        /**
+         * Configures the maximum number of server-preparing executions that are written ahead without waiting
+         * for results of previous bindings.  Default to {@code 1} which means executing bindings one-by-one.
+         * It is used only if using server-preparing parameterized statements, i.e. the
+         * {@link #useServerPrepareStatement} is set.
+         * <p>
+         * Responses are matched in order, so a batch of bindings costs about one round trip per window instead
+         * of one round trip per binding. The window shrinks to {@code 1} when the statement is fetching by
+         * cursor, see also {@code MySqlStatement#fetchSize(int)}, or when any binding contains a LOB parameter.
+         * <p>
+         * Notice: if a binding fails, the bindings which have already been written ahead will still be executed
+         * by the server, their results will be discarded. Subsequent bindings will not be executed.
+         *
+         * @param preparePipelineWindow the above window, {@code 1} means no pipelining.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code preparePipelineWindow} is not positive.
+         * @since 1.3.2
+         */
+        public Builder preparePipelineWindow(int preparePipelineWindow) {
+            require(preparePipelineWindow > 0, "preparePipelineWindow must be positive");
+
+            this.preparePipelineWindow = preparePipelineWindow;
+            return this;
+        }
+
+        /**
+         * Configures whether to rewrite bindings of a client-preparing {@code INSERT} statement to multi-row
+         * {@code INSERT} statements.  Default to {@code false}.
+         * <p>
+         * It is used only for single-row {@code INSERT ... VALUES (...)} statements without {@code IGNORE},
+         * {@code ON DUPLICATE KEY UPDATE} or {@code RETURNING}, which are executed with multiple bindings by
+         * client-preparing statements. Bindings will be merged into {@code VALUES (...),(...)} statements bounded
+         * by {@code max_allowed_packet}, and each binding still has its own update count.  If the update count of
+         * a rewritten statement does not match its bindings, the bindings will share one merged result instead.
+         * <p>
+         * Notice: the generated keys of each binding are computed by the first generated key and
+         * {@code auto_increment_increment}, so they may be incorrect if the table is inserted with both explicit
+         * and generated keys in the same batch.
+         *
+         * @param enabled {@code true} to rewrite batched inserts.
+         * @return this {@link Builder}.
+         * @since 1.3.2
+         */
+        public Builder rewriteBatchedInserts(boolean enabled) {
+            this.rewriteBatchedInserts = enabled;
+            return this;
+        }
+
+        /**
+         * Configures whether to read ahead the next batch of rows when fetching by cursor, see also
+         * {@code MySqlStatement#fetchSize(int)}.  Default to {@code false}.
+         * <p>
+         * If enabled, the next {@code COM_STMT_FETCH} will be written when half of the current batch has been
+         * requested by the subscriber, instead of after the current batch is completed. So the network transfer of
+         * the next batch overlaps the processing of the current batch, and at most two batches are requested at the
+         * same time.  The next batch is never requested without the demand of the subscriber, but the rows which
+         * are requested and buffered by operators, e.g. prefetching of {@code flatMap}, count as demanded.
+         * <p>
+         * Notice: the server will respond an error to the fetch which is written ahead after the last batch,
+         * it will be discarded silently.
+         *
+         * @param enabled {@code true} to read ahead when fetching by cursor.
+         * @return this {@link Builder}.
+         * @since 1.3.2
+         */
+        public Builder fetchReadAhead(boolean enabled) {
+            this.fetchReadAhead = enabled;
+            return this;
+        }
+
+        /**
+         * Configures the low watermark of buffered server messages, reading from the socket will be resumed
+         * when the number of buffered messages falls to it.  Default to {@code 0}.
+         * <p>
+         * It is used only if {@link #readHighWatermark(int)} is set, and it must be less than the high watermark.
+         *
+         * @param readLowWatermark the low watermark.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code readLowWatermark} is negative.
+         * @since 1.3.2
+         */
+        public Builder readLowWatermark(int readLowWatermark) {
+            require(readLowWatermark >= 0, "readLowWatermark must not be negative");
+
+            this.readLowWatermark = readLowWatermark;
+            return this;
+        }
+
+        /**
+         * Configures the high watermark of buffered server messages, reading from the socket will be suspended
+         * when the number of messages which are decoded but not yet consumed by the subscriber reaches it.
+         * Default to {@code 0} which means reading eagerly.
+         * <p>
+         * It makes large text results, e.g. a huge {@code SELECT} without cursor, streamed with bounded memory
+         * for slow subscribers.  The server will be blocked by TCP flow control while reading is suspended.
+         *
+         * @param readHighWatermark the high watermark, {@code 0} means disabled.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code readHighWatermark} is negative.
+         * @since 1.3.2
+         */
+        public Builder readHighWatermark(int readHighWatermark) {
+            require(readHighWatermark >= 0, "readHighWatermark must not be negative");
+
+            this.readHighWatermark = readHighWatermark;
+            return this;
+        }
+
+        /**
+         * Configures whether to stream LOB fields which exceed a single packet (16MB).  Default to {@code false}.
+         * <p>
+         * If enabled, a row whose last column is a {@code BLOB} or {@code TEXT} field that exceeds a single
+         * packet will be emitted as soon as its first packet arrives, and {@code Blob#stream()} or
+         * {@code Clob#stream()} of the column emits buffers as the following packets arrive.  Reading from the
+         * socket will be suspended while the emitted buffers are not consumed, so the memory usage is bounded by a
+         * few packets instead of the whole field.
+         * <p>
+         * Notice: a streaming field must be the last column, and it must be read in order: get it as
+         * {@link io.r2dbc.spi.Blob} or {@link io.r2dbc.spi.Clob} only once, then consume or discard it, otherwise
+         * the connection will be stalled.  Other large fields, e.g. in non-last columns or fetched by cursor, are
+         * still collected entirely.
+         *
+         * @param enabled {@code true} to stream large LOB fields.
+         * @return this {@link Builder}.
+         * @since 1.3.2
+         */
+        public Builder lobStreaming(boolean enabled) {
+            this.lobStreaming = enabled;
+            return this;
+        }
+
+        /**
+         * Configures whether to kill the executing query on the server side when its result is cancelled.
+         * Default to {@code false}.
+         * <p>
+         * By default, the remaining rows of a cancelled result are still received and discarded, so a cancelled
+         * huge {@code SELECT} occupies the connection until all rows are transferred.  If enabled, a side
+         * connection with the same configuration will be opened to execute {@code KILL QUERY}, then the remaining
+         * responses are discarded until the server interrupts the query.  The next query of the connection will
+         * be sent after the {@code KILL QUERY} is done.
+         * <p>
+         * Notice: it interrupts the whole statement, so other results of the same statement, e.g. following
+         * statements of a multi-statement query, will be interrupted as well.  The user must have privilege to
+         * kill the query, which is always granted for its own connections.
+         *
+         * @param enabled {@code true} to kill query on cancel.
+         * @return this {@link Builder}.
+         * @since 1.3.2
+         */
+        public Builder killQueryOnCancel(boolean enabled) {
+            this.killQueryOnCancel = enabled;
+            return this;
+        }
+
+        /**
+         * Configures whether to pipeline independent commands across exchanges.  Default to {@code false}.
+         * <p>
+         * By default, a command is written only after all responses of the previous command are received, so
+         * concurrent simple queries and pings on a connection take a round trip each.  If enabled, simple queries
+         * and pings which are queued behind a simple query or a ping will be written eagerly, and their responses
+         * are still routed to them in order.  An error of a pipelined command only terminates its own exchange,
+         * the commands written behind it are still executed by the server.
+         * <p>
+         * Notice: it does not take effect if {@link #killQueryOnCancel(boolean)} or
+         * {@link #allowLoadLocalInfileInPath(String)} is configured, or the connection is compressed.
+         *
+         * @param enabled {@code true} to pipeline independent commands.
+         * @return this {@link Builder}.
+         * @since 1.3.2
+         */
+        public Builder queryPipelining(boolean enabled) {
+            this.queryPipelining = enabled;
+            return this;
+        }
+
+        /**
+         * Configures whether to begin transactions lazily.  Default to {@code false}.
+         * <p>
+         * By default, {@code beginTransaction} sends the transaction statements to the server immediately, so each
+         * transaction takes an extra round trip.  If enabled, {@code beginTransaction} only records the
+         * transaction, and its statements will be prepended to the first simple or client-preparing query inside it
+         * as multi-statements, or sent right before the first statement of other kinds.  Committing or rolling back
+         * a transaction which has executed nothing will not send anything to the server.
+         * <p>
+         * Notice: a lazy transaction takes its snapshot when its first statement is executed, so it may see
+         * changes committed by other sessions after {@code beginTransaction}.  Transactions which are defined
+         * {@code WITH CONSISTENT SNAPSHOT} will always be begun immediately to keep their semantics.
+         *
+         * @param enabled {@code true} to begin transactions lazily.
+         * @return this {@link Builder}.
+         * @since 1.3.2
+         */
+        public Builder lazyTransactionBegin(boolean enabled) {
+            this.lazyTransactionBegin = enabled;
+            return this;
+        }
+
+        /**
+         * Configures whether to reset the session by {@code COM_RESET_CONNECTION} when the connection is released
+         * to a pool.  Default to {@code false}, which only rolls back the active transaction.
+         * <p>
+         * If enabled, releasing a connection sends nothing if there is no active transaction and the session state
+         * has not been changed by the connection, e.g. {@code setTransactionIsolationLevel},
+         * {@code setLockWaitTimeout}, {@code setStatementTimeout} and {@code setAutoCommit}.  Otherwise, the
+         * connection will be reset and the configured session state, e.g. {@link #sessionVariables(String...)},
+         * will be restored in one pipelined exchange.  The reset deallocates all server-prepared statements, so
+         * the server-preparing cache of the connection will be cleared.
+         * <p>
+         * Notice: changes of the session state by executing statements, e.g. {@code SET} statements, are not
+         * tracked.  It falls back to rolling back if the server does not support {@code COM_RESET_CONNECTION},
+         * i.e. MySQL before 5.7.3 or MariaDB before 10.2.4.
+         *
+         * @param enabled {@code true} to reset the connection on release.
+         * @return this {@link Builder}.
+         * @since 1.3.2
+         */
+        public Builder resetConnectionOnRelease(boolean enabled) {
+            this.resetConnectionOnRelease = enabled;
+            return this;
+        }
+
+        /**
+         * Configures the maximum number of concurrent point queries that are coalesced into one multi-statement
+         * query on a connection.  Default to {@code 1} which means no coalescing.
+         * <p>
+         * If it is greater than {@code 1}, single {@code SELECT} statements executed by the text protocol outside
+         * transactions, e.g. {@code SELECT * FROM t WHERE id = ?} with one binding, will be gathered until the
+         * maximum number is reached or the {@link #autoBatchWindow(Duration) window} elapses, then sent in one
+         * multi-statement query, and the results are split back to each statement.  It requires the server to
+         * allow multi-statements, otherwise it is ignored.
+         * <p>
+         * Notice: a coalesced statement may wait up to the window before it is sent.  If a statement fails, the
+         * server does not execute the following statements, so they will be executed one-by-one.
+         *
+         * @param autoBatchSize the maximum number of coalesced statements, {@code 1} means no coalescing.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code autoBatchSize} is not positive.
+         * @since 1.3.2
+         */
+        public Builder autoBatchSize(int autoBatchSize) {
+            require(autoBatchSize > 0, "autoBatchSize must be positive");
+
+            this.autoBatchSize = autoBatchSize;
+            return this;
+        }
+
+        /**
+         * Configures the maximum duration that the first coalesced point query waits for other queries.  Default
+         * to {@code 1} millisecond.  It is used only if {@link #autoBatchSize(int)} is greater than {@code 1}.
+         *
+         * @param autoBatchWindow the coalescing window.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code autoBatchWindow} is {@code null} or negative.
+         * @since 1.3.2
+         */
+        public Builder autoBatchWindow(Duration autoBatchWindow) {
+            requireNonNull(autoBatchWindow, "autoBatchWindow must not be null");
+            require(!autoBatchWindow.isNegative(), "autoBatchWindow must not be negative");
+
+            this.autoBatchWindow = autoBatchWindow;
+            return this;
+        }
+
         /**
          * Configures the compression algorithms.  Default to [{@link CompressionAlgorithm#UNCOMPRESSED}].
          * <p>
@@ -1185,6 +1779,13 @@ public final class MySqlConnectionConfiguration {
             return sslMode;
         }
 
+        private static InetSocketAddress createHost(String host, int port) {
+            requireNonNull(host, "host must not be null");
+            require(port >= 0 && port <= 0xFFFF, "port must be between 0 and 65535");
+
+            return InetSocketAddress.createUnresolved(host, port);
+        }
+
         private Builder() { }
     }
 }
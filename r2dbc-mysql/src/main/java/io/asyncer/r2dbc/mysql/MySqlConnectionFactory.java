@@ -17,22 +17,32 @@
 package io.asyncer.r2dbc.mysql;
 
 import io.asyncer.r2dbc.mysql.api.MySqlConnection;
+import io.asyncer.r2dbc.mysql.api.MySqlResult;
 import io.asyncer.r2dbc.mysql.cache.Caches;
+import io.asyncer.r2dbc.mysql.cache.PreparePromoter;
 import io.asyncer.r2dbc.mysql.cache.QueryCache;
 import io.asyncer.r2dbc.mysql.client.Client;
+import io.asyncer.r2dbc.mysql.client.SslContextCache;
+import io.asyncer.r2dbc.mysql.extension.MetricsRecorder;
 import io.asyncer.r2dbc.mysql.internal.util.StringUtils;
 import io.netty.channel.unix.DomainSocketAddress;
 import io.r2dbc.spi.ConnectionFactory;
 import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.TransactionDefinition;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.resources.LoopResources;
 
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
@@ -42,10 +52,13 @@ import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
  */
 public final class MySqlConnectionFactory implements ConnectionFactory {
 
-    private final Mono<? extends MySqlConnection> client;
+    private final Mono<MySqlSimpleConnection> client;
 
-    private MySqlConnectionFactory(Mono<? extends MySqlConnection> client) {
+    private final Mono<MySqlSimpleConnection> readOnlyClient;
+
+    private MySqlConnectionFactory(Mono<MySqlSimpleConnection> client, Mono<MySqlSimpleConnection> readOnlyClient) {
         this.client = client;
+        this.readOnlyClient = readOnlyClient;
     }
 
     @Override
@@ -53,6 +66,35 @@ public final class MySqlConnectionFactory implements ConnectionFactory {
         return client;
     }
 
+    /**
+     * Creates a connection for a transaction.  If the transaction is {@link TransactionDefinition#READ_ONLY
+     * read-only} and there are read-only hosts, the connection will be created on a read-only host, otherwise it
+     * is the same as {@link #create()}.
+     * <p>
+     * Note: it does not begin the transaction, use {@link MySqlConnection#beginTransaction(TransactionDefinition)}
+     * after the connection is created.
+     *
+     * @param definition the definition of the transaction.
+     * @return a {@link Mono} emits the created connection.
+     * @throws IllegalArgumentException if {@code definition} is {@code null}.
+     * @since 1.3.2
+     */
+    public Mono<? extends MySqlConnection> create(TransactionDefinition definition) {
+        requireNonNull(definition, "definition must not be null");
+
+        return Boolean.TRUE.equals(definition.getAttribute(TransactionDefinition.READ_ONLY)) ?
+            readOnlyClient : client;
+    }
+
+    /**
+     * Creates a connection the same as {@link #create()}, without widening its type.
+     *
+     * @return a {@link Mono} emits the created connection.
+     */
+    Mono<MySqlSimpleConnection> createSimple() {
+        return client;
+    }
+
     @Override
     public ConnectionFactoryMetadata getMetadata() {
         return MySqlConnectionFactoryMetadata.INSTANCE;
@@ -67,21 +109,111 @@ public final class MySqlConnectionFactory implements ConnectionFactory {
     public static MySqlConnectionFactory from(MySqlConnectionConfiguration configuration) {
         requireNonNull(configuration, "configuration must not be null");
 
-        LazyQueryCache queryCache = new LazyQueryCache(configuration.getQueryCacheSize());
+        return withSharedCaches(configuration).apply(configuration.getLoopResources());
+    }
+
+    /**
+     * Creates a function that creates {@link MySqlConnectionFactory}s which run their connections on the given
+     * {@link LoopResources}, and share the query cache and the SSL contexts among each other.
+     *
+     * @param configuration the {@link MySqlConnectionConfiguration}.
+     * @return the function that creates factories by {@link LoopResources}.
+     */
+    static Function<LoopResources, MySqlConnectionFactory> withSharedCaches(
+        MySqlConnectionConfiguration configuration
+    ) {
+        LazyQueryCache queryCache = new LazyQueryCache(configuration.getQueryCacheSize(),
+            configuration.getExtensions().getMetricsRecorder());
+        SslContextCache sslContexts = new SslContextCache();
+
+        return loopResources -> from(configuration, queryCache, sslContexts, loopResources);
+    }
 
-        return new MySqlConnectionFactory(Mono.defer(() -> {
-            MySqlSslConfiguration ssl;
-            SocketAddress address;
+    private static MySqlConnectionFactory from(
+        MySqlConnectionConfiguration configuration,
+        LazyQueryCache queryCache,
+        SslContextCache sslContexts,
+        LoopResources loopResources
+    ) {
+        if (!configuration.isHost()) {
+            Mono<MySqlSimpleConnection> client = connect(configuration, queryCache, sslContexts, loopResources,
+                new DomainSocketAddress(configuration.getDomain()));
 
-            if (configuration.isHost()) {
-                ssl = configuration.getSsl();
-                address = InetSocketAddress.createUnresolved(configuration.getDomain(),
-                    configuration.getPort());
-            } else {
-                ssl = MySqlSslConfiguration.disabled();
-                address = new DomainSocketAddress(configuration.getDomain());
-            }
+            return new MySqlConnectionFactory(client, client);
+        }
+
+        InetSocketAddress primary = InetSocketAddress.createUnresolved(configuration.getDomain(),
+            configuration.getPort());
+        List<InetSocketAddress> failoverHosts = configuration.getFailoverHosts();
+        List<InetSocketAddress> readOnlyHosts = configuration.getReadOnlyHosts();
+
+        if (failoverHosts.isEmpty() && readOnlyHosts.isEmpty()) {
+            Mono<MySqlSimpleConnection> client = connect(configuration, queryCache, sslContexts, loopResources,
+                primary);
+
+            return new MySqlConnectionFactory(client, client);
+        }
+
+        List<InetSocketAddress> hosts = new ArrayList<>(failoverHosts.size() + 1);
+
+        hosts.add(primary);
+        hosts.addAll(failoverHosts);
+
+        Mono<MySqlSimpleConnection> client = connect(configuration, queryCache, sslContexts, loopResources, hosts);
+
+        if (readOnlyHosts.isEmpty()) {
+            return new MySqlConnectionFactory(client, client);
+        }
+
+        return new MySqlConnectionFactory(client,
+            connect(configuration, queryCache, sslContexts, loopResources, readOnlyHosts));
+    }
+
+    /**
+     * Connects to one of multiple hosts, hosts are selected by {@link MySqlConnectionConfiguration} and states
+     * of hosts are shared among all connections of the returned {@link Mono}.
+     *
+     * @param configuration the connection configuration.
+     * @param queryCache    lazy-init query cache, it is shared among all connections from the same factory.
+     * @param sslContexts   the cache of SSL contexts, it is shared among all connections from the same factory.
+     * @param loopResources the loop resources to run connections on.
+     * @param hosts         the hosts to connect.
+     * @return a {@link Mono} emits a connection to one of the hosts.
+     */
+    private static Mono<MySqlSimpleConnection> connect(
+        MySqlConnectionConfiguration configuration,
+        LazyQueryCache queryCache,
+        SslContextCache sslContexts,
+        LoopResources loopResources,
+        List<InetSocketAddress> hosts
+    ) {
+        HostSelector selector = new HostSelector(hosts, configuration.getHostSelection(),
+            configuration.getHostBlacklistDuration());
+
+        return selector.connect(address -> connect(configuration, queryCache, sslContexts, loopResources, address),
+            MySqlSimpleConnection::onClose);
+    }
 
+    /**
+     * Connects to an address with credentials of the configuration.
+     *
+     * @param configuration the connection configuration.
+     * @param queryCache    lazy-init query cache, it is shared among all connections from the same factory.
+     * @param sslContexts   the cache of SSL contexts, it is shared among all connections from the same factory.
+     * @param loopResources the loop resources to run the connection on.
+     * @param address       TCP or Unix Domain Socket address.
+     * @return a {@link Mono} emits a connection to the address.
+     */
+    private static Mono<MySqlSimpleConnection> connect(
+        MySqlConnectionConfiguration configuration,
+        LazyQueryCache queryCache,
+        SslContextCache sslContexts,
+        LoopResources loopResources,
+        SocketAddress address
+    ) {
+        return Mono.defer(() -> {
+            MySqlSslConfiguration ssl = configuration.isHost() ? configuration.getSsl() :
+                MySqlSslConfiguration.disabled();
             String user = configuration.getUser();
             CharSequence password = configuration.getPassword();
             Publisher<String> passwordPublisher = configuration.getPasswordPublisher();
@@ -90,6 +222,8 @@ public final class MySqlConnectionFactory implements ConnectionFactory {
                 return Mono.from(passwordPublisher).flatMap(token -> getMySqlConnection(
                     configuration, ssl,
                     queryCache,
+                    sslContexts,
+                    loopResources,
                     address,
                     user,
                     token
@@ -99,11 +233,13 @@ public final class MySqlConnectionFactory implements ConnectionFactory {
             return getMySqlConnection(
                 configuration, ssl,
                 queryCache,
+                sslContexts,
+                loopResources,
                 address,
                 user,
                 password
             );
-        }));
+        });
     }
 
     /**
@@ -118,15 +254,19 @@ public final class MySqlConnectionFactory implements ConnectionFactory {
      * @param configuration the connection configuration.
      * @param ssl           the SSL configuration.
      * @param queryCache    lazy-init query cache, it is shared among all connections from the same factory.
+     * @param sslContexts   the cache of SSL contexts, it is shared among all connections from the same factory.
+     * @param loopResources the loop resources to run the connection on.
      * @param address       TCP or Unix Domain Socket address.
      * @param user          the user of the authentication.
      * @param password      the password of the authentication.
      * @return a {@link MySqlConnection}.
      */
-    private static Mono<MySqlConnection> getMySqlConnection(
+    private static Mono<MySqlSimpleConnection> getMySqlConnection(
         final MySqlConnectionConfiguration configuration,
         final MySqlSslConfiguration ssl,
         final LazyQueryCache queryCache,
+        final SslContextCache sslContexts,
+        final LoopResources loopResources,
         final SocketAddress address,
         final String user,
         @Nullable final CharSequence password
@@ -134,20 +274,20 @@ public final class MySqlConnectionFactory implements ConnectionFactory {
         return Mono.fromSupplier(() -> {
             ZoneId connectionTimeZone = retrieveZoneId(configuration.getConnectionTimeZone());
             return new ConnectionContext(
-                configuration.getZeroDateOption(),
-                configuration.getLoadLocalInfilePath(),
-                configuration.getLocalInfileBufferSize(),
-                configuration.isPreserveInstants(),
-                connectionTimeZone
+                configuration,
+                connectionTimeZone,
+                configuration.isKillQueryOnCancel() ?
+                    id -> killQuery(configuration, queryCache, sslContexts, address, id) : null
             );
         }).flatMap(context -> Client.connect(
             ssl,
+            sslContexts,
             address,
             configuration.isTcpKeepAlive(),
             configuration.isTcpNoDelay(),
             context,
             configuration.getConnectTimeout(),
-            configuration.getLoopResources(),
+            loopResources,
             configuration.getResolver()
         )).flatMap(client -> {
             // Lazy init database after handshake/login
@@ -177,11 +317,54 @@ public final class MySqlConnectionFactory implements ConnectionFactory {
                 client,
                 codecs,
                 queryCache.get(),
-                configuration.getPreferPrepareStatement()
+                configuration.getPreferPrepareStatement(),
+                createPromoter(configuration, client.getContext())
             )).onErrorResume(e -> client.forceClose().then(Mono.error(e)));
         });
     }
 
+    /**
+     * Kills the query executing by a connection with a side connection, which uses the same configuration and
+     * connects to the same address.
+     *
+     * @param configuration the connection configuration.
+     * @param queryCache    lazy-init query cache, it is shared among all connections from the same factory.
+     * @param sslContexts   the cache of SSL contexts, it is shared among all connections from the same factory.
+     * @param address       the address of the connection which query should be killed.
+     * @param connectionId  the identifier of the connection which query should be killed.
+     * @return a {@link Mono} that completes when the {@code KILL QUERY} statement is executed.
+     */
+    private static Mono<Void> killQuery(
+        MySqlConnectionConfiguration configuration,
+        LazyQueryCache queryCache,
+        SslContextCache sslContexts,
+        SocketAddress address,
+        int connectionId
+    ) {
+        return Mono.usingWhen(
+            connect(configuration, queryCache, sslContexts, configuration.getLoopResources(), address),
+            connection -> Flux.from(connection.createStatement("KILL QUERY " + connectionId).execute())
+                .flatMap(MySqlResult::getRowsUpdated)
+                .then(),
+            MySqlConnection::close
+        );
+    }
+
+    @Nullable
+    private static PreparePromoter createPromoter(
+        MySqlConnectionConfiguration configuration,
+        ConnectionContext context
+    ) {
+        int threshold = configuration.getAdaptivePrepareThreshold();
+
+        // Nothing can be prepared if the server disables prepared statements.
+        if (threshold <= 0 || context.getMaxPreparedStatements() == 0) {
+            return null;
+        }
+
+        return Caches.createPreparePromoter(threshold, configuration.getPrepareCacheSize());
+    }
+
     @Nullable
     private static ZoneId retrieveZoneId(String timeZone) {
         if ("LOCAL".equalsIgnoreCase(timeZone)) {
@@ -197,13 +380,17 @@ public final class MySqlConnectionFactory implements ConnectionFactory {
 
         private final int capacity;
 
+        @Nullable
+        private final MetricsRecorder metrics;
+
         private final ReentrantLock lock = new ReentrantLock();
 
         @Nullable
         private volatile QueryCache cache;
 
-        private LazyQueryCache(int capacity) {
+        private LazyQueryCache(int capacity, @Nullable MetricsRecorder metrics) {
             this.capacity = capacity;
+            this.metrics = metrics;
         }
 
         @Override
@@ -213,7 +400,7 @@ public final class MySqlConnectionFactory implements ConnectionFactory {
                 lock.lock();
                 try {
                     if ((cache = this.cache) == null) {
-                        this.cache = cache = Caches.createQueryCache(capacity);
+                        this.cache = cache = Caches.createQueryCache(capacity, metrics);
                     }
                     return cache;
                 } finally {
@@ -17,6 +17,7 @@
 package io.asyncer.r2dbc.mysql;
 
 import io.asyncer.r2dbc.mysql.constant.CompressionAlgorithm;
+import io.asyncer.r2dbc.mysql.constant.HostSelection;
 import io.asyncer.r2dbc.mysql.constant.SslMode;
 import io.asyncer.r2dbc.mysql.constant.ZeroDateOption;
 import io.netty.handler.ssl.SslContextBuilder;
@@ -34,9 +35,11 @@ import java.time.ZoneId;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.require;
 import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
 import static io.asyncer.r2dbc.mysql.internal.util.InternalArrays.EMPTY_STRINGS;
 import static io.r2dbc.spi.ConnectionFactoryOptions.CONNECT_TIMEOUT;
@@ -67,6 +70,38 @@ public final class MySqlConnectionFactoryProvider implements ConnectionFactoryPr
      */
     public static final Option<String> UNIX_SOCKET = Option.valueOf("unixSocket");
 
+    /**
+     * Option to add read-write hosts for failover or load balancing, e.g. {@code "host2:3306,[::1]:3307"}.
+     * The port can be omitted if it is {@code 3306}.
+     *
+     * @since 1.3.2
+     */
+    public static final Option<String[]> FAILOVER_HOSTS = Option.valueOf("failoverHosts");
+
+    /**
+     * Option to add read-only hosts for read-only transactions, e.g. {@code "replica1:3306,replica2:3306"}.
+     * The port can be omitted if it is {@code 3306}.
+     *
+     * @since 1.3.2
+     */
+    public static final Option<String[]> READ_ONLY_HOSTS = Option.valueOf("readOnlyHosts");
+
+    /**
+     * Option to set the strategy to select a host when there are multiple hosts.  Default to
+     * {@link HostSelection#SEQUENTIAL}.
+     *
+     * @since 1.3.2
+     */
+    public static final Option<HostSelection> HOST_SELECTION = Option.valueOf("hostSelection");
+
+    /**
+     * Option to set the base duration to blacklist a host after it failed to connect.  Default to {@code 5}
+     * seconds.
+     *
+     * @since 1.3.2
+     */
+    public static final Option<Duration> HOST_BLACKLIST_DURATION = Option.valueOf("hostBlacklistDuration");
+
     /**
      * Option to set the time zone conversion.  Default to {@code true} means enable conversion between JVM
      * and {@link #CONNECTION_TIME_ZONE}.
@@ -222,6 +257,17 @@ public final class MySqlConnectionFactoryProvider implements ConnectionFactoryPr
     public static final Option<Object> USE_SERVER_PREPARE_STATEMENT =
         Option.valueOf("useServerPrepareStatement");
 
+    /**
+     * Option to choose the protocol of statements adaptively by execution frequency.  SQL is executed by the
+     * text protocol until it has been executed the threshold times on a connection, then it is promoted to
+     * server-preparing.  The threshold should be between {@code 1} and {@code 7}.  It overrides
+     * {@link #USE_SERVER_PREPARE_STATEMENT}.
+     *
+     * @since 1.3.2
+     */
+    public static final Option<Integer> USE_ADAPTIVE_PREPARE_STATEMENT =
+        Option.valueOf("useAdaptivePrepareStatement");
+
     /**
      * Option to set session variables. It should be a list of key-value pairs. e.g.
      * {@code ["sql_mode='ANSI_QUOTES,STRICT_TRANS_TABLES'", "time_zone=00:00"]}.
@@ -288,6 +334,100 @@ public final class MySqlConnectionFactoryProvider implements ConnectionFactoryPr
      */
     public static final Option<Integer> PREPARE_CACHE_SIZE = Option.valueOf("prepareCacheSize");
 
+    /**
+     * Option to set the maximum number of server-preparing executions that are written ahead without waiting
+     * for results of previous bindings.  Default to {@code 1} which means executing bindings one-by-one.
+     *
+     * @since 1.3.2
+     */
+    public static final Option<Integer> PREPARE_PIPELINE_WINDOW = Option.valueOf("preparePipelineWindow");
+
+    /**
+     * Option to rewrite bindings of a client-preparing {@code INSERT} statement to multi-row {@code INSERT}
+     * statements.  Default to {@code false}.
+     *
+     * @since 1.3.2
+     */
+    public static final Option<Boolean> REWRITE_BATCHED_INSERTS = Option.valueOf("rewriteBatchedInserts");
+
+    /**
+     * Option to read ahead the next batch of rows when fetching by cursor.  Default to {@code false}.
+     *
+     * @since 1.3.2
+     */
+    public static final Option<Boolean> FETCH_READ_AHEAD = Option.valueOf("fetchReadAhead");
+
+    /**
+     * Option to set the low watermark of buffered server messages to resume reading.  Default to {@code 0}.
+     *
+     * @since 1.3.2
+     */
+    public static final Option<Integer> READ_LOW_WATERMARK = Option.valueOf("readLowWatermark");
+
+    /**
+     * Option to set the high watermark of buffered server messages to suspend reading.  Default to {@code 0}
+     * which means reading eagerly.
+     *
+     * @since 1.3.2
+     */
+    public static final Option<Integer> READ_HIGH_WATERMARK = Option.valueOf("readHighWatermark");
+
+    /**
+     * Option to stream a LOB field that exceeds a single packet as packets arrive, instead of collecting it
+     * entirely.  Default to {@code false}.
+     *
+     * @since 1.3.2
+     */
+    public static final Option<Boolean> LOB_STREAMING = Option.valueOf("lobStreaming");
+
+    /**
+     * Option to kill the executing query by {@code KILL QUERY} from a side connection when its result is
+     * cancelled.  Default to {@code false}.
+     *
+     * @since 1.3.2
+     */
+    public static final Option<Boolean> KILL_QUERY_ON_CANCEL = Option.valueOf("killQueryOnCancel");
+
+    /**
+     * Option to write independent commands, e.g. simple queries and pings, before responses of previous commands
+     * are received.  Default to {@code false}.
+     *
+     * @since 1.3.2
+     */
+    public static final Option<Boolean> QUERY_PIPELINING = Option.valueOf("queryPipelining");
+
+    /**
+     * Option to begin transactions with their first statements instead of round trips of their own.  Default to
+     * {@code false}.
+     *
+     * @since 1.3.2
+     */
+    public static final Option<Boolean> LAZY_TRANSACTION_BEGIN = Option.valueOf("lazyTransactionBegin");
+
+    /**
+     * Option to reset the session by {@code COM_RESET_CONNECTION} and restore the configured session state when
+     * the connection is released.  Default to {@code false}.
+     *
+     * @since 1.3.2
+     */
+    public static final Option<Boolean> RESET_CONNECTION_ON_RELEASE = Option.valueOf("resetConnectionOnRelease");
+
+    /**
+     * Option to set the maximum number of concurrent point queries coalesced into one multi-statement query.
+     * Default to {@code 1} which means no coalescing.
+     *
+     * @since 1.3.2
+     */
+    public static final Option<Integer> AUTO_BATCH_SIZE = Option.valueOf("autoBatchSize");
+
+    /**
+     * Option to set the maximum duration that the first coalesced point query waits for other queries.  Default
+     * to {@code 1} millisecond.
+     *
+     * @since 1.3.2
+     */
+    public static final Option<Duration> AUTO_BATCH_WINDOW = Option.valueOf("autoBatchWindow");
+
     /**
      * Option to set the maximum size of the server-preparing cache.  Default to {@code 0}.
      *
@@ -373,6 +513,8 @@ public final class MySqlConnectionFactoryProvider implements ConnectionFactoryPr
             .to(builder::zeroDateOption);
         mapper.optional(USE_SERVER_PREPARE_STATEMENT).prepare(builder::useClientPrepareStatement,
             builder::useServerPrepareStatement, builder::useServerPrepareStatement);
+        mapper.optional(USE_ADAPTIVE_PREPARE_STATEMENT).asInt()
+            .to(builder::useAdaptivePrepareStatement);
         mapper.optional(ALLOW_LOAD_LOCAL_INFILE_IN_PATH).asString()
             .to(builder::allowLoadLocalInfileInPath);
         mapper.optional(LOCAL_INFILE_BUFFER_SIZE).asInt()
@@ -381,6 +523,30 @@ public final class MySqlConnectionFactoryProvider implements ConnectionFactoryPr
             .to(builder::queryCacheSize);
         mapper.optional(PREPARE_CACHE_SIZE).asInt()
             .to(builder::prepareCacheSize);
+        mapper.optional(PREPARE_PIPELINE_WINDOW).asInt()
+            .to(builder::preparePipelineWindow);
+        mapper.optional(REWRITE_BATCHED_INSERTS).asBoolean()
+            .to(builder::rewriteBatchedInserts);
+        mapper.optional(FETCH_READ_AHEAD).asBoolean()
+            .to(builder::fetchReadAhead);
+        mapper.optional(READ_LOW_WATERMARK).asInt()
+            .to(builder::readLowWatermark);
+        mapper.optional(READ_HIGH_WATERMARK).asInt()
+            .to(builder::readHighWatermark);
+        mapper.optional(LOB_STREAMING).asBoolean()
+            .to(builder::lobStreaming);
+        mapper.optional(KILL_QUERY_ON_CANCEL).asBoolean()
+            .to(builder::killQueryOnCancel);
+        mapper.optional(QUERY_PIPELINING).asBoolean()
+            .to(builder::queryPipelining);
+        mapper.optional(LAZY_TRANSACTION_BEGIN).asBoolean()
+            .to(builder::lazyTransactionBegin);
+        mapper.optional(RESET_CONNECTION_ON_RELEASE).asBoolean()
+            .to(builder::resetConnectionOnRelease);
+        mapper.optional(AUTO_BATCH_SIZE).asInt()
+            .to(builder::autoBatchSize);
+        mapper.optional(AUTO_BATCH_WINDOW).as(Duration.class, Duration::parse)
+            .to(builder::autoBatchWindow);
         mapper.optional(AUTODETECT_EXTENSIONS).asBoolean()
             .to(builder::autodetectExtensions);
         mapper.optional(CONNECT_TIMEOUT).as(Duration.class, Duration::parse)
@@ -448,6 +614,65 @@ public final class MySqlConnectionFactoryProvider implements ConnectionFactoryPr
             .to(builder::sslContextBuilderCustomizer);
         mapper.optional(SSL_CA).asString()
             .to(builder::sslCa);
+        mapper.optional(FAILOVER_HOSTS)
+            .asArray(String[].class, Function.identity(), it -> it.split(","), String[]::new)
+            .to(hosts -> addHosts(hosts, builder::addHost));
+        mapper.optional(READ_ONLY_HOSTS)
+            .asArray(String[].class, Function.identity(), it -> it.split(","), String[]::new)
+            .to(hosts -> addHosts(hosts, builder::addReadOnlyHost));
+        mapper.optional(HOST_SELECTION).as(HostSelection.class, id -> HostSelection.valueOf(id.toUpperCase()))
+            .to(builder::hostSelection);
+        mapper.optional(HOST_BLACKLIST_DURATION).as(Duration.class, Duration::parse)
+            .to(builder::hostBlacklistDuration);
+    }
+
+    /**
+     * Parses hosts like {@code host}, {@code host:port}, {@code [IPv6]} or {@code [IPv6]:port}, and adds them
+     * by {@code adder}.
+     *
+     * @param hosts the hosts from user input.
+     * @param adder the function to add a host and its port.
+     * @throws IllegalArgumentException if any host is invalid.
+     */
+    private static void addHosts(String[] hosts, BiConsumer<String, Integer> adder) {
+        for (String address : hosts) {
+            String host = address.trim();
+
+            if (host.isEmpty()) {
+                continue;
+            }
+
+            int port = 3306;
+            int colon = host.lastIndexOf(':');
+
+            if (host.charAt(0) == '[') {
+                int end = host.indexOf(']');
+
+                require(end > 0, "invalid IPv6 host: " + host);
+
+                if (end + 1 < host.length()) {
+                    require(host.charAt(end + 1) == ':', "invalid host: " + host);
+                    port = parsePort(host, host.substring(end + 2));
+                }
+
+                host = host.substring(1, end);
+            } else if (colon >= 0) {
+                require(host.indexOf(':') == colon, "IPv6 host must be enclosed in brackets: " + host);
+
+                port = parsePort(host, host.substring(colon + 1));
+                host = host.substring(0, colon);
+            }
+
+            adder.accept(host, port);
+        }
+    }
+
+    private static int parsePort(String host, String port) {
+        try {
+            return Integer.parseInt(port);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid port of host: " + host, e);
+        }
     }
 
     /**
@@ -0,0 +1,712 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.api.MySqlConnection;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+import io.r2dbc.spi.Closeable;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import org.jetbrains.annotations.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.require;
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
+
+/**
+ * A connection pool of MySQL connections which are affine to event loops.
+ * <p>
+ * The pool keeps a shard of connections for each event loop of the {@link LoopResources} configured by
+ * {@link MySqlConnectionConfiguration}, and connections of a shard always run on its event loop.  A connection is
+ * acquired from the shard of the event loop which the caller is running on, so exchanges do not hop threads, or
+ * from the shards one by one if the caller is not on an event loop.  If a shard is exhausted, it steals an idle
+ * connection from other shards, or creates a connection on another shard which is not full, before waiting for a
+ * release.  A waiter is served by its own shard first, and a shard without waiters serves waiters of other shards.
+ * <p>
+ * Idle connections of each shard are kept in a lock-free stack, the most recently released connection will be
+ * acquired first.  A connection will be {@link MySqlConnection#preRelease() pre-released} when it is closed by the
+ * borrower, and returned to its shard.
+ * <p>
+ * Notice: connections are created lazily by default, use {@link #warmUp()} at startup to pre-warm connections and
+ * their prepare caches.
+ *
+ * @since 1.3.2
+ */
+public final class MySqlConnectionPool implements ConnectionFactory, Closeable {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(MySqlConnectionPool.class);
+
+    private final Shard[] shards;
+
+    private final int maxSizePerLoop;
+
+    private final int warmUpSizePerLoop;
+
+    private final List<String> warmUpStatements;
+
+    @Nullable
+    private final Duration acquireTimeout;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Creates a pool which has a shard for each event loop of {@code group}.
+     *
+     * @param group             the event loops of connections.
+     * @param connectors        creates the connector of a shard by its event loop.
+     * @param maxSizePerLoop    the maximum number of connections of each event loop.
+     * @param warmUpSizePerLoop the number of pre-warmed connections of each event loop.
+     * @param warmUpStatements  the statements that should be prepared on each pre-warmed connection.
+     * @param acquireTimeout    the maximum time to acquire a connection, or {@code null} if it should wait forever.
+     */
+    MySqlConnectionPool(
+        EventLoopGroup group,
+        Function<EventLoop, Mono<MySqlSimpleConnection>> connectors,
+        int maxSizePerLoop,
+        int warmUpSizePerLoop,
+        List<String> warmUpStatements,
+        @Nullable Duration acquireTimeout
+    ) {
+        List<Shard> shards = new ArrayList<>();
+
+        for (EventExecutor executor : group) {
+            if (executor instanceof EventLoop) {
+                EventLoop loop = (EventLoop) executor;
+
+                shards.add(new Shard(loop, connectors.apply(loop)));
+            }
+        }
+
+        require(!shards.isEmpty(), "loopResources must contain at least one event loop");
+
+        this.shards = shards.toArray(new Shard[0]);
+        this.maxSizePerLoop = maxSizePerLoop;
+        this.warmUpSizePerLoop = warmUpSizePerLoop;
+        this.warmUpStatements = warmUpStatements;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    /**
+     * Acquires a connection from the pool.  Closing the acquired connection returns it to the pool.
+     *
+     * @return a {@link Mono} emits the acquired connection.
+     */
+    @Override
+    public Mono<? extends MySqlConnection> create() {
+        Duration timeout = this.acquireTimeout;
+
+        if (timeout == null) {
+            return acquire();
+        }
+
+        return acquire().timeout(timeout, Mono.error(() -> new R2dbcTimeoutException(
+            "Acquire connection from pool timed out after " + timeout.toMillis() + "ms")));
+    }
+
+    private Mono<MySqlConnection> acquire() {
+        return Mono.defer(() -> {
+            if (closed.get()) {
+                return Mono.error(poolClosed());
+            }
+
+            Shard home = affinity();
+            MySqlSimpleConnection connection = home.pollIdle();
+
+            if (connection != null) {
+                return Mono.just(home.wrap(connection));
+            }
+
+            if (home.tryReserve()) {
+                return Mono.create(home::connect);
+            }
+
+            for (Shard shard : shards) {
+                if (shard != home && (connection = shard.pollIdle()) != null) {
+                    return Mono.just(shard.wrap(connection));
+                }
+            }
+
+            for (Shard shard : shards) {
+                if (shard != home && shard.tryReserve()) {
+                    return Mono.create(shard::connect);
+                }
+            }
+
+            return Mono.create(home::await);
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return MySqlConnectionFactoryMetadata.INSTANCE;
+    }
+
+    /**
+     * Pre-warms connections of each event loop up to the warm-up size, and prepares warm-up statements on each
+     * pre-warmed connection.  It should be called at startup.
+     *
+     * @return a {@link Mono} that completes when all connections are pre-warmed.
+     */
+    public Mono<Void> warmUp() {
+        return Flux.fromArray(shards)
+            .flatMap(shard -> Flux.range(0, warmUpSizePerLoop).flatMap(ignored -> shard.warmUp()))
+            .then();
+    }
+
+    /**
+     * Closes the pool and all idle connections.  Borrowed connections will be closed when they are returned, and
+     * pending acquisitions will fail.
+     *
+     * @return a {@link Mono} that completes when all idle connections are closed.
+     */
+    @Override
+    public Mono<Void> close() {
+        return Mono.defer(() -> {
+            if (!closed.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+
+            List<Mono<Void>> closing = new ArrayList<>();
+
+            for (Shard shard : shards) {
+                shard.drain();
+                shard.closeIdle(closing);
+            }
+
+            return Mono.when(closing);
+        });
+    }
+
+    /**
+     * Creates a {@link Builder} of {@link MySqlConnectionPool} with a {@link MySqlConnectionConfiguration}.
+     *
+     * @param configuration the {@link MySqlConnectionConfiguration} of connections.
+     * @return a {@link Builder}.
+     * @throws IllegalArgumentException if {@code configuration} is {@code null}.
+     */
+    public static Builder builder(MySqlConnectionConfiguration configuration) {
+        requireNonNull(configuration, "configuration must not be null");
+
+        return new Builder(configuration);
+    }
+
+    private Shard affinity() {
+        for (Shard shard : shards) {
+            if (shard.loop.inEventLoop()) {
+                return shard;
+            }
+        }
+
+        return shards[(next.getAndIncrement() & Integer.MAX_VALUE) % shards.length];
+    }
+
+    private static R2dbcNonTransientResourceException poolClosed() {
+        return new R2dbcNonTransientResourceException("Connection pool has been closed");
+    }
+
+    private static Mono<Void> closeQuietly(MySqlSimpleConnection connection) {
+        return connection.close().onErrorResume(e -> {
+            logger.debug("Close pooled connection failed", e);
+            return Mono.empty();
+        });
+    }
+
+    /**
+     * A shard of connections which run on the same event loop.
+     */
+    private final class Shard {
+
+        private final EventLoop loop;
+
+        private final Mono<MySqlSimpleConnection> connector;
+
+        private final ConcurrentLinkedDeque<MySqlSimpleConnection> idle = new ConcurrentLinkedDeque<>();
+
+        private final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+        /**
+         * The number of connections of this shard, including idle, borrowed and connecting connections.
+         */
+        private final AtomicInteger size = new AtomicInteger();
+
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private Shard(EventLoop loop, Mono<MySqlSimpleConnection> connector) {
+            this.loop = loop;
+            this.connector = connector;
+        }
+
+        private PooledConnection wrap(MySqlSimpleConnection connection) {
+            return new PooledConnection(connection, this::release);
+        }
+
+        private boolean tryReserve() {
+            int current;
+
+            do {
+                if ((current = size.get()) >= maxSizePerLoop) {
+                    return false;
+                }
+            } while (!size.compareAndSet(current, current + 1));
+
+            return true;
+        }
+
+        @Nullable
+        private MySqlSimpleConnection pollIdle() {
+            MySqlSimpleConnection connection;
+
+            while ((connection = idle.pollFirst()) != null) {
+                if (connection.isConnected()) {
+                    return connection;
+                }
+
+                // The connection has been closed while idle, e.g. closed by the server.
+                size.decrementAndGet();
+
+                if (!waiters.isEmpty()) {
+                    drain();
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * Creates a new connection for an acquisition, a slot should have been reserved.  If the acquisition is
+         * cancelled, the new connection will be idle.
+         *
+         * @param sink the sink of the acquisition.
+         */
+        private void connect(MonoSink<MySqlConnection> sink) {
+            Waiter waiter = new Waiter(sink);
+
+            sink.onCancel(waiter::cancel);
+            connect(waiter);
+        }
+
+        private void connect(Waiter waiter) {
+            connector.subscribe(connection -> {
+                if (!waiter.complete(wrap(connection))) {
+                    offerIdle(connection);
+                }
+            }, e -> {
+                size.decrementAndGet();
+                waiter.error(e);
+                drain();
+            });
+        }
+
+        private Mono<Void> warmUp() {
+            if (!tryReserve()) {
+                return Mono.empty();
+            }
+
+            return connector.flatMap(connection -> Flux.fromIterable(warmUpStatements)
+                    .concatMap(connection::prepare)
+                    .then(Mono.fromRunnable(() -> offerIdle(connection)))
+                    .onErrorResume(e -> closeQuietly(connection).then(Mono.error(e))))
+                .doOnError(ignored -> {
+                    size.decrementAndGet();
+                    drain();
+                })
+                .then();
+        }
+
+        private void await(MonoSink<MySqlConnection> sink) {
+            Waiter waiter = new Waiter(sink);
+
+            sink.onCancel(waiter::cancel);
+            waiters.offer(waiter);
+            drain();
+
+            // Other shards may have released connections after they were checked by the acquisition.
+            for (Shard shard : shards) {
+                if (shard != this && !waiter.isDone()) {
+                    shard.drain();
+                }
+            }
+        }
+
+        private Mono<Void> release(MySqlSimpleConnection connection) {
+            return connection.preRelease()
+                .then(Mono.fromRunnable(() -> offerIdle(connection)))
+                .onErrorResume(e -> {
+                    logger.debug("Pre-release pooled connection failed, discarding it", e);
+                    return discard(connection);
+                })
+                .then();
+        }
+
+        private void offerIdle(MySqlSimpleConnection connection) {
+            if (closed.get() || !connection.isConnected()) {
+                discard(connection).subscribe();
+                return;
+            }
+
+            idle.offerFirst(connection);
+
+            if (closed.get()) {
+                // The pool has been closed while offering, close it with other idle connections.
+                List<Mono<Void>> closing = new ArrayList<>();
+
+                closeIdle(closing);
+                Mono.when(closing).subscribe();
+            } else {
+                drain();
+            }
+        }
+
+        private Mono<Void> discard(MySqlSimpleConnection connection) {
+            size.decrementAndGet();
+            drain();
+
+            return closeQuietly(connection);
+        }
+
+        private void closeIdle(List<Mono<Void>> closing) {
+            MySqlSimpleConnection connection;
+
+            while ((connection = idle.pollFirst()) != null) {
+                size.decrementAndGet();
+                closing.add(closeQuietly(connection));
+            }
+        }
+
+        /**
+         * Serves waiters by idle connections or new connections, at most one thread drains a shard at a time.  Other
+         * shards may take waiters concurrently, so a waiter is served only if it is removed by this thread.
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+
+            do {
+                Waiter waiter;
+
+                while ((waiter = waiters.peek()) != null) {
+                    if (waiter.isDone()) {
+                        waiters.remove(waiter);
+                        continue;
+                    }
+
+                    if (closed.get()) {
+                        if (waiters.remove(waiter)) {
+                            waiter.error(poolClosed());
+                        }
+                        continue;
+                    }
+
+                    MySqlSimpleConnection connection = pollIdle();
+
+                    if (connection != null) {
+                        if (!waiters.remove(waiter) || !waiter.complete(wrap(connection))) {
+                            idle.offerFirst(connection);
+                        }
+
+                        continue;
+                    }
+
+                    if (!tryReserve()) {
+                        break;
+                    }
+
+                    if (waiters.remove(waiter)) {
+                        connect(waiter);
+                    } else {
+                        size.decrementAndGet();
+                    }
+                }
+
+                if (waiters.isEmpty() && !closed.get()) {
+                    serveOthers();
+                }
+
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Serves waiters of other shards by idle connections or new connections of this shard, it should be called
+         * only by {@link #drain()} when this shard has no waiter.
+         */
+        private void serveOthers() {
+            for (Shard shard : shards) {
+                if (shard == this) {
+                    continue;
+                }
+
+                while (!shard.waiters.isEmpty()) {
+                    MySqlSimpleConnection connection = pollIdle();
+
+                    if (connection == null && !tryReserve()) {
+                        return;
+                    }
+
+                    Waiter waiter = shard.waiters.poll();
+
+                    if (waiter == null || waiter.isDone()) {
+                        // The waiter has been served or cancelled, give the connection or the slot back.
+                        if (connection == null) {
+                            size.decrementAndGet();
+                        } else {
+                            idle.offerFirst(connection);
+                        }
+                    } else if (connection == null) {
+                        connect(waiter);
+                    } else if (!waiter.complete(wrap(connection))) {
+                        idle.offerFirst(connection);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A pending acquisition which waits for a connection.
+     */
+    private static final class Waiter {
+
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private final MonoSink<MySqlConnection> sink;
+
+        private Waiter(MonoSink<MySqlConnection> sink) {
+            this.sink = sink;
+        }
+
+        private boolean isDone() {
+            return done.get();
+        }
+
+        private void cancel() {
+            done.set(true);
+        }
+
+        private boolean complete(MySqlConnection connection) {
+            if (done.compareAndSet(false, true)) {
+                sink.success(connection);
+                return true;
+            }
+
+            return false;
+        }
+
+        private void error(Throwable e) {
+            if (done.compareAndSet(false, true)) {
+                sink.error(e);
+            }
+        }
+    }
+
+    /**
+     * A {@link LoopResources} that runs client connections on a specific event loop of the original
+     * {@link LoopResources}.  It does not own the event loop, so it does nothing on dispose.
+     */
+    private static final class AffinityLoopResources implements LoopResources {
+
+        private final LoopResources resources;
+
+        private final EventLoopGroup group;
+
+        private final EventLoop loop;
+
+        private AffinityLoopResources(LoopResources resources, EventLoopGroup group, EventLoop loop) {
+            this.resources = resources;
+            this.group = group;
+            this.loop = loop;
+        }
+
+        @Override
+        public EventLoopGroup onServer(boolean useNative) {
+            return resources.onServer(useNative);
+        }
+
+        @Override
+        public EventLoopGroup onClient(boolean useNative) {
+            return loop;
+        }
+
+        @Override
+        public <CHANNEL extends Channel> CHANNEL onChannel(Class<CHANNEL> channelType, EventLoopGroup group) {
+            // The channel type is detected by the original group, a single event loop is not a native group.
+            return resources.onChannel(channelType, this.group);
+        }
+
+        @Override
+        public <CHANNEL extends Channel> Class<? extends CHANNEL> onChannelClass(
+            Class<CHANNEL> channelType,
+            EventLoopGroup group
+        ) {
+            return resources.onChannelClass(channelType, this.group);
+        }
+
+        @Override
+        public boolean daemon() {
+            return resources.daemon();
+        }
+
+        @Override
+        public void dispose() {
+            // Do nothing, the event loop is owned by the original resources.
+        }
+
+        @Override
+        public Mono<Void> disposeLater() {
+            return Mono.empty();
+        }
+    }
+
+    /**
+     * A builder for {@link MySqlConnectionPool}.
+     *
+     * @since 1.3.2
+     */
+    public static final class Builder {
+
+        private final MySqlConnectionConfiguration configuration;
+
+        private int maxSizePerLoop = 2;
+
+        private int warmUpSizePerLoop;
+
+        private List<String> warmUpStatements = Collections.emptyList();
+
+        @Nullable
+        private Duration acquireTimeout;
+
+        private Builder(MySqlConnectionConfiguration configuration) {
+            this.configuration = configuration;
+        }
+
+        /**
+         * Builds an immutable {@link MySqlConnectionPool} with current options.
+         *
+         * @return the {@link MySqlConnectionPool}.
+         * @throws IllegalArgumentException if the warm-up size is greater than the maximum size.
+         */
+        public MySqlConnectionPool build() {
+            require(warmUpSizePerLoop <= maxSizePerLoop, "warmUpSizePerLoop must not be greater than maxSizePerLoop");
+
+            LoopResources resources = configuration.getLoopResources();
+            EventLoopGroup group = resources.onClient(LoopResources.DEFAULT_NATIVE);
+            Function<LoopResources, MySqlConnectionFactory> factories =
+                MySqlConnectionFactory.withSharedCaches(configuration);
+
+            return new MySqlConnectionPool(
+                group,
+                loop -> factories.apply(new AffinityLoopResources(resources, group, loop)).createSimple(),
+                maxSizePerLoop,
+                warmUpSizePerLoop,
+                warmUpStatements,
+                acquireTimeout
+            );
+        }
+
+        /**
+         * Configures the maximum time to acquire a connection, including waiting for a release and connecting.  The
+         * acquisition will fail with a {@link R2dbcTimeoutException} if it times out.  Default to wait forever.
+         *
+         * @param acquireTimeout the maximum time to acquire a connection.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code acquireTimeout} is {@code null} or negative.
+         */
+        public Builder acquireTimeout(Duration acquireTimeout) {
+            requireNonNull(acquireTimeout, "acquireTimeout must not be null");
+            require(!acquireTimeout.isNegative(), "acquireTimeout must not be negative");
+
+            this.acquireTimeout = acquireTimeout;
+            return this;
+        }
+
+        /**
+         * Configures the maximum number of connections of each event loop.  Default to {@code 2}.
+         *
+         * @param maxSizePerLoop the maximum number of connections of each event loop.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code maxSizePerLoop} is not positive.
+         */
+        public Builder maxSizePerLoop(int maxSizePerLoop) {
+            require(maxSizePerLoop > 0, "maxSizePerLoop must be positive");
+
+            this.maxSizePerLoop = maxSizePerLoop;
+            return this;
+        }
+
+        /**
+         * Configures the number of connections of each event loop that should be created by
+         * {@link MySqlConnectionPool#warmUp()}.  Default to {@code 0}.
+         *
+         * @param warmUpSizePerLoop the number of pre-warmed connections of each event loop.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code warmUpSizePerLoop} is negative.
+         */
+        public Builder warmUpSizePerLoop(int warmUpSizePerLoop) {
+            require(warmUpSizePerLoop >= 0, "warmUpSizePerLoop must not be negative");
+
+            this.warmUpSizePerLoop = warmUpSizePerLoop;
+            return this;
+        }
+
+        /**
+         * Configures statements that should be prepared on each pre-warmed connection, so that they can be
+         * executed from the prepare cache without preparing.  It takes effect only if the prepare cache is
+         * enabled and the statements are executed by server-preparing, e.g.
+         * {@link MySqlConnectionConfiguration.Builder#useServerPrepareStatement()}.
+         *
+         * @param statements the statements to prepare.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code statements} or any statement is {@code null}.
+         */
+        public Builder warmUpStatements(String... statements) {
+            requireNonNull(statements, "statements must not be null");
+
+            for (String statement : statements) {
+                requireNonNull(statement, "statement must not be null");
+            }
+
+            this.warmUpStatements = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(statements)));
+            return this;
+        }
+    }
+}
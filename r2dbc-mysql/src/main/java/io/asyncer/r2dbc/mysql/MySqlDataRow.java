@@ -20,8 +20,10 @@ import io.asyncer.r2dbc.mysql.api.MySqlRow;
 import io.asyncer.r2dbc.mysql.api.MySqlRowMetadata;
 import io.asyncer.r2dbc.mysql.codec.CodecContext;
 import io.asyncer.r2dbc.mysql.codec.Codecs;
+import io.asyncer.r2dbc.mysql.message.CompactRowValue;
 import io.asyncer.r2dbc.mysql.message.FieldValue;
 import io.r2dbc.spi.Row;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.ParameterizedType;
 
@@ -32,8 +34,15 @@ import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
  */
 final class MySqlDataRow implements MySqlRow {
 
+    /**
+     * The fields of a row which contains large fields, it is {@code null} if the row is compact.
+     */
+    @Nullable
     private final FieldValue[] fields;
 
+    @Nullable
+    private final CompactRowValue compact;
+
     private final MySqlRowDescriptor rowMetadata;
 
     private final Codecs codecs;
@@ -51,6 +60,17 @@ final class MySqlDataRow implements MySqlRow {
     MySqlDataRow(FieldValue[] fields, MySqlRowDescriptor rowMetadata, Codecs codecs, boolean binary,
         CodecContext context) {
         this.fields = requireNonNull(fields, "fields must not be null");
+        this.compact = null;
+        this.rowMetadata = requireNonNull(rowMetadata, "rowMetadata must not be null");
+        this.codecs = requireNonNull(codecs, "codecs must not be null");
+        this.binary = binary;
+        this.context = requireNonNull(context, "context must not be null");
+    }
+
+    MySqlDataRow(CompactRowValue compact, MySqlRowDescriptor rowMetadata, Codecs codecs, boolean binary,
+        CodecContext context) {
+        this.fields = null;
+        this.compact = requireNonNull(compact, "compact must not be null");
         this.rowMetadata = requireNonNull(rowMetadata, "rowMetadata must not be null");
         this.codecs = requireNonNull(codecs, "codecs must not be null");
         this.binary = binary;
@@ -61,8 +81,7 @@ final class MySqlDataRow implements MySqlRow {
     public <T> T get(int index, Class<T> type) {
         requireNonNull(type, "type must not be null");
 
-        MySqlColumnDescriptor info = rowMetadata.getColumnMetadata(index);
-        return codecs.decode(fields[index], info, type, binary, context);
+        return decode(index, rowMetadata.getColumnMetadata(index), type);
     }
 
     @Override
@@ -70,15 +89,14 @@ final class MySqlDataRow implements MySqlRow {
         requireNonNull(type, "type must not be null");
 
         MySqlColumnDescriptor info = rowMetadata.getColumnMetadata(name);
-        return codecs.decode(fields[info.getIndex()], info, type, binary, context);
+        return decode(info.getIndex(), info, type);
     }
 
     @Override
     public <T> T get(int index, ParameterizedType type) {
         requireNonNull(type, "type must not be null");
 
-        MySqlColumnDescriptor info = rowMetadata.getColumnMetadata(index);
-        return codecs.decode(fields[index], info, type, binary, context);
+        return decode(index, rowMetadata.getColumnMetadata(index), type);
     }
 
     @Override
@@ -86,7 +104,7 @@ final class MySqlDataRow implements MySqlRow {
         requireNonNull(type, "type must not be null");
 
         MySqlColumnDescriptor info = rowMetadata.getColumnMetadata(name);
-        return codecs.decode(fields[info.getIndex()], info, type, binary, context);
+        return decode(info.getIndex(), info, type);
     }
 
     /**
@@ -96,4 +114,24 @@ final class MySqlDataRow implements MySqlRow {
     public MySqlRowMetadata getMetadata() {
         return rowMetadata;
     }
+
+    private <T> T decode(int index, MySqlColumnDescriptor info, Class<T> type) {
+        CompactRowValue compact = this.compact;
+
+        if (compact == null) {
+            return codecs.decode(fields[index], info, type, binary, context);
+        }
+
+        return codecs.decode(compact, index, info, type, binary, context);
+    }
+
+    private <T> T decode(int index, MySqlColumnDescriptor info, ParameterizedType type) {
+        CompactRowValue compact = this.compact;
+
+        if (compact == null) {
+            return codecs.decode(fields[index], info, type, binary, context);
+        }
+
+        return codecs.decode(compact, index, info, type, binary, context);
+    }
 }
@@ -25,8 +25,6 @@ import reactor.core.publisher.Mono;
 
 /**
  * A parameter value bound to an {@link Binding}.
- * <p>
- * TODO: add ScalarParameter for better performance.
  */
 public interface MySqlParameter extends Disposable {
 
@@ -57,6 +55,48 @@ public interface MySqlParameter extends Disposable {
      */
     Publisher<ByteBuf> publishBinary(ByteBufAllocator allocator);
 
+    /**
+     * Binary protocol encoding into the buffer of the message synchronously.  It is a fast path for small
+     * values, e.g. numbers, temporals and short strings, which avoids a publisher and a buffer per parameter.
+     * <p>
+     * Note: if the value is not supported by the fast path, it should write nothing and return {@code false},
+     * then {@link #publishBinary} will be used.  Default to {@code false}.
+     *
+     * @param buf the buffer of the message.
+     * @return if the value has been written.
+     * @since 1.3.2
+     */
+    default boolean writeBinary(ByteBuf buf) {
+        return false;
+    }
+
+    /**
+     * Checks if the value should be streamed by {@code COM_STMT_SEND_LONG_DATA} before the execution of a prepared
+     * statement instead of being written into the execution, it is used by LOB types. (i.e. BLOB, CLOB)  Default
+     * to {@code false}.
+     *
+     * @return if the value should be streamed by {@link #publishLongData}.
+     * @since 1.3.2
+     */
+    default boolean isLongData() {
+        return false;
+    }
+
+    /**
+     * Binary protocol encoding as chunks of raw data, without the var-integer length.  Each chunk will be sent by
+     * an individual {@code COM_STMT_SEND_LONG_DATA} packet, and the next chunk will be requested after the
+     * previous one has been written, so the memory is bounded by the size of chunks.
+     * <p>
+     * Note: it will be used only if {@link #isLongData()} returns {@code true}.
+     *
+     * @param allocator the buffer allocator.
+     * @return the encoded chunks.
+     * @since 1.3.2
+     */
+    default Publisher<ByteBuf> publishLongData(ByteBufAllocator allocator) {
+        return Mono.error(new UnsupportedOperationException("Long data is not supported by " + getType()));
+    }
+
     /**
      * Text protocol encoding.
      * <p>
@@ -38,8 +38,11 @@ final class MySqlRowDescriptor implements MySqlRowMetadata {
 
     private final MySqlColumnDescriptor[] originMetadata;
 
+    /**
+     * The descriptor may be shared by results of the same prepared statement, so it should be volatile.
+     */
     @Nullable
-    private Map<String, Integer> indexMap;
+    private volatile IndexMap indexMap;
 
     /**
      * Visible for testing
@@ -58,23 +61,12 @@ final class MySqlRowDescriptor implements MySqlRowMetadata {
         return originMetadata[index];
     }
 
-    private static Map<String, Integer> createIndexMap(MySqlColumnDescriptor[] metadata) {
-        final int size = metadata.length;
-        final Map<String, Integer> map = new HashMap<>(size);
-
-        for (int i = 0; i < size; ++i) {
-            map.putIfAbsent(metadata[i].getName().toLowerCase(Locale.ROOT), i);
-        }
-
-        return map;
-    }
-
     private int find(final String name) {
-        Map<String, Integer> indexMap = this.indexMap;
+        IndexMap indexMap = this.indexMap;
         if (null == indexMap) {
-            indexMap = this.indexMap = createIndexMap(originMetadata);
+            indexMap = this.indexMap = new IndexMap(originMetadata);
         }
-        return indexMap.getOrDefault(name.toLowerCase(Locale.ROOT), -1);
+        return indexMap.find(name);
     }
 
     @Override
@@ -121,4 +113,43 @@ final class MySqlRowDescriptor implements MySqlRowMetadata {
 
         return new MySqlRowDescriptor(metadata);
     }
+
+    /**
+     * The index of column names.  Names are case-insensitive, but they are usually looked up by the same case
+     * as the query, so exact names are looked up first without lowering the case.
+     */
+    private static final class IndexMap {
+
+        private final Map<String, Integer> exact;
+
+        private final Map<String, Integer> lowered;
+
+        private IndexMap(MySqlColumnDescriptor[] metadata) {
+            int size = metadata.length;
+
+            this.exact = new HashMap<>(size);
+            this.lowered = new HashMap<>(size);
+
+            for (int i = 0; i < size; ++i) {
+                lowered.putIfAbsent(metadata[i].getName().toLowerCase(Locale.ROOT), i);
+            }
+
+            for (MySqlColumnDescriptor column : metadata) {
+                String name = column.getName();
+
+                // Map to the first column with the case-insensitive name, same as the lowered lookup.
+                exact.putIfAbsent(name, lowered.get(name.toLowerCase(Locale.ROOT)));
+            }
+        }
+
+        private int find(String name) {
+            Integer index = exact.get(name);
+
+            if (index != null) {
+                return index;
+            }
+
+            return lowered.getOrDefault(name.toLowerCase(Locale.ROOT), -1);
+        }
+    }
 }
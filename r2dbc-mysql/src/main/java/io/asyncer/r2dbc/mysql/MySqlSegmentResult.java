@@ -22,7 +22,9 @@ import io.asyncer.r2dbc.mysql.client.Client;
 import io.asyncer.r2dbc.mysql.codec.Codecs;
 import io.asyncer.r2dbc.mysql.internal.util.NettyBufferUtils;
 import io.asyncer.r2dbc.mysql.internal.util.OperatorUtils;
+import io.asyncer.r2dbc.mysql.message.CompactRowValue;
 import io.asyncer.r2dbc.mysql.message.FieldValue;
+import io.asyncer.r2dbc.mysql.message.server.CachedResultMetadata;
 import io.asyncer.r2dbc.mysql.message.server.DefinitionMetadataMessage;
 import io.asyncer.r2dbc.mysql.message.server.ErrorMessage;
 import io.asyncer.r2dbc.mysql.message.server.OkMessage;
@@ -165,6 +167,7 @@ final class MySqlSegmentResult implements MySqlResult {
 
         return new MySqlSegmentResult(OperatorUtils.discardOnCancel(messages)
             .doOnDiscard(ReferenceCounted.class, ReferenceCounted::release)
+            .doOnCancel(client::cancelQuery)
             .handle(new MySqlSegments(binary, client, codecs, syntheticKeyName)));
     }
 
@@ -201,12 +204,24 @@ final class MySqlSegmentResult implements MySqlResult {
 
         private final MySqlRow row;
 
+        @Nullable
         private final FieldValue[] fields;
 
+        @Nullable
+        private final CompactRowValue compact;
+
         private MySqlRowSegment(FieldValue[] fields, MySqlRowDescriptor metadata, Codecs codecs, boolean binary,
             ConnectionContext context) {
             this.row = new MySqlDataRow(fields, metadata, codecs, binary, context);
             this.fields = fields;
+            this.compact = null;
+        }
+
+        private MySqlRowSegment(CompactRowValue compact, MySqlRowDescriptor metadata, Codecs codecs,
+            boolean binary, ConnectionContext context) {
+            this.row = new MySqlDataRow(compact, metadata, codecs, binary, context);
+            this.fields = null;
+            this.compact = compact;
         }
 
         @Override
@@ -216,7 +231,14 @@ final class MySqlSegmentResult implements MySqlResult {
 
         @Override
         public ReferenceCounted touch(Object hint) {
-            for (FieldValue field : this.fields) {
+            FieldValue[] fields = this.fields;
+
+            if (fields == null) {
+                compact.touch(hint);
+                return this;
+            }
+
+            for (FieldValue field : fields) {
                 field.touch(hint);
             }
 
@@ -225,7 +247,13 @@ final class MySqlSegmentResult implements MySqlResult {
 
         @Override
         protected void deallocate() {
-            NettyBufferUtils.releaseAll(fields);
+            FieldValue[] fields = this.fields;
+
+            if (fields == null) {
+                compact.release();
+            } else {
+                NettyBufferUtils.releaseAll(fields);
+            }
         }
     }
 
@@ -302,23 +330,37 @@ final class MySqlSegmentResult implements MySqlResult {
                     return;
                 }
 
-                FieldValue[] fields;
+                RowMessage row = (RowMessage) message;
+                MySqlRowSegment segment;
 
                 try {
-                    fields = ((RowMessage) message).decode(binary, metadata.unwrap());
+                    // Prefer the compact row, it retains only one buffer for the whole row.
+                    CompactRowValue compact = row.decodeCompact(binary, metadata.unwrap());
+
+                    if (compact == null) {
+                        segment = new MySqlRowSegment(row.decode(binary, metadata.unwrap()), metadata, codecs,
+                            binary, client.getContext());
+                    } else {
+                        segment = new MySqlRowSegment(compact, metadata, codecs, binary, client.getContext());
+                    }
                 } finally {
                     ReferenceCountUtil.safeRelease(message);
                 }
 
-                sink.next(new MySqlRowSegment(fields, metadata, codecs, binary, client.getContext()));
+                sink.next(segment);
             } else if (message instanceof SyntheticMetadataMessage) {
-                DefinitionMetadataMessage[] metadataMessages = ((SyntheticMetadataMessage) message).unwrap();
+                SyntheticMetadataMessage metadata = (SyntheticMetadataMessage) message;
+                DefinitionMetadataMessage[] metadataMessages = metadata.unwrap();
 
                 if (metadataMessages.length == 0) {
                     return;
                 }
 
-                this.rowMetadata = MySqlRowDescriptor.create(metadataMessages);
+                CachedResultMetadata cached = metadata.getCached();
+
+                // Results of the same prepared statement share the descriptor if the metadata is unchanged.
+                this.rowMetadata = cached == null ? MySqlRowDescriptor.create(metadataMessages) :
+                    cached.getDescriptor(MySqlRowDescriptor::create);
             } else if (message instanceof OkMessage) {
                 OkMessage msg = (OkMessage) message;
 
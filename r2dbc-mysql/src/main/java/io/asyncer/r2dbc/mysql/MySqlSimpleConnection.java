@@ -81,10 +81,27 @@ final class MySqlSimpleConnection implements MySqlConnection {
     @Nullable
     private final Predicate<String> prepare;
 
+    /**
+     * Promotes SQL to server-preparing by execution frequency, it is used for all statements, {@code null} if
+     * adaptive server-preparing is disabled.
+     */
+    @Nullable
+    private final Predicate<String> promoter;
+
     // TODO: Check it when executing
     private final boolean batchSupported;
 
     MySqlSimpleConnection(Client client, Codecs codecs, QueryCache queryCache, @Nullable Predicate<String> prepare) {
+        this(client, codecs, queryCache, prepare, null);
+    }
+
+    MySqlSimpleConnection(
+        Client client,
+        Codecs codecs,
+        QueryCache queryCache,
+        @Nullable Predicate<String> prepare,
+        @Nullable Predicate<String> promoter
+    ) {
         ConnectionContext context = client.getContext();
 
         this.client = client;
@@ -92,6 +109,7 @@ final class MySqlSimpleConnection implements MySqlConnection {
         this.metadata = new MySqlClientConnectionMetadata(client);
         this.queryCache = queryCache;
         this.prepare = prepare;
+        this.promoter = promoter;
         this.batchSupported = context.getCapability().isMultiStatementsAllowed();
 
         if (this.batchSupported) {
@@ -108,7 +126,22 @@ final class MySqlSimpleConnection implements MySqlConnection {
 
     @Override
     public Mono<Void> beginTransaction(TransactionDefinition definition) {
-        return Mono.defer(() -> QueryFlow.beginTransaction(client, batchSupported, definition));
+        return Mono.defer(() -> {
+            ConnectionContext context = client.getContext();
+
+            // The snapshot must be established at the beginning, otherwise it would see commits made later.
+            if (context.isLazyTransactionBegin() &&
+                !Boolean.TRUE.equals(definition.getAttribute(MySqlTransactionDefinition.WITH_CONSISTENT_SNAPSHOT))) {
+                // It will be sent with the first statement inside the transaction.
+                if (!context.isInTransaction()) {
+                    context.beginPendingTransaction(definition);
+                }
+
+                return Mono.empty();
+            }
+
+            return QueryFlow.beginTransaction(client, batchSupported, definition);
+        });
     }
 
     @Override
@@ -123,6 +156,34 @@ final class MySqlSimpleConnection implements MySqlConnection {
         return closer;
     }
 
+    /**
+     * Returns a {@link Mono} that completes when the underlying connection is closed.
+     *
+     * @return a {@link Mono} that completes when the underlying connection is closed.
+     */
+    Mono<Void> onClose() {
+        return client.onClose();
+    }
+
+    /**
+     * Checks if the underlying connection is open.
+     *
+     * @return if the underlying connection is open.
+     */
+    boolean isConnected() {
+        return client.isConnected();
+    }
+
+    /**
+     * Prepares a statement on the server and puts it into the prepare cache without executing it.
+     *
+     * @param sql the statement to prepare.
+     * @return a {@link Mono} that completes when the statement is prepared.
+     */
+    Mono<Void> prepare(String sql) {
+        return QueryFlow.prepare(client, sql);
+    }
+
     @Override
     public Mono<Void> commitTransaction() {
         return Mono.defer(() -> QueryFlow.doneTransaction(client, true, batchSupported));
@@ -150,10 +211,16 @@ final class MySqlSimpleConnection implements MySqlConnection {
 
         Query query = queryCache.get(sql);
 
+        // Statements promoted by the frequency fall back to text query if the server refuses to prepare them.
+        boolean promoted = promoter != null && promoter.test(sql);
+
         if (query.isSimple()) {
             if (prepare != null && prepare.test(sql)) {
                 logger.debug("Create a simple statement provided by prepare query");
                 return new PrepareSimpleStatement(client, codecs, sql);
+            } else if (promoted) {
+                logger.debug("Create a simple statement provided by promoted prepare query");
+                return new PrepareSimpleStatement(client, codecs, sql, true);
             }
 
             logger.debug("Create a simple statement provided by text query");
@@ -161,14 +228,14 @@ final class MySqlSimpleConnection implements MySqlConnection {
             return new TextSimpleStatement(client, codecs, sql);
         }
 
-        if (prepare == null) {
+        if (prepare == null && !promoted) {
             logger.debug("Create a parameterized statement provided by text query");
             return new TextParameterizedStatement(client, codecs, query);
         }
 
         logger.debug("Create a parameterized statement provided by prepare query");
 
-        return new PrepareParameterizedStatement(client, codecs, query);
+        return new PrepareParameterizedStatement(client, codecs, query, prepare == null);
     }
 
     @Override
@@ -178,8 +245,25 @@ final class MySqlSimpleConnection implements MySqlConnection {
 
     @Override
     public Mono<Void> preRelease() {
-        // Rollback if the connection is in transaction.
-        return rollbackTransaction();
+        ConnectionContext context = client.getContext();
+
+        if (!context.isResetConnectionOnRelease() || !context.isResetConnectionSupported()) {
+            // Rollback if the connection is in transaction.
+            return rollbackTransaction();
+        }
+
+        return Mono.defer(() -> {
+            if (context.takePendingTransaction() != null) {
+                // Nothing has been sent for the lazily begun transaction.
+                context.resetCurrentIsolationLevel();
+            }
+
+            if (!context.isInTransaction() && !context.isSessionChanged()) {
+                return Mono.empty();
+            }
+
+            return QueryFlow.resetConnection(client);
+        });
     }
 
     @Override
@@ -233,6 +317,7 @@ final class MySqlSimpleConnection implements MySqlConnection {
                 if (!context.isInTransaction()) {
                     context.setCurrentIsolationLevel(isolationLevel);
                 }
+                context.markSessionChanged();
             });
     }
 
@@ -268,7 +353,8 @@ final class MySqlSimpleConnection implements MySqlConnection {
 
     @Override
     public Mono<Void> setAutoCommit(boolean autoCommit) {
-        return Mono.defer(() -> QueryFlow.executeVoid(client, "SET autocommit=" + (autoCommit ? 1 : 0)));
+        return Mono.defer(() -> QueryFlow.executeVoid(client, "SET autocommit=" + (autoCommit ? 1 : 0)))
+            .doOnSuccess(ignored -> client.getContext().markSessionChanged());
     }
 
     @Override
@@ -277,7 +363,12 @@ final class MySqlSimpleConnection implements MySqlConnection {
 
         if (client.getContext().isLockWaitTimeoutSupported()) {
             return QueryFlow.executeVoid(client, StringUtils.lockWaitTimeoutStatement(timeout))
-                .doOnSuccess(ignored -> client.getContext().setAllLockWaitTimeout(timeout));
+                .doOnSuccess(ignored -> {
+                    ConnectionContext context = client.getContext();
+
+                    context.setAllLockWaitTimeout(timeout);
+                    context.markSessionChanged();
+                });
         }
 
         logger.warn("Lock wait timeout is not supported by server, setLockWaitTimeout operation is ignored");
@@ -296,7 +387,8 @@ final class MySqlSimpleConnection implements MySqlConnection {
         // ref: https://github.com/mariadb-corporation/mariadb-connector-r2dbc
         if (context.isStatementTimeoutSupported()) {
             String variable = StringUtils.statementTimeoutVariable(timeout, context.isMariaDb());
-            return QueryFlow.setSessionVariable(client, variable);
+            return QueryFlow.setSessionVariable(client, variable)
+                .doOnSuccess(ignored -> context.markSessionChanged());
         }
 
         return Mono.error(
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.api.MySqlBatch;
+import io.asyncer.r2dbc.mysql.api.MySqlConnection;
+import io.asyncer.r2dbc.mysql.api.MySqlConnectionMetadata;
+import io.asyncer.r2dbc.mysql.api.MySqlStatement;
+import io.r2dbc.spi.IsolationLevel;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import io.r2dbc.spi.TransactionDefinition;
+import io.r2dbc.spi.ValidationDepth;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * An implementation of {@link MySqlConnection} borrowed from a {@link MySqlConnectionPool}, which returns the
+ * underlying connection to the pool instead of closing it.
+ * <p>
+ * Once it is closed, all methods except {@link #close()} will throw a {@link R2dbcNonTransientResourceException},
+ * because the underlying connection may have been borrowed by others.
+ */
+final class PooledConnection implements MySqlConnection {
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private final MySqlSimpleConnection connection;
+
+    private final Function<MySqlSimpleConnection, Mono<Void>> releaser;
+
+    PooledConnection(MySqlSimpleConnection connection, Function<MySqlSimpleConnection, Mono<Void>> releaser) {
+        this.connection = connection;
+        this.releaser = releaser;
+    }
+
+    @Override
+    public Mono<Void> beginTransaction() {
+        return connection().beginTransaction();
+    }
+
+    @Override
+    public Mono<Void> beginTransaction(TransactionDefinition definition) {
+        return connection().beginTransaction(definition);
+    }
+
+    /**
+     * Returns the underlying connection to the pool, it can be called multiple times, but only the first call
+     * takes effect.
+     *
+     * @return a {@link Mono} that completes when the underlying connection is returned.
+     */
+    @Override
+    public Mono<Void> close() {
+        return Mono.defer(() -> released.compareAndSet(false, true) ? releaser.apply(connection) : Mono.empty());
+    }
+
+    @Override
+    public Mono<Void> commitTransaction() {
+        return connection().commitTransaction();
+    }
+
+    @Override
+    public MySqlBatch createBatch() {
+        return connection().createBatch();
+    }
+
+    @Override
+    public Mono<Void> createSavepoint(String name) {
+        return connection().createSavepoint(name);
+    }
+
+    @Override
+    public MySqlStatement createStatement(String sql) {
+        return connection().createStatement(sql);
+    }
+
+    @Override
+    public MySqlConnectionMetadata getMetadata() {
+        return connection().getMetadata();
+    }
+
+    @Override
+    public Mono<Void> releaseSavepoint(String name) {
+        return connection().releaseSavepoint(name);
+    }
+
+    @Override
+    public Mono<Void> rollbackTransaction() {
+        return connection().rollbackTransaction();
+    }
+
+    @Override
+    public Mono<Void> rollbackTransactionToSavepoint(String name) {
+        return connection().rollbackTransactionToSavepoint(name);
+    }
+
+    @Override
+    public boolean isAutoCommit() {
+        return connection().isAutoCommit();
+    }
+
+    @Override
+    public Mono<Void> setAutoCommit(boolean autoCommit) {
+        return connection().setAutoCommit(autoCommit);
+    }
+
+    @Override
+    public Mono<Void> setLockWaitTimeout(Duration timeout) {
+        return connection().setLockWaitTimeout(timeout);
+    }
+
+    @Override
+    public Mono<Void> setStatementTimeout(Duration timeout) {
+        return connection().setStatementTimeout(timeout);
+    }
+
+    @Override
+    public IsolationLevel getTransactionIsolationLevel() {
+        return connection().getTransactionIsolationLevel();
+    }
+
+    @Override
+    public Mono<Void> setTransactionIsolationLevel(IsolationLevel isolationLevel) {
+        return connection().setTransactionIsolationLevel(isolationLevel);
+    }
+
+    @Override
+    public Mono<Boolean> validate(ValidationDepth depth) {
+        return connection().validate(depth);
+    }
+
+    @Override
+    public Mono<Void> postAllocate() {
+        return connection().postAllocate();
+    }
+
+    @Override
+    public Mono<Void> preRelease() {
+        return connection().preRelease();
+    }
+
+    private MySqlSimpleConnection connection() {
+        if (released.get()) {
+            throw new R2dbcNonTransientResourceException("Connection has been returned to the pool");
+        }
+
+        return connection;
+    }
+}
@@ -32,19 +32,44 @@ import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.require;
  */
 final class PrepareParameterizedStatement extends ParameterizedStatementSupport {
 
+    /**
+     * The statement is promoted to server-preparing by its execution frequency, it falls back to text query if the
+     * server refuses to prepare it.
+     */
+    private final boolean promoted;
+
     private int fetchSize = 0;
 
     PrepareParameterizedStatement(Client client, Codecs codecs, Query query) {
+        this(client, codecs, query, false);
+    }
+
+    PrepareParameterizedStatement(Client client, Codecs codecs, Query query, boolean promoted) {
         super(client, codecs, query);
+
+        this.promoted = promoted;
     }
 
     @Override
     public Flux<MySqlResult> execute(List<Binding> bindings) {
-        return Flux.defer(() -> QueryFlow.execute(client,
-                StringUtils.extendReturning(query.getFormattedSql(), returningIdentifiers()),
-                bindings, fetchSize
-            ))
-            .map(messages -> MySqlSegmentResult.toResult(true, client, codecs, syntheticKeyName(), messages));
+        if (!promoted) {
+            return Flux.defer(() -> QueryFlow.execute(client,
+                    StringUtils.extendReturning(query.getFormattedSql(), returningIdentifiers()),
+                    bindings, fetchSize
+                ))
+                .map(messages -> MySqlSegmentResult.toResult(true, client, codecs, syntheticKeyName(), messages));
+        }
+
+        return Flux.defer(() -> {
+            String returning = returningIdentifiers();
+
+            return QueryFlow.executePromoted(client,
+                    StringUtils.extendReturning(query.getFormattedSql(), returning), bindings, fetchSize)
+                .map(messages -> MySqlSegmentResult.toResult(true, client, codecs, syntheticKeyName(), messages))
+                .switchIfEmpty(Flux.defer(() -> QueryFlow.execute(client, query, returning, bindings)
+                    .map(messages -> MySqlSegmentResult.toResult(false, client, codecs, syntheticKeyName(),
+                        messages))));
+        });
     }
 
     @Override
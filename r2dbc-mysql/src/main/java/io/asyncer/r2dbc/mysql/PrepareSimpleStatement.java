@@ -35,17 +35,41 @@ final class PrepareSimpleStatement extends SimpleStatementSupport {
 
     private static final List<Binding> BINDINGS = Collections.singletonList(new Binding(0));
 
+    /**
+     * The statement is promoted to server-preparing by its execution frequency, it falls back to text query if the
+     * server refuses to prepare it.
+     */
+    private final boolean promoted;
+
     private int fetchSize = 0;
 
     PrepareSimpleStatement(Client client, Codecs codecs, String sql) {
+        this(client, codecs, sql, false);
+    }
+
+    PrepareSimpleStatement(Client client, Codecs codecs, String sql, boolean promoted) {
         super(client, codecs, sql);
+
+        this.promoted = promoted;
     }
 
     @Override
     public Flux<MySqlResult> execute() {
-        return Flux.defer(() -> QueryFlow.execute(client,
-                StringUtils.extendReturning(sql, returningIdentifiers()), BINDINGS, fetchSize))
-            .map(messages -> MySqlSegmentResult.toResult(true, client, codecs, syntheticKeyName(), messages));
+        if (!promoted) {
+            return Flux.defer(() -> QueryFlow.execute(client,
+                    StringUtils.extendReturning(sql, returningIdentifiers()), BINDINGS, fetchSize))
+                .map(messages -> MySqlSegmentResult.toResult(true, client, codecs, syntheticKeyName(), messages));
+        }
+
+        return Flux.defer(() -> {
+            String sql = StringUtils.extendReturning(this.sql, returningIdentifiers());
+
+            return QueryFlow.executePromoted(client, sql, BINDINGS, fetchSize)
+                .map(messages -> MySqlSegmentResult.toResult(true, client, codecs, syntheticKeyName(), messages))
+                .switchIfEmpty(Flux.defer(() -> QueryFlow.execute(client, sql)
+                    .map(messages -> MySqlSegmentResult.toResult(false, client, codecs, syntheticKeyName(),
+                        messages))));
+        });
     }
 
     @Override
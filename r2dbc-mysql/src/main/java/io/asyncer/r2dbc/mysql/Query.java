@@ -17,8 +17,10 @@
 package io.asyncer.r2dbc.mysql;
 
 
+import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -38,14 +40,35 @@ public final class Query {
 
     private final int formattedSize;
 
+    /**
+     * The start and end index of the row of a rewritable {@code INSERT ... VALUES (...)} statement, or
+     * {@code null} if it is not rewritable.
+     */
+    @Nullable
+    private final int[] insertRow;
+
     @Nullable
     private String formattedSql;
 
-    private Query(String sql, Map<String, ParameterIndex> namedIndexes, List<Part> parts, int formattedSize) {
+    @Nullable
+    private Query insertValues;
+
+    /**
+     * The statement parts encoded by the last used charset, it is cached with the {@link Query} in the query cache,
+     * so the static parts will not be encoded for each execution.
+     */
+    @Nullable
+    private EncodedParts encodedParts;
+
+    private Query(
+        String sql, Map<String, ParameterIndex> namedIndexes, List<Part> parts, int formattedSize,
+        @Nullable int[] insertRow
+    ) {
         this.sql = sql;
         this.namedIndexes = namedIndexes;
         this.parts = parts;
         this.formattedSize = formattedSize;
+        this.insertRow = insertRow;
     }
 
     /**
@@ -59,6 +82,25 @@ public final class Query {
         builder.append(sql, part.start, part.end);
     }
 
+    /**
+     * Writes an index specified statement part to a {@link ByteBuf}, the part will be encoded by {@code charset}
+     * once and reused for subsequent writes.
+     *
+     * @param buf     the {@link ByteBuf}.
+     * @param i       the index.
+     * @param charset the charset to encode the part.
+     * @since 1.3.2
+     */
+    public void partTo(ByteBuf buf, int i, Charset charset) {
+        EncodedParts encodedParts = this.encodedParts;
+
+        if (encodedParts == null || !encodedParts.charset.equals(charset)) {
+            this.encodedParts = encodedParts = encodeParts(charset);
+        }
+
+        buf.writeBytes(encodedParts.parts[i]);
+    }
+
     /**
      * Get the length of formatted statement.
      *
@@ -124,6 +166,46 @@ public final class Query {
         return namedIndexes;
     }
 
+    /**
+     * Checks if it is a single-row {@code INSERT ... VALUES (...)} statement which can be rewritten to a multi-row
+     * statement, i.e. the row is at the end of the statement and contains all parameters.
+     *
+     * @return if it can be rewritten.
+     */
+    boolean isRewritableInsert() {
+        return insertRow != null;
+    }
+
+    /**
+     * Gets the statement part before the row of a rewritable {@code INSERT} statement, e.g.
+     * {@code "INSERT INTO t(a,b) VALUES "}.
+     *
+     * @return the statement part before the row.
+     * @throws IllegalStateException if it is not a rewritable {@code INSERT} statement.
+     */
+    String getInsertPrefix() {
+        return sql.substring(0, requireInsertRow()[0]);
+    }
+
+    /**
+     * Gets the row of a rewritable {@code INSERT} statement as a {@link Query}, e.g. {@code "(?a,?b)"}. It has the
+     * same parameters as the original statement.
+     *
+     * @return the row.
+     * @throws IllegalStateException if it is not a rewritable {@code INSERT} statement.
+     */
+    Query getInsertValues() {
+        Query insertValues = this.insertValues;
+
+        if (insertValues == null) {
+            int[] row = requireInsertRow();
+
+            this.insertValues = insertValues = parse(sql.substring(row[0], row[1]));
+        }
+
+        return insertValues;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -161,9 +243,10 @@ public final class Query {
      */
     public static Query parse(String sql) {
         int offset = findParamMark(sql, 0);
+        int firstParam = offset;
 
         if (offset < 0) {
-            return new Query(sql, Collections.emptyMap(), Collections.emptyList(), sql.length());
+            return new Query(sql, Collections.emptyMap(), Collections.emptyList(), sql.length(), null);
         }
 
         Map<String, ParameterIndex> nameKeyedParams = new HashMap<>();
@@ -220,7 +303,8 @@ public final class Query {
         parts.add(Part.of(lastParamEnd, length));
         formattedSize += length - lastParamEnd;
 
-        return new Query(sql, wrap(nameKeyedParams, anyName), parts, formattedSize);
+        return new Query(sql, wrap(nameKeyedParams, anyName), parts, formattedSize,
+            findInsertRow(sql, firstParam));
     }
 
     /**
@@ -314,6 +398,160 @@ public final class Query {
         return -1;
     }
 
+    /**
+     * Finds the row of a single-row {@code INSERT ... VALUES (...)} statement. It is a conservative check, the
+     * statement which contains comments, {@code IGNORE}, {@code SELECT}, or anything after the row (e.g.
+     * {@code ON DUPLICATE KEY UPDATE}) will be considered as not rewritable.
+     *
+     * @param sql        the SQL string to search in.
+     * @param firstParam the offset of the first parameter.
+     * @return the start and end index of the row, or {@code null} if not found.
+     */
+    @Nullable
+    private static int[] findInsertRow(String sql, int firstParam) {
+        int length = sql.length();
+        int offset = skipWhitespaces(sql, 0);
+
+        if (!sql.regionMatches(true, offset, "INSERT", 0, 6)) {
+            return null;
+        }
+
+        offset += 6;
+
+        int depth = 0;
+
+        while (offset < length) {
+            char ch = sql.charAt(offset);
+
+            if (ch == '(') {
+                ++depth;
+                ++offset;
+            } else if (ch == ')') {
+                --depth;
+                ++offset;
+            } else if (ch == '`' || ch == '\'' || ch == '"') {
+                offset = skipQuoted(sql, offset);
+            } else if (Character.isJavaIdentifierStart(ch)) {
+                int start = offset++;
+
+                while (offset < length && Character.isJavaIdentifierPart(sql.charAt(offset))) {
+                    ++offset;
+                }
+
+                if (depth == 0) {
+                    int size = offset - start;
+
+                    if (isKeyword(sql, start, size, "VALUES") || isKeyword(sql, start, size, "VALUE")) {
+                        return findRow(sql, offset, firstParam);
+                    } else if (isKeyword(sql, start, size, "IGNORE") || isKeyword(sql, start, size, "SELECT")) {
+                        return null;
+                    }
+                }
+            } else if (ch == '?' || ch == '#' || ch == '-' || ch == '/') {
+                // Parameters before the row, comments or unexpected operators.
+                return null;
+            } else {
+                ++offset;
+            }
+        }
+
+        return null;
+    }
+
+    @Nullable
+    private static int[] findRow(String sql, int offset, int firstParam) {
+        int length = sql.length();
+        int start = skipWhitespaces(sql, offset);
+
+        if (start >= length || sql.charAt(start) != '(' || firstParam < start) {
+            return null;
+        }
+
+        int depth = 0;
+
+        offset = start;
+
+        while (offset < length) {
+            char ch = sql.charAt(offset);
+
+            if (ch == '(') {
+                ++depth;
+                ++offset;
+            } else if (ch == ')') {
+                ++offset;
+
+                if (--depth == 0) {
+                    // The row must be the end of the statement.
+                    return skipWhitespaces(sql, offset) == length ? new int[] { start, offset } : null;
+                }
+            } else if (ch == '`' || ch == '\'' || ch == '"') {
+                offset = skipQuoted(sql, offset);
+            } else if (ch == '#' || (offset + 1 < length && (ch == '-' && sql.charAt(offset + 1) == '-' ||
+                ch == '/' && sql.charAt(offset + 1) == '*'))) {
+                // Comments may contain parentheses.
+                return null;
+            } else {
+                ++offset;
+            }
+        }
+
+        return null;
+    }
+
+    private static int skipQuoted(String sql, int offset) {
+        int length = sql.length();
+        char quote = sql.charAt(offset++);
+
+        while (offset < length) {
+            if (sql.charAt(offset++) == quote) {
+                if (offset == length || sql.charAt(offset) != quote) {
+                    break;
+                }
+
+                ++offset;
+            }
+        }
+
+        return offset;
+    }
+
+    private static int skipWhitespaces(String sql, int offset) {
+        int length = sql.length();
+
+        while (offset < length && Character.isWhitespace(sql.charAt(offset))) {
+            ++offset;
+        }
+
+        return offset;
+    }
+
+    private static boolean isKeyword(String sql, int start, int size, String keyword) {
+        return size == keyword.length() && sql.regionMatches(true, start, keyword, 0, size);
+    }
+
+    private int[] requireInsertRow() {
+        int[] row = this.insertRow;
+
+        if (row == null) {
+            throw new IllegalStateException("Statement is not a rewritable INSERT statement");
+        }
+
+        return row;
+    }
+
+    private EncodedParts encodeParts(Charset charset) {
+        int size = parts.size();
+        byte[][] encoded = new byte[size][];
+
+        for (int i = 0; i < size; ++i) {
+            Part part = parts.get(i);
+
+            encoded[i] = sql.substring(part.start, part.end).getBytes(charset);
+        }
+
+        return new EncodedParts(charset, encoded);
+    }
+
     private static Map<String, ParameterIndex> wrap(Map<String, ParameterIndex> map, String anyKey) {
         switch (map.size()) {
             case 0:
@@ -325,6 +563,21 @@ public final class Query {
         }
     }
 
+    /**
+     * An immutable holder of encoded statement parts, it can be safely shared between connections.
+     */
+    private static final class EncodedParts {
+
+        private final Charset charset;
+
+        private final byte[][] parts;
+
+        private EncodedParts(Charset charset, byte[][] parts) {
+            this.charset = charset;
+            this.parts = parts;
+        }
+    }
+
     private static final class Part {
 
         private static final Part EMPTY = new Part(0, 0);
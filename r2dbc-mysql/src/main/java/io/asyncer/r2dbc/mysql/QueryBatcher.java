@@ -0,0 +1,395 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.client.Client;
+import io.asyncer.r2dbc.mysql.client.FluxExchangeable;
+import io.asyncer.r2dbc.mysql.message.client.ClientMessage;
+import io.asyncer.r2dbc.mysql.message.client.TextQueryMessage;
+import io.asyncer.r2dbc.mysql.message.server.CompleteMessage;
+import io.asyncer.r2dbc.mysql.message.server.ErrorMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.ReferenceCounted;
+import org.jetbrains.annotations.Nullable;
+import reactor.core.CoreSubscriber;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.publisher.SynchronousSink;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.require;
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
+
+/**
+ * A coalescer of concurrent point queries on a connection.
+ * <p>
+ * Single {@code SELECT} statements submitted within a short window are sent in one multi-statement query, and the
+ * results are split back to each statement by {@link CompleteMessage}s.  The window starts when the first
+ * statement is submitted, and the statements are sent when the window elapses or the maximum number of statements
+ * is reached.  Any other exchange of the connection sends the pending statements before itself, so statements are
+ * sent in the order of submission.
+ * <p>
+ * The server stops executing multi-statements on the first error, so the statements following a failed statement
+ * will be sent again as the next request of the same exchange, and no other exchange can overtake them.
+ */
+final class QueryBatcher {
+
+    private static final String SELECT = "SELECT";
+
+    /**
+     * The keywords of locking reads and {@code SELECT ... INTO}, e.g. {@code FOR UPDATE}, {@code FOR SHARE} and
+     * {@code LOCK IN SHARE MODE}.
+     */
+    private static final String[] EXCLUDED_KEYWORDS = { "FOR", "LOCK", "INTO" };
+
+    private final int maxSize;
+
+    private final long windowNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private List<Pending> pending = new ArrayList<>();
+
+    @Nullable
+    private Disposable timer;
+
+    QueryBatcher(int maxSize, Duration window) {
+        require(maxSize > 1, "maxSize must be greater than 1");
+        requireNonNull(window, "window must not be null");
+
+        this.maxSize = maxSize;
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Checks if a statement can be coalesced, i.e. it is a single {@code SELECT} statement outside transactions
+     * and the server allows multi-statements.  A statement that contains any semicolon is never coalesced, even
+     * if the semicolon is quoted.  Neither are locking reads and {@code SELECT ... INTO}, a statement that contains
+     * any word of {@code FOR}, {@code LOCK} or {@code INTO} is never coalesced, even if the word is quoted.
+     *
+     * @param context the {@link ConnectionContext} of the connection.
+     * @param sql     the statement, parameters should be place-holders.
+     * @return if it can be coalesced.
+     */
+    static boolean isBatchable(ConnectionContext context, String sql) {
+        if (context.isInTransaction() || !context.getCapability().isMultiStatementsAllowed()) {
+            return false;
+        }
+
+        int length = sql.length();
+        int start = 0;
+
+        while (start < length && Character.isWhitespace(sql.charAt(start))) {
+            ++start;
+        }
+
+        int end = start + SELECT.length();
+
+        if (!sql.regionMatches(true, start, SELECT, 0, SELECT.length()) ||
+            (end < length && Character.isJavaIdentifierPart(sql.charAt(end)))) {
+            return false;
+        }
+
+        return sql.indexOf(';', end) < 0 && !containsExcludedKeyword(sql, end);
+    }
+
+    /**
+     * Submits a statement when the returned {@link Flux} is subscribed.
+     *
+     * @param client the {@link Client} of the connection.
+     * @param sql    the statement, it should be {@link #isBatchable(ConnectionContext, String) batchable}.
+     * @return the messages of the statement, which terminate with a {@link CompleteMessage} or an
+     * {@link ErrorMessage}.
+     */
+    Flux<ServerMessage> submit(Client client, String sql) {
+        return Flux.defer(() -> {
+            Pending query = new Pending(sql);
+
+            lock.lock();
+            try {
+                pending.add(query);
+
+                if (pending.size() >= maxSize) {
+                    send(client, take());
+                } else if (pending.size() == 1) {
+                    timer = Schedulers.parallel().schedule(() -> flush(client), windowNanos, TimeUnit.NANOSECONDS);
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            return query.sink.asFlux()
+                .doOnCancel(query::cancel)
+                .doOnDiscard(ReferenceCounted.class, ReferenceCountUtil::safeRelease);
+        });
+    }
+
+    /**
+     * Sends all pending statements immediately.  The statements are sent while holding the lock, so an exchange
+     * which is performed after this method will not overtake them.
+     *
+     * @param client the {@link Client} of the connection.
+     */
+    void flush(Client client) {
+        lock.lock();
+        try {
+            if (!pending.isEmpty()) {
+                send(client, take());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes all pending statements, it should be called while holding the lock.
+     *
+     * @return the pending statements.
+     */
+    private List<Pending> take() {
+        List<Pending> batch = this.pending;
+        Disposable timer = this.timer;
+
+        this.pending = new ArrayList<>();
+        this.timer = null;
+
+        if (timer != null) {
+            timer.dispose();
+        }
+
+        return batch;
+    }
+
+    private static void send(Client client, List<Pending> batch) {
+        List<Pending> queries = uncancelled(batch);
+
+        switch (queries.size()) {
+            case 0:
+                return;
+            case 1:
+                execute(client, queries.get(0));
+                return;
+        }
+
+        CoalescedExchangeable exchangeable = new CoalescedExchangeable(queries);
+
+        client.exchange(exchangeable).subscribe(null, exchangeable::failRemaining, exchangeable::checkCompleted);
+    }
+
+    private static List<Pending> uncancelled(List<Pending> batch) {
+        List<Pending> queries = new ArrayList<>(batch.size());
+
+        for (Pending query : batch) {
+            if (!query.cancelled) {
+                queries.add(query);
+            }
+        }
+
+        return queries;
+    }
+
+    private static void execute(Client client, Pending query) {
+        QueryFlow.executeDirectly(client, query.sql)
+            .subscribe(query::emit, query::error, query::complete);
+    }
+
+    private static boolean containsExcludedKeyword(String sql, int start) {
+        int length = sql.length();
+        int i = start;
+
+        while (i < length) {
+            if (!Character.isJavaIdentifierPart(sql.charAt(i))) {
+                ++i;
+                continue;
+            }
+
+            int wordStart = i;
+
+            do {
+                ++i;
+            } while (i < length && Character.isJavaIdentifierPart(sql.charAt(i)));
+
+            int size = i - wordStart;
+
+            for (String keyword : EXCLUDED_KEYWORDS) {
+                if (size == keyword.length() && sql.regionMatches(true, wordStart, keyword, 0, size)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * An exchange of coalesced statements, it routes messages of the multi-statement query to each statement in
+     * order.  The statements following a failed statement are sent as the next request of this exchange.
+     */
+    private static final class CoalescedExchangeable extends FluxExchangeable<ServerMessage> {
+
+        private final Sinks.Many<ClientMessage> requests = Sinks.many().unicast()
+            .onBackpressureBuffer(Queues.<ClientMessage>one().get());
+
+        private final AtomicBoolean disposed = new AtomicBoolean();
+
+        private List<Pending> queries;
+
+        private int index;
+
+        private CoalescedExchangeable(List<Pending> queries) {
+            this.queries = queries;
+        }
+
+        @Override
+        public void subscribe(CoreSubscriber<? super ClientMessage> actual) {
+            requests.asFlux().subscribe(actual);
+            emitQuery();
+        }
+
+        @Override
+        public void accept(ServerMessage message, SynchronousSink<ServerMessage> sink) {
+            int size = queries.size();
+
+            if (index >= size) {
+                ReferenceCountUtil.safeRelease(message);
+                return;
+            }
+
+            Pending query = queries.get(index);
+
+            if (message instanceof ErrorMessage) {
+                query.emit(((ErrorMessage) message).offendedBy(query.sql));
+                query.complete();
+
+                // The server does not execute statements following the failed one, send them again.
+                List<Pending> following = uncancelled(queries.subList(index + 1, size));
+
+                this.queries = following;
+                this.index = 0;
+
+                if (following.isEmpty()) {
+                    sink.complete();
+                } else {
+                    emitQuery();
+                }
+
+                return;
+            }
+
+            query.emit(message);
+
+            if (message instanceof CompleteMessage) {
+                query.complete();
+                ++index;
+
+                if (((CompleteMessage) message).isDone()) {
+                    sink.complete();
+                }
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed.compareAndSet(false, true)) {
+                requests.tryEmitComplete();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed.get();
+        }
+
+        private void emitQuery() {
+            StringBuilder builder = new StringBuilder();
+
+            for (Pending query : queries) {
+                if (builder.length() > 0) {
+                    builder.append(';');
+                }
+
+                builder.append(query.sql);
+            }
+
+            String sql = builder.toString();
+
+            QueryLogger.log(sql);
+
+            Sinks.EmitResult result = requests.tryEmitNext(new TextQueryMessage(sql));
+
+            if (result != Sinks.EmitResult.OK) {
+                QueryFlow.logger.error("Emit request failed due to {}", result);
+            }
+        }
+
+        private void failRemaining(Throwable e) {
+            for (int size = queries.size(); index < size; ++index) {
+                queries.get(index).error(e);
+            }
+        }
+
+        private void checkCompleted() {
+            if (index < queries.size()) {
+                failRemaining(new IllegalStateException("Results of coalesced statements are incomplete"));
+            }
+        }
+    }
+
+    /**
+     * A statement which is waiting for being sent or its results.
+     */
+    private static final class Pending {
+
+        private final Sinks.Many<ServerMessage> sink = Sinks.many().unicast().onBackpressureBuffer();
+
+        private final String sql;
+
+        private volatile boolean cancelled;
+
+        private Pending(String sql) {
+            this.sql = sql;
+        }
+
+        private void cancel() {
+            this.cancelled = true;
+        }
+
+        private void emit(ServerMessage message) {
+            if (sink.tryEmitNext(message).isFailure()) {
+                ReferenceCountUtil.safeRelease(message);
+            }
+        }
+
+        private void complete() {
+            sink.tryEmitComplete();
+        }
+
+        private void error(Throwable e) {
+            sink.tryEmitError(e);
+        }
+    }
+}
@@ -26,11 +26,14 @@ import io.asyncer.r2dbc.mysql.message.client.ClientMessage;
 import io.asyncer.r2dbc.mysql.message.client.LocalInfileResponse;
 import io.asyncer.r2dbc.mysql.message.client.PingMessage;
 import io.asyncer.r2dbc.mysql.message.client.PrepareQueryMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedBulkExecuteMessage;
 import io.asyncer.r2dbc.mysql.message.client.PreparedCloseMessage;
 import io.asyncer.r2dbc.mysql.message.client.PreparedExecuteMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedLargeDataMessage;
 import io.asyncer.r2dbc.mysql.message.client.PreparedFetchMessage;
 import io.asyncer.r2dbc.mysql.message.client.PreparedResetMessage;
 import io.asyncer.r2dbc.mysql.message.client.PreparedTextQueryMessage;
+import io.asyncer.r2dbc.mysql.message.client.ResetConnectionMessage;
 import io.asyncer.r2dbc.mysql.message.client.TextQueryMessage;
 import io.asyncer.r2dbc.mysql.message.server.CompleteMessage;
 import io.asyncer.r2dbc.mysql.message.server.EofMessage;
@@ -38,6 +41,7 @@ import io.asyncer.r2dbc.mysql.message.server.ErrorMessage;
 import io.asyncer.r2dbc.mysql.message.server.LocalInfileRequest;
 import io.asyncer.r2dbc.mysql.message.server.OkMessage;
 import io.asyncer.r2dbc.mysql.message.server.PreparedOkMessage;
+import io.asyncer.r2dbc.mysql.message.server.RowMessage;
 import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
 import io.asyncer.r2dbc.mysql.message.server.ServerStatusMessage;
 import io.asyncer.r2dbc.mysql.message.server.SyntheticMetadataMessage;
@@ -59,6 +63,7 @@ import reactor.util.concurrent.Queues;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -76,6 +81,11 @@ final class QueryFlow {
 
     static final InternalLogger logger = InternalLoggerFactory.getInstance(QueryFlow.class);
 
+    /**
+     * The error code of {@code ER_MAX_PREPARED_STMT_COUNT_REACHED}, the server refuses to prepare more statements.
+     */
+    private static final int ER_MAX_PREPARED_STMT_COUNT_REACHED = 1461;
+
     // Metadata EOF message will be not receive in here.
     private static final Predicate<ServerMessage> RESULT_DONE = message -> message instanceof CompleteMessage;
 
@@ -104,6 +114,12 @@ final class QueryFlow {
      * terminates with the last {@link CompleteMessage} or a {@link ErrorMessage}. If client receives a
      * {@link ErrorMessage} will cancel subsequent {@link Binding}s. The exchange will be completed by
      * {@link CompleteMessage} after receive the last result for the last binding.
+     * <p>
+     * If the connection configured a prepare pipeline window, up to that many executions will be written ahead
+     * without waiting for results of previous bindings, and the results are matched in order.
+     * <p>
+     * If the server is MariaDB which supports bulk operations with unit results, the bindings of a data modification
+     * statement will be executed by {@code COM_STMT_BULK_EXECUTE}, and each binding still has its own result.
      *
      * @param client    the {@link Client} to exchange messages with.
      * @param sql       the statement for exception tracing.
@@ -117,9 +133,53 @@ final class QueryFlow {
                 return Flux.empty();
             }
 
+            boolean bulk = isBulk(client, sql, bindings, fetchSize);
+            int window = bulk ? 1 : pipelineWindow(client, bindings, fetchSize);
+
             // Note: the prepared SQL may not be sent when the cache matches.
-            return client.exchange(new PrepareExchangeable(client, sql, bindings.iterator(), fetchSize))
-                .windowUntil(RESULT_DONE);
+            return beginPending(client, bindings).thenMany(exchange(client, new PrepareExchangeable(client, sql,
+                    bindings.iterator(), fetchSize, window, bulk))
+                .windowUntil(RESULT_DONE));
+        });
+    }
+
+    /**
+     * Execute a statement which is promoted to server-preparing by its execution frequency, see also
+     * {@link #execute(Client, String, List, int)}.
+     * <p>
+     * If the server refuses to prepare the statement because {@code max_prepared_stmt_count} has been reached, it
+     * completes without any result, and the caller should execute it by text query instead.
+     *
+     * @param client    the {@link Client} to exchange messages with.
+     * @param sql       the statement for exception tracing.
+     * @param bindings  the data of bindings.
+     * @param fetchSize the size of fetching, if it less than or equal to {@literal 0} means fetch all rows.
+     * @return the messages received in response to this exchange, or empty if the statement cannot be prepared.
+     */
+    static Flux<Flux<ServerMessage>> executePromoted(
+        Client client, String sql, List<Binding> bindings, int fetchSize
+    ) {
+        return Flux.defer(() -> {
+            if (bindings.isEmpty()) {
+                return Flux.empty();
+            }
+
+            boolean bulk = isBulk(client, sql, bindings, fetchSize);
+            int window = bulk ? 1 : pipelineWindow(client, bindings, fetchSize);
+
+            return beginPending(client, bindings).thenMany(exchange(client, new PrepareExchangeable(client, sql,
+                    bindings.iterator(), fetchSize, window, bulk))
+                .switchOnFirst((signal, messages) -> {
+                    ServerMessage first = signal.get();
+
+                    if (first instanceof ErrorMessage &&
+                        ((ErrorMessage) first).getCode() == ER_MAX_PREPARED_STMT_COUNT_REACHED) {
+                        logger.debug("Prepared statements reached the limit, fall back to text query");
+                        return messages.thenMany(Flux.empty());
+                    }
+
+                    return messages.windowUntil(RESULT_DONE);
+                }));
         });
     }
 
@@ -128,6 +188,9 @@ final class QueryFlow {
      * with the last {@link CompleteMessage} or a {@link ErrorMessage}. The {@link ErrorMessage} will emit an exception
      * and cancel subsequent {@link Binding}s. This exchange will be completed by {@link CompleteMessage} after receive
      * the last result for the last binding.
+     * <p>
+     * A single binding of a point query may be coalesced with other point queries, see {@link QueryBatcher}.  If a
+     * lazy transaction is pending, its statements will be prepended to the first binding as multi-statements.
      *
      * @param client    the {@link Client} to exchange messages with.
      * @param query     the {@link Query} for synthetic client-preparing statement.
@@ -143,7 +206,89 @@ final class QueryFlow {
                 return Flux.empty();
             }
 
-            return client.exchange(new TextQueryExchangeable(query, returning, bindings.iterator()))
+            ConnectionContext context = client.getContext();
+            QueryBatcher batcher = context.getQueryBatcher();
+
+            if (batcher != null && bindings.size() == 1 && returning.isEmpty() &&
+                QueryBatcher.isBatchable(context, query.getFormattedSql())) {
+                Binding binding = bindings.get(0);
+
+                return binding.toRowMessage(query)
+                    .publishSql(context)
+                    .doFinally(ignored -> binding.clear())
+                    .flatMapMany(sql -> batcher.submit(client, sql))
+                    .windowUntil(RESULT_DONE);
+            }
+
+            TransactionDefinition definition = context.takePendingTransaction();
+
+            if (definition == null) {
+                return exchange(client, new TextQueryExchangeable(query, returning, bindings.iterator()))
+                    .windowUntil(RESULT_DONE);
+            } else if (!context.getCapability().isMultiStatementsAllowed()) {
+                return beginPending(client, definition, bindings).thenMany(exchange(client,
+                        new TextQueryExchangeable(query, returning, bindings.iterator()))
+                    .windowUntil(RESULT_DONE));
+            }
+
+            StartTransactionState state = new StartTransactionState(client, definition);
+
+            if (state.cancelTasks()) {
+                return exchange(client, new TextQueryExchangeable(query, returning, bindings.iterator()))
+                    .windowUntil(RESULT_DONE);
+            }
+
+            // Prepend the transaction to the first binding, see also execute0(Client, String).
+            return exchange(client, new TextQueryExchangeable(query, returning, bindings.iterator(),
+                state.batchStatement()))
+                .handle(state::prepended)
+                .windowUntil(RESULT_DONE);
+        });
+    }
+
+    /**
+     * Execute multiple bindings of a client-preparing {@code INSERT} statement by rewriting them to multi-row
+     * {@code INSERT} statements, each statement is bounded by {@code max_allowed_packet}. The result of each
+     * rewritten statement will be split into results of its bindings, the generated keys of bindings are computed
+     * by the first generated key and {@code auto_increment_increment}.
+     * <p>
+     * If the affected rows of a rewritten statement do not match the number of its bindings, it can not be split
+     * and its result will be emitted as one merged result. {@link Query#isRewritableInsert()} excludes
+     * {@code INSERT IGNORE} and {@code ON DUPLICATE KEY UPDATE}, whose affected rows are not per-row counts.
+     *
+     * @param client   the {@link Client} to exchange messages with.
+     * @param query    the {@link Query} of a rewritable {@code INSERT} statement.
+     * @param bindings the data of bindings.
+     * @return the messages received in response to this exchange.
+     */
+    static Flux<Flux<ServerMessage>> executeInsert(Client client, Query query, List<Binding> bindings) {
+        return Flux.defer(() -> {
+            if (bindings.isEmpty()) {
+                return Flux.empty();
+            }
+
+            ConnectionContext context = client.getContext();
+            Query row = query.getInsertValues();
+
+            return Flux.fromIterable(bindings)
+                .concatMap(binding -> binding.toRowMessage(row).publishSql(context))
+                .collectList()
+                .doFinally(ignored -> {
+                    // Release remaining bindings if it is cancelled or failed.
+                    for (Binding binding : bindings) {
+                        binding.clear();
+                    }
+                })
+                .flatMapMany(rows -> {
+                    List<Integer> sizes = new ArrayList<>();
+                    List<String> statements = rewriteInsert(query.getInsertPrefix(), rows, context, sizes);
+                    Iterator<Integer> iterator = sizes.iterator();
+                    int increment = context.getAutoIncrementIncrement();
+
+                    return beginPending(client, Collections.emptyList())
+                        .thenMany(exchange(client, new MultiQueryExchangeable(statements.iterator())))
+                        .concatMapIterable(message -> splitInsertResult(message, iterator, increment));
+                })
                 .windowUntil(RESULT_DONE);
         });
     }
@@ -158,7 +303,15 @@ final class QueryFlow {
      * @return the messages received in response to this exchange.
      */
     static Flux<Flux<ServerMessage>> execute(Client client, String sql) {
-        return Flux.defer(() -> execute0(client, sql).windowUntil(RESULT_DONE));
+        return Flux.defer(() -> {
+            QueryBatcher batcher = client.getContext().getQueryBatcher();
+
+            if (batcher != null && QueryBatcher.isBatchable(client.getContext(), sql)) {
+                return batcher.submit(client, sql).windowUntil(RESULT_DONE);
+            }
+
+            return execute0(client, sql).windowUntil(RESULT_DONE);
+        });
     }
 
     /**
@@ -179,7 +332,8 @@ final class QueryFlow {
                 case 1:
                     return execute0(client, statements.get(0)).windowUntil(RESULT_DONE);
                 default:
-                    return client.exchange(new MultiQueryExchangeable(statements.iterator()))
+                    return beginPending(client, Collections.emptyList())
+                        .thenMany(exchange(client, new MultiQueryExchangeable(statements.iterator())))
                         .windowUntil(RESULT_DONE);
             }
         });
@@ -197,7 +351,8 @@ final class QueryFlow {
      * @return receives complete signal.
      */
     static Mono<Void> executeVoid(Client client, String sql) {
-        return Mono.defer(() -> client.<ServerMessage>exchange(new TextQueryMessage(sql), (message, sink) -> {
+        return Mono.defer(() -> beginPending(client, Collections.emptyList()).then(QueryFlow.<ServerMessage>exchange(
+            client, new TextQueryMessage(sql), (message, sink) -> {
             if (message instanceof ErrorMessage) {
                 sink.next(((ErrorMessage) message).offendedBy(sql));
                 sink.complete();
@@ -208,7 +363,7 @@ final class QueryFlow {
                     sink.complete();
                 }
             }
-        }).doOnSubscribe(ignored -> QueryLogger.log(sql)).doOnNext(EXECUTE_VOID).then());
+        }).doOnSubscribe(ignored -> QueryLogger.log(sql)).doOnNext(EXECUTE_VOID).then()));
     }
 
     /**
@@ -224,14 +379,16 @@ final class QueryFlow {
         final StartTransactionState startState = new StartTransactionState(client, definition);
 
         if (batchSupported) {
-            return client.exchange(new TransactionBatchExchangeable(startState)).then();
+            return exchange(client, new TransactionBatchExchangeable(startState)).then();
         }
 
-        return client.exchange(new TransactionMultiExchangeable(startState)).then();
+        return exchange(client, new TransactionMultiExchangeable(startState)).then();
     }
 
     /**
      * Commits or rollbacks current transaction.  It will recover statuses of the {@link ConnectionContext}.
+     * <p>
+     * If the transaction has begun lazily and nothing is executed inside it, nothing will be sent to the server.
      *
      * @param client         the {@link Client} to exchange messages with.
      * @param commit         if it is commit, otherwise rollback.
@@ -239,13 +396,20 @@ final class QueryFlow {
      * @return receives complete signal.
      */
     static Mono<Void> doneTransaction(Client client, boolean commit, boolean batchSupported) {
+        ConnectionContext context = client.getContext();
+
+        if (context.takePendingTransaction() != null) {
+            context.resetCurrentIsolationLevel();
+            return Mono.empty();
+        }
+
         final CommitRollbackState commitState = new CommitRollbackState(client, commit);
 
         if (batchSupported) {
-            return client.exchange(new TransactionBatchExchangeable(commitState)).then();
+            return exchange(client, new TransactionBatchExchangeable(commitState)).then();
         }
 
-        return client.exchange(new TransactionMultiExchangeable(commitState)).then();
+        return exchange(client, new TransactionMultiExchangeable(commitState)).then();
     }
 
     /**
@@ -258,11 +422,15 @@ final class QueryFlow {
      * @return a {@link Mono} receives complete signal.
      */
     static Mono<Void> createSavepoint(Client client, String name, boolean batchSupported) {
-        final CreateSavepointState savepointState = new CreateSavepointState(client, name);
-        if (batchSupported) {
-            return client.exchange(new TransactionBatchExchangeable(savepointState)).then();
-        }
-        return client.exchange(new TransactionMultiExchangeable(savepointState)).then();
+        return Mono.defer(() -> {
+            final CreateSavepointState savepointState = new CreateSavepointState(client, name);
+            final Mono<Void> begin = beginPending(client, Collections.emptyList());
+
+            if (batchSupported) {
+                return begin.then(exchange(client, new TransactionBatchExchangeable(savepointState)).then());
+            }
+            return begin.then(exchange(client, new TransactionMultiExchangeable(savepointState)).then());
+        });
     }
 
     /**
@@ -272,7 +440,40 @@ final class QueryFlow {
      * @return complete or error messages received in response to this exchange.
      */
     static Flux<ServerMessage> ping(Client client) {
-        return client.exchange(PingMessage.INSTANCE, PING);
+        return exchange(client, PingMessage.INSTANCE, PING);
+    }
+
+    /**
+     * Prepares a statement on the server and puts it into the prepare cache without executing it, e.g. warming up
+     * the prepare cache of a connection.  It does nothing if the statement has been cached.
+     *
+     * @param client the {@link Client} to exchange messages with.
+     * @param sql    the statement to prepare.
+     * @return receives complete signal.
+     */
+    static Mono<Void> prepare(Client client, String sql) {
+        return Mono.defer(() -> {
+            if (client.getContext().getPrepareCache().getIfPresent(sql) != null) {
+                return Mono.empty();
+            }
+
+            return exchange(client, new PrepareExchangeable(client, sql))
+                .doOnNext(EXECUTE_VOID)
+                .then();
+        });
+    }
+
+    /**
+     * Resets the session by {@code COM_RESET_CONNECTION} and restores the configured session state, all requests
+     * are written in one pipelined exchange.  It will reset the session statuses of the {@link ConnectionContext}.
+     *
+     * @param client the {@link Client} to exchange messages with.
+     * @return receives complete signal.
+     */
+    static Mono<Void> resetConnection(Client client) {
+        return exchange(client, new ResetConnectionExchangeable(client.getContext()))
+            .doOnNext(EXECUTE_VOID)
+            .then();
     }
 
     /**
@@ -306,30 +507,42 @@ final class QueryFlow {
             case 1:
                 return setSessionVariable(client, sessionVariables.get(0));
             default: {
-                StringBuilder query = new StringBuilder(sessionVariables.size() * 32 + 16).append("SET ");
-                boolean comma = false;
+                String query = sessionVariablesStatement(sessionVariables);
 
-                for (String variable : sessionVariables) {
-                    if (variable.isEmpty()) {
-                        continue;
-                    }
+                return query.isEmpty() ? Mono.empty() : executeVoid(client, query);
+            }
+        }
+    }
 
-                    if (comma) {
-                        query.append(',');
-                    } else {
-                        comma = true;
-                    }
+    /**
+     * Builds a {@code SET} statement for multiple session variables.
+     *
+     * @param sessionVariables the session variables to set, e.g. {@code ["sql_mode='ANSI'", "time_zone='+09:00'"]}.
+     * @return the statement, or an empty string if there is no variable to set.
+     */
+    static String sessionVariablesStatement(List<String> sessionVariables) {
+        StringBuilder query = new StringBuilder(sessionVariables.size() * 32 + 16).append("SET ");
+        boolean comma = false;
 
-                    if (variable.startsWith("@")) {
-                        query.append(variable);
-                    } else {
-                        query.append("SESSION ").append(variable);
-                    }
-                }
+        for (String variable : sessionVariables) {
+            if (variable.isEmpty()) {
+                continue;
+            }
 
-                return executeVoid(client, query.toString());
+            if (comma) {
+                query.append(',');
+            } else {
+                comma = true;
+            }
+
+            if (variable.startsWith("@")) {
+                query.append(variable);
+            } else {
+                query.append("SESSION ").append(variable);
             }
         }
+
+        return comma ? query.toString() : "";
     }
 
     /**
@@ -343,9 +556,214 @@ final class QueryFlow {
      * @return the messages received in response to this exchange.
      */
     private static Flux<ServerMessage> execute0(Client client, String sql) {
+        ConnectionContext context = client.getContext();
+        TransactionDefinition definition = context.takePendingTransaction();
+
+        if (definition == null) {
+            return exchange(client, new SimpleQueryExchangeable(sql));
+        } else if (!context.getCapability().isMultiStatementsAllowed()) {
+            return beginPending(client, definition, Collections.emptyList())
+                .thenMany(exchange(client, new SimpleQueryExchangeable(sql)));
+        }
+
+        StartTransactionState state = new StartTransactionState(client, definition);
+
+        if (state.cancelTasks()) {
+            // The server is already in a transaction, e.g. it is begun by a statement.
+            return exchange(client, new SimpleQueryExchangeable(sql));
+        }
+
+        // Prepend the transaction to the query, the server stops executing multi-statements on the first error.
+        return exchange(client, new SimpleQueryExchangeable(state.batchStatement() + ';' + sql))
+            .handle(state::prepended);
+    }
+
+    /**
+     * Executes a simple query directly, without the pending transaction and the {@link QueryBatcher}. It is used
+     * by the {@link QueryBatcher} to send a statement which is not coalesced with others.
+     *
+     * @param client the {@link Client} to exchange messages with.
+     * @param sql    the query to execute, can be contains multi-statements.
+     * @return the messages received in response to this exchange.
+     */
+    static Flux<ServerMessage> executeDirectly(Client client, String sql) {
         return client.exchange(new SimpleQueryExchangeable(sql));
     }
 
+    /**
+     * Performs an exchange after sending the statements which are waiting in the {@link QueryBatcher}, if any, so
+     * that the exchange will not overtake statements submitted before it.
+     *
+     * @param client       the {@link Client} to exchange messages with.
+     * @param exchangeable the request messages and response handler.
+     * @param <T>          the type of the results.
+     * @return the results of this exchange.
+     */
+    private static <T> Flux<T> exchange(Client client, FluxExchangeable<T> exchangeable) {
+        return Flux.defer(() -> {
+            flushBatcher(client);
+
+            return client.exchange(exchangeable);
+        });
+    }
+
+    /**
+     * Performs an exchange after sending the statements which are waiting in the {@link QueryBatcher}, if any, so
+     * that the exchange will not overtake statements submitted before it.
+     *
+     * @param client  the {@link Client} to exchange messages with.
+     * @param request the request message.
+     * @param handler the response handler.
+     * @param <T>     the type of the results.
+     * @return the results of this exchange.
+     */
+    private static <T> Flux<T> exchange(
+        Client client, ClientMessage request, BiConsumer<ServerMessage, SynchronousSink<T>> handler
+    ) {
+        return Flux.defer(() -> {
+            flushBatcher(client);
+
+            return client.exchange(request, handler);
+        });
+    }
+
+    private static void flushBatcher(Client client) {
+        QueryBatcher batcher = client.getContext().getQueryBatcher();
+
+        if (batcher != null) {
+            batcher.flush(client);
+        }
+    }
+
+    /**
+     * Sends the transaction which has begun lazily, if any, before the next exchange.
+     *
+     * @param client   the {@link Client} to exchange messages with.
+     * @param bindings the bindings of the next exchange, they will be cleared if the transaction fails.
+     * @return a {@link Mono} receives complete signal.
+     */
+    private static Mono<Void> beginPending(Client client, List<Binding> bindings) {
+        TransactionDefinition definition = client.getContext().takePendingTransaction();
+
+        return definition == null ? Mono.empty() : beginPending(client, definition, bindings);
+    }
+
+    private static Mono<Void> beginPending(Client client, TransactionDefinition definition,
+        List<Binding> bindings) {
+        ConnectionContext context = client.getContext();
+
+        return beginTransaction(client, context.getCapability().isMultiStatementsAllowed(), definition)
+            .doOnError(ignored -> {
+                context.resetCurrentIsolationLevel();
+
+                for (Binding binding : bindings) {
+                    binding.clear();
+                }
+            });
+    }
+
+    private static List<String> rewriteInsert(String prefix, List<String> rows, ConnectionContext context,
+        List<Integer> sizes) {
+        int maxBytesPerChar = (int) Math.ceil(context.getClientCollation().getCharset().newEncoder()
+            .maxBytesPerChar());
+        // The command flag takes 1 byte.
+        long limit = context.getMaxAllowedPacket() - 1L;
+        List<String> statements = new ArrayList<>();
+        StringBuilder builder = new StringBuilder(prefix);
+        int size = 0;
+
+        for (String row : rows) {
+            if (size > 0) {
+                if ((long) (builder.length() + 1 + row.length()) * maxBytesPerChar > limit) {
+                    statements.add(builder.toString());
+                    sizes.add(size);
+                    builder.setLength(0);
+                    builder.append(prefix).append(row);
+                    size = 1;
+                    continue;
+                }
+
+                builder.append(',');
+            }
+
+            builder.append(row);
+            ++size;
+        }
+
+        statements.add(builder.toString());
+        sizes.add(size);
+
+        return statements;
+    }
+
+    private static List<ServerMessage> splitInsertResult(ServerMessage message, Iterator<Integer> sizes,
+        int increment) {
+        if (!(message instanceof OkMessage) || !sizes.hasNext()) {
+            return Collections.singletonList(message);
+        }
+
+        OkMessage ok = (OkMessage) message;
+        int size = sizes.next();
+
+        if (size <= 1 || ok.getAffectedRows() != size) {
+            // Can not split results if some rows are not inserted, emit the merged result.
+            return Collections.singletonList(message);
+        }
+
+        List<ServerMessage> results = new ArrayList<>(size);
+        long lastInsertId = ok.getLastInsertId();
+
+        for (int i = 0; i < size; ++i) {
+            long id = lastInsertId == 0 ? 0 : lastInsertId + (long) i * increment;
+
+            results.add(OkMessage.synthetic(1, id, ok.getServerStatuses(), ok.getWarnings()));
+        }
+
+        return results;
+    }
+
+    /**
+     * Checks if bindings of a server-preparing statement should be executed in bulk. It requires MariaDB bulk
+     * operations with unit results, otherwise the results of bindings will be merged into one.
+     *
+     * @param client    the {@link Client} to exchange messages with.
+     * @param sql       the statement to execute.
+     * @param bindings  the data of bindings.
+     * @param fetchSize the size of fetching, if it less than or equal to {@literal 0} means fetch all rows.
+     * @return if it should be executed in bulk.
+     */
+    private static boolean isBulk(Client client, String sql, List<Binding> bindings, int fetchSize) {
+        return fetchSize <= 0 && client.getContext().getCapability().isBulkUnitResults() &&
+            StringUtils.isModification(sql) && Binding.isBulkCompatible(bindings);
+    }
+
+    /**
+     * Gets the window size of pipelined executions for bindings of a server-preparing statement.
+     * <p>
+     * Fetching by cursor requires the previous result to be completed, and LOB parameters may be encoded
+     * asynchronously while previous results are decoding, so both of them shrink the window to {@literal 1}.
+     *
+     * @param client    the {@link Client} to exchange messages with.
+     * @param bindings  the data of bindings.
+     * @param fetchSize the size of fetching, if it less than or equal to {@literal 0} means fetch all rows.
+     * @return the window size, {@literal 1} means no pipelining.
+     */
+    private static int pipelineWindow(Client client, List<Binding> bindings, int fetchSize) {
+        int window = client.getContext().getPreparePipelineWindow();
+
+        if (window <= 1 || fetchSize > 0 || bindings.size() <= 1) {
+            return 1;
+        }
+
+        for (Binding binding : bindings) {
+            if (binding.containsLob()) {
+                return 1;
+            }
+        }
+
+        return window;
+    }
+
     private QueryFlow() {
     }
 }
@@ -409,6 +827,12 @@ final class SimpleQueryExchangeable extends BaseFluxExchangeable {
         this.sql = sql;
     }
 
+    @Override
+    public boolean isPipelinable() {
+        // It has only one request, unless the server requests a local file which disables pipelining.
+        return true;
+    }
+
     @Override
     public void dispose() {
         if (state.getAndSet(DISPOSE) != DISPOSE) {
@@ -459,10 +883,20 @@ final class TextQueryExchangeable extends BaseFluxExchangeable {
 
     private final Iterator<Binding> bindings;
 
+    /**
+     * The statements which are prepended to the first binding, it will be cleared after it is sent.
+     */
+    private String prefix;
+
     TextQueryExchangeable(Query query, String returning, Iterator<Binding> bindings) {
+        this(query, returning, bindings, "");
+    }
+
+    TextQueryExchangeable(Query query, String returning, Iterator<Binding> bindings, String prefix) {
         this.query = query;
         this.returning = returning;
         this.bindings = bindings;
+        this.prefix = prefix;
     }
 
     @Override
@@ -485,7 +919,11 @@ final class TextQueryExchangeable extends BaseFluxExchangeable {
     @Override
     protected void tryNextOrComplete(@Nullable SynchronousSink<ServerMessage> sink) {
         if (this.bindings.hasNext()) {
-            PreparedTextQueryMessage message = this.bindings.next().toTextMessage(this.query, this.returning);
+            PreparedTextQueryMessage message = this.bindings.next().toTextMessage(this.prefix, this.query,
+                this.returning);
+
+            this.prefix = "";
+
             Sinks.EmitResult result = this.requests.tryEmitNext(message);
 
             if (result == Sinks.EmitResult.OK) {
@@ -566,6 +1004,16 @@ final class MultiQueryExchangeable extends BaseFluxExchangeable {
  * It will reset a prepared statement if cache has matched it, otherwise it will prepare statement to a new statement ID
  * and put the ID into the cache. If the statement ID does not exist in the cache after the last row sent, the ID will
  * be closed.
+ * <p>
+ * If the window is greater than {@literal 1}, it will write ahead executions of subsequent bindings without waiting
+ * for the previous results, the results will be received in order. If an error is received in that case, it will
+ * stop to execute subsequent bindings and drain results of the executions that have been written ahead.
+ * <p>
+ * If it is a bulk execution, bindings will be executed by MariaDB {@code COM_STMT_BULK_EXECUTE} in chunks, and the
+ * unit results of each chunk will be converted to an {@link OkMessage} per binding.
+ * <p>
+ * If it is prepare-only, it always prepares the statement and completes after the statement is put into the cache,
+ * without executing it.  If the cache refuses the statement, it will be closed.
  */
 final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
 
@@ -577,10 +1025,15 @@ final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
 
     private static final int FETCH = 3;
 
+    /**
+     * The maximum number of bindings in a bulk execution.  It is a secondary limit, a bulk execution is mainly limited
+     * by {@code max_allowed_packet}, see {@link PreparedBulkExecuteMessage#takeRemaining()}.
+     */
+    private static final int MAX_BULK_SIZE = 1000;
+
     private final AtomicBoolean disposed = new AtomicBoolean();
 
-    private final Sinks.Many<ClientMessage> requests = Sinks.many().unicast()
-        .onBackpressureBuffer(Queues.<ClientMessage>one().get());
+    private final Sinks.Many<ClientMessage> requests;
 
     private final Client client;
 
@@ -590,6 +1043,27 @@ final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
 
     private final int fetchSize;
 
+    /**
+     * The maximum number of executions which are in flight.
+     */
+    private final int window;
+
+    /**
+     * Executes bindings in bulk, it requires MariaDB bulk operations with unit results.
+     */
+    private final boolean bulk;
+
+    /**
+     * Writes the next fetch when half of the current batch has been consumed, see also
+     * {@link ConnectionContext#isFetchReadAhead()}.
+     */
+    private final boolean readAhead;
+
+    /**
+     * Prepares the statement without executing it, e.g. warming up the prepare cache.
+     */
+    private final boolean prepareOnly;
+
     private int mode = PREPARE_OR_RESET;
 
     @Nullable
@@ -597,11 +1071,84 @@ final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
 
     private boolean shouldClose;
 
-    PrepareExchangeable(Client client, String sql, Iterator<Binding> bindings, int fetchSize) {
+    /**
+     * The number of executions that have been written but their last {@link CompleteMessage} not yet received.
+     */
+    private int inflight;
+
+    /**
+     * An error has been received, the results of executions written ahead should be discarded.
+     */
+    private boolean draining;
+
+    /**
+     * Unit results of current bulk execution have been received.
+     */
+    private boolean unitResults;
+
+    /**
+     * The current bulk execution, its remaining bindings should be executed before subsequent bindings.
+     */
+    @Nullable
+    private PreparedBulkExecuteMessage bulkMessage;
+
+    /**
+     * The number of fetches that have been written but their {@link CompleteMessage} not yet received.  It is
+     * at most {@code 2} when reading ahead.
+     */
+    private int fetching;
+
+    /**
+     * The number of rows of the current batch which have been consumed, it is counted only when reading ahead and
+     * the next fetch has not been written.
+     */
+    private int consumedRows;
+
+    /**
+     * The cursor has been exhausted, but a fetch has been written ahead, wait for its response.
+     */
+    private boolean exhausted;
+
+    /**
+     * A cursor has been opened and not yet exhausted, the statement should be reset before the next use.
+     */
+    private boolean cursorOpened;
+
+    PrepareExchangeable(
+        Client client, String sql, Iterator<Binding> bindings, int fetchSize, int window, boolean bulk
+    ) {
+        this(client, sql, bindings, fetchSize, window, bulk, false);
+    }
+
+    /**
+     * Creates a prepare-only exchangeable.
+     *
+     * @param client the {@link Client} to exchange messages with.
+     * @param sql    the statement to prepare.
+     */
+    PrepareExchangeable(Client client, String sql) {
+        this(client, sql, Collections.emptyIterator(), 0, 1, false, true);
+    }
+
+    private PrepareExchangeable(
+        Client client, String sql, Iterator<Binding> bindings, int fetchSize, int window, boolean bulk,
+        boolean prepareOnly
+    ) {
         this.client = client;
         this.sql = sql;
         this.bindings = bindings;
         this.fetchSize = fetchSize;
+        this.window = window;
+        this.bulk = bulk;
+        this.prepareOnly = prepareOnly;
+        this.readAhead = fetchSize > 0 && client.getContext().isFetchReadAhead();
+
+        int buffered = readAhead ? Math.max(window, 2) : prepareOnly ? 2 : window;
+
+        // Executions or fetches written ahead and closing of evicted statement should be buffered, a prepare-only
+        // exchange may also close the refused statement.
+        this.requests = Sinks.many().unicast().onBackpressureBuffer(buffered > 1 ?
+            Queues.<ClientMessage>get(buffered + 1).get() : Queues.<ClientMessage>one().get());
     }
 
     @Override
@@ -610,7 +1157,7 @@ final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
         requests.asFlux().subscribe(actual);
 
         // After subscribe.
-        Integer statementId = client.getContext().getPrepareCache().getIfPresent(sql);
+        Integer statementId = prepareOnly ? null : client.getContext().getPrepareCache().getIfPresent(sql);
         if (statementId == null) {
             logger.debug("Prepare cache mismatch, try to preparing");
             this.shouldClose = true;
@@ -622,10 +1169,17 @@ final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
             }
         } else {
             logger.debug("Prepare cache matched statement {} when getting", statementId);
-            // Should reset only when it comes from cache.
             this.shouldClose = false;
             this.statementId = statementId;
             QueryLogger.log(statementId, sql);
+
+            if (!client.getContext().clearStatementDirty(statementId)) {
+                // Nothing left behind by previous executions, so no need to reset.
+                doNextExecute(statementId, null);
+                return;
+            }
+
+            // Should reset only when it comes from cache and may have states left behind.
             Sinks.EmitResult result = this.requests.tryEmitNext(new PreparedResetMessage(statementId));
 
             if (result != Sinks.EmitResult.OK) {
@@ -636,9 +1190,55 @@ final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
 
     @Override
     public void accept(ServerMessage message, SynchronousSink<ServerMessage> sink) {
+        if (exhausted) {
+            // The server responds an error to the fetch written ahead after the last batch, discard it.
+            if (message instanceof ErrorMessage ||
+                (message instanceof CompleteMessage && ((CompleteMessage) message).isDone())) {
+                this.exhausted = false;
+                --fetching;
+                onExecuted(sink);
+            } else {
+                ReferenceCountUtil.safeRelease(message);
+            }
+
+            return;
+        }
+
         if (message instanceof ErrorMessage) {
-            sink.next(((ErrorMessage) message).offendedBy(sql));
-            sink.complete();
+            Integer statementId = this.statementId;
+
+            if (statementId != null) {
+                // The server may not have bound the parameter types of the failed execution.
+                client.getContext().bindParameterTypes(statementId, null);
+            }
+
+            if (draining) {
+                onDrained(sink);
+            } else if (inflight > 1) {
+                // Executions written ahead are still in flight, their results must be drained before completing.
+                this.draining = true;
+                --inflight;
+                sink.next(((ErrorMessage) message).offendedBy(sql));
+            } else if (fetching > 1) {
+                // A fetch has been written ahead, its response must be drained before completing.
+                this.draining = true;
+                this.inflight = fetching - 1;
+                sink.next(((ErrorMessage) message).offendedBy(sql));
+            } else {
+                sink.next(((ErrorMessage) message).offendedBy(sql));
+                sink.complete();
+            }
+
+            return;
+        }
+
+        if (draining) {
+            if (message instanceof CompleteMessage && ((CompleteMessage) message).isDone()) {
+                onDrained(sink);
+            } else {
+                ReferenceCountUtil.safeRelease(message);
+            }
+
             return;
         }
 
@@ -664,8 +1264,7 @@ final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
 
                     // columns + parameters <= 0, has not metadata follow in,
                     if (columns <= -parameters) {
-                        putToCache(statementId);
-                        doNextExecute(statementId, sink);
+                        onPrepared(statementId, sink);
                     }
                 } else if (message instanceof SyntheticMetadataMessage &&
                     ((SyntheticMetadataMessage) message).isCompleted()) {
@@ -675,15 +1274,16 @@ final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
                         return;
                     }
 
-                    putToCache(statementId);
-                    doNextExecute(statementId, sink);
+                    onPrepared(statementId, sink);
                 } else {
                     ReferenceCountUtil.safeRelease(message);
                 }
                 // Ignore all messages in preparing phase.
                 break;
             case EXECUTE:
-                if (message instanceof CompleteMessage && ((CompleteMessage) message).isDone()) {
+                if (bulk) {
+                    onBulkMessage(message, sink);
+                } else if (message instanceof CompleteMessage && ((CompleteMessage) message).isDone()) {
                     // Complete message means execute or fetch phase done (when cursor is not opened).
                     onCompleteMessage((CompleteMessage) message, sink);
                 } else if (message instanceof SyntheticMetadataMessage) {
@@ -692,6 +1292,8 @@ final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
                         // Otherwise, cursor does not be opened, wait for end of row EOF message.
                         if ((((ServerStatusMessage) eof).getServerStatuses() &
                             ServerStatuses.CURSOR_EXISTS) != 0) {
+                            this.cursorOpened = true;
+
                             if (doNextFetch(sink)) {
                                 sink.next(message);
                             }
@@ -713,7 +1315,12 @@ final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
             default:
                 if (message instanceof CompleteMessage && ((CompleteMessage) message).isDone()) {
                     onCompleteMessage((CompleteMessage) message, sink);
+                } else if (readAhead && fetching == 1 && message instanceof RowMessage &&
+                    ++consumedRows >= Math.max(fetchSize >>> 1, 1) && !doNextFetch(sink)) {
+                    ReferenceCountUtil.safeRelease(message);
                 } else {
+                    // Messages are handled only on demand, so half of the current batch has been requested by the
+                    // subscriber before the next batch is requested.
                     sink.next(message);
                 }
                 break;
@@ -724,8 +1331,16 @@ final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
     public void dispose() {
         if (disposed.compareAndSet(false, true)) {
             Integer statementId = this.statementId;
+
+            if (cursorOpened && !shouldClose && statementId != null) {
+                logger.debug("Statement {} may have an open cursor, it should be reset before the next use",
+                    statementId);
+                client.getContext().markStatementDirty(statementId);
+            }
+
             if (shouldClose && statementId != null) {
                 logger.debug("Closing statement {} after used", statementId);
+                client.getContext().clearStatement(statementId);
 
                 Sinks.EmitResult result = requests.tryEmitNext(new PreparedCloseMessage(statementId));
 
@@ -736,6 +1351,18 @@ final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
             // No particular error condition handling for complete signal.
             requests.tryEmitComplete();
 
+            PreparedBulkExecuteMessage bulkMessage = this.bulkMessage;
+
+            if (bulkMessage != null) {
+                this.bulkMessage = null;
+
+                PreparedBulkExecuteMessage remaining = bulkMessage.takeRemaining();
+
+                if (remaining != null) {
+                    remaining.dispose();
+                }
+            }
+
             while (bindings.hasNext()) {
                 bindings.next().clear();
             }
@@ -753,6 +1380,7 @@ final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
         try {
             putSucceed = client.getContext().getPrepareCache().putIfAbsent(sql, statementId, evictId -> {
                 logger.debug("Prepare cache evicts statement {} when putting", evictId);
+                client.getContext().clearStatement(evictId);
 
                 Sinks.EmitResult result = requests.tryEmitNext(new PreparedCloseMessage(evictId));
 
@@ -770,15 +1398,155 @@ final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
         logger.debug("Prepare cache put statement {} is {}", statementId, putSucceed ? "succeed" : "fails");
     }
 
-    private void doNextExecute(int statementId, SynchronousSink<ServerMessage> sink) {
+    private void onPrepared(int statementId, SynchronousSink<ServerMessage> sink) {
+        putToCache(statementId);
+
+        if (prepareOnly) {
+            sink.complete();
+        } else {
+            doNextExecute(statementId, sink);
+        }
+    }
+
+    /**
+     * Writes the next executions.
+     *
+     * @param statementId the prepared statement ID.
+     * @param sink        the response sink, or {@code null} if executing on subscribe.
+     */
+    private void doNextExecute(int statementId, @Nullable SynchronousSink<ServerMessage> sink) {
         setMode(EXECUTE);
 
-        PreparedExecuteMessage message = bindings.next().toExecuteMessage(statementId, fetchSize <= 0);
+        if (bulk) {
+            doNextBulkExecute(statementId, null, sink);
+            return;
+        }
+
+        do {
+            PreparedExecuteMessage message = bindings.next().toExecuteMessage(statementId, fetchSize <= 0);
+            Sinks.EmitResult result = Sinks.EmitResult.OK;
+
+            // LOB parameters are streamed before the execution, the server does not respond to them.
+            for (PreparedLargeDataMessage data : message.getLargeDataMessages()) {
+                if ((result = requests.tryEmitNext(data)) != Sinks.EmitResult.OK) {
+                    break;
+                }
+            }
+
+            if (result == Sinks.EmitResult.OK) {
+                result = requests.tryEmitNext(message);
+            }
+
+            if (result != Sinks.EmitResult.OK) {
+                logger.error("Fail to execute {} due to {}", statementId, result);
+                message.dispose();
+
+                if (inflight > 0) {
+                    this.draining = true;
+                } else if (sink != null) {
+                    sink.complete();
+                }
+
+                return;
+            }
+
+            ++inflight;
+        } while (inflight < window && bindings.hasNext());
+    }
+
+    /**
+     * Writes the next bulk execution.
+     *
+     * @param statementId the prepared statement ID.
+     * @param message     the remaining bindings of previous bulk execution, or {@code null} if they are all sent.
+     * @param sink        the response sink, or {@code null} if executing on subscribe.
+     */
+    private void doNextBulkExecute(int statementId, @Nullable PreparedBulkExecuteMessage message,
+        @Nullable SynchronousSink<ServerMessage> sink) {
+        if (message == null) {
+            List<MySqlParameter[]> rows = new ArrayList<>();
+
+            do {
+                rows.add(bindings.next().toBulkValues(statementId));
+            } while (rows.size() < MAX_BULK_SIZE && bindings.hasNext());
+
+            message = new PreparedBulkExecuteMessage(statementId, rows, client.getContext().getMaxAllowedPacket());
+        }
+
+        this.bulkMessage = message;
+
         Sinks.EmitResult result = requests.tryEmitNext(message);
 
         if (result != Sinks.EmitResult.OK) {
-            logger.error("Fail to execute {} due to {}", statementId, result);
+            logger.error("Fail to bulk execute {} due to {}", statementId, result);
+            this.bulkMessage = null;
             message.dispose();
+
+            if (sink != null) {
+                sink.complete();
+            }
+
+            return;
+        }
+
+        ++inflight;
+    }
+
+    private void onBulkMessage(ServerMessage message, SynchronousSink<ServerMessage> sink) {
+        if (message instanceof RowMessage) {
+            RowMessage row = (RowMessage) message;
+            short statuses = (short) (client.getContext().getServerStatuses() & ~ServerStatuses.MORE_RESULTS_EXISTS);
+
+            try {
+                this.unitResults = true;
+                sink.next(row.decodeBulkUnitResult(statuses));
+            } finally {
+                row.release();
+            }
+        } else if (message instanceof CompleteMessage && ((CompleteMessage) message).isDone()) {
+            if (unitResults) {
+                // The results of bindings have been emitted by unit results.
+                this.unitResults = false;
+            } else {
+                sink.next(message);
+            }
+
+            PreparedBulkExecuteMessage bulkMessage = this.bulkMessage;
+            // The bulk execution has been encoded before its response, so its remaining is determined.
+            PreparedBulkExecuteMessage remaining = bulkMessage == null ? null : bulkMessage.takeRemaining();
+
+            this.bulkMessage = null;
+
+            if (--inflight <= 0 && (remaining != null || bindings.hasNext()) &&
+                !requests.scanOrDefault(Scannable.Attr.TERMINATED, Boolean.FALSE)) {
+                Integer statementId = this.statementId;
+
+                if (statementId == null) {
+                    if (remaining != null) {
+                        remaining.dispose();
+                    }
+
+                    sink.error(new IllegalStateException("Statement ID must not be null when executing"));
+                    return;
+                }
+
+                doNextBulkExecute(statementId, remaining, sink);
+            } else {
+                if (remaining != null) {
+                    remaining.dispose();
+                }
+
+                sink.complete();
+            }
+        } else {
+            // Metadata of unit results, ignore it.
+            ReferenceCountUtil.safeRelease(message);
+        }
+    }
+
+    private void onDrained(SynchronousSink<ServerMessage> sink) {
+        if (--inflight <= 0) {
+            logger.debug("Pipelined executions of statement {} drained", statementId);
             sink.complete();
         }
     }
@@ -796,6 +1564,7 @@ final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
         Sinks.EmitResult result = requests.tryEmitNext(new PreparedFetchMessage(statementId, fetchSize));
 
         if (result == Sinks.EmitResult.OK) {
+            ++fetching;
             return true;
         }
 
@@ -811,10 +1580,21 @@ final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
     }
 
     private void onCompleteMessage(CompleteMessage message, SynchronousSink<ServerMessage> sink) {
+        if (fetching > 0) {
+            --fetching;
+        }
+
+        this.consumedRows = 0;
+
         if (requests.scanOrDefault(Scannable.Attr.TERMINATED, Boolean.FALSE)) {
-            logger.error("Unexpected terminated on requests");
             sink.next(message);
-            sink.complete();
+
+            // Wait for the results of executions that have been written ahead.
+            if (--inflight <= 0) {
+                logger.error("Unexpected terminated on requests");
+                sink.complete();
+            }
+
             return;
         }
 
@@ -822,7 +1602,10 @@ final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
             short statuses = ((ServerStatusMessage) message).getServerStatuses();
             if ((statuses & ServerStatuses.CURSOR_EXISTS) != 0 &&
                 (statuses & ServerStatuses.LAST_ROW_SENT) == 0) {
-                doNextFetch(sink);
+                // The next fetch may have been written ahead.
+                if (fetching <= 0) {
+                    doNextFetch(sink);
+                }
                 // Not last complete message, no need emit.
                 return;
             }
@@ -830,8 +1613,21 @@ final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
         }
 
         // The last row complete message should be emitted, whatever cursor has been opened.
+        // The cursor is closed by the server after the last row sent.
+        this.cursorOpened = false;
         sink.next(message);
 
+        if (fetching > 0) {
+            this.exhausted = true;
+            return;
+        }
+
+        onExecuted(sink);
+    }
+
+    private void onExecuted(SynchronousSink<ServerMessage> sink) {
+        --inflight;
+
         if (bindings.hasNext()) {
             Integer statementId = this.statementId;
 
@@ -841,7 +1637,7 @@ final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
             }
 
             doNextExecute(statementId, sink);
-        } else {
+        } else if (inflight <= 0) {
             sink.complete();
         }
     }
@@ -1020,16 +1816,8 @@ final class StartTransactionState extends AbstractTransactionState {
     protected boolean process(int task, SynchronousSink<Void> sink) {
         switch (task) {
             case LOCK_WAIT_TIMEOUT:
-                final Duration timeout = definition.getAttribute(TransactionDefinition.LOCK_WAIT_TIMEOUT);
-                if (timeout != null) {
-                    client.getContext().setCurrentLockWaitTimeout(timeout);
-                }
-                return true;
             case ISOLATION_LEVEL:
-                final IsolationLevel isolationLevel = definition.getAttribute(TransactionDefinition.ISOLATION_LEVEL);
-                if (isolationLevel != null) {
-                    client.getContext().setCurrentIsolationLevel(isolationLevel);
-                }
+                apply(task);
                 return true;
             case START_TRANSACTION:
             case CANCEL:
@@ -1041,6 +1829,50 @@ final class StartTransactionState extends AbstractTransactionState {
         return false;
     }
 
+    /**
+     * Handles messages of a query which the statements of this state are prepended to.  It consumes the
+     * {@link CompleteMessage}s of the statements, and passes through the others.
+     *
+     * @param message the message of the query.
+     * @param sink    the sink of the query.
+     */
+    void prepended(ServerMessage message, SynchronousSink<ServerMessage> sink) {
+        if (tasks == 0) {
+            sink.next(message);
+        } else if (message instanceof CompleteMessage) {
+            int task = Integer.lowestOneBit(tasks);
+
+            this.tasks -= task;
+            apply(task);
+        } else {
+            if (message instanceof ErrorMessage) {
+                // The remaining statements will not be executed, so the transaction has not begun.
+                this.tasks = 0;
+                client.getContext().resetCurrentIsolationLevel();
+            }
+
+            sink.next(message);
+        }
+    }
+
+    private void apply(int task) {
+        switch (task) {
+            case LOCK_WAIT_TIMEOUT:
+                final Duration timeout = definition.getAttribute(TransactionDefinition.LOCK_WAIT_TIMEOUT);
+                if (timeout != null) {
+                    client.getContext().setCurrentLockWaitTimeout(timeout);
+                }
+                break;
+            case ISOLATION_LEVEL:
+                final IsolationLevel isolationLevel = definition.getAttribute(TransactionDefinition.ISOLATION_LEVEL);
+                if (isolationLevel != null) {
+                    client.getContext().setCurrentIsolationLevel(isolationLevel);
+                }
+                break;
+        }
+        // START_TRANSACTION does not change the context, the server statuses are updated by the codec.
+    }
+
     /**
      * Visible for testing.
      *
@@ -1229,3 +2061,70 @@ final class TransactionMultiExchangeable extends FluxExchangeable<Void> {
         }
     }
 }
+
+/**
+ * An implementation of {@link FluxExchangeable} that resets the session by {@code COM_RESET_CONNECTION} and
+ * restores the configured session state.  All requests are written at once, and each of them is terminated by a
+ * {@link CompleteMessage} or an {@link ErrorMessage}.  It emits the first {@link ErrorMessage} after all responses
+ * are received, so the connection is never left with unread responses.
+ */
+final class ResetConnectionExchangeable extends FluxExchangeable<ServerMessage> {
+
+    private final ConnectionContext context;
+
+    private final List<String> statements;
+
+    private int received;
+
+    @Nullable
+    private ErrorMessage error;
+
+    ResetConnectionExchangeable(ConnectionContext context) {
+        this.context = context;
+        this.statements = context.getRestoreStatements();
+    }
+
+    @Override
+    public void accept(ServerMessage message, SynchronousSink<ServerMessage> sink) {
+        if (message instanceof ErrorMessage) {
+            if (error == null) {
+                ErrorMessage e = (ErrorMessage) message;
+                error = received == 0 ? e : e.offendedBy(statements.get(received - 1));
+            }
+        } else if (message instanceof CompleteMessage && ((CompleteMessage) message).isDone()) {
+            if (received == 0) {
+                context.resetSession();
+            }
+        } else {
+            ReferenceCountUtil.safeRelease(message);
+            return;
+        }
+
+        if (++received > statements.size()) {
+            if (error != null) {
+                sink.next(error);
+            }
+
+            sink.complete();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        // Do nothing.
+    }
+
+    @Override
+    public void subscribe(CoreSubscriber<? super ClientMessage> s) {
+        List<ClientMessage> messages = new ArrayList<>(statements.size() + 1);
+
+        messages.add(ResetConnectionMessage.INSTANCE);
+
+        for (String sql : statements) {
+            QueryLogger.log(sql);
+            messages.add(new TextQueryMessage(sql));
+        }
+
+        Flux.fromIterable(messages).subscribe(s);
+    }
+}
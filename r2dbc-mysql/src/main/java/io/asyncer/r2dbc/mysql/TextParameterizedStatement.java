@@ -34,7 +34,15 @@ final class TextParameterizedStatement extends ParameterizedStatementSupport {
 
     @Override
     protected Flux<MySqlResult> execute(List<Binding> bindings) {
-        return Flux.defer(() -> QueryFlow.execute(client, query, returningIdentifiers(), bindings))
-            .map(messages -> MySqlSegmentResult.toResult(false, client, codecs, syntheticKeyName(), messages));
+        return Flux.defer(() -> {
+            String returning = returningIdentifiers();
+
+            if (bindings.size() > 1 && returning.isEmpty() && query.isRewritableInsert() &&
+                client.getContext().isRewriteBatchedInserts()) {
+                return QueryFlow.executeInsert(client, query, bindings);
+            }
+
+            return QueryFlow.execute(client, query, returning, bindings);
+        }).map(messages -> MySqlSegmentResult.toResult(false, client, codecs, syntheticKeyName(), messages));
     }
 }
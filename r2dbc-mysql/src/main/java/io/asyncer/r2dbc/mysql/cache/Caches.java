@@ -16,11 +16,26 @@
 
 package io.asyncer.r2dbc.mysql.cache;
 
+import io.asyncer.r2dbc.mysql.extension.MetricsRecorder;
+import org.jetbrains.annotations.Nullable;
+
 /**
  * An utility for create caches from configuration.
  */
 public final class Caches {
 
+    /**
+     * The maximum threshold of {@link PreparePromoter}, frequencies are counted to {@code 15} and halved
+     * periodically.
+     *
+     * @since 1.3.2
+     */
+    public static final int MAX_PROMOTE_THRESHOLD = 7;
+
+    private static final int MIN_PROMOTE_CAPACITY = 64;
+
+    private static final int MAX_PROMOTE_CAPACITY = 4096;
+
     private Caches() {
     }
 
@@ -31,12 +46,25 @@ public final class Caches {
      * @return the above {@link QueryCache}.
      */
     public static QueryCache createQueryCache(int capacity) {
+        return createQueryCache(capacity, null);
+    }
+
+    /**
+     * Create a new {@link QueryCache} by cache configuration, which reports lookups and evictions to a
+     * {@link MetricsRecorder}.
+     *
+     * @param capacity the capacity of {@link QueryCache}.
+     * @param metrics  the recorder of metrics, or {@code null} if metrics should not be recorded.
+     * @return the above {@link QueryCache}.
+     * @since 1.3.2
+     */
+    public static QueryCache createQueryCache(int capacity, @Nullable MetricsRecorder metrics) {
         if (capacity > 0 && capacity < Integer.MAX_VALUE) {
-            return new QueryBoundedCache(capacity);
+            return new QueryBoundedCache(capacity, metrics);
         } else if (capacity == 0) {
             return new QueryDisabledCache();
         } else {
-            return new QueryUnboundedCache();
+            return new QueryUnboundedCache(metrics);
         }
     }
 
@@ -47,15 +75,46 @@ public final class Caches {
      * @return the above {@link PrepareCache}.
      */
     public static PrepareCache createPrepareCache(int capacity) {
+        return createPrepareCache(capacity, null);
+    }
+
+    /**
+     * Create a new {@link PrepareCache} by cache configuration, which reports lookups and evictions to a
+     * {@link MetricsRecorder}.
+     *
+     * @param capacity the capacity of {@link PrepareCache}.
+     * @param metrics  the recorder of metrics, or {@code null} if metrics should not be recorded.
+     * @return the above {@link PrepareCache}.
+     * @since 1.3.2
+     */
+    public static PrepareCache createPrepareCache(int capacity, @Nullable MetricsRecorder metrics) {
         if (capacity > 0 && capacity < Integer.MAX_VALUE) {
-            return new PrepareBoundedCache(capacity);
+            return new PrepareBoundedCache(capacity, metrics);
         } else if (capacity == 0) {
             return new PrepareDisabledCache();
         } else {
-            return new PrepareUnboundedCache();
+            return new PrepareUnboundedCache(metrics);
         }
     }
 
+    /**
+     * Create a new {@link PreparePromoter} which promotes SQL to server-preparing by execution frequency.
+     *
+     * @param threshold the number of executions to promote, between {@code 1} and
+     *                  {@link #MAX_PROMOTE_THRESHOLD}.
+     * @param capacity  the capacity of the server-preparing cache, it is used to size the frequency sketch.
+     * @return the above {@link PreparePromoter}.
+     * @throws IllegalArgumentException if {@code threshold} is out of range.
+     * @since 1.3.2
+     */
+    public static PreparePromoter createPreparePromoter(int threshold, int capacity) {
+        // Unbounded or disabled cache should not size the sketch by itself.
+        int size = capacity <= 0 ? MAX_PROMOTE_CAPACITY :
+            Math.max(MIN_PROMOTE_CAPACITY, Math.min(capacity, MAX_PROMOTE_CAPACITY));
+
+        return new PreparePromoter(threshold, size);
+    }
+
     /**
      * Returns the smallest power of two greater than or equal to {@code x}. This function is equivalent to
      * {@code pow(2, ceil(log2(x)))}.
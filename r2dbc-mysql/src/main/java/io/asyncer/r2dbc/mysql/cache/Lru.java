@@ -155,6 +155,14 @@ final class Lru<T> {
         node.reInit();
     }
 
+    /**
+     * Unlinks all nodes, the nodes should be dropped by the caller.
+     */
+    void clear() {
+        this.head = this.tail = null;
+        this.size = 0;
+    }
+
     @Override
     public String toString() {
         Node<T> head = this.head, tail = this.tail;
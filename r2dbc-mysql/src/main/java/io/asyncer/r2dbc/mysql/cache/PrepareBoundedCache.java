@@ -16,6 +16,9 @@
 
 package io.asyncer.r2dbc.mysql.cache;
 
+import io.asyncer.r2dbc.mysql.extension.MetricsRecorder;
+import org.jetbrains.annotations.Nullable;
+
 import java.util.HashMap;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.IntConsumer;
@@ -36,7 +39,14 @@ final class PrepareBoundedCache extends HashMap<String, Lru.Node<Integer>> imple
 
     private final ReentrantLock lock = new ReentrantLock();
 
+    @Nullable
+    private final transient MetricsRecorder metrics;
+
     PrepareBoundedCache(int capacity) {
+        this(capacity, null);
+    }
+
+    PrepareBoundedCache(int capacity, @Nullable MetricsRecorder metrics) {
         int windowSize = Math.max(1, capacity / 100);
         int protectionSize = Math.max(1, (int) ((capacity - windowSize) * 0.8));
         int probationSize = Math.max(1, capacity - protectionSize - windowSize);
@@ -45,6 +55,7 @@ final class PrepareBoundedCache extends HashMap<String, Lru.Node<Integer>> imple
         this.window = new Lru<>(windowSize, Lru.WINDOW);
         this.probation = new Lru<>(probationSize, Lru.PROBATION);
         this.protection = new Lru<>(protectionSize, Lru.PROTECTION);
+        this.metrics = metrics;
     }
 
     @Override
@@ -53,6 +64,10 @@ final class PrepareBoundedCache extends HashMap<String, Lru.Node<Integer>> imple
         try {
             Lru.Node<Integer> node = super.get(key);
 
+            if (metrics != null) {
+                metrics.recordCacheLookup(MetricsRecorder.CacheType.PREPARE, node != null);
+            }
+
             if (node == null) {
                 return null;
             }
@@ -83,6 +98,19 @@ final class PrepareBoundedCache extends HashMap<String, Lru.Node<Integer>> imple
         }
     }
 
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            super.clear();
+            window.clear();
+            probation.clear();
+            protection.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
     @Override
     public String toString() {
         return window.toString() + probation + protection;
@@ -139,5 +167,9 @@ final class PrepareBoundedCache extends HashMap<String, Lru.Node<Integer>> imple
 
         super.remove(evicted.getKey(), evicted);
         evict.accept(evicted.getValue());
+
+        if (metrics != null) {
+            metrics.recordCacheEviction(MetricsRecorder.CacheType.PREPARE);
+        }
     }
 }
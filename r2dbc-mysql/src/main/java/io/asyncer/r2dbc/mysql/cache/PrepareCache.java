@@ -44,4 +44,12 @@ public interface PrepareCache {
      * @return {@code true} if {@code value} has been put succeed.
      */
     boolean putIfAbsent(String key, int value, IntConsumer evict);
+
+    /**
+     * Removes all prepared results without evicting them, e.g. the server has deallocated all prepared
+     * statements of the session.
+     *
+     * @since 1.3.2
+     */
+    void clear();
 }
@@ -33,4 +33,9 @@ final class PrepareDisabledCache implements PrepareCache {
         // Put always fails.
         return false;
     }
+
+    @Override
+    public void clear() {
+        // Nothing to clear.
+    }
 }
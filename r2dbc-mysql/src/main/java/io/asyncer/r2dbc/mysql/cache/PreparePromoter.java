@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.cache;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.require;
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
+
+/**
+ * A {@link Predicate} that decides whether SQL should be promoted to server-preparing by its estimated execution
+ * frequency on a connection.  Each test counts an execution of the SQL.
+ * <p>
+ * The frequency is estimated by {@link FreqSketch}, its counters are halved periodically, so the threshold is
+ * at most {@link Caches#MAX_PROMOTE_THRESHOLD} to keep frequently executed SQL promoted after aging.
+ *
+ * @since 1.3.2
+ */
+public final class PreparePromoter implements Predicate<String> {
+
+    private final FreqSketch sketch;
+
+    private final int threshold;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    PreparePromoter(int threshold, int capacity) {
+        require(threshold >= 1 && threshold <= Caches.MAX_PROMOTE_THRESHOLD,
+            "threshold must be between 1 and " + Caches.MAX_PROMOTE_THRESHOLD);
+
+        this.sketch = new FreqSketch(capacity);
+        this.threshold = threshold;
+    }
+
+    @Override
+    public boolean test(String sql) {
+        requireNonNull(sql, "sql must not be null");
+
+        int hash = sql.hashCode();
+
+        lock.lock();
+        try {
+            sketch.increment(hash);
+            return sketch.frequency(hash) >= threshold;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PreparePromoter{threshold=" + threshold + '}';
+    }
+}
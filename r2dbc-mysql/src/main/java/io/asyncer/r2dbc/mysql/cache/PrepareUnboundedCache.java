@@ -16,6 +16,9 @@
 
 package io.asyncer.r2dbc.mysql.cache;
 
+import io.asyncer.r2dbc.mysql.extension.MetricsRecorder;
+import org.jetbrains.annotations.Nullable;
+
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.IntConsumer;
 
@@ -24,9 +27,22 @@ import java.util.function.IntConsumer;
  */
 final class PrepareUnboundedCache extends ConcurrentHashMap<String, Integer> implements PrepareCache {
 
+    @Nullable
+    private final transient MetricsRecorder metrics;
+
+    PrepareUnboundedCache(@Nullable MetricsRecorder metrics) {
+        this.metrics = metrics;
+    }
+
     @Override
     public Integer getIfPresent(String key) {
-        return super.get(key);
+        Integer value = super.get(key);
+
+        if (metrics != null) {
+            metrics.recordCacheLookup(MetricsRecorder.CacheType.PREPARE, value != null);
+        }
+
+        return value;
     }
 
     @Override
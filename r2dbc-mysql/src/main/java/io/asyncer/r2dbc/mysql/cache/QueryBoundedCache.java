@@ -17,6 +17,8 @@
 package io.asyncer.r2dbc.mysql.cache;
 
 import io.asyncer.r2dbc.mysql.Query;
+import io.asyncer.r2dbc.mysql.extension.MetricsRecorder;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
@@ -44,7 +46,10 @@ final class QueryBoundedCache extends ConcurrentHashMap<String, Lru.Node<Query>>
 
     private final Lru<Query> protection;
 
-    QueryBoundedCache(int capacity) {
+    @Nullable
+    private final transient MetricsRecorder metrics;
+
+    QueryBoundedCache(int capacity, @Nullable MetricsRecorder metrics) {
         int windowSize = Math.max(1, capacity / 100);
         int protectionSize = Math.max(1, (int) ((capacity - windowSize) * 0.8));
         int probationSize = Math.max(1, capacity - protectionSize - windowSize);
@@ -56,6 +61,7 @@ final class QueryBoundedCache extends ConcurrentHashMap<String, Lru.Node<Query>>
         this.window = new Lru<>(windowSize, Lru.WINDOW);
         this.probation = new Lru<>(probationSize, Lru.PROBATION);
         this.protection = new Lru<>(protectionSize, Lru.PROTECTION);
+        this.metrics = metrics;
     }
 
     @Override
@@ -63,6 +69,7 @@ final class QueryBoundedCache extends ConcurrentHashMap<String, Lru.Node<Query>>
         // An optimistic fast path to avoid unnecessary locking.
         Lru.Node<Query> node = super.get(key);
         if (node != null) {
+            recordLookup(true);
             afterRead(node);
             return node.getValue();
         }
@@ -75,6 +82,8 @@ final class QueryBoundedCache extends ConcurrentHashMap<String, Lru.Node<Query>>
             return new Lru.Node<>(k, Query.parse(k));
         });
 
+        recordLookup(present[0]);
+
         if (present[0]) {
             afterRead(node);
         } else {
@@ -164,6 +173,16 @@ final class QueryBoundedCache extends ConcurrentHashMap<String, Lru.Node<Query>>
         }
 
         super.remove(evicted.getKey(), evicted);
+
+        if (metrics != null) {
+            metrics.recordCacheEviction(MetricsRecorder.CacheType.QUERY);
+        }
+    }
+
+    private void recordLookup(boolean hit) {
+        if (metrics != null) {
+            metrics.recordCacheLookup(MetricsRecorder.CacheType.QUERY, hit);
+        }
     }
 
     private void drainRead(Lru.Node<Query> node) {
@@ -17,6 +17,8 @@
 package io.asyncer.r2dbc.mysql.cache;
 
 import io.asyncer.r2dbc.mysql.Query;
+import io.asyncer.r2dbc.mysql.extension.MetricsRecorder;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
@@ -28,10 +30,22 @@ final class QueryUnboundedCache extends ConcurrentHashMap<String, Query> impleme
 
     private static final Function<String, Query> PARSE = Query::parse;
 
+    @Nullable
+    private final transient MetricsRecorder metrics;
+
+    QueryUnboundedCache(@Nullable MetricsRecorder metrics) {
+        this.metrics = metrics;
+    }
+
     @Override
     public Query get(String key) {
         // An optimistic fast path to avoid unnecessary locking.
         Query value = super.get(key);
+
+        if (metrics != null) {
+            metrics.recordCacheLookup(MetricsRecorder.CacheType.QUERY, value != null);
+        }
+
         return value == null ? super.computeIfAbsent(key, PARSE) : value;
     }
 }
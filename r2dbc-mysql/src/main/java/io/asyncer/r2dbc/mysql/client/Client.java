@@ -69,6 +69,13 @@ public interface Client {
      */
     <T> Flux<T> exchange(FluxExchangeable<T> exchangeable);
 
+    /**
+     * Cancels the query of the current exchange on the server side if it is enabled, e.g. by {@code KILL QUERY}
+     * from a side connection.  The current exchange should still be drained, but the server will stop sending
+     * remaining rows, and the next exchange will wait for the cancellation.
+     */
+    void cancelQuery();
+
     /**
      * Close the connection of the {@link Client} with close request.
      * <p>
@@ -85,6 +92,15 @@ public interface Client {
      */
     Mono<Void> forceClose();
 
+    /**
+     * Returns a {@link Mono} that completes when the connection of the {@link Client} is closed, whether it is
+     * closed by the client or by the server.
+     *
+     * @return A {@link Mono} that will emit a complete signal after connection closed
+     * @since 1.3.2
+     */
+    Mono<Void> onClose();
+
     /**
      * Returns the {@link ByteBufAllocator}.
      *
@@ -121,6 +137,7 @@ public interface Client {
      * Connects to {@code address} with configurations.  Normally, should log-in after connected.
      *
      * @param ssl            the SSL configuration
+     * @param sslContexts    the cache of SSL contexts, it should be shared among connections of a factory
      * @param address        socket address, may be host address, or Unix Domain Socket address
      * @param tcpKeepAlive   if enable the {@link ChannelOption#SO_KEEPALIVE}
      * @param tcpNoDelay     if enable the {@link ChannelOption#TCP_NODELAY}
@@ -128,13 +145,15 @@ public interface Client {
      * @param connectTimeout connect timeout, or {@code null} if it has no timeout
      * @param loopResources  the loop resources to use
      * @return A {@link Mono} that will emit a connected {@link Client}.
-     * @throws IllegalArgumentException if {@code ssl}, {@code address} or {@code context} is {@code null}.
+     * @throws IllegalArgumentException if {@code ssl}, {@code sslContexts}, {@code address} or {@code context}
+     *                                  is {@code null}.
      * @throws ArithmeticException      if {@code connectTimeout} milliseconds overflow as an int
      */
-    static Mono<Client> connect(MySqlSslConfiguration ssl, SocketAddress address, boolean tcpKeepAlive,
-        boolean tcpNoDelay, ConnectionContext context, @Nullable Duration connectTimeout,
+    static Mono<Client> connect(MySqlSslConfiguration ssl, SslContextCache sslContexts, SocketAddress address,
+        boolean tcpKeepAlive, boolean tcpNoDelay, ConnectionContext context, @Nullable Duration connectTimeout,
         LoopResources loopResources, @Nullable AddressResolverGroup<?> resolver) {
         requireNonNull(ssl, "ssl must not be null");
+        requireNonNull(sslContexts, "sslContexts must not be null");
         requireNonNull(address, "address must not be null");
         requireNonNull(context, "context must not be null");
 
@@ -156,6 +175,6 @@ public interface Client {
         }
 
         return tcpClient.remoteAddress(() -> address).connect()
-            .map(conn -> new ReactorNettyClient(conn, ssl, context));
+            .map(conn -> new ReactorNettyClient(conn, ssl, sslContexts, context));
     }
 }
@@ -17,6 +17,7 @@
 package io.asyncer.r2dbc.mysql.client;
 
 import io.asyncer.r2dbc.mysql.constant.Packets;
+import io.asyncer.r2dbc.mysql.extension.MetricsRecorder;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandler;
@@ -54,6 +55,9 @@ final class CompressionDuplexCodec extends ByteToMessageDecoder implements Chann
 
     private final Compressor compressor;
 
+    @Nullable
+    private final MetricsRecorder metrics;
+
     @Nullable
     private ByteBuf writeCumulated;
 
@@ -61,8 +65,9 @@ final class CompressionDuplexCodec extends ByteToMessageDecoder implements Chann
 
     private int frameLength = -1;
 
-    CompressionDuplexCodec(Compressor compressor) {
+    CompressionDuplexCodec(Compressor compressor, @Nullable MetricsRecorder metrics) {
         this.compressor = compressor;
+        this.metrics = metrics;
     }
 
     @Override
@@ -103,6 +108,11 @@ final class CompressionDuplexCodec extends ByteToMessageDecoder implements Chann
     }
 
     private ByteBuf buildHeader(ChannelHandlerContext ctx, int compressedSize, int uncompressedSize) {
+        // Each compressed packet is written right after its header.
+        if (metrics != null) {
+            metrics.recordBytesWritten(compressedSize + Packets.COMPRESS_HEADER_SIZE, true);
+        }
+
         return ctx.alloc().ioBuffer(Packets.COMPRESS_HEADER_SIZE)
             .writeMediumLE(compressedSize)
             .writeByte(sequenceId.getAndIncrement())
@@ -180,6 +190,11 @@ final class CompressionDuplexCodec extends ByteToMessageDecoder implements Chann
 
         logger.trace("Decoded frame with sequence id: {}, total size: {}, uncompressed size: {}",
             sequenceId, frameLength, uncompressedSize);
+
+        if (metrics != null) {
+            metrics.recordBytesRead(frameLength, true);
+        }
+
         this.frameLength = -1;
         this.sequenceId.set(sequenceId + 1);
 
@@ -32,5 +32,14 @@ import java.util.function.BiConsumer;
 public abstract class FluxExchangeable<T> extends Flux<ClientMessage>
     implements BiConsumer<ServerMessage, SynchronousSink<T>>, Disposable {
 
-    // It is an empty abstraction.
+    /**
+     * Checks if all requests of this exchange are independent of its responses, so they can be written before
+     * responses of previous exchanges are received.  Default to {@code false}.
+     *
+     * @return if the requests can be pipelined.
+     * @since 1.3.2
+     */
+    public boolean isPipelinable() {
+        return false;
+    }
 }
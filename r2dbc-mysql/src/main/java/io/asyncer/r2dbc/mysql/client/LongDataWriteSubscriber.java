@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.asyncer.r2dbc.mysql.internal.util.OperatorUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An implementation of {@link CoreSubscriber} for {@link ChannelHandlerContext} write and flush subscribed by
+ * streaming payloads of {@code COM_STMT_SEND_LONG_DATA} packets.
+ * <p>
+ * Each payload will be enveloped as an individual command, i.e. its sequence starts from {@code 0}. It requests
+ * the next payload after the previous one has been written, so the memory is bounded by the size of payloads.
+ * <p>
+ * It ensures {@link #promise} will be complete.
+ *
+ * @see WriteSubscriber
+ */
+final class LongDataWriteSubscriber implements CoreSubscriber<ByteBuf> {
+
+    private final ChannelHandlerContext ctx;
+
+    private final ChannelPromise promise;
+
+    private Subscription s;
+
+    LongDataWriteSubscriber(ChannelHandlerContext ctx, ChannelPromise promise) {
+        this.ctx = ctx;
+        this.promise = promise;
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        this.s = s;
+        s.request(1);
+    }
+
+    @Override
+    public void onNext(ByteBuf payload) {
+        // The source is a just Flux, so the envelopes will be written synchronously.
+        OperatorUtils.envelope(Flux.just(payload), ctx.alloc(), new AtomicInteger(), true)
+            .subscribe(ctx::write);
+
+        // The empty buffer will be written after the envelopes.
+        ChannelFuture future = ctx.writeAndFlush(Unpooled.EMPTY_BUFFER);
+
+        future.addListener(ignored -> {
+            if (future.isSuccess()) {
+                s.request(1);
+            } else {
+                // Ignore this cause for this promise because it is channel exception.
+                s.cancel();
+                promise.trySuccess();
+            }
+        });
+    }
+
+    @Override
+    public void onError(Throwable cause) {
+        // Ignore this cause for this promise because it is channel exception.
+        promise.trySuccess();
+        ctx.flush();
+        ctx.fireExceptionCaught(cause);
+    }
+
+    @Override
+    public void onComplete() {
+        promise.trySuccess();
+        ctx.flush();
+    }
+}
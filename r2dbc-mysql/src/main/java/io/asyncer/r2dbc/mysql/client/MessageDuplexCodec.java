@@ -18,11 +18,18 @@ package io.asyncer.r2dbc.mysql.client;
 
 import io.asyncer.r2dbc.mysql.ConnectionContext;
 import io.asyncer.r2dbc.mysql.constant.Packets;
+import io.asyncer.r2dbc.mysql.extension.MetricsRecorder;
 import io.asyncer.r2dbc.mysql.internal.util.OperatorUtils;
 import io.asyncer.r2dbc.mysql.message.client.ClientMessage;
 import io.asyncer.r2dbc.mysql.message.client.PrepareQueryMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedBulkExecuteMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedExecuteMessage;
 import io.asyncer.r2dbc.mysql.message.client.PreparedFetchMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedLargeDataMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedTextQueryMessage;
 import io.asyncer.r2dbc.mysql.message.client.SslRequest;
+import io.asyncer.r2dbc.mysql.message.client.TextQueryMessage;
+import io.asyncer.r2dbc.mysql.message.server.CachedResultMetadata;
 import io.asyncer.r2dbc.mysql.message.server.ColumnCountMessage;
 import io.asyncer.r2dbc.mysql.message.server.CompleteMessage;
 import io.asyncer.r2dbc.mysql.message.server.DecodeContext;
@@ -41,6 +48,7 @@ import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.internal.logging.InternalLogger;
 import io.netty.util.internal.logging.InternalLoggerFactory;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
 import org.jetbrains.annotations.Nullable;
 import reactor.core.publisher.Flux;
 
@@ -67,12 +75,42 @@ final class MessageDuplexCodec extends ByteToMessageDecoder implements ChannelOu
 
     private DecodeContext decodeContext = DecodeContext.login();
 
+    /**
+     * The number of {@link PreparedFetchMessage}s that have been written but their responses are not completed.
+     * Fetches may be written ahead, so the fetch decode context should be kept until all of them are completed.
+     */
+    private int fetches;
+
+    /**
+     * If rows of the following result are encoded by binary protocol, i.e. the last query is a prepared execution.
+     */
+    private boolean binaryResult;
+
+    /**
+     * The prepared statement of the following result, or {@code null} if it is not a prepared execution.
+     */
+    @Nullable
+    private Integer resultStatementId;
+
+    /**
+     * The prepared statement which metadata is being received, or {@code null} if it is not preparing.
+     */
+    @Nullable
+    private Integer preparedStatementId;
+
+    /**
+     * The context which suspends reading because a streaming field is backlogged, it is used to resume reading
+     * after the field is drained.  Only be changed in the event loop.
+     */
+    @Nullable
+    private volatile ChannelHandlerContext suspendedContext;
+
     /**
      * It can be retained because reconnect and redirect will re-create the {@link MessageDuplexCodec}.
      */
     private final ConnectionContext context;
 
-    private final ServerMessageDecoder decoder = new ServerMessageDecoder();
+    private final ServerMessageDecoder decoder = new ServerMessageDecoder(this::drained);
 
     private int frameLength = -1;
 
@@ -85,12 +123,24 @@ final class MessageDuplexCodec extends ByteToMessageDecoder implements ChannelOu
         ByteBuf frame = decode(in);
 
         if (frame != null) {
+            MetricsRecorder metrics = this.context.getMetricsRecorder();
+
+            if (metrics != null) {
+                metrics.recordBytesRead(frame.readableBytes() + Packets.NORMAL_HEADER_SIZE, false);
+            }
+
             DecodeContext context = this.decodeContext;
             ServerMessage message = this.decoder.decode(frame, this.context, context);
 
             if (message != null) {
                 handleDecoded(out, message);
             }
+
+            if (this.suspendedContext == null && decoder.isBacklogged()) {
+                // Buffers of the streaming field are not consumed, suspend reading until it is drained.
+                this.suspendedContext = ctx;
+                ReadSuspension.of(ctx.channel()).suspend(ctx);
+            }
         }
     }
 
@@ -100,13 +150,49 @@ final class MessageDuplexCodec extends ByteToMessageDecoder implements ChannelOu
             ByteBufAllocator allocator = ctx.alloc();
             ClientMessage message = (ClientMessage) msg;
             Flux<ByteBuf> encoded = Flux.from(message.encode(allocator, this.context));
+            MetricsRecorder metrics = this.context.getMetricsRecorder();
+
+            if (msg instanceof PreparedLargeDataMessage) {
+                if (metrics != null) {
+                    encoded = encoded.doOnNext(buf -> metrics.recordBytesWritten(
+                        buf.readableBytes() + Packets.NORMAL_HEADER_SIZE, false));
+                }
 
-            OperatorUtils.envelope(encoded, allocator, sequenceId, message.isCumulative())
-                .subscribe(new WriteSubscriber(ctx, promise));
+                // Each payload is an individual packet, they will be enveloped one by one.
+                encoded.subscribe(new LongDataWriteSubscriber(ctx, promise));
+                return;
+            }
+
+            if (message.isSequenceReset()) {
+                // Responses of pipelined requests may be decoded after the sequence reset event.
+                this.sequenceId.set(0);
+            }
+
+            Flux<ByteBuf> envelopes = OperatorUtils.envelope(encoded, allocator, sequenceId,
+                message.isCumulative());
+
+            if (metrics != null) {
+                envelopes = envelopes.doOnNext(buf -> metrics.recordBytesWritten(buf.readableBytes(), false));
+            }
+
+            envelopes.subscribe(new WriteSubscriber(ctx, promise));
+
+            if (msg instanceof PreparedExecuteMessage) {
+                this.binaryResult = true;
+                this.resultStatementId = ((PreparedExecuteMessage) msg).getStatementId();
+            } else if (msg instanceof PreparedBulkExecuteMessage) {
+                this.binaryResult = true;
+                // Unit results of bulk executions are not the column metadata of the statement.
+                this.resultStatementId = null;
+            } else if (msg instanceof TextQueryMessage || msg instanceof PreparedTextQueryMessage) {
+                this.binaryResult = false;
+                this.resultStatementId = null;
+            }
 
             if (msg instanceof PrepareQueryMessage) {
                 setDecodeContext(DecodeContext.prepareQuery());
             } else if (msg instanceof PreparedFetchMessage) {
+                ++this.fetches;
                 setDecodeContext(DecodeContext.fetch());
             } else if (msg instanceof SslRequest) {
                 ctx.channel().pipeline().fireUserEventTriggered(SslState.BRIDGING);
@@ -153,6 +239,18 @@ final class MessageDuplexCodec extends ByteToMessageDecoder implements ChannelOu
         ctx.flush();
     }
 
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+        if (decoder.isBacklogged()) {
+            // ByteToMessageDecoder requests reading if nothing is decoded, it should be suspended now.
+            discardSomeReadBytes();
+            ctx.fireChannelReadComplete();
+            return;
+        }
+
+        super.channelReadComplete(ctx);
+    }
+
     @Override
     public void channelInactive(ChannelHandlerContext ctx) {
         decoder.dispose();
@@ -193,20 +291,38 @@ final class MessageDuplexCodec extends ByteToMessageDecoder implements ChannelOu
 
         if (msg instanceof CompleteMessage) {
             // Metadata EOF message will be not receive in here.
-            setDecodeContext(DecodeContext.command());
+            setCommandDecodeContext();
         } else if (msg instanceof SyntheticMetadataMessage) {
-            if (((SyntheticMetadataMessage) msg).isCompleted()) {
+            SyntheticMetadataMessage message = (SyntheticMetadataMessage) msg;
+            CachedResultMetadata cached = message.getCached();
+
+            if (cached != null) {
+                Integer statementId = this.preparedStatementId == null ? this.resultStatementId :
+                    this.preparedStatementId;
+
+                if (statementId != null) {
+                    this.context.putResultMetadata(statementId, cached);
+                }
+            }
+
+            if (message.isCompleted()) {
+                this.preparedStatementId = null;
                 setDecodeContext(DecodeContext.command());
             }
         } else if (msg instanceof ColumnCountMessage) {
-            setDecodeContext(DecodeContext.result(this.context.getCapability().isEofDeprecated(),
-                ((ColumnCountMessage) msg).getTotalColumns()));
+            if (!handleColumnCount(out, (ColumnCountMessage) msg)) {
+                throw new R2dbcNonTransientResourceException("Column metadata is skipped by the server " +
+                    "but not cached for statement " + this.resultStatementId);
+            }
+
             return; // Done, no need use generic handle.
         } else if (msg instanceof PreparedOkMessage) {
             PreparedOkMessage message = (PreparedOkMessage) msg;
             int columns = message.getTotalColumns();
             int parameters = message.getTotalParameters();
 
+            this.preparedStatementId = columns > 0 ? message.getStatementId() : null;
+
             // For supports use server-preparing query for simple statements. The count of columns and
             // parameters may all be 0. All is 0 means no EOF message following.
             // columns + parameters > 0
@@ -217,13 +333,54 @@ final class MessageDuplexCodec extends ByteToMessageDecoder implements ChannelOu
                 setDecodeContext(DecodeContext.command());
             }
         } else if (msg instanceof ErrorMessage) {
-            setDecodeContext(DecodeContext.command());
+            this.preparedStatementId = null;
+            setCommandDecodeContext();
         }
 
         // Generic handle.
         out.add(msg);
     }
 
+    private boolean handleColumnCount(List<Object> out, ColumnCountMessage msg) {
+        boolean eofDeprecated = this.context.getCapability().isEofDeprecated();
+        int totalColumns = msg.getTotalColumns();
+        Integer statementId = this.resultStatementId;
+
+        if (statementId == null || !this.binaryResult) {
+            setDecodeContext(DecodeContext.result(eofDeprecated, totalColumns, this.binaryResult));
+            return msg.isMetadataFollows();
+        }
+
+        CachedResultMetadata cached = this.context.getResultMetadata(statementId);
+
+        if (msg.isMetadataFollows()) {
+            setDecodeContext(DecodeContext.preparedResult(eofDeprecated, totalColumns, cached));
+            return true;
+        }
+
+        if (cached == null || cached.size() != totalColumns) {
+            return false;
+        }
+
+        setDecodeContext(DecodeContext.cachedResult(eofDeprecated, cached));
+
+        if (eofDeprecated) {
+            // No EOF message following, the metadata is completed now.
+            out.add(cached.toMessage());
+        }
+
+        return true;
+    }
+
+    private void setCommandDecodeContext() {
+        if (this.decodeContext == DecodeContext.fetch() && this.fetches > 0 && --this.fetches > 0) {
+            // Responses of fetches written ahead are following.
+            return;
+        }
+
+        setDecodeContext(DecodeContext.command());
+    }
+
     private void setDecodeContext(DecodeContext context) {
         this.decodeContext = context;
         if (logger.isDebugEnabled()) {
@@ -260,12 +417,32 @@ final class MessageDuplexCodec extends ByteToMessageDecoder implements ChannelOu
 
     @Override
     public void read(ChannelHandlerContext ctx) {
+        ReadSuspension suspension = ReadSuspension.of(ctx.channel());
+
+        if (suspension.isSuspended()) {
+            suspension.holdRead();
+            return;
+        }
+
         ctx.read();
     }
 
-    private static void enableZstdCompression(ChannelHandlerContext ctx) {
+    private void drained() {
+        ChannelHandlerContext ctx = this.suspendedContext;
+
+        if (ctx != null) {
+            ctx.executor().execute(() -> {
+                if (this.suspendedContext == ctx && !decoder.isBacklogged()) {
+                    this.suspendedContext = null;
+                    ReadSuspension.of(ctx.channel()).resume(ctx);
+                }
+            });
+        }
+    }
+
+    private void enableZstdCompression(ChannelHandlerContext ctx) {
         CompressionDuplexCodec handler = new CompressionDuplexCodec(
-            new ZstdCompressor(3));
+            new ZstdCompressor(3), context.getMetricsRecorder());
 
         if (ctx.pipeline().get(CompressionDuplexCodec.NAME) != null) {
             logger.warn("Unexpected event, compression already enabled");
@@ -275,8 +452,9 @@ final class MessageDuplexCodec extends ByteToMessageDecoder implements ChannelOu
         }
     }
 
-    private static void enableZlibCompression(ChannelHandlerContext ctx) {
-        CompressionDuplexCodec handler = new CompressionDuplexCodec(new ZlibCompressor());
+    private void enableZlibCompression(ChannelHandlerContext ctx) {
+        CompressionDuplexCodec handler = new CompressionDuplexCodec(new ZlibCompressor(),
+            context.getMetricsRecorder());
 
         if (ctx.pipeline().get(CompressionDuplexCodec.NAME) != null) {
             logger.warn("Unexpected event, compression already enabled");
@@ -18,9 +18,12 @@ package io.asyncer.r2dbc.mysql.client;
 
 import io.asyncer.r2dbc.mysql.ConnectionContext;
 import io.asyncer.r2dbc.mysql.MySqlSslConfiguration;
+import io.asyncer.r2dbc.mysql.extension.MetricsRecorder;
 import io.asyncer.r2dbc.mysql.internal.util.OperatorUtils;
 import io.asyncer.r2dbc.mysql.message.client.ClientMessage;
 import io.asyncer.r2dbc.mysql.message.client.ExitMessage;
+import io.asyncer.r2dbc.mysql.message.client.PingMessage;
+import io.asyncer.r2dbc.mysql.message.server.RowMessage;
 import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
 import io.asyncer.r2dbc.mysql.message.server.WarningMessage;
 import io.netty.buffer.ByteBufAllocator;
@@ -30,6 +33,7 @@ import io.netty.util.ReferenceCounted;
 import io.netty.util.internal.logging.InternalLogger;
 import io.netty.util.internal.logging.InternalLoggerFactory;
 import io.r2dbc.spi.R2dbcException;
+import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
@@ -44,6 +48,7 @@ import reactor.netty.FutureMono;
 import reactor.util.context.Context;
 import reactor.util.context.ContextView;
 
+import javax.annotation.concurrent.GuardedBy;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -73,6 +78,21 @@ final class ReactorNettyClient implements Client {
 
     private volatile int state = ST_CONNECTED;
 
+    private final Object killLock = new Object();
+
+    /**
+     * The number of terminated exchanges, it is used to identify the current exchange.
+     */
+    @GuardedBy("killLock")
+    private long terminatedExchanges;
+
+    /**
+     * The {@code KILL QUERY} in progress, the next exchange should wait for it.
+     */
+    @GuardedBy("killLock")
+    @Nullable
+    private Mono<Void> killing;
+
     private final Connection connection;
 
     private final ConnectionContext context;
@@ -82,23 +102,37 @@ final class ReactorNettyClient implements Client {
     private final Sinks.Many<ServerMessage> responseProcessor =
         Sinks.many().multicast().onBackpressureBuffer(512, false);
 
-    private final RequestQueue requestQueue = new RequestQueue();
+    private final RequestQueue requestQueue;
 
-    ReactorNettyClient(Connection connection, MySqlSslConfiguration ssl, ConnectionContext context) {
+    @Nullable
+    private final ReadThrottleHandler readThrottle;
+
+    ReactorNettyClient(Connection connection, MySqlSslConfiguration ssl, SslContextCache sslContexts,
+        ConnectionContext context) {
         requireNonNull(connection, "connection must not be null");
         requireNonNull(context, "context must not be null");
         requireNonNull(ssl, "ssl must not be null");
+        requireNonNull(sslContexts, "sslContexts must not be null");
         require(responseProcessor.asFlux() instanceof Subscriber,
             "responseProcessor(" + responseProcessor + ") must be a Subscriber");
 
         this.connection = connection;
         this.context = context;
+        this.requestQueue = new RequestQueue(context.isQueryPipelining(), context.getMetricsRecorder());
 
         // Note: encoder/decoder should before reactor bridge.
         connection.addHandlerLast(MessageDuplexCodec.NAME, new MessageDuplexCodec(context));
 
+        if (context.getReadHighWatermark() > 0) {
+            this.readThrottle = new ReadThrottleHandler(context.getReadLowWatermark(),
+                context.getReadHighWatermark());
+            connection.addHandlerLast(ReadThrottleHandler.NAME, this.readThrottle);
+        } else {
+            this.readThrottle = null;
+        }
+
         if (ssl.getSslMode().startSsl()) {
-            connection.addHandlerFirst(SslBridgeHandler.NAME, new SslBridgeHandler(context, ssl));
+            connection.addHandlerFirst(SslBridgeHandler.NAME, new SslBridgeHandler(context, ssl, sslContexts));
         }
 
         if (logger.isTraceEnabled()) {
@@ -156,11 +190,24 @@ final class ReactorNettyClient implements Client {
                 return;
             }
 
+            if (request instanceof PingMessage && isPipelining()) {
+                Flux<T> responses = OperatorUtils.discardOnCancel(
+                    responses()
+                        .handle(handler)
+                        .doOnTerminate(this::resetReadThrottle)
+                        .doOnTerminate(this::runNextRequest)
+                ).doOnDiscard(ReferenceCounted.class, ReferenceCounted::release);
+
+                requestQueue.submit(RequestTask.pipeline(null, sink, responses, () -> emitNextRequest(request)));
+                return;
+            }
+
             Flux<T> responses = OperatorUtils.discardOnCancel(
-                responseProcessor.asFlux()
+                responses()
                     .doOnSubscribe(ignored -> emitNextRequest(request))
                     .handle(handler)
-                    .doOnTerminate(requestQueue)
+                    .doOnTerminate(this::resetReadThrottle)
+                    .doOnTerminate(this::runNextRequest)
             ).doOnDiscard(ReferenceCounted.class, ReferenceCounted::release);
 
             requestQueue.submit(RequestTask.wrap(request, sink, responses));
@@ -182,16 +229,35 @@ final class ReactorNettyClient implements Client {
                 return;
             }
 
-            Flux<T> responses = responseProcessor
-                .asFlux()
-                .doOnSubscribe(ignored -> exchangeable.subscribe(
-                    this::emitNextRequest,
-                    e -> requests.emitError(e, Sinks.EmitFailureHandler.FAIL_FAST)
-                ))
+            Runnable writer = () -> exchangeable.subscribe(
+                this::emitNextRequest,
+                e -> requests.emitError(e, Sinks.EmitFailureHandler.FAIL_FAST)
+            );
+
+            if (exchangeable.isPipelinable() && isPipelining()) {
+                Flux<T> responses = responses()
+                    .handle(exchangeable)
+                    .doOnTerminate(() -> {
+                        exchangeable.dispose();
+                        resetReadThrottle();
+                        runNextRequest();
+                    });
+
+                requestQueue.submit(RequestTask.pipeline(exchangeable, sink,
+                    OperatorUtils.discardOnCancel(responses)
+                        .doOnDiscard(ReferenceCounted.class, ReferenceCounted::release)
+                        .doOnCancel(exchangeable::dispose),
+                    writer));
+                return;
+            }
+
+            Flux<T> responses = responses()
+                .doOnSubscribe(ignored -> writer.run())
                 .handle(exchangeable)
                 .doOnTerminate(() -> {
                     exchangeable.dispose();
-                    requestQueue.run();
+                    resetReadThrottle();
+                    runNextRequest();
                 });
 
             requestQueue.submit(RequestTask.wrap(exchangeable, sink, OperatorUtils.discardOnCancel(responses)
@@ -235,6 +301,11 @@ final class ReactorNettyClient implements Client {
         return FutureMono.deferFuture(() -> connection.channel().close());
     }
 
+    @Override
+    public Mono<Void> onClose() {
+        return connection.onDispose();
+    }
+
     @Override
     public ByteBufAllocator getByteBufAllocator() {
         return connection.outbound().alloc();
@@ -274,6 +345,98 @@ final class ReactorNettyClient implements Client {
             isConnected() ? "activating" : "closing or closed", context.getConnectionId());
     }
 
+    /**
+     * Checks if independent requests can be written ahead now.  The sequence id of compressed packets is shared
+     * by requests and responses, so it can not be pipelined.
+     *
+     * @return if pipelining.
+     */
+    private boolean isPipelining() {
+        return context.isQueryPipelining() && !context.getCapability().isCompression();
+    }
+
+    private Flux<ServerMessage> responses() {
+        ReadThrottleHandler readThrottle = this.readThrottle;
+        Flux<ServerMessage> responses = responseProcessor.asFlux();
+        Flux<ServerMessage> result = readThrottle == null ? responses :
+            responses.doOnNext(ignored -> readThrottle.consumed());
+        MetricsRecorder metrics = context.getMetricsRecorder();
+
+        if (metrics == null) {
+            return result;
+        }
+
+        return Flux.defer(() -> {
+            ExchangeMetrics exchange = new ExchangeMetrics(metrics);
+
+            // Responses are cancelled by the handler when the exchange is completed.
+            return result.doOnNext(exchange::onNext).doFinally(ignored -> exchange.terminate());
+        });
+    }
+
+    @Override
+    public void cancelQuery() {
+        if (!context.isKillQueryOnCancel() || !isConnected()) {
+            return;
+        }
+
+        long exchange;
+
+        synchronized (killLock) {
+            exchange = this.terminatedExchanges;
+        }
+
+        // Responses received in the same read may complete the exchange, e.g. cancel after the only row.
+        connection.channel().eventLoop().execute(() -> killQuery(exchange));
+    }
+
+    private void killQuery(long exchange) {
+        Mono<Void> kill;
+
+        synchronized (killLock) {
+            if (exchange != this.terminatedExchanges || this.killing != null) {
+                // The exchange has been terminated, or the query is being killed.
+                return;
+            }
+
+            this.killing = kill = context.killQuery()
+                .onErrorResume(e -> {
+                    logger.warn("Kill query of connection {} failed, remaining responses will be drained",
+                        context.getConnectionId(), e);
+                    return Mono.empty();
+                })
+                .cache();
+        }
+
+        logger.debug("Kill query of connection {} on cancel", context.getConnectionId());
+        kill.subscribe();
+    }
+
+    private void runNextRequest() {
+        Mono<Void> kill;
+
+        synchronized (killLock) {
+            ++this.terminatedExchanges;
+            kill = this.killing;
+            this.killing = null;
+        }
+
+        if (kill == null) {
+            requestQueue.run();
+        } else {
+            // The KILL QUERY may arrive after the current query is completed, so it must not kill the next one.
+            kill.doFinally(ignored -> requestQueue.run()).subscribe();
+        }
+    }
+
+    private void resetReadThrottle() {
+        ReadThrottleHandler readThrottle = this.readThrottle;
+
+        if (readThrottle != null) {
+            readThrottle.reset();
+        }
+    }
+
     private void emitNextRequest(ClientMessage request) {
         if (isConnected() && requests.tryEmitNext(request) == Sinks.EmitResult.OK) {
             return;
@@ -324,6 +487,42 @@ final class ReactorNettyClient implements Client {
         }
     }
 
+    /**
+     * Measures an exchange from its responses are subscribed, i.e. it is active, to its termination.
+     */
+    private static final class ExchangeMetrics {
+
+        private final MetricsRecorder metrics;
+
+        private final long startedAt = System.nanoTime();
+
+        private long firstRowAt = -1;
+
+        private long rows;
+
+        private ExchangeMetrics(MetricsRecorder metrics) {
+            this.metrics = metrics;
+        }
+
+        private void onNext(ServerMessage message) {
+            if (message instanceof RowMessage) {
+                if (rows++ == 0) {
+                    this.firstRowAt = System.nanoTime();
+                }
+            }
+        }
+
+        private void terminate() {
+            long firstRowAt = this.firstRowAt;
+
+            metrics.recordExchange(firstRowAt < 0 ? -1 : firstRowAt - startedAt, System.nanoTime() - startedAt);
+
+            if (rows > 0) {
+                metrics.recordRowsDecoded(rows);
+            }
+        }
+    }
+
     private final class ResponseSubscriber implements CoreSubscriber<Object> {
 
         private final ResponseSink sink;
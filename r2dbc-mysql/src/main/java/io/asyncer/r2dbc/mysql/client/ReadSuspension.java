@@ -0,0 +1,99 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+
+/**
+ * Suspends and resumes reading from the socket of a {@link Channel} by toggling its auto-read.  It is shared by
+ * handlers that suspend reading for different reasons, the reading is resumed only when all of them resumed.
+ * <p>
+ * A read operation which is requested explicitly during the suspension should be held back by the handler, it
+ * will be reissued when the reading is resumed.  All methods should be called in the event loop.
+ */
+final class ReadSuspension {
+
+    private static final AttributeKey<ReadSuspension> KEY = AttributeKey.valueOf(ReadSuspension.class.getName());
+
+    private int suspensions;
+
+    /**
+     * If the auto-read is disabled by the suspension.
+     */
+    private boolean autoReadDisabled;
+
+    private boolean readPending;
+
+    private ReadSuspension() {
+    }
+
+    boolean isSuspended() {
+        return suspensions > 0;
+    }
+
+    void suspend(ChannelHandlerContext ctx) {
+        if (suspensions++ == 0) {
+            ChannelConfig config = ctx.channel().config();
+
+            if (config.isAutoRead()) {
+                this.autoReadDisabled = true;
+                config.setAutoRead(false);
+            }
+        }
+    }
+
+    /**
+     * Holds back a read operation which is requested during the suspension.
+     */
+    void holdRead() {
+        this.readPending = true;
+    }
+
+    void resume(ChannelHandlerContext ctx) {
+        if (suspensions <= 0 || --suspensions > 0) {
+            return;
+        }
+
+        boolean read = this.readPending;
+
+        this.readPending = false;
+
+        if (autoReadDisabled) {
+            this.autoReadDisabled = false;
+            // It will issue a read operation if the channel is active.
+            ctx.channel().config().setAutoRead(true);
+        } else if (read) {
+            ctx.read();
+        }
+    }
+
+    static ReadSuspension of(Channel channel) {
+        Attribute<ReadSuspension> attr = channel.attr(KEY);
+        ReadSuspension suspension = attr.get();
+
+        if (suspension == null) {
+            suspension = new ReadSuspension();
+            attr.set(suspension);
+        }
+
+        return suspension;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.require;
+
+/**
+ * A handler that suspends reading from the socket when too many decoded {@link ServerMessage}s are not yet
+ * consumed by the subscriber, and resumes reading when they are consumed.
+ * <p>
+ * It should be added after {@link MessageDuplexCodec}.  The reading is suspended by disabling the auto-read of
+ * the channel via {@link ReadSuspension}, and {@code read} operations which are requested explicitly during the
+ * suspension are held back.
+ */
+final class ReadThrottleHandler extends ChannelDuplexHandler {
+
+    static final String NAME = "R2dbcMySqlReadThrottleHandler";
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(ReadThrottleHandler.class);
+
+    private final int lowWatermark;
+
+    private final int highWatermark;
+
+    /**
+     * The number of messages which are decoded but not yet consumed.  It will be decreased by subscribers, which
+     * may not be in the event loop.
+     */
+    private final AtomicInteger buffered = new AtomicInteger();
+
+    /**
+     * Only be changed in the event loop.
+     */
+    private volatile boolean suspended;
+
+    @Nullable
+    private volatile ChannelHandlerContext ctx;
+
+    ReadThrottleHandler(int lowWatermark, int highWatermark) {
+        require(lowWatermark >= 0, "lowWatermark must not be negative");
+        require(lowWatermark < highWatermark, "lowWatermark must be less than highWatermark");
+
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof ServerMessage && buffered.incrementAndGet() >= highWatermark && !suspended) {
+            logger.debug("Buffered messages reach high watermark {}, suspend reading", highWatermark);
+
+            ReadSuspension suspension = ReadSuspension.of(ctx.channel());
+
+            this.suspended = true;
+            suspension.suspend(ctx);
+
+            // Messages may be consumed before suspended, so check again.
+            if (buffered.get() <= lowWatermark) {
+                this.suspended = false;
+                suspension.resume(ctx);
+            }
+        }
+
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void read(ChannelHandlerContext ctx) {
+        ReadSuspension suspension = ReadSuspension.of(ctx.channel());
+
+        if (suspension.isSuspended()) {
+            suspension.holdRead();
+        } else {
+            ctx.read();
+        }
+    }
+
+    /**
+     * Notifies that a message has been consumed by the subscriber.
+     */
+    void consumed() {
+        if (buffered.decrementAndGet() <= lowWatermark && suspended) {
+            resumeLater();
+        }
+    }
+
+    /**
+     * Resets the buffered count when there is no subscriber, remaining messages will not be consumed.
+     */
+    void reset() {
+        buffered.set(0);
+
+        if (suspended) {
+            resumeLater();
+        }
+    }
+
+    private void resumeLater() {
+        ChannelHandlerContext ctx = this.ctx;
+
+        if (ctx == null) {
+            return;
+        }
+
+        ctx.executor().execute(() -> {
+            if (!suspended || buffered.get() > lowWatermark) {
+                return;
+            }
+
+            logger.debug("Buffered messages fall to low watermark {}, resume reading", lowWatermark);
+            this.suspended = false;
+            ReadSuspension.of(ctx.channel()).resume(ctx);
+        });
+    }
+}
@@ -16,9 +16,12 @@
 
 package io.asyncer.r2dbc.mysql.client;
 
+import io.asyncer.r2dbc.mysql.extension.MetricsRecorder;
 import org.jetbrains.annotations.Nullable;
 import reactor.util.concurrent.Queues;
 
+import javax.annotation.concurrent.GuardedBy;
+import java.util.ArrayDeque;
 import java.util.Queue;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.locks.ReentrantLock;
@@ -53,21 +56,52 @@ abstract class ActiveStatus extends LeftPadding {
  * Drains queued commands on exchange completion if there are queued commands or disable active flag.
  * <p>
  * It should discard all tasks when it is discarded by connection.
+ * <p>
+ * If pipelining is enabled, all operations are guarded by the lock.  When the active task is pipelinable, the
+ * requests of pipelinable tasks queued behind it are written eagerly in order, until a task which is not
+ * pipelinable is queued.  Their responses are still routed in order, because each task subscribes to responses
+ * only after the previous one is completed.
  */
 final class RequestQueue extends ActiveStatus implements Runnable {
 
-    private final Queue<RequestTask<?>> queue = Queues.<RequestTask<?>>small().get();
+    private final Queue<RequestTask<?>> queue;
 
     private final ReentrantLock lock = new ReentrantLock();
 
+    private final boolean pipelining;
+
+    @Nullable
+    private final MetricsRecorder metrics;
+
+    /**
+     * If the active task is pipelinable and requests of all queued tasks have been written.
+     */
+    @GuardedBy("lock")
+    private boolean writingAhead;
+
     @Nullable
     private volatile RuntimeException disposed;
 
+    RequestQueue() {
+        this(false, null);
+    }
+
+    RequestQueue(boolean pipelining, @Nullable MetricsRecorder metrics) {
+        this.pipelining = pipelining;
+        this.metrics = metrics;
+        this.queue = pipelining ? new ArrayDeque<>() : Queues.<RequestTask<?>>small().get();
+    }
+
     /**
      * Current exchange completed, refresh to next exchange or set to inactive.
      */
     @Override
     public void run() {
+        if (pipelining) {
+            runPipelined();
+            return;
+        }
+
         for (;;) {
             RequestTask<?> task = queue.poll();
             final int status = this.status;
@@ -82,6 +116,7 @@ final class RequestQueue extends ActiveStatus implements Runnable {
                 task.cancel(requireDisposed());
                 return;
             } else {
+                recordActive(task);
                 task.run();
                 // The execution of a canceled task would result in a stall of the request queue.
                 // refer: https://github.com/asyncer-io/r2dbc-mysql/issues/114
@@ -100,6 +135,11 @@ final class RequestQueue extends ActiveStatus implements Runnable {
      * @param <T> the type argument of {@link RequestTask}.
      */
     <T> void submit(RequestTask<T> task) {
+        if (pipelining) {
+            submitPipelined(task);
+            return;
+        }
+
         int status = this.status;
 
         if (status == DISPOSE) {
@@ -108,6 +148,10 @@ final class RequestQueue extends ActiveStatus implements Runnable {
             return;
         }
 
+        if (metrics != null) {
+            task.submitted(System.nanoTime());
+        }
+
         // Prev task may be completing before queue offer, so queue may be idle now.
         if (!queue.offer(task)) {
             task.cancel(new IllegalStateException("Request queue is full"));
@@ -165,7 +209,117 @@ final class RequestQueue extends ActiveStatus implements Runnable {
         return disposed;
     }
 
+    private void runPipelined() {
+        for (;;) {
+            RequestTask<?> task;
+
+            lock.lock();
+            try {
+                task = queue.poll();
+
+                if (task == null) {
+                    this.writingAhead = false;
+                    STATUS_UPDATER.compareAndSet(this, ACTIVE, IDLE);
+                    return;
+                } else if (status == DISPOSE) {
+                    task.cancel(requireDisposed());
+                    return;
+                }
+
+                this.writingAhead = task.isPipelinable() && writeAhead(task);
+                recordActive(task);
+            } finally {
+                lock.unlock();
+            }
+
+            task.run();
+
+            // A written task will drain its responses even if it is canceled.
+            if (!task.isCancelled() || task.isWritten()) {
+                return;
+            }
+        }
+    }
+
+    private void submitPipelined(RequestTask<?> task) {
+        lock.lock();
+        try {
+            if (status == DISPOSE) {
+                task.cancel(requireDisposed());
+                return;
+            } else if (queue.size() >= Queues.SMALL_BUFFER_SIZE) {
+                task.cancel(new IllegalStateException("Request queue is full"));
+                return;
+            }
+
+            if (metrics != null) {
+                task.submitted(System.nanoTime());
+            }
+
+            queue.offer(task);
+
+            if (status == ACTIVE) {
+                if (writingAhead && task.isPipelinable()) {
+                    task.write();
+                } else {
+                    this.writingAhead = false;
+                }
+
+                return;
+            }
+
+            STATUS_UPDATER.set(this, ACTIVE);
+        } finally {
+            lock.unlock();
+        }
+
+        runPipelined();
+    }
+
+    /**
+     * Writes requests of the task which will be active, and the pipelinable tasks queued behind it.
+     *
+     * @param task the task which will be active.
+     * @return if requests of all queued tasks have been written.
+     */
+    @GuardedBy("lock")
+    private boolean writeAhead(RequestTask<?> task) {
+        task.write();
+
+        for (RequestTask<?> queued : queue) {
+            if (!queued.isPipelinable()) {
+                return false;
+            }
+
+            queued.write();
+        }
+
+        return true;
+    }
+
+    private void recordActive(RequestTask<?> task) {
+        MetricsRecorder metrics = this.metrics;
+
+        if (metrics != null) {
+            metrics.recordRequestQueue(queue.size(), System.nanoTime() - task.getSubmittedAt());
+        }
+    }
+
     private void cancelAll(RuntimeException e) {
+        if (!pipelining) {
+            cancelQueued(e);
+            return;
+        }
+
+        lock.lock();
+        try {
+            cancelQueued(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cancelQueued(RuntimeException e) {
         RequestTask<?> task;
 
         while ((task = queue.poll()) != null) {
@@ -17,15 +17,22 @@
 package io.asyncer.r2dbc.mysql.client;
 
 import io.asyncer.r2dbc.mysql.message.client.ClientMessage;
+import io.netty.util.ReferenceCountUtil;
 import org.jetbrains.annotations.Nullable;
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.MonoSink;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * A task for execute, propagate errors and release resources.
  * <p>
  * If task executed, resources should been released by {@code supplier} instead of task self.
+ * <p>
+ * A pipelinable task can write its requests before it is executed, i.e. before responses of previous tasks are
+ * received.  If it is cancelled after its requests are written, its responses will still be drained when it is
+ * executed, otherwise the responses of following tasks would be mismatched.
  *
  * @param <T> the task result type.
  */
@@ -38,16 +45,80 @@ final class RequestTask<T> {
 
     private final T supplier;
 
+    /**
+     * Writes requests of the task, {@code null} if the task can not be pipelined.
+     */
+    @Nullable
+    private final Runnable writer;
+
+    /**
+     * Drains responses of the task if it is cancelled after its requests are written.
+     */
+    @Nullable
+    private final Runnable drainer;
+
     private volatile boolean isCancelled;
 
+    private volatile boolean isWritten;
+
+    private volatile boolean isRunning;
+
+    /**
+     * The time in nanoseconds when the task is submitted, it is set only if metrics are recorded.
+     */
+    private long submittedAt;
+
     private RequestTask(@Nullable Disposable disposable, MonoSink<T> sink, T supplier) {
+        this(disposable, sink, supplier, null, null);
+    }
+
+    private RequestTask(
+        @Nullable Disposable disposable, MonoSink<T> sink, T supplier,
+        @Nullable Runnable writer, @Nullable Runnable drainer
+    ) {
         this.disposable = disposable;
         this.sink = sink;
         this.supplier = supplier;
+        this.writer = writer;
+        this.drainer = drainer;
     }
 
     void run() {
+        this.isRunning = true;
         sink.success(supplier);
+
+        if (isCancelled) {
+            drainIfWritten();
+        }
+    }
+
+    /**
+     * Writes requests of a pipelinable task if it is not cancelled or written.  It should be called in order of
+     * tasks, and must not be called concurrently.
+     */
+    void write() {
+        Runnable writer = this.writer;
+
+        if (writer != null && !isCancelled && !isWritten) {
+            this.isWritten = true;
+            writer.run();
+        }
+    }
+
+    void submitted(long nanoTime) {
+        this.submittedAt = nanoTime;
+    }
+
+    long getSubmittedAt() {
+        return submittedAt;
+    }
+
+    boolean isPipelinable() {
+        return writer != null;
+    }
+
+    boolean isWritten() {
+        return isWritten;
     }
 
     /**
@@ -71,6 +142,22 @@ final class RequestTask<T> {
         isCancelled = true;
     }
 
+    private void cancelWritten() {
+        cancel0();
+
+        if (isRunning) {
+            drainIfWritten();
+        }
+    }
+
+    private void drainIfWritten() {
+        Runnable drainer = this.drainer;
+
+        if (drainer != null && isWritten) {
+            drainer.run();
+        }
+    }
+
     static <T> RequestTask<T> wrap(ClientMessage message, MonoSink<T> sink, T supplier) {
         final RequestTask<T> task;
         if (message instanceof Disposable) {
@@ -89,6 +176,27 @@ final class RequestTask<T> {
         return task;
     }
 
+    /**
+     * Wraps a pipelinable task, the {@code responses} can be subscribed only once, either by the task subscriber
+     * or by draining after the task is cancelled.
+     *
+     * @param disposable the resources of requests, it will be disposed when the task is cancelled.
+     * @param sink       the sink of the task.
+     * @param responses  the responses of the task, it should not write requests on subscribe.
+     * @param writer     the writer to write requests of the task.
+     * @param <T>        the type of responses.
+     * @return the pipelinable task.
+     */
+    static <T> RequestTask<Flux<T>> pipeline(@Nullable Disposable disposable, MonoSink<Flux<T>> sink,
+        Flux<T> responses, Runnable writer) {
+        AtomicBoolean subscribed = new AtomicBoolean();
+        Flux<T> once = Flux.defer(() -> subscribed.compareAndSet(false, true) ? responses : Flux.empty());
+        final RequestTask<Flux<T>> task = new RequestTask<>(disposable, sink, once, writer,
+            () -> once.subscribe(ReferenceCountUtil::safeRelease, ignored -> { }));
+        sink.onCancel(task::cancelWritten);
+        return task;
+    }
+
     static <T> RequestTask<T> wrap(MonoSink<T> sink, T supplier) {
         final RequestTask<T> task = new RequestTask<>(null, sink, supplier);
         sink.onCancel(task::cancel0);
@@ -40,6 +40,7 @@ import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLException;
 import java.io.File;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.util.function.Consumer;
 
 import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
@@ -84,11 +85,14 @@ final class SslBridgeHandler extends ChannelDuplexHandler {
 
     private final MySqlSslConfiguration ssl;
 
+    private final SslContextCache sslContexts;
+
     private SSLEngine sslEngine;
 
-    SslBridgeHandler(ConnectionContext context, MySqlSslConfiguration ssl) {
+    SslBridgeHandler(ConnectionContext context, MySqlSslConfiguration ssl, SslContextCache sslContexts) {
         this.context = requireNonNull(context, "context must not be null");
         this.ssl = requireNonNull(ssl, "ssl must not be null");
+        this.sslContexts = requireNonNull(sslContexts, "sslContexts must not be null");
     }
 
     @Override
@@ -152,10 +156,12 @@ final class SslBridgeHandler extends ChannelDuplexHandler {
             case BRIDGING:
                 logger.debug("SSL event triggered, enable SSL handler to pipeline");
 
-                SslProvider sslProvider = SslProvider.builder()
-                    .sslContext(MySqlSslContextSpec.forClient(ssl, context))
-                    .build();
-                SslHandler sslHandler = sslProvider.getSslContext().newHandler(ctx.alloc());
+                String[] protocols = tlsProtocols(ssl, context);
+                SslContext sslContext = sslContexts.get(ssl, protocols, () -> SslProvider.builder()
+                    .sslContext(MySqlSslContextSpec.forClient(ssl, protocols))
+                    .build()
+                    .getSslContext());
+                SslHandler sslHandler = newHandler(ctx, sslContext);
 
                 this.sslEngine = sslHandler.engine();
 
@@ -176,6 +182,38 @@ final class SslBridgeHandler extends ChannelDuplexHandler {
         return verifier == null ? DefaultHostnameVerifier.INSTANCE : verifier;
     }
 
+    private static SslHandler newHandler(ChannelHandlerContext ctx, SslContext sslContext) {
+        SocketAddress address = ctx.channel().remoteAddress();
+
+        if (address instanceof InetSocketAddress) {
+            InetSocketAddress inet = (InetSocketAddress) address;
+
+            // TLS sessions are cached by the peer host and port, they are required for session resumption.
+            return sslContext.newHandler(ctx.alloc(), inet.getHostString(), inet.getPort());
+        }
+
+        return sslContext.newHandler(ctx.alloc());
+    }
+
+    private static String[] tlsProtocols(MySqlSslConfiguration ssl, ConnectionContext context) {
+        String[] tlsProtocols = ssl.getTlsVersion();
+
+        if (tlsProtocols.length > 0 || ssl.getSslMode() == SslMode.TUNNEL) {
+            return tlsProtocols;
+        } else if (isTls13Enabled(context)) {
+            return TLS_PROTOCOLS;
+        }
+
+        // Not sure if we need to check the JDK version, suggest not.
+        if (logger.isWarnEnabled()) {
+            logger.warn("{} {} does not support TLS1.2, TLS1.1 is disabled in latest JDKs",
+                context.isMariaDb() ? "MariaDB" : "MySQL",
+                context.getServerVersion());
+        }
+
+        return OLD_TLS_PROTOCOLS;
+    }
+
     private static boolean isTls13Enabled(ConnectionContext context) {
         ServerVersion version = context.getServerVersion();
 
@@ -217,29 +255,15 @@ final class SslBridgeHandler extends ChannelDuplexHandler {
             return builder.build();
         }
 
-        static MySqlSslContextSpec forClient(MySqlSslConfiguration ssl, ConnectionContext context) {
+        static MySqlSslContextSpec forClient(MySqlSslConfiguration ssl, String[] tlsProtocols) {
             // Same default configuration as TcpSslContextSpec.
             SslContextBuilder builder = SslContextBuilder.forClient()
                 .sslProvider(OpenSsl.isAvailable() ? OPENSSL : JDK)
                 .ciphers(null, IdentityCipherSuiteFilter.INSTANCE)
                 .applicationProtocolConfig(null);
-            String[] tlsProtocols = ssl.getTlsVersion();
-
-            if (tlsProtocols.length > 0 || ssl.getSslMode() == SslMode.TUNNEL) {
-                if (tlsProtocols.length > 0) {
-                    builder.protocols(tlsProtocols);
-                }
-            } else if (isTls13Enabled(context)) {
-                builder.protocols(TLS_PROTOCOLS);
-            } else {
-                // Not sure if we need to check the JDK version, suggest not.
-                if (logger.isWarnEnabled()) {
-                    logger.warn("{} {} does not support TLS1.2, TLS1.1 is disabled in latest JDKs",
-                        context.isMariaDb() ? "MariaDB" : "MySQL",
-                        context.getServerVersion());
-                }
 
-                builder.protocols(OLD_TLS_PROTOCOLS);
+            if (tlsProtocols.length > 0) {
+                builder.protocols(tlsProtocols);
             }
 
             String sslKey = ssl.getSslKey();
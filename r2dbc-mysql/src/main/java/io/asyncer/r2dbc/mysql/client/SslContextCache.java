@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.asyncer.r2dbc.mysql.MySqlSslConfiguration;
+import io.netty.handler.ssl.SslContext;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
+
+/**
+ * A cache of client {@link SslContext}s which is shared among all connections of a connection factory.
+ * <p>
+ * Building a {@link SslContext} loads the CA, certificate and key files, and each {@link SslContext} has its own
+ * TLS session cache.  Sharing the {@link SslContext} allows connections to resume TLS sessions (by session IDs or
+ * session tickets) instead of performing full handshakes.  The {@link SslContext}s are keyed by enabled TLS
+ * protocols, which depend on the server version, and will be rebuilt if any of the files has been changed.
+ *
+ * @since 1.3.2
+ */
+public final class SslContextCache {
+
+    private final ConcurrentMap<List<String>, Entry> contexts = new ConcurrentHashMap<>();
+
+    /**
+     * Gets a cached {@link SslContext}, or builds a new one if it is absent or the files of {@code ssl} have
+     * been changed.
+     *
+     * @param ssl       the SSL configuration.
+     * @param protocols the enabled TLS protocols.
+     * @param builder   the builder to build a new {@link SslContext}.
+     * @return the {@link SslContext}.
+     */
+    SslContext get(MySqlSslConfiguration ssl, String[] protocols, Supplier<SslContext> builder) {
+        requireNonNull(ssl, "ssl must not be null");
+        requireNonNull(protocols, "protocols must not be null");
+        requireNonNull(builder, "builder must not be null");
+
+        long[] stamps = stamps(ssl);
+
+        return contexts.compute(Arrays.asList(protocols), (key, entry) -> {
+            if (entry != null && Arrays.equals(entry.stamps, stamps)) {
+                return entry;
+            }
+
+            return new Entry(builder.get(), stamps);
+        }).context;
+    }
+
+    @Override
+    public String toString() {
+        return "SslContextCache{size=" + contexts.size() + '}';
+    }
+
+    private static long[] stamps(MySqlSslConfiguration ssl) {
+        long[] stamps = new long[6];
+
+        stamp(stamps, 0, ssl.getSslCa());
+        stamp(stamps, 2, ssl.getSslCert());
+        stamp(stamps, 4, ssl.getSslKey());
+
+        return stamps;
+    }
+
+    private static void stamp(long[] stamps, int index, @Nullable String path) {
+        if (path == null) {
+            return;
+        }
+
+        File file = new File(path);
+
+        // Both are 0 if the file does not exist.
+        stamps[index] = file.lastModified();
+        stamps[index + 1] = file.length();
+    }
+
+    private static final class Entry {
+
+        private final SslContext context;
+
+        private final long[] stamps;
+
+        private Entry(SslContext context, long[] stamps) {
+            this.context = context;
+            this.stamps = stamps;
+        }
+    }
+}
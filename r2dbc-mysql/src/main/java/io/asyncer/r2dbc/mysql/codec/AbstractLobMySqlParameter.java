@@ -30,6 +30,11 @@ abstract class AbstractLobMySqlParameter extends AbstractMySqlParameter {
 
     private static final InternalLogger logger = InternalLoggerFactory.getInstance(AbstractLobMySqlParameter.class);
 
+    @Override
+    public final boolean isLongData() {
+        return true;
+    }
+
     @Override
     public final void dispose() {
         try {
@@ -172,6 +172,21 @@ final class BlobCodec implements MassiveCodec<Blob> {
             });
         }
 
+        @Override
+        public Flux<ByteBuf> publishLongData(ByteBufAllocator allocator) {
+            return Flux.defer(() -> {
+                Blob blob = this.blob.getAndSet(null);
+
+                if (blob == null) {
+                    return Flux.error(new IllegalStateException("Blob has written, can not write twice"));
+                }
+
+                return Flux.from(blob.stream())
+                    .filter(ByteBuffer::hasRemaining)
+                    .map(src -> allocator.buffer(src.remaining()).writeBytes(src));
+            });
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.defer(() -> {
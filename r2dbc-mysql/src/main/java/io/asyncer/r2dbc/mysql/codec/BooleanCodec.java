@@ -118,6 +118,12 @@ final class BooleanCodec extends AbstractPrimitiveCodec<Boolean> {
             return Mono.fromSupplier(() -> allocator.buffer(Byte.BYTES).writeByte(value ? 1 : 0));
         }
 
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            buf.writeByte(value ? 1 : 0);
+            return true;
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.fromRunnable(() -> writer.writeInt(value ? 1 : 0));
@@ -152,6 +152,33 @@ final class ClobCodec implements MassiveCodec<Clob> {
             });
         }
 
+        @Override
+        public Flux<ByteBuf> publishLongData(ByteBufAllocator allocator) {
+            return Flux.defer(() -> {
+                Clob clob = this.clob.getAndSet(null);
+
+                if (clob == null) {
+                    return Flux.error(new IllegalStateException("Clob has written, can not write twice"));
+                }
+
+                Charset charset = context.getClientCollation().getCharset();
+
+                return Flux.from(clob.stream())
+                    .filter(src -> src.length() > 0)
+                    .map(src -> {
+                        ByteBuf buf = allocator.buffer();
+
+                        try {
+                            buf.writeCharSequence(src, charset);
+                            return buf;
+                        } catch (Throwable e) {
+                            buf.release();
+                            throw e;
+                        }
+                    });
+            });
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.defer(() -> {
@@ -18,6 +18,7 @@ package io.asyncer.r2dbc.mysql.codec;
 
 import io.asyncer.r2dbc.mysql.MySqlParameter;
 import io.asyncer.r2dbc.mysql.api.MySqlReadableMetadata;
+import io.asyncer.r2dbc.mysql.message.CompactRowValue;
 import io.asyncer.r2dbc.mysql.message.FieldValue;
 import io.netty.buffer.ByteBufAllocator;
 import org.jetbrains.annotations.Nullable;
@@ -61,6 +62,42 @@ public interface Codecs {
     <T> T decode(FieldValue value, MySqlReadableMetadata metadata, ParameterizedType type, boolean binary,
         CodecContext context);
 
+    /**
+     * Decode a field of a {@link CompactRowValue} as specified {@link Class type}.
+     *
+     * @param row      the {@link CompactRowValue}.
+     * @param index    the index of the field.
+     * @param metadata the metadata of the column.
+     * @param type     the specified {@link Class}.
+     * @param binary   if the value should be decoded by binary protocol.
+     * @param context  the codec context.
+     * @param <T>      the generic result type.
+     * @return the decoded result.
+     * @throws IllegalArgumentException if any parameter is {@code null}, or the field cannot be decoded.
+     * @since 1.3.2
+     */
+    @Nullable
+    <T> T decode(CompactRowValue row, int index, MySqlReadableMetadata metadata, Class<?> type, boolean binary,
+        CodecContext context);
+
+    /**
+     * Decode a field of a {@link CompactRowValue} as a specified {@link ParameterizedType type}.
+     *
+     * @param row      the {@link CompactRowValue}.
+     * @param index    the index of the field.
+     * @param metadata the metadata of the column.
+     * @param type     the specified {@link ParameterizedType}.
+     * @param binary   if the value should be decoded by binary protocol.
+     * @param context  the codec context.
+     * @param <T>      the generic result type.
+     * @return the decoded result.
+     * @throws IllegalArgumentException if any parameter is {@code null}, or the field cannot be decoded.
+     * @since 1.3.2
+     */
+    @Nullable
+    <T> T decode(CompactRowValue row, int index, MySqlReadableMetadata metadata, ParameterizedType type,
+        boolean binary, CodecContext context);
+
     /**
      * Decode the last inserted ID from {@code OkMessage} as a specified {@link Class type}.
      *
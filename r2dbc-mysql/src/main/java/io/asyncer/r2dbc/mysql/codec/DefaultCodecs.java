@@ -18,11 +18,15 @@ package io.asyncer.r2dbc.mysql.codec;
 
 import io.asyncer.r2dbc.mysql.MySqlParameter;
 import io.asyncer.r2dbc.mysql.api.MySqlReadableMetadata;
+import io.asyncer.r2dbc.mysql.codec.lob.LobUtils;
 import io.asyncer.r2dbc.mysql.constant.MySqlType;
 import io.asyncer.r2dbc.mysql.internal.util.InternalArrays;
+import io.asyncer.r2dbc.mysql.message.CompactRowValue;
 import io.asyncer.r2dbc.mysql.message.FieldValue;
 import io.asyncer.r2dbc.mysql.message.LargeFieldValue;
 import io.asyncer.r2dbc.mysql.message.NormalFieldValue;
+import io.asyncer.r2dbc.mysql.message.StreamingFieldValue;
+import io.netty.buffer.ByteBuf;
 import io.r2dbc.spi.Blob;
 import io.r2dbc.spi.Clob;
 import io.r2dbc.spi.Parameter;
@@ -154,9 +158,11 @@ final class DefaultCodecs implements Codecs {
         Class<?> target = chooseClass(metadata, type);
 
         if (value instanceof NormalFieldValue) {
-            return decodeNormal((NormalFieldValue) value, metadata, target, binary, context);
+            return decodeNormal(((NormalFieldValue) value).getBufferSlice(), metadata, target, binary, context);
         } else if (value instanceof LargeFieldValue) {
             return decodeMassive((LargeFieldValue) value, metadata, target, binary, context);
+        } else if (value instanceof StreamingFieldValue) {
+            return decodeStreaming((StreamingFieldValue) value, metadata, target, context);
         }
 
         throw new IllegalArgumentException("Unknown value " + value.getClass().getSimpleName());
@@ -173,14 +179,48 @@ final class DefaultCodecs implements Codecs {
         if (value.isNull()) {
             return null;
         } else if (value instanceof NormalFieldValue) {
-            return decodeNormal((NormalFieldValue) value, metadata, type, binary, context);
+            return decodeNormal(((NormalFieldValue) value).getBufferSlice(), metadata, type, binary, context);
         } else if (value instanceof LargeFieldValue) {
             return decodeMassive((LargeFieldValue) value, metadata, type, binary, context);
+        } else if (value instanceof StreamingFieldValue) {
+            throw new IllegalArgumentException("Cannot decode streaming " + type + " for " + metadata.getType() +
+                ", it can be decoded only as Blob or Clob");
         }
 
         throw new IllegalArgumentException("Unknown value " + value.getClass().getSimpleName());
     }
 
+    @Override
+    public <T> T decode(CompactRowValue row, int index, MySqlReadableMetadata metadata, Class<?> type,
+        boolean binary, CodecContext context) {
+        requireNonNull(row, "row must not be null");
+        requireNonNull(metadata, "info must not be null");
+        requireNonNull(context, "context must not be null");
+        requireNonNull(type, "type must not be null");
+
+        if (row.isNull(index)) {
+            // Same as decoding a null FieldValue, T is always an object.
+            return null;
+        }
+
+        return decodeNormal(row.getBufferSlice(index), metadata, chooseClass(metadata, type), binary, context);
+    }
+
+    @Override
+    public <T> T decode(CompactRowValue row, int index, MySqlReadableMetadata metadata, ParameterizedType type,
+        boolean binary, CodecContext context) {
+        requireNonNull(row, "row must not be null");
+        requireNonNull(metadata, "info must not be null");
+        requireNonNull(context, "context must not be null");
+        requireNonNull(type, "type must not be null");
+
+        if (row.isNull(index)) {
+            return null;
+        }
+
+        return decodeNormal(row.getBufferSlice(index), metadata, type, binary, context);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T> T decodeLastInsertId(long value, Class<?> type) {
@@ -284,19 +324,19 @@ final class DefaultCodecs implements Codecs {
     }
 
     @Nullable
-    private <T> T decodeNormal(NormalFieldValue value, MySqlReadableMetadata metadata, Class<?> type,
+    private <T> T decodeNormal(ByteBuf value, MySqlReadableMetadata metadata, Class<?> type,
         boolean binary, CodecContext context) {
         Codec<T> fast = decodeFast(type);
 
         if (fast != null && fast.canDecode(metadata, type)) {
-            return fast.decode(value.getBufferSlice(), metadata, type, binary, context);
+            return fast.decode(value, metadata, type, binary, context);
         }
 
         for (Codec<?> codec : codecs) {
             if (codec != fast && codec.canDecode(metadata, type)) {
                 @SuppressWarnings("unchecked")
                 Codec<T> c = (Codec<T>) codec;
-                return c.decode(value.getBufferSlice(), metadata, type, binary, context);
+                return c.decode(value, metadata, type, binary, context);
             }
         }
 
@@ -304,12 +344,12 @@ final class DefaultCodecs implements Codecs {
     }
 
     @Nullable
-    private <T> T decodeNormal(NormalFieldValue value, MySqlReadableMetadata metadata, ParameterizedType type,
+    private <T> T decodeNormal(ByteBuf value, MySqlReadableMetadata metadata, ParameterizedType type,
         boolean binary, CodecContext context) {
         for (ParameterizedCodec<?> codec : parameterizedCodecs) {
             if (codec.canDecode(metadata, type)) {
                 @SuppressWarnings("unchecked")
-                T result = (T) codec.decode(value.getBufferSlice(), metadata, type, binary, context);
+                T result = (T) codec.decode(value, metadata, type, binary, context);
                 return result;
             }
         }
@@ -351,6 +391,20 @@ final class DefaultCodecs implements Codecs {
         throw new IllegalArgumentException("Cannot decode massive  " + type + " for " + metadata.getType());
     }
 
+    @SuppressWarnings("unchecked")
+    private static <T> T decodeStreaming(StreamingFieldValue value, MySqlReadableMetadata metadata, Class<?> type,
+        CodecContext context) {
+        // The field is still arriving, so it can only be consumed as a stream.
+        if (Blob.class == type) {
+            return (T) LobUtils.createBlob(value);
+        } else if (Clob.class == type) {
+            return (T) LobUtils.createClob(value, metadata.getCharCollation(context));
+        }
+
+        throw new IllegalArgumentException("Cannot decode streaming " + type + " for " + metadata.getType() +
+            ", it can be decoded only as Blob or Clob");
+    }
+
     /**
      * Chooses the {@link Class} to use for decoding. It helps to find {@link Codec} on the fast path. e.g.
      * {@link Object} -> {@link String} for {@code TEXT}, {@link Number} -> {@link Integer} for {@code INT}, etc.
@@ -131,6 +131,12 @@ final class DoubleCodec extends AbstractPrimitiveCodec<Double> {
             });
         }
 
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            buf.writeDoubleLE(value);
+            return true;
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.fromRunnable(() -> writer.writeDouble(value));
@@ -82,6 +82,11 @@ final class EnumCodec implements Codec<Enum> {
             return Mono.fromSupplier(() -> StringCodec.encodeCharSequence(allocator, value.name(), context));
         }
 
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            return StringCodec.writeShortCharSequence(buf, value.name(), context);
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.fromRunnable(() -> writer.write(value.name()));
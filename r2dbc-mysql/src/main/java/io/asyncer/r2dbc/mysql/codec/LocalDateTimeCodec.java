@@ -95,30 +95,42 @@ final class LocalDateTimeCodec implements ParameterizedCodec<LocalDateTime> {
             return LocalDateCodec.encodeDate(alloc, value.toLocalDate());
         }
 
-        int nano = time.getNano();
-        int bytes = nano > 0 ? DateTimes.MICRO_DATETIME_SIZE : DateTimes.DATETIME_SIZE;
+        int bytes = time.getNano() > 0 ? DateTimes.MICRO_DATETIME_SIZE : DateTimes.DATETIME_SIZE;
         ByteBuf buf = alloc.buffer(Byte.BYTES + bytes);
 
         try {
-            buf.writeByte(bytes)
-                .writeShortLE(value.getYear())
-                .writeByte(value.getMonthValue())
-                .writeByte(value.getDayOfMonth())
-                .writeByte(time.getHour())
-                .writeByte(time.getMinute())
-                .writeByte(time.getSecond());
-
-            if (nano > 0) {
-                return buf.writeIntLE(nano / DateTimes.NANOS_OF_MICRO);
-            }
-
-            return buf;
+            return writeBinary(buf, value);
         } catch (Throwable e) {
             buf.release();
             throw e;
         }
     }
 
+    static ByteBuf writeBinary(ByteBuf buf, LocalDateTime value) {
+        LocalTime time = value.toLocalTime();
+
+        if (LocalTime.MIDNIGHT.equals(time)) {
+            return LocalDateCodec.writeDate(buf, value.toLocalDate());
+        }
+
+        int nano = time.getNano();
+        int bytes = nano > 0 ? DateTimes.MICRO_DATETIME_SIZE : DateTimes.DATETIME_SIZE;
+
+        buf.writeByte(bytes)
+            .writeShortLE(value.getYear())
+            .writeByte(value.getMonthValue())
+            .writeByte(value.getDayOfMonth())
+            .writeByte(time.getHour())
+            .writeByte(time.getMinute())
+            .writeByte(time.getSecond());
+
+        if (nano > 0) {
+            return buf.writeIntLE(nano / DateTimes.NANOS_OF_MICRO);
+        }
+
+        return buf;
+    }
+
     static void encodeText(ParameterWriter writer, LocalDateTime value) {
         LocalDateCodec.encodeDate(writer, value.toLocalDate());
         writer.append(' ');
@@ -175,6 +187,12 @@ final class LocalDateTimeCodec implements ParameterizedCodec<LocalDateTime> {
             return Mono.fromSupplier(() -> encodeBinary(allocator, value));
         }
 
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            LocalDateTimeCodec.writeBinary(buf, value);
+            return true;
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.fromRunnable(() -> encodeText(writer, value));
@@ -140,6 +140,12 @@ final class LongCodec extends AbstractPrimitiveCodec<Long> {
             return Mono.fromSupplier(() -> allocator.buffer(Long.BYTES).writeLongLE(value));
         }
 
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            buf.writeLongLE(value);
+            return true;
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.fromRunnable(() -> writer.writeLong(value));
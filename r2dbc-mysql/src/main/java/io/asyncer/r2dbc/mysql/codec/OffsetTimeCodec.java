@@ -83,6 +83,12 @@ final class OffsetTimeCodec extends AbstractClassedCodec<OffsetTime> {
             return Mono.fromSupplier(() -> LocalTimeCodec.encodeBinary(allocator, serverValue()));
         }
 
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            LocalTimeCodec.writeBinary(buf, serverValue());
+            return true;
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.fromRunnable(() -> LocalTimeCodec.encodeTime(writer, serverValue()));
@@ -32,6 +32,11 @@ import java.nio.charset.Charset;
  */
 final class StringCodec extends AbstractClassedCodec<String> {
 
+    /**
+     * The maximum bytes of a string which has a single-byte var-integer length.
+     */
+    private static final int SHORT_STRING_BYTES = 250;
+
     static final StringCodec INSTANCE = new StringCodec();
 
     private StringCodec() {
@@ -84,6 +89,35 @@ final class StringCodec extends AbstractClassedCodec<String> {
         }
     }
 
+    /**
+     * Writes a short {@link CharSequence} with its var-integer length into the buffer.
+     *
+     * @param buf     the buffer.
+     * @param value   the value.
+     * @param context the codec context.
+     * @return {@code false} if the value is too long, and nothing is written.
+     */
+    static boolean writeShortCharSequence(ByteBuf buf, CharSequence value, CodecContext context) {
+        int length = value.length();
+
+        if (length > SHORT_STRING_BYTES) {
+            return false;
+        }
+
+        int index = buf.writerIndex();
+        int bytes = buf.writeByte(0).writeCharSequence(value, context.getClientCollation().getCharset());
+
+        if (bytes > SHORT_STRING_BYTES) {
+            // Multi-bytes characters, it requires a longer var-integer.
+            buf.writerIndex(index);
+            return false;
+        }
+
+        buf.setByte(index, bytes);
+
+        return true;
+    }
+
     private static final class StringMySqlParameter extends AbstractMySqlParameter {
 
         private final CharSequence value;
@@ -100,6 +134,11 @@ final class StringCodec extends AbstractClassedCodec<String> {
             return Mono.fromSupplier(() -> encodeCharSequence(allocator, value, context));
         }
 
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            return writeShortCharSequence(buf, value, context);
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.fromRunnable(() -> writer.append(value));
@@ -109,6 +109,12 @@ final class ZonedDateTimeCodec implements ParameterizedCodec<ZonedDateTime> {
             return Mono.fromSupplier(() -> LocalDateTimeCodec.encodeBinary(allocator, serverValue()));
         }
 
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            LocalDateTimeCodec.writeBinary(buf, serverValue());
+            return true;
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.fromRunnable(() -> LocalDateTimeCodec.encodeText(writer, serverValue()));
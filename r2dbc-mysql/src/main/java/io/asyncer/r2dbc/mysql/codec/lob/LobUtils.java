@@ -18,6 +18,7 @@ package io.asyncer.r2dbc.mysql.codec.lob;
 
 import io.asyncer.r2dbc.mysql.collation.CharCollation;
 import io.asyncer.r2dbc.mysql.internal.util.NettyBufferUtils;
+import io.asyncer.r2dbc.mysql.message.StreamingFieldValue;
 import io.netty.buffer.ByteBuf;
 import io.r2dbc.spi.Blob;
 import io.r2dbc.spi.Clob;
@@ -67,6 +68,24 @@ public final class LobUtils {
         }
     }
 
+    /**
+     * Create a {@link Blob} from a {@link StreamingFieldValue} which buffers are still arriving.
+     *
+     * @param value the streaming field.
+     * @return the {@link Blob} from streaming.
+     * @since 1.3.2
+     */
+    public static Blob createBlob(StreamingFieldValue value) {
+        value.retain();
+
+        try {
+            return new StreamingBlob(value);
+        } catch (Throwable e) {
+            value.release();
+            throw e;
+        }
+    }
+
     /**
      * Create a {@link Clob} from only one {@link ByteBuf}.
      *
@@ -107,5 +126,24 @@ public final class LobUtils {
         }
     }
 
+    /**
+     * Create a {@link Clob} from a {@link StreamingFieldValue} which buffers are still arriving.
+     *
+     * @param value     the streaming field.
+     * @param collation the character collation.
+     * @return the {@link Clob} from streaming.
+     * @since 1.3.2
+     */
+    public static Clob createClob(StreamingFieldValue value, CharCollation collation) {
+        value.retain();
+
+        try {
+            return new StreamingClob(value, collation);
+        } catch (Throwable e) {
+            value.release();
+            throw e;
+        }
+    }
+
     private LobUtils() { }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.codec.lob;
+
+import io.asyncer.r2dbc.mysql.message.StreamingFieldValue;
+import io.netty.buffer.ByteBuf;
+import io.r2dbc.spi.Blob;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An implementation of {@link Blob} for a {@link StreamingFieldValue}.
+ */
+final class StreamingBlob extends StreamingLob<ByteBuffer> implements Blob {
+
+    StreamingBlob(StreamingFieldValue value) {
+        super(value);
+    }
+
+    @Override
+    protected ByteBuffer convert(ByteBuf buf) {
+        ByteBuffer result = ByteBuffer.allocate(buf.readableBytes());
+
+        buf.readBytes(result);
+        result.flip();
+
+        return result;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.codec.lob;
+
+import io.asyncer.r2dbc.mysql.collation.CharCollation;
+import io.asyncer.r2dbc.mysql.message.StreamingFieldValue;
+import io.netty.buffer.ByteBuf;
+import io.r2dbc.spi.Clob;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * An implementation of {@link Clob} for a {@link StreamingFieldValue}.
+ * <p>
+ * A multibyte character may be split by packets, so the trailing bytes of a buffer will be decoded with the next
+ * buffer.
+ */
+final class StreamingClob extends StreamingLob<CharSequence> implements Clob {
+
+    private final CharsetDecoder decoder;
+
+    private ByteBuffer remaining = ByteBuffer.allocate(0);
+
+    StreamingClob(StreamingFieldValue value, CharCollation collation) {
+        super(value);
+
+        this.decoder = collation.getCharset().newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    @Override
+    protected CharSequence convert(ByteBuf buf) {
+        ByteBuffer in;
+
+        if (remaining.hasRemaining()) {
+            in = ByteBuffer.allocate(remaining.remaining() + buf.readableBytes());
+            in.put(remaining);
+            buf.readBytes(in);
+            in.flip();
+        } else {
+            in = buf.nioBuffer();
+        }
+
+        CharBuffer out = CharBuffer.allocate((int) (in.remaining() * (double) decoder.maxCharsPerByte()) + 1);
+
+        decoder.decode(in, out, false);
+        // Keep the trailing partial character, it is at most a few bytes.
+        remaining = ByteBuffer.allocate(in.remaining()).put(in);
+        remaining.flip();
+        out.flip();
+
+        return out;
+    }
+
+    @Nullable
+    @Override
+    protected CharSequence complete() {
+        CharBuffer out = CharBuffer.allocate(remaining.remaining() + 1);
+
+        decoder.decode(remaining, out, true);
+        decoder.flush(out);
+        out.flip();
+
+        return out.hasRemaining() ? out : null;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.codec.lob;
+
+import io.asyncer.r2dbc.mysql.message.StreamingFieldValue;
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Base class considers a {@link StreamingFieldValue} which buffers are still arriving, and releases the field
+ * on termination or cancellation, so the remaining buffers will be dropped.
+ *
+ * @param <T> the emit data type, it should be {@code ByteBuffer} or {@link CharSequence}.
+ */
+abstract class StreamingLob<T> {
+
+    private final AtomicReference<StreamingFieldValue> value;
+
+    StreamingLob(StreamingFieldValue value) {
+        this.value = new AtomicReference<>(value);
+    }
+
+    public final Flux<T> stream() {
+        return Flux.defer(() -> {
+            StreamingFieldValue value = this.value.getAndSet(null);
+
+            if (value == null) {
+                return Flux.error(new IllegalStateException("Source has been released"));
+            }
+
+            return value.stream()
+                .map(this::consume)
+                .concatWith(Mono.fromSupplier(this::complete))
+                .doFinally(ignored -> value.release());
+        });
+    }
+
+    public final Mono<Void> discard() {
+        return Mono.fromRunnable(() -> {
+            StreamingFieldValue value = this.value.getAndSet(null);
+
+            if (value != null) {
+                value.release();
+            }
+        });
+    }
+
+    protected abstract T convert(ByteBuf buf);
+
+    /**
+     * Emits the last element after all buffers are converted, e.g. the characters of a trailing partial
+     * sequence.
+     *
+     * @return the last element, or {@code null} if there is nothing left.
+     */
+    @Nullable
+    protected T complete() {
+        return null;
+    }
+
+    private T consume(ByteBuf buf) {
+        try {
+            return convert(buf);
+        } finally {
+            buf.release();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.constant;
+
+/**
+ * The strategy to select a host when connecting to multiple hosts.  Hosts which failed to connect recently are
+ * always tried after healthy hosts.
+ *
+ * @since 1.3.2
+ */
+public enum HostSelection {
+
+    /**
+     * Try hosts in the configured order, i.e. the first host is the primary and the others are failovers.
+     */
+    SEQUENTIAL,
+
+    /**
+     * Try hosts in a random order for each connection.
+     */
+    RANDOM,
+
+    /**
+     * Try hosts in ascending order of open connections created by the same connection factory.  Each connection
+     * executes requests one by one, so it approximates the least outstanding requests.
+     */
+    LEAST_CONNECTIONS,
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.extension;
+
+/**
+ * Recorder interface that is used to report metrics of connections, e.g. to a meter registry of Micrometer.
+ * <p>
+ * All methods are called on the hot paths of connections, usually by the event loop, so they should be
+ * non-blocking and cheap.  All methods do nothing by default, an implementation can override methods what it
+ * is interested in.  Rates, e.g. rows decoded per second, should be derived from counters by the registry.
+ * <p>
+ * Metrics will be recorded only if at least one recorder is registered.
+ *
+ * @since 1.3.2
+ */
+public interface MetricsRecorder extends Extension {
+
+    /**
+     * Records a request which becomes active in the request queue of a connection.
+     *
+     * @param depth     the number of requests which are still queued behind it.
+     * @param waitNanos the time in nanoseconds that the request has been waiting in the queue.
+     */
+    default void recordRequestQueue(int depth, long waitNanos) {
+        // Do nothing by default.
+    }
+
+    /**
+     * Records an exchange which has been terminated, including completed, failed or cancelled.
+     *
+     * @param firstRowNanos the time in nanoseconds from the exchange starting to its first row, or {@code -1}
+     *                      if it has no row.
+     * @param totalNanos    the time in nanoseconds from the exchange starting to its termination.
+     */
+    default void recordExchange(long firstRowNanos, long totalNanos) {
+        // Do nothing by default.
+    }
+
+    /**
+     * Records rows which are decoded by an exchange.
+     *
+     * @param rows the number of rows.
+     */
+    default void recordRowsDecoded(long rows) {
+        // Do nothing by default.
+    }
+
+    /**
+     * Records bytes which are read from the server.  Packet bytes are always reported, compressed bytes are
+     * reported only if the compression protocol is used.
+     *
+     * @param bytes      the number of bytes.
+     * @param compressed {@code true} if they are compressed bytes received from the network, otherwise they are
+     *                   packet bytes, i.e. after decompression.
+     */
+    default void recordBytesRead(long bytes, boolean compressed) {
+        // Do nothing by default.
+    }
+
+    /**
+     * Records bytes which are written to the server.  Packet bytes are always reported, compressed bytes are
+     * reported only if the compression protocol is used.
+     *
+     * @param bytes      the number of bytes.
+     * @param compressed {@code true} if they are compressed bytes sent to the network, otherwise they are packet
+     *                   bytes, i.e. before compression.
+     */
+    default void recordBytesWritten(long bytes, boolean compressed) {
+        // Do nothing by default.
+    }
+
+    /**
+     * Records a lookup of a cache.
+     *
+     * @param cache the cache.
+     * @param hit   {@code true} if the value is found in the cache.
+     */
+    default void recordCacheLookup(CacheType cache, boolean hit) {
+        // Do nothing by default.
+    }
+
+    /**
+     * Records an eviction of a cache.
+     *
+     * @param cache the cache.
+     */
+    default void recordCacheEviction(CacheType cache) {
+        // Do nothing by default.
+    }
+
+    /**
+     * The caches of the driver.
+     */
+    enum CacheType {
+
+        /**
+         * The cache of parsed queries, it is shared by connections of the same connection factory.
+         */
+        QUERY,
+
+        /**
+         * The cache of server-preparing statements of a connection.
+         */
+        PREPARE,
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.internal.util;
+
+import io.netty.buffer.ByteBuf;
+
+import java.nio.charset.Charset;
+
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.require;
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
+
+/**
+ * A bounded table of strings decoded from buffers, e.g. names of databases, tables and columns in column
+ * definitions.  A string will be decoded only if its bytes are not found in the table, so the names of a
+ * frequently executed query are shared by all its results without allocating.
+ * <p>
+ * It is a direct-mapped table, a string will be replaced by another string which has the same slot.  The
+ * entries are immutable, so it is safe even if it is accessed by multiple threads, but it is designed to be
+ * used by the decoder of a connection.
+ *
+ * @since 1.3.2
+ */
+public final class StringInterner {
+
+    /**
+     * The maximum length of bytes which can be interned, e.g. an auto-generated alias of a long expression
+     * should not be interned.
+     */
+    private static final int MAX_BYTES = 256;
+
+    private final Entry[] entries;
+
+    private final int mask;
+
+    /**
+     * Creates a table with the given capacity.
+     *
+     * @param capacity the maximum number of strings, it must be a positive power of 2.
+     * @throws IllegalArgumentException if {@code capacity} is not a positive power of 2.
+     */
+    public StringInterner(int capacity) {
+        require(capacity > 0 && (capacity & (capacity - 1)) == 0, "capacity must be a positive power of 2");
+
+        this.entries = new Entry[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Reads a string of {@code length} bytes from the reader index of a buffer, and moves the reader index.
+     *
+     * @param buf     the buffer.
+     * @param length  the number of bytes of the string.
+     * @param charset the charset of the string.
+     * @return the interned string, or a new string if it is too long to be interned.
+     * @throws IllegalArgumentException if {@code buf} or {@code charset} is {@code null}.
+     */
+    public String read(ByteBuf buf, int length, Charset charset) {
+        requireNonNull(buf, "buf must not be null");
+        requireNonNull(charset, "charset must not be null");
+
+        if (length <= 0) {
+            return "";
+        }
+
+        int index = buf.readerIndex();
+
+        if (length > MAX_BYTES) {
+            String result = buf.toString(index, length, charset);
+            buf.skipBytes(length);
+            return result;
+        }
+
+        int hash = hash(buf, index, length);
+        int slot = hash & mask;
+        Entry entry = entries[slot];
+
+        if (entry == null || !entry.matches(hash, buf, index, length, charset)) {
+            byte[] bytes = new byte[length];
+
+            buf.getBytes(index, bytes);
+            entry = new Entry(hash, bytes, charset, new String(bytes, charset));
+            entries[slot] = entry;
+        }
+
+        buf.skipBytes(length);
+
+        return entry.value;
+    }
+
+    private static int hash(ByteBuf buf, int index, int length) {
+        int hash = 1;
+
+        for (int i = 0; i < length; ++i) {
+            hash = 31 * hash + buf.getByte(index + i);
+        }
+
+        // Spread higher bits to lower, the slot is taken from lower bits.
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Entry {
+
+        private final int hash;
+
+        private final byte[] bytes;
+
+        private final Charset charset;
+
+        private final String value;
+
+        private Entry(int hash, byte[] bytes, Charset charset, String value) {
+            this.hash = hash;
+            this.bytes = bytes;
+            this.charset = charset;
+            this.value = value;
+        }
+
+        private boolean matches(int hash, ByteBuf buf, int index, int length, Charset charset) {
+            if (this.hash != hash || bytes.length != length || !this.charset.equals(charset)) {
+                return false;
+            }
+
+            for (int i = 0; i < length; ++i) {
+                if (bytes[i] != buf.getByte(index + i)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+}
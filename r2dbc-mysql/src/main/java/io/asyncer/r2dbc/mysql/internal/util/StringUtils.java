@@ -35,6 +35,10 @@ public final class StringUtils {
 
     private static final int ZONE_PREFIX_LENGTH = 6;
 
+    private static final String[] MODIFICATION_KEYWORDS = { "INSERT", "REPLACE", "UPDATE", "DELETE" };
+
+    private static final String RETURNING = "RETURNING";
+
     /**
      * Quotes identifier with backticks, it will escape backticks in the identifier.
      *
@@ -80,6 +84,31 @@ public final class StringUtils {
         return returning.isEmpty() ? sql : sql + " RETURNING " + returning;
     }
 
+    /**
+     * Checks if a SQL statement is a data modification statement without result, i.e. it starts with {@code INSERT},
+     * {@code REPLACE}, {@code UPDATE} or {@code DELETE} and has no {@code RETURNING} clause. It is a conservative
+     * check, a statement starts with comments will be considered as not a modification statement.
+     *
+     * @param sql the SQL statement.
+     * @return if it is a data modification statement without result.
+     */
+    public static boolean isModification(String sql) {
+        int len = sql.length();
+        int start = 0;
+
+        while (start < len && Character.isWhitespace(sql.charAt(start))) {
+            ++start;
+        }
+
+        for (String keyword : MODIFICATION_KEYWORDS) {
+            if (sql.regionMatches(true, start, keyword, 0, keyword.length())) {
+                return !containsIgnoreCase(sql, start + keyword.length(), RETURNING);
+            }
+        }
+
+        return false;
+    }
+
     /**
      * Generates a {@link String} indicating the statement timeout variable. e.g. {@code "max_statement_time=1.5"} for
      * MariaDB or {@code "max_execution_time=1500"} for MySQL.
@@ -147,6 +176,18 @@ public final class StringUtils {
         return ZoneId.of(realId, ZoneId.SHORT_IDS).normalized();
     }
 
+    private static boolean containsIgnoreCase(String str, int fromIndex, String target) {
+        int end = str.length() - target.length();
+
+        for (int i = fromIndex; i <= end; ++i) {
+            if (str.regionMatches(true, i, target, 0, target.length())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     private StringUtils() {
     }
 }
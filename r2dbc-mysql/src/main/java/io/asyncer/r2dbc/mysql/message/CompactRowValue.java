@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.message;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.ReferenceCounted;
+
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
+
+/**
+ * A flyweight row of field values which bytes width/size is less than or equal to {@link Integer#MAX_VALUE}.
+ * <p>
+ * It holds only one buffer of the whole row, and the offset and length of each field, so that it does not create
+ * a {@link FieldValue} and a retained slice for each field. The field value will be sliced on decoding.
+ *
+ * @since 1.3.2
+ */
+public final class CompactRowValue extends AbstractReferenceCounted {
+
+    private final ByteBuf buf;
+
+    /**
+     * The offset and length of each field, i.e. {@code [offset0, length0, offset1, length1, ...]}, the offset is
+     * negative if the field value is {@code null}.
+     */
+    private final int[] fields;
+
+    public CompactRowValue(ByteBuf buf, int[] fields) {
+        this.buf = requireNonNull(buf, "buf must not be null");
+        this.fields = requireNonNull(fields, "fields must not be null");
+    }
+
+    /**
+     * Get the number of fields.
+     *
+     * @return the number of fields.
+     */
+    public int size() {
+        return fields.length >>> 1;
+    }
+
+    /**
+     * Checks if the value of a field is {@code null}.
+     *
+     * @param index the index of the field.
+     * @return if the value is {@code null}.
+     */
+    public boolean isNull(int index) {
+        return fields[index << 1] < 0;
+    }
+
+    /**
+     * Get a non-retained slice of a non-null field value, it is valid until this row has been released.
+     *
+     * @param index the index of the field.
+     * @return the slice of the field value.
+     */
+    public ByteBuf getBufferSlice(int index) {
+        int i = index << 1;
+
+        return buf.slice(fields[i], fields[i + 1]);
+    }
+
+    @Override
+    public ReferenceCounted touch(Object hint) {
+        buf.touch(hint);
+        return this;
+    }
+
+    @Override
+    protected void deallocate() {
+        buf.release();
+    }
+}
@@ -19,8 +19,8 @@ package io.asyncer.r2dbc.mysql.message;
 import io.netty.util.ReferenceCounted;
 
 /**
- * A sealed interface for field, it has 3-implementations: {@link NullFieldValue}, {@link NormalFieldValue}
- * and {@link LargeFieldValue}.
+ * A sealed interface for field, it has 4-implementations: {@link NullFieldValue}, {@link NormalFieldValue},
+ * {@link LargeFieldValue} and {@link StreamingFieldValue}.
  * <p>
  * WARNING: it is sealed interface, should NEVER extend or implemented by another interface or class.
  */
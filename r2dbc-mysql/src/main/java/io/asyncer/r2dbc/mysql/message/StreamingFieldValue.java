@@ -0,0 +1,153 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.message;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.ReferenceCounted;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
+
+/**
+ * An implementation of {@link FieldValue} considers a large field value which is still arriving, it is the last
+ * field of a row which exceeds a single packet. The buffers of following packets will be offered by the decoder
+ * as they arrive, and they can be consumed only once by {@link #stream()}.
+ * <p>
+ * The decoder should suspend reading while the field {@link #isBacklogged() is backlogged}, and it will be
+ * notified by the drain hook when buffers are consumed.  If the field is released before it is completed, the
+ * remaining buffers will be dropped.
+ *
+ * @see FieldValue
+ * @since 1.3.2
+ */
+public final class StreamingFieldValue extends AbstractReferenceCounted implements FieldValue {
+
+    /**
+     * The maximum number of buffers which are offered but not consumed, each buffer is at most a packet.
+     */
+    private static final int BACKLOG_LIMIT = 2;
+
+    private final Sinks.Many<ByteBuf> sink = Sinks.many().unicast().onBackpressureBuffer();
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    private final Runnable onDrain;
+
+    private volatile boolean discarded;
+
+    public StreamingFieldValue(Runnable onDrain) {
+        this.onDrain = requireNonNull(onDrain, "onDrain must not be null");
+    }
+
+    /**
+     * Offers a buffer of the field, it will be released if the field has been released.
+     *
+     * @param buf the buffer of the field.
+     */
+    public void offer(ByteBuf buf) {
+        if (discarded || !buf.isReadable()) {
+            buf.release();
+            return;
+        }
+
+        pending.incrementAndGet();
+
+        if (sink.tryEmitNext(buf).isFailure()) {
+            pending.decrementAndGet();
+            buf.release();
+        }
+    }
+
+    /**
+     * Completes the field after its last buffer has been offered.
+     */
+    public void complete() {
+        sink.tryEmitComplete();
+    }
+
+    /**
+     * Terminates the field with an error, e.g. the connection has been closed before the field is completed.
+     *
+     * @param e the error.
+     */
+    public void error(Throwable e) {
+        sink.tryEmitError(e);
+    }
+
+    /**
+     * Checks if there are too many buffers that are not consumed, so the decoder should suspend reading.
+     *
+     * @return if it is backlogged.
+     */
+    public boolean isBacklogged() {
+        return !discarded && pending.get() >= BACKLOG_LIMIT;
+    }
+
+    /**
+     * Streams buffers of the field as they arrive, it can be subscribed only once.  Each emitted buffer should be
+     * released by the subscriber.
+     *
+     * @return the {@link Flux} of buffers.
+     */
+    public Flux<ByteBuf> stream() {
+        return Flux.defer(() -> {
+            if (!subscribed.compareAndSet(false, true)) {
+                return Flux.error(new IllegalStateException("Streaming field can be consumed only once"));
+            }
+
+            return sink.asFlux()
+                .doOnNext(ignored -> {
+                    if (pending.decrementAndGet() < BACKLOG_LIMIT) {
+                        onDrain.run();
+                    }
+                })
+                .doOnDiscard(ByteBuf.class, ReferenceCountUtil::safeRelease);
+        });
+    }
+
+    @Override
+    public StreamingFieldValue retain() {
+        super.retain();
+        return this;
+    }
+
+    @Override
+    public ReferenceCounted touch(Object hint) {
+        return this;
+    }
+
+    @Override
+    protected void deallocate() {
+        this.discarded = true;
+
+        if (subscribed.compareAndSet(false, true)) {
+            // Drain buffers that have been offered but never consumed.
+            sink.asFlux().subscribe(ReferenceCountUtil::safeRelease, ignored -> { });
+        }
+
+        // Buffers following will be dropped, resume reading if it is suspended.
+        onDrain.run();
+    }
+}
@@ -20,6 +20,7 @@ import io.asyncer.r2dbc.mysql.MySqlParameter;
 import io.asyncer.r2dbc.mysql.ParameterWriter;
 import io.asyncer.r2dbc.mysql.Query;
 import io.asyncer.r2dbc.mysql.internal.util.OperatorUtils;
+import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.Nullable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -27,6 +28,7 @@ import reactor.core.publisher.Mono;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.util.function.Consumer;
 
 import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
@@ -34,6 +36,10 @@ import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
 /**
  * A default implementation of {@link ParameterWriter}.
  * <p>
+ * It writes the whole statement to a {@link StringBuilder}, or writes the pre-encoded statement parts to a
+ * {@link ByteBuf} directly and uses the {@link StringBuilder} only for the current parameter if the
+ * {@link ByteBuf} is specified.
+ * <p>
  * WARNING: It is not thread safe
  */
 final class ParamWriter extends ParameterWriter {
@@ -49,6 +55,12 @@ final class ParamWriter extends ParameterWriter {
 
     private final Query query;
 
+    @Nullable
+    private ByteBuf buf;
+
+    @Nullable
+    private final Charset charset;
+
     private int index;
 
     private Mode mode;
@@ -57,10 +69,25 @@ final class ParamWriter extends ParameterWriter {
         this.builder = newBuilder(query);
         this.noBackslashEscapes = noBackslashEscapes;
         this.query = query;
+        this.buf = null;
+        this.charset = null;
         this.index = 1;
         this.mode = 1 < query.getPartSize() ? Mode.AVAILABLE : Mode.FULL;
     }
 
+    private ParamWriter(boolean noBackslashEscapes, Query query, ByteBuf buf, Charset charset) {
+        // The builder only holds the current parameter.
+        this.builder = new StringBuilder();
+        this.noBackslashEscapes = noBackslashEscapes;
+        this.query = query;
+        this.buf = buf;
+        this.charset = charset;
+        this.index = 1;
+        this.mode = 1 < query.getPartSize() ? Mode.AVAILABLE : Mode.FULL;
+
+        query.partTo(buf, 0, charset);
+    }
+
     @Override
     public void writeNull() {
         startAvailable(Mode.NULL);
@@ -255,6 +282,30 @@ final class ParamWriter extends ParameterWriter {
         return this.builder.toString();
     }
 
+    private ByteBuf toBuf() {
+        ByteBuf buf = this.buf;
+
+        if (buf == null) {
+            throw new IllegalStateException("Buffer has been released");
+        } else if (this.mode != Mode.FULL) {
+            throw new IllegalStateException("Unexpected completion, parameters are not filled");
+        }
+
+        // Transfer the ownership of the buffer to the caller.
+        this.buf = null;
+
+        return buf;
+    }
+
+    private void release() {
+        ByteBuf buf = this.buf;
+
+        if (buf != null) {
+            this.buf = null;
+            buf.release();
+        }
+    }
+
     private void startAvailable(Mode mode) {
         Mode current = this.mode;
 
@@ -288,7 +339,17 @@ final class ParamWriter extends ParameterWriter {
                 break;
         }
 
-        query.partTo(builder, index++);
+        ByteBuf buf = this.buf;
+
+        if (buf == null) {
+            query.partTo(builder, index++);
+        } else {
+            // Avoid the intermediate String, the static part has been encoded in the query.
+            buf.writeCharSequence(builder, charset);
+            builder.setLength(0);
+            query.partTo(buf, index++, charset);
+        }
+
         this.mode = index < query.getPartSize() ? Mode.AVAILABLE : Mode.FULL;
     }
 
@@ -374,6 +435,41 @@ final class ParamWriter extends ParameterWriter {
         });
     }
 
+    /**
+     * Publishes the statement with parameters formatted into a {@link ByteBuf}. The static parts of the statement
+     * will be written by pre-encoded bytes, and the parameters will be encoded to the {@link ByteBuf} directly
+     * without formatting the whole statement as a {@link String}.
+     *
+     * @param noBackslashEscapes if backslash escapes are disabled.
+     * @param query              the statement.
+     * @param values             the parameter values.
+     * @param buf                the {@link ByteBuf} to write, it will be released if publishing failed or cancelled.
+     * @param charset            the charset of the client.
+     * @return a {@link Mono} that's produces the {@code buf} which contains the formatted statement.
+     */
+    static Mono<ByteBuf> publish(
+        boolean noBackslashEscapes, Query query, Flux<MySqlParameter> values,
+        ByteBuf buf, Charset charset
+    ) {
+        return Mono.defer(() -> {
+            ParamWriter writer;
+
+            try {
+                writer = new ParamWriter(noBackslashEscapes, query, buf, charset);
+            } catch (Throwable e) {
+                buf.release();
+                return values.doOnNext(DISPOSE).then(Mono.error(e));
+            }
+
+            return OperatorUtils.discardOnCancel(values)
+                .doOnDiscard(MySqlParameter.class, DISPOSE)
+                .concatMap(it -> it.publishText(writer).doOnSuccess(writer::flushParameter))
+                .then(Mono.fromCallable(writer::toBuf))
+                .doOnError(ignored -> writer.release())
+                .doOnCancel(writer::release);
+        });
+    }
+
     private static StringBuilder newBuilder(Query query) {
         StringBuilder builder = new StringBuilder(Math.min(query.getFormattedSize(), 64));
 
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.message.client;
+
+import io.asyncer.r2dbc.mysql.ConnectionContext;
+import io.asyncer.r2dbc.mysql.MySqlParameter;
+import io.asyncer.r2dbc.mysql.internal.util.OperatorUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.ReferenceCountUtil;
+import org.jetbrains.annotations.Nullable;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.require;
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
+
+/**
+ * A message to execute a prepared statement with multiple parameter sets by MariaDB
+ * {@code COM_STMT_BULK_EXECUTE}.
+ * <p>
+ * All parameter sets must have the same types, except {@code null} values, because the types will be sent only
+ * once.
+ * <p>
+ * The message will not exceed {@code max_allowed_packet} unless its first parameter set exceeds it alone. The
+ * parameter sets which do not fit will not be sent, they will be taken by {@link #takeRemaining()} after this
+ * message has been encoded.
+ */
+public final class PreparedBulkExecuteMessage implements ClientMessage, Disposable {
+
+    private static final byte BULK_EXECUTE_FLAG = (byte) 0xFA;
+
+    /**
+     * Request the server to return affected rows and auto-generated id of each parameter set.
+     */
+    private static final short SEND_UNIT_RESULTS = 64;
+
+    /**
+     * The types of parameters will be sent before parameter sets.
+     */
+    private static final short SEND_TYPES_TO_SERVER = 128;
+
+    private static final byte INDICATOR_NONE = 0;
+
+    private static final byte INDICATOR_NULL = 1;
+
+    private final int statementId;
+
+    private final List<MySqlParameter[]> rows;
+
+    private final int maxAllowedPacket;
+
+    /**
+     * The encoded buffers of the first parameter set, it has been encoded by the previous message but did not fit.
+     */
+    @Nullable
+    private List<ByteBuf> encodedFirst;
+
+    @Nullable
+    private volatile PreparedBulkExecuteMessage remaining;
+
+    /**
+     * The end index of parameter sets which belong to this message, following ones belong to the remaining message.
+     */
+    private volatile int end;
+
+    private long bytes;
+
+    public PreparedBulkExecuteMessage(int statementId, List<MySqlParameter[]> rows, int maxAllowedPacket) {
+        this(statementId, rows, maxAllowedPacket, null);
+    }
+
+    private PreparedBulkExecuteMessage(int statementId, List<MySqlParameter[]> rows, int maxAllowedPacket,
+        @Nullable List<ByteBuf> encodedFirst) {
+        requireNonNull(rows, "rows must not be null");
+        require(!rows.isEmpty(), "rows must not be empty");
+        require(maxAllowedPacket > 0, "maxAllowedPacket must be a positive integer");
+
+        this.statementId = statementId;
+        this.rows = rows;
+        this.maxAllowedPacket = maxAllowedPacket;
+        this.encodedFirst = encodedFirst;
+        this.end = rows.size();
+    }
+
+    /**
+     * Takes the message of parameter sets which have not been sent due to {@code max_allowed_packet}, it should be
+     * called after this message has been encoded, e.g. its response has been received.
+     *
+     * @return the message of remaining parameter sets, or {@code null} if all parameter sets have been sent.
+     */
+    @Nullable
+    public PreparedBulkExecuteMessage takeRemaining() {
+        PreparedBulkExecuteMessage remaining = this.remaining;
+
+        this.remaining = null;
+
+        return remaining;
+    }
+
+    @Override
+    public void dispose() {
+        for (int i = 0, n = end; i < n; ++i) {
+            disposeRow(rows.get(i));
+        }
+
+        List<ByteBuf> encodedFirst = this.encodedFirst;
+
+        if (encodedFirst != null) {
+            this.encodedFirst = null;
+            encodedFirst.forEach(ReferenceCountUtil::safeRelease);
+        }
+
+        PreparedBulkExecuteMessage remaining = takeRemaining();
+
+        if (remaining != null) {
+            remaining.dispose();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedBulkExecuteMessage{statementId=" + statementId + ", has " + rows.size() +
+            " parameter sets}";
+    }
+
+    @Override
+    public Flux<ByteBuf> encode(ByteBufAllocator allocator, ConnectionContext context) {
+        requireNonNull(allocator, "allocator must not be null");
+        requireNonNull(context, "context must not be null");
+
+        return Flux.defer(() -> {
+            ByteBuf buf = allocator.buffer();
+
+            try {
+                buf.writeByte(BULK_EXECUTE_FLAG)
+                    .writeIntLE(statementId)
+                    .writeShortLE(SEND_UNIT_RESULTS | SEND_TYPES_TO_SERVER);
+                writeTypes(buf);
+                // The server may remember the types of the bulk execution, send types for next execution.
+                context.bindParameterTypes(statementId, null);
+            } catch (Throwable e) {
+                buf.release();
+                dispose();
+                return Flux.error(e);
+            }
+
+            // The header contains the command byte, it is also limited by max_allowed_packet.
+            this.bytes = buf.readableBytes();
+
+            Flux<ByteBuf> parameters = Flux.range(0, rows.size())
+                .concatMap(index -> encodeRow(allocator, index))
+                .doOnCancel(this::dispose)
+                .doOnError(ignored -> dispose());
+
+            return Flux.just(buf).concatWith(parameters);
+        });
+    }
+
+    private Flux<ByteBuf> encodeRow(ByteBufAllocator allocator, int index) {
+        if (index >= end) {
+            return Flux.empty();
+        }
+
+        List<ByteBuf> encodedFirst = this.encodedFirst;
+        Mono<List<ByteBuf>> encoded;
+
+        if (index == 0 && encodedFirst != null) {
+            this.encodedFirst = null;
+            encoded = Mono.just(encodedFirst);
+        } else {
+            encoded = encodeRow(allocator, rows.get(index)).collectList();
+        }
+
+        return encoded.flatMapIterable(buffers -> {
+            long size = 0;
+
+            for (ByteBuf buffer : buffers) {
+                size += buffer.readableBytes();
+            }
+
+            if (index > 0 && bytes + size > maxAllowedPacket) {
+                // Send the remaining parameter sets by another message, starts with this encoded one.
+                this.remaining = new PreparedBulkExecuteMessage(statementId,
+                    new ArrayList<>(rows.subList(index, rows.size())), maxAllowedPacket, buffers);
+                this.end = index;
+
+                return Collections.emptyList();
+            }
+
+            this.bytes += size;
+
+            return buffers;
+        }).doOnDiscard(ByteBuf.class, ReferenceCountUtil::safeRelease);
+    }
+
+    private void writeTypes(ByteBuf buf) {
+        MySqlParameter[] first = rows.get(0);
+
+        for (int i = 0; i < first.length; ++i) {
+            MySqlParameter type = first[i];
+
+            // The type of null value is meaningless, find a non-null value if exists.
+            for (int j = 1, n = rows.size(); type.isNull() && j < n; ++j) {
+                type = rows.get(j)[i];
+            }
+
+            buf.writeShortLE(type.getType().getId());
+        }
+    }
+
+    /**
+     * Encodes a parameter set, the indicators and values of the synchronous fast path are written into the same
+     * buffer, and a new buffer follows each value which is published asynchronously.
+     *
+     * @param allocator the buffer allocator.
+     * @param row       the parameter set.
+     * @return the encoded buffers.
+     */
+    private static Flux<ByteBuf> encodeRow(ByteBufAllocator allocator, MySqlParameter[] row) {
+        // Buffers and values which should be published, in order.
+        List<Object> parts = new ArrayList<>(1);
+        ByteBuf buf = allocator.buffer();
+
+        try {
+            for (MySqlParameter value : row) {
+                if (value.isNull()) {
+                    buf.writeByte(INDICATOR_NULL);
+                    continue;
+                }
+
+                int index = buf.writeByte(INDICATOR_NONE).writerIndex();
+
+                if (!value.writeBinary(buf)) {
+                    buf.writerIndex(index);
+                    parts.add(buf);
+                    parts.add(value);
+                    buf = allocator.buffer();
+                }
+            }
+        } catch (Throwable e) {
+            buf.release();
+            parts.forEach(ReferenceCountUtil::safeRelease);
+            disposeRow(row);
+            return Flux.error(e);
+        }
+
+        if (parts.isEmpty()) {
+            // All values are written by the synchronous fast path.
+            return Flux.just(buf);
+        }
+
+        parts.add(buf);
+
+        return OperatorUtils.discardOnCancel(Flux.fromIterable(parts))
+            .doOnDiscard(Object.class, PreparedBulkExecuteMessage::discardPart)
+            .concatMap(part -> part instanceof ByteBuf ? Flux.just((ByteBuf) part) :
+                Flux.from(((MySqlParameter) part).publishBinary(allocator)));
+    }
+
+    private static void discardPart(Object part) {
+        if (part instanceof MySqlParameter) {
+            ((MySqlParameter) part).dispose();
+        } else {
+            ReferenceCountUtil.safeRelease(part);
+        }
+    }
+
+    private static void disposeRow(MySqlParameter[] row) {
+        for (MySqlParameter value : row) {
+            if (value != null) {
+                value.dispose();
+            }
+        }
+        Arrays.fill(row, null);
+    }
+}
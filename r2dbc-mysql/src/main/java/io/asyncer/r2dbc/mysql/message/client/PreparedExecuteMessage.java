@@ -26,6 +26,7 @@ import reactor.core.publisher.Flux;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
@@ -73,6 +74,10 @@ public final class PreparedExecuteMessage implements ClientMessage, Disposable {
         this.immediate = immediate;
     }
 
+    public int getStatementId() {
+        return statementId;
+    }
+
     @Override
     public void dispose() {
         for (MySqlParameter value : values) {
@@ -81,6 +86,30 @@ public final class PreparedExecuteMessage implements ClientMessage, Disposable {
         Arrays.fill(values, null);
     }
 
+    /**
+     * Creates messages which stream the LOB parameters by {@code COM_STMT_SEND_LONG_DATA}, they must be sent
+     * before this message, and the values of these parameters will not be written into this message.
+     *
+     * @return the messages, or an empty list if no parameter should be streamed.
+     */
+    public List<PreparedLargeDataMessage> getLargeDataMessages() {
+        List<PreparedLargeDataMessage> messages = Collections.emptyList();
+
+        for (int i = 0; i < values.length; ++i) {
+            MySqlParameter value = values[i];
+
+            if (!value.isNull() && value.isLongData()) {
+                if (messages.isEmpty()) {
+                    messages = new ArrayList<>();
+                }
+
+                messages.add(new PreparedLargeDataMessage(statementId, i, value));
+            }
+        }
+
+        return messages;
+    }
+
     @Override
     public String toString() {
         return "PreparedExecuteMessage{statementId=" + statementId + ", immediate=" + immediate + ", has " +
@@ -124,12 +153,27 @@ public final class PreparedExecuteMessage implements ClientMessage, Disposable {
                     return Flux.just(buf);
                 }
 
-                buf.writeBoolean(true);
-                writeTypes(buf, size);
+                short[] types = getTypes(size);
+
+                if (context.bindParameterTypes(statementId, types)) {
+                    buf.writeBoolean(true);
+
+                    for (short type : types) {
+                        buf.writeShortLE(type);
+                    }
+                } else {
+                    // The server remembers the types bound by the last execution.
+                    buf.writeBoolean(false);
+                }
+
+                if (writeValues(buf)) {
+                    // All values are written by the synchronous fast path.
+                    return Flux.just(buf);
+                }
 
                 Flux<ByteBuf> parameters = OperatorUtils.discardOnCancel(Flux.fromArray(values))
                     .doOnDiscard(MySqlParameter.class, MySqlParameter::dispose)
-                    .concatMap(mySqlParameter -> mySqlParameter.publishBinary(allocator));
+                    .concatMap(value -> value.isLongData() ? Flux.empty() : value.publishBinary(allocator));
 
                 return Flux.just(buf).concatWith(parameters);
             } catch (Throwable e) {
@@ -156,10 +200,27 @@ public final class PreparedExecuteMessage implements ClientMessage, Disposable {
         return nullMap;
     }
 
-    private void writeTypes(ByteBuf buf, int size) {
+    private boolean writeValues(ByteBuf buf) {
+        int index = buf.writerIndex();
+
+        for (MySqlParameter value : values) {
+            if (!value.isNull() && !value.isLongData() && !value.writeBinary(buf)) {
+                buf.writerIndex(index);
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private short[] getTypes(int size) {
+        short[] types = new short[size];
+
         for (int i = 0; i < size; ++i) {
-            buf.writeShortLE(values[i].getType().getId());
+            types[i] = (short) values[i].getType().getId();
         }
+
+        return types;
     }
 
     private void cancelParameters() {
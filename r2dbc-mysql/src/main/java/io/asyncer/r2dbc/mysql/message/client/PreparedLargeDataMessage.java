@@ -17,22 +17,26 @@
 package io.asyncer.r2dbc.mysql.message.client;
 
 import io.asyncer.r2dbc.mysql.ConnectionContext;
-import io.asyncer.r2dbc.mysql.internal.util.VarIntUtils;
+import io.asyncer.r2dbc.mysql.MySqlParameter;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
-import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 
 import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
 
 /**
- * Send parameter long data for prepared statements, it should be used by LOB types. (e.g. BLOB, CLOB)
+ * Send parameter long data for prepared statements by {@code COM_STMT_SEND_LONG_DATA}, it should be used by LOB
+ * types. (e.g. BLOB, CLOB)
+ * <p>
+ * Each encoded buffer is the payload of an individual {@code COM_STMT_SEND_LONG_DATA} packet which contains a
+ * chunk of the parameter, the server appends chunks and does not respond to them. So it must be enveloped
+ * packet by packet with a reset sequence, and the chunks will be consumed by backpressure.
  * <p>
  * Note: it must be sent before {@link PreparedExecuteMessage}.
  */
 public final class PreparedLargeDataMessage implements ClientMessage {
 
-    private static final int MIN_SIZE = Byte.BYTES + Integer.BYTES + Short.BYTES + Byte.BYTES + Long.BYTES;
+    private static final int HEADER_SIZE = Byte.BYTES + Integer.BYTES + Short.BYTES;
 
     private static final byte LARGE_DATA_FLAG = 0x18;
 
@@ -40,12 +44,12 @@ public final class PreparedLargeDataMessage implements ClientMessage {
 
     private final int parameterId;
 
-    private final Publisher<ByteBuf> data;
+    private final MySqlParameter value;
 
-    public PreparedLargeDataMessage(int statementId, int parameterId, Publisher<ByteBuf> data) {
+    public PreparedLargeDataMessage(int statementId, int parameterId, MySqlParameter value) {
         this.statementId = statementId;
         this.parameterId = parameterId;
-        this.data = requireNonNull(data, "data must not be null");
+        this.value = requireNonNull(value, "value must not be null");
     }
 
     @Override
@@ -53,33 +57,34 @@ public final class PreparedLargeDataMessage implements ClientMessage {
         requireNonNull(allocator, "allocator must not be null");
         requireNonNull(context, "context must not be null");
 
-        return Flux.from(data).collectList().flatMapMany(values -> {
-            int i = 0;
-            int size = values.size();
-            ByteBuf[] results = new ByteBuf[size + 1];
-            long bytes = 0;
-
-            for (; i < size; ++i) {
-                bytes += (results[i + 1] = values.get(i)).readableBytes();
-            }
-
-            ByteBuf header = allocator.buffer(MIN_SIZE);
-
-            try {
-                header.writeByte(LARGE_DATA_FLAG)
-                    .writeIntLE(statementId)
-                    .writeShortLE(parameterId);
+        return Flux.from(value.publishLongData(allocator))
+            .<ByteBuf>map(chunk -> {
+                ByteBuf header = null;
+
+                try {
+                    header = header(allocator);
+                    return allocator.compositeBuffer(2).addComponents(true, header, chunk);
+                } catch (Throwable e) {
+                    if (header != null) {
+                        header.release();
+                    }
+                    chunk.release();
+                    throw e;
+                }
+            })
+            // The server marks the parameter as long data only if it has received a packet.
+            .switchIfEmpty(Flux.defer(() -> Flux.just(header(allocator))));
+    }
 
-                VarIntUtils.writeVarInt(header, bytes);
-                results[0] = header;
-                header = null;
+    @Override
+    public String toString() {
+        return "PreparedLargeDataMessage{statementId=" + statementId + ", parameterId=" + parameterId + '}';
+    }
 
-                return Flux.fromArray(results);
-            } finally {
-                if (header != null) {
-                    header.release();
-                }
-            }
-        });
+    private ByteBuf header(ByteBufAllocator allocator) {
+        return allocator.buffer(HEADER_SIZE)
+            .writeByte(LARGE_DATA_FLAG)
+            .writeIntLE(statementId)
+            .writeShortLE(parameterId);
     }
 }
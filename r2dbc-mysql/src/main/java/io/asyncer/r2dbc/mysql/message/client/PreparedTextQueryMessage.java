@@ -40,6 +40,8 @@ public final class PreparedTextQueryMessage extends AtomicReference<MySqlParamet
 
     private final String returning;
 
+    private final String prefix;
+
     /**
      * Creates a {@link PreparedTextQueryMessage} with parameters.
      *
@@ -49,8 +51,24 @@ public final class PreparedTextQueryMessage extends AtomicReference<MySqlParamet
      * @throws IllegalArgumentException if {@code query} or {@code values} is {@code null}.
      */
     public PreparedTextQueryMessage(Query query, String returning, MySqlParameter[] values) {
+        this("", query, returning, values);
+    }
+
+    /**
+     * Creates a {@link PreparedTextQueryMessage} with parameters, and statements which are prepended to it as
+     * multi-statements.
+     *
+     * @param prefix    the statements which are prepended, e.g. the begin of a lazy transaction, or empty.
+     * @param query     the parsed {@link Query}.
+     * @param returning the {@code RETURNING} identifiers.
+     * @param values    the parameter values.
+     * @throws IllegalArgumentException if any argument is {@code null}.
+     * @since 1.3.2
+     */
+    public PreparedTextQueryMessage(String prefix, Query query, String returning, MySqlParameter[] values) {
         super(requireNonNull(values, "values must not be null"));
 
+        this.prefix = requireNonNull(prefix, "prefix must not be null");
         this.query = requireNonNull(query, "query must not be null");
         this.returning = requireNonNull(returning, "returning must not be null");
     }
@@ -77,22 +95,24 @@ public final class PreparedTextQueryMessage extends AtomicReference<MySqlParamet
         requireNonNull(context, "context must not be null");
 
         Charset charset = context.getClientCollation().getCharset();
-        Flux<MySqlParameter> parameters = Flux.defer(() -> {
-            MySqlParameter[] values = getAndSet(null);
 
-            if (values == null) {
-                return Flux.error(new IllegalStateException("Parameters have been disposed"));
-            }
+        return Mono.defer(() -> {
+            ByteBuf buf = allocator.buffer().writeByte(TextQueryMessage.QUERY_FLAG);
 
-            return Flux.fromArray(values);
-        });
-
-        return ParamWriter.publish(context.isNoBackslashEscapes(), query, parameters).handle((it, sink) -> {
-            ByteBuf buf = allocator.buffer();
+            if (!prefix.isEmpty()) {
+                try {
+                    buf.writeCharSequence(prefix, charset);
+                    buf.writeByte(';');
+                } catch (Throwable e) {
+                    buf.release();
+                    return Mono.error(e);
+                }
+            }
 
+            // Write parameters to the buffer directly, without formatting the statement as a String.
+            return ParamWriter.publish(context.isNoBackslashEscapes(), query, parameters(), buf, charset);
+        }).handle((buf, sink) -> {
             try {
-                buf.writeByte(TextQueryMessage.QUERY_FLAG).writeCharSequence(it, charset);
-
                 if (!returning.isEmpty()) {
                     buf.writeCharSequence(" RETURNING ", charset);
                     buf.writeCharSequence(returning, charset);
@@ -107,6 +127,32 @@ public final class PreparedTextQueryMessage extends AtomicReference<MySqlParamet
         });
     }
 
+    /**
+     * Publishes the statement with parameters formatted, without the prefix and the {@code RETURNING} clause. The
+     * parameters will be consumed, so it can be called only once, and it should not be encoded after calling it.
+     *
+     * @param context current MySQL connection context.
+     * @return a {@link Mono} that's produces the formatted statement.
+     * @throws IllegalArgumentException if {@code context} is {@code null}.
+     */
+    public Mono<String> publishSql(ConnectionContext context) {
+        requireNonNull(context, "context must not be null");
+
+        return ParamWriter.publish(context.isNoBackslashEscapes(), query, parameters());
+    }
+
+    private Flux<MySqlParameter> parameters() {
+        return Flux.defer(() -> {
+            MySqlParameter[] values = getAndSet(null);
+
+            if (values == null) {
+                return Flux.error(new IllegalStateException("Parameters have been disposed"));
+            }
+
+            return Flux.fromArray(values);
+        });
+    }
+
     @Override
     public String toString() {
         return "PreparedTextQueryMessage{sql=REDACTED}";
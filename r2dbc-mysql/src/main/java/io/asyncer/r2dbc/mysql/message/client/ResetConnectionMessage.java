@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.message.client;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * A singleton request message to reset the session state of the connection, e.g. rollback the active transaction,
+ * reinitialize session variables and deallocate prepared statements.  It does not re-authenticate.
+ *
+ * @since 1.3.2
+ */
+public final class ResetConnectionMessage extends SizedClientMessage {
+
+    private static final int RESET_CONNECTION_FLAG = 0x1F;
+
+    /**
+     * The instance of the singleton class.
+     */
+    public static final ResetConnectionMessage INSTANCE = new ResetConnectionMessage();
+
+    @Override
+    protected int size() {
+        return Byte.BYTES;
+    }
+
+    @Override
+    protected void writeTo(ByteBuf buf) {
+        buf.writeByte(RESET_CONNECTION_FLAG);
+    }
+
+    @Override
+    public String toString() {
+        return "ResetConnectionMessage{}";
+    }
+
+    private ResetConnectionMessage() { }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.message.server;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Function;
+
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
+
+/**
+ * Cached column metadata of results of a prepared statement, it is reused by following executions of the same
+ * statement.
+ * <p>
+ * The server sends column definitions on each execution, they will not be decoded again if their bytes are
+ * unchanged.  MariaDB can skip sending unchanged column definitions if {@code MARIADB_CLIENT_CACHE_METADATA} is
+ * enabled, then the cached metadata will be used directly.
+ *
+ * @since 1.3.2
+ */
+public final class CachedResultMetadata {
+
+    private final DefinitionMetadataMessage[] messages;
+
+    /**
+     * The raw bytes of column definitions, or {@code null} if they are unknown, e.g. metadata of the prepare
+     * response.
+     */
+    @Nullable
+    private final byte[][] definitions;
+
+    @Nullable
+    private volatile Object descriptor;
+
+    CachedResultMetadata(DefinitionMetadataMessage[] messages, @Nullable byte[][] definitions) {
+        this.messages = messages;
+        this.definitions = definitions;
+    }
+
+    /**
+     * Gets the number of columns.
+     *
+     * @return the number of columns.
+     */
+    public int size() {
+        return messages.length;
+    }
+
+    /**
+     * Gets the descriptor of the metadata, it will be created by {@code creator} once and shared by all results
+     * with this metadata.
+     *
+     * @param creator the function to create the descriptor from column metadata.
+     * @param <T>     the type of the descriptor.
+     * @return the descriptor.
+     * @throws IllegalArgumentException if {@code creator} is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getDescriptor(Function<DefinitionMetadataMessage[], T> creator) {
+        requireNonNull(creator, "creator must not be null");
+
+        Object descriptor = this.descriptor;
+
+        if (descriptor == null) {
+            // Benign race, the descriptor is always created from the same metadata.
+            this.descriptor = descriptor = requireNonNull(creator.apply(messages), "descriptor must not be null");
+        }
+
+        return (T) descriptor;
+    }
+
+    /**
+     * Creates a metadata message which is skipped by the server.
+     *
+     * @return the metadata message of the cached columns.
+     */
+    public SyntheticMetadataMessage toMessage() {
+        return new SyntheticMetadataMessage(false, messages, null, this);
+    }
+
+    DefinitionMetadataMessage get(int index) {
+        return messages[index];
+    }
+
+    DefinitionMetadataMessage[] unwrap() {
+        return messages;
+    }
+
+    @Nullable
+    byte[] getDefinition(int index) {
+        byte[][] definitions = this.definitions;
+
+        return definitions == null ? null : definitions[index];
+    }
+
+    /**
+     * Checks if the bytes of a column definition are the same as the cached one.
+     *
+     * @param index the index of the column.
+     * @param buf   the column definition packet, its reader index will not be changed.
+     * @return if the column definition is unchanged.
+     */
+    boolean matches(int index, ByteBuf buf) {
+        byte[][] definitions = this.definitions;
+
+        if (definitions == null || index >= definitions.length) {
+            return false;
+        }
+
+        byte[] definition = definitions[index];
+        int size = buf.readableBytes();
+
+        return definition != null && definition.length == size &&
+            ByteBufUtil.equals(buf, buf.readerIndex(), Unpooled.wrappedBuffer(definition), 0, size);
+    }
+
+    @Override
+    public String toString() {
+        return "CachedResultMetadata{columns=" + messages.length + ", definitions=" +
+            (definitions == null ? "unknown" : "known") + '}';
+    }
+}
@@ -16,6 +16,8 @@
 
 package io.asyncer.r2dbc.mysql.message.server;
 
+import io.asyncer.r2dbc.mysql.Capability;
+import io.asyncer.r2dbc.mysql.ConnectionContext;
 import io.asyncer.r2dbc.mysql.internal.util.VarIntUtils;
 import io.netty.buffer.ByteBuf;
 
@@ -29,19 +31,42 @@ public final class ColumnCountMessage implements ServerMessage {
 
     private final int totalColumns;
 
-    private ColumnCountMessage(int totalColumns) {
+    private final boolean metadataFollows;
+
+    private ColumnCountMessage(int totalColumns, boolean metadataFollows) {
         require(totalColumns > 0, "totalColumns must be a positive integer");
 
         this.totalColumns = totalColumns;
+        this.metadataFollows = metadataFollows;
     }
 
     public int getTotalColumns() {
         return totalColumns;
     }
 
-    static ColumnCountMessage decode(ByteBuf buf) {
+    /**
+     * Checks if column metadata follows.  MariaDB skips column metadata of a prepared statement result if
+     * it is unchanged and {@code MARIADB_CLIENT_CACHE_METADATA} is enabled.
+     *
+     * @return if column metadata follows.
+     * @since 1.3.2
+     */
+    public boolean isMetadataFollows() {
+        return metadataFollows;
+    }
+
+    static ColumnCountMessage decode(ByteBuf buf, ConnectionContext context) {
         // JVM does NOT support arrays longer than Integer.MAX_VALUE
-        return new ColumnCountMessage(Math.toIntExact(VarIntUtils.readVarInt(buf)));
+        int totalColumns = Math.toIntExact(VarIntUtils.readVarInt(buf));
+        boolean metadataFollows = !isMetadataFlagged(context) || !buf.isReadable() || buf.readByte() != 0;
+
+        return new ColumnCountMessage(totalColumns, metadataFollows);
+    }
+
+    static boolean isMetadataFlagged(ConnectionContext context) {
+        Capability capability = context.getCapability();
+
+        return capability.isMariaDb() && capability.isCacheMetadata();
     }
 
     @Override
@@ -55,17 +80,16 @@ public final class ColumnCountMessage implements ServerMessage {
 
         ColumnCountMessage that = (ColumnCountMessage) o;
 
-        return totalColumns == that.totalColumns;
-
+        return totalColumns == that.totalColumns && metadataFollows == that.metadataFollows;
     }
 
     @Override
     public int hashCode() {
-        return totalColumns;
+        return 31 * totalColumns + (metadataFollows ? 1 : 0);
     }
 
     @Override
     public String toString() {
-        return "ColumnCountMessage{totalColumns=" + totalColumns + '}';
+        return "ColumnCountMessage{totalColumns=" + totalColumns + ", metadataFollows=" + metadataFollows + '}';
     }
 }
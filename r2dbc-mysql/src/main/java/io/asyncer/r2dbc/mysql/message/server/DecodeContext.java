@@ -16,6 +16,8 @@
 
 package io.asyncer.r2dbc.mysql.message.server;
 
+import org.jetbrains.annotations.Nullable;
+
 /**
  * Decode context with static creators.
  */
@@ -62,10 +64,39 @@ public interface DecodeContext {
      *
      * @param eofDeprecated if EOF is deprecated.
      * @param totalColumns  the number of total column metadata.
+     * @param binary        if rows are encoded by binary protocol.
+     * @return an instance for receive result.
+     */
+    static DecodeContext result(boolean eofDeprecated, int totalColumns, boolean binary) {
+        return new ResultDecodeContext(eofDeprecated, totalColumns, binary, null);
+    }
+
+    /**
+     * Get an instance of {@link DecodeContext} when receive a result of prepared statement executing, which
+     * reuses the cached column metadata if column definitions are unchanged.
+     *
+     * @param eofDeprecated if EOF is deprecated.
+     * @param totalColumns  the number of total column metadata.
+     * @param cached        the cached column metadata of the prepared statement, or {@code null} if not cached.
+     * @return an instance for receive result.
+     * @since 1.3.2
+     */
+    static DecodeContext preparedResult(boolean eofDeprecated, int totalColumns,
+        @Nullable CachedResultMetadata cached) {
+        return new ResultDecodeContext(eofDeprecated, totalColumns, true, cached);
+    }
+
+    /**
+     * Get an instance of {@link DecodeContext} when receive a result of prepared statement executing, which
+     * column metadata is skipped by the server.
+     *
+     * @param eofDeprecated if EOF is deprecated.
+     * @param cached        the cached column metadata of the prepared statement.
      * @return an instance for receive result.
+     * @since 1.3.2
      */
-    static DecodeContext result(boolean eofDeprecated, int totalColumns) {
-        return new ResultDecodeContext(eofDeprecated, totalColumns);
+    static DecodeContext cachedResult(boolean eofDeprecated, CachedResultMetadata cached) {
+        return new ResultDecodeContext(eofDeprecated, cached);
     }
 
     /**
@@ -18,6 +18,7 @@ package io.asyncer.r2dbc.mysql.message.server;
 
 import io.asyncer.r2dbc.mysql.ConnectionContext;
 import io.asyncer.r2dbc.mysql.collation.CharCollation;
+import io.asyncer.r2dbc.mysql.internal.util.StringInterner;
 import io.asyncer.r2dbc.mysql.internal.util.VarIntUtils;
 import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.Nullable;
@@ -153,8 +154,9 @@ public final class DefinitionMetadataMessage implements ServerMessage {
     private static DefinitionMetadataMessage decode320(ByteBuf buf, ConnectionContext context) {
         CharCollation collation = context.getClientCollation();
         Charset charset = collation.getCharset();
-        String table = readVarIntSizedString(buf, charset);
-        String column = readVarIntSizedString(buf, charset);
+        StringInterner names = context.getNames();
+        String table = readVarIntSizedString(buf, charset, names);
+        String column = readVarIntSizedString(buf, charset, names);
 
         buf.skipBytes(1); // Constant 0x3
         int size = buf.readUnsignedMediumLE();
@@ -175,16 +177,17 @@ public final class DefinitionMetadataMessage implements ServerMessage {
 
         CharCollation collation = context.getClientCollation();
         Charset charset = collation.getCharset();
-        String database = readVarIntSizedString(buf, charset);
-        String table = readVarIntSizedString(buf, charset);
-        String originTable = readVarIntSizedString(buf, charset);
-        String column = readVarIntSizedString(buf, charset);
-        String originColumn = readVarIntSizedString(buf, charset);
+        StringInterner names = context.getNames();
+        String database = readVarIntSizedString(buf, charset, names);
+        String table = readVarIntSizedString(buf, charset, names);
+        String originTable = readVarIntSizedString(buf, charset, names);
+        String column = readVarIntSizedString(buf, charset, names);
+        String originColumn = readVarIntSizedString(buf, charset, names);
 
         String extendTypeInfo = null;
         if (context.getCapability().isMariaDb() &&  context.getCapability().isExtendedTypeInfo()) {
             buf.readUnsignedByte();
-            extendTypeInfo = readVarIntSizedString(buf, charset);
+            extendTypeInfo = readVarIntSizedString(buf, charset, names);
         }
 
         // Skip constant 0x0c encoded by var integer
@@ -199,17 +202,11 @@ public final class DefinitionMetadataMessage implements ServerMessage {
             extendTypeInfo, collationId, size, typeId, definitions, buf.readUnsignedByte());
     }
 
-    private static String readVarIntSizedString(ByteBuf buf, Charset charset) {
+    private static String readVarIntSizedString(ByteBuf buf, Charset charset, StringInterner names) {
         // JVM does NOT support strings longer than Integer.MAX_VALUE
         int bytes = (int) VarIntUtils.readVarInt(buf);
 
-        if (bytes == 0) {
-            return "";
-        }
-
-        String result = buf.toString(buf.readerIndex(), bytes, charset);
-        buf.skipBytes(bytes);
-
-        return result;
+        // Names are repeated in results of the same query, decode them only if they are not interned.
+        return names.read(buf, bytes, charset);
     }
 }
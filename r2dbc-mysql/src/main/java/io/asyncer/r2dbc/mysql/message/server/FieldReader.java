@@ -20,6 +20,7 @@ import io.asyncer.r2dbc.mysql.internal.util.NettyBufferUtils;
 import io.asyncer.r2dbc.mysql.message.FieldValue;
 import io.netty.buffer.ByteBuf;
 import io.netty.util.ReferenceCounted;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
@@ -55,6 +56,15 @@ interface FieldReader extends ReferenceCounted {
 
     FieldValue readVarIntSizedField();
 
+    /**
+     * Get the buffer which contains all fields, it is used to read fields by offsets without slicing.
+     *
+     * @return the buffer, or {@code null} if fields are split into multiple buffers, i.e. the total size of fields is
+     * greater than {@link Integer#MAX_VALUE}.
+     */
+    @Nullable
+    ByteBuf getBuffer();
+
     @SuppressWarnings("ForLoopReplaceableByForEach")
     static FieldReader of(List<ByteBuf> buffers) {
         int size = buffers.size();
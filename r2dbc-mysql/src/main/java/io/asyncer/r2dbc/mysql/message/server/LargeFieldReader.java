@@ -28,6 +28,7 @@ import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.util.AbstractReferenceCounted;
 import io.netty.util.ReferenceCountUtil;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -73,6 +74,12 @@ final class LargeFieldReader extends AbstractReferenceCounted implements FieldRe
         return readBytes(buf, length);
     }
 
+    @Nullable
+    @Override
+    public ByteBuf getBuffer() {
+        return null;
+    }
+
     @Override
     public FieldValue readSizeFixedField(int length) {
         require(length > 0, "length must be a positive integer");
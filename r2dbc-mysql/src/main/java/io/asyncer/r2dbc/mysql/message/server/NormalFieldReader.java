@@ -65,6 +65,11 @@ final class NormalFieldReader implements FieldReader {
         return new NormalFieldValue(readVarIntSizedRetained(buf));
     }
 
+    @Override
+    public ByteBuf getBuffer() {
+        return buf;
+    }
+
     @Override
     public int refCnt() {
         return buf.refCnt();
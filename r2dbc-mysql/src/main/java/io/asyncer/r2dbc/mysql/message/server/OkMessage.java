@@ -155,6 +155,21 @@ public final class OkMessage implements WarningMessage, ServerStatusMessage, Com
             "}";
     }
 
+    /**
+     * Creates a synthetic {@link OkMessage} for the result of a parameter set in a batch which is executed as a
+     * whole, e.g. a bulk execution or a rewritten multi-row {@code INSERT} statement.
+     *
+     * @param affectedRows   the affected rows of the parameter set.
+     * @param lastInsertId   the auto-generated id of the parameter set.
+     * @param serverStatuses the server statuses.
+     * @param warnings       the warnings count.
+     * @return the synthetic {@link OkMessage}.
+     */
+    public static OkMessage synthetic(long affectedRows, long lastInsertId, short serverStatuses, int warnings) {
+        return new OkMessage(false, affectedRows, lastInsertId, serverStatuses, warnings, "",
+            Collections.emptyMap());
+    }
+
     static boolean isValidSize(int bytes) {
         return bytes >= MIN_SIZE;
     }
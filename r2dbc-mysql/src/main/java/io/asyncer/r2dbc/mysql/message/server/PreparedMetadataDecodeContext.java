@@ -68,7 +68,8 @@ final class PreparedMetadataDecodeContext extends MetadataDecodeContext {
             return new SyntheticMetadataMessage(false, paramMetadata, eof);
         } else if (index == paramMetadata.length + colMetadata.length) {
             inMetadata = false;
-            return new SyntheticMetadataMessage(true, colMetadata, eof);
+            // Executions of the statement may reuse the column metadata.
+            return new SyntheticMetadataMessage(true, colMetadata, eof, new CachedResultMetadata(colMetadata, null));
         } else {
             return null;
         }
@@ -17,6 +17,9 @@
 package io.asyncer.r2dbc.mysql.message.server;
 
 
+import io.asyncer.r2dbc.mysql.ConnectionContext;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.concurrent.atomic.AtomicInteger;
@@ -28,18 +31,61 @@ import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.require;
  */
 final class ResultDecodeContext extends MetadataDecodeContext {
 
+    private static final short ID_TINYBLOB = 249;
+
+    private static final short ID_BLOB = 252;
+
     private final DefinitionMetadataMessage[] metadataMessages;
 
+    private final boolean binary;
+
+    /**
+     * The cached column metadata of the prepared statement, or {@code null} if it is not cached.
+     */
+    @Nullable
+    private final CachedResultMetadata cached;
+
+    /**
+     * The raw bytes of column definitions for caching, or {@code null} if it is not a prepared statement result.
+     */
+    @Nullable
+    private final byte[][] definitions;
+
     private final AtomicInteger columns = new AtomicInteger();
 
+    /**
+     * If all column definitions received are the same as the cached metadata.
+     */
+    private boolean unchanged;
+
     private boolean inMetadata = true;
 
-    ResultDecodeContext(boolean eofDeprecated, int totalColumns) {
+    ResultDecodeContext(boolean eofDeprecated, int totalColumns, boolean binary,
+        @Nullable CachedResultMetadata cached) {
         super(eofDeprecated);
 
         require(totalColumns > 0, "result must has least 1 column");
 
         this.metadataMessages = new DefinitionMetadataMessage[totalColumns];
+        this.binary = binary;
+        // Only results of prepared statements use the binary protocol.
+        this.cached = cached == null || cached.size() != totalColumns ? null : cached;
+        this.definitions = binary ? new byte[totalColumns][] : null;
+        this.unchanged = this.cached != null;
+    }
+
+    /**
+     * Creates a context which column metadata is skipped by the server, uses the cached metadata instead.
+     *
+     * @param eofDeprecated if EOF is deprecated, otherwise an EOF message will be received.
+     * @param cached        the cached column metadata.
+     */
+    ResultDecodeContext(boolean eofDeprecated, CachedResultMetadata cached) {
+        this(eofDeprecated, cached.size(), true, cached);
+
+        System.arraycopy(cached.unwrap(), 0, this.metadataMessages, 0, this.metadataMessages.length);
+        this.columns.set(this.metadataMessages.length);
+        this.inMetadata = !eofDeprecated;
     }
 
     @Override
@@ -52,13 +98,104 @@ final class ResultDecodeContext extends MetadataDecodeContext {
         return inMetadata;
     }
 
+    boolean isBinary() {
+        return binary;
+    }
+
+    int getTotalColumns() {
+        return metadataMessages.length;
+    }
+
+    /**
+     * Checks if a column is a {@code BLOB} or {@code TEXT}, i.e. from {@code TINYBLOB} to {@code BLOB}.
+     *
+     * @param index the index of the column.
+     * @return if it is a LOB column.
+     */
+    boolean isLob(int index) {
+        short typeId = metadataMessages[index].getTypeId();
+
+        return typeId >= ID_TINYBLOB && typeId <= ID_BLOB;
+    }
+
+    /**
+     * Gets the fixed byte size of a column in the binary protocol, same as {@code MySqlType#getBinarySize()}.
+     *
+     * @param index the index of the column.
+     * @return the fixed size, or {@literal 0} if there is no fixed size.
+     */
+    int getBinarySize(int index) {
+        switch (metadataMessages[index].getTypeId()) {
+            case 1: // TINYINT
+                return Byte.BYTES;
+            case 2: // SMALLINT
+            case 13: // YEAR
+                return Short.BYTES;
+            case 3: // INT
+            case 9: // MEDIUMINT
+                return Integer.BYTES;
+            case 4: // FLOAT
+                return Float.BYTES;
+            case 5: // DOUBLE
+                return Double.BYTES;
+            case 8: // BIGINT
+                return Long.BYTES;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Decodes the next column definition, or reuses the cached one if its bytes are unchanged.
+     *
+     * @param buf     the column definition packet.
+     * @param context the connection context.
+     * @return the column definition.
+     */
+    DefinitionMetadataMessage decodeDefinition(ByteBuf buf, ConnectionContext context) {
+        int index = columns.get();
+        CachedResultMetadata cached = this.cached;
+        byte[][] definitions = this.definitions;
+        boolean cacheable = definitions != null && index < definitions.length;
+
+        if (cached != null && cached.matches(index, buf)) {
+            if (cacheable) {
+                definitions[index] = cached.getDefinition(index);
+            }
+
+            return cached.get(index);
+        }
+
+        this.unchanged = false;
+
+        if (cacheable) {
+            definitions[index] = ByteBufUtil.getBytes(buf);
+        }
+
+        return DefinitionMetadataMessage.decode(buf, context);
+    }
+
     @Override
     protected SyntheticMetadataMessage checkComplete(int index, @Nullable EofMessage eof) {
         if (index == metadataMessages.length) {
             inMetadata = false;
 
             // In results, row metadata has filled-up does not means complete. (has rows or OK/EOF following)
-            return new SyntheticMetadataMessage(false, metadataMessages, eof);
+            CachedResultMetadata cached = this.cached;
+
+            if (unchanged && cached != null) {
+                // Same array as the cached one, so the descriptor can be reused.
+                return new SyntheticMetadataMessage(false, cached.unwrap(), eof, cached);
+            }
+
+            byte[][] definitions = this.definitions;
+
+            if (definitions == null) {
+                return new SyntheticMetadataMessage(false, metadataMessages, eof);
+            }
+
+            return new SyntheticMetadataMessage(false, metadataMessages, eof,
+                new CachedResultMetadata(metadataMessages, definitions));
         }
 
         return null;
@@ -18,8 +18,13 @@ package io.asyncer.r2dbc.mysql.message.server;
 
 import io.asyncer.r2dbc.mysql.api.MySqlReadableMetadata;
 import io.asyncer.r2dbc.mysql.internal.util.NettyBufferUtils;
+import io.asyncer.r2dbc.mysql.internal.util.VarIntUtils;
+import io.asyncer.r2dbc.mysql.message.CompactRowValue;
 import io.asyncer.r2dbc.mysql.message.FieldValue;
+import io.asyncer.r2dbc.mysql.message.StreamingFieldValue;
+import io.netty.buffer.ByteBuf;
 import io.netty.util.ReferenceCounted;
+import org.jetbrains.annotations.Nullable;
 
 import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
 
@@ -34,8 +39,19 @@ public final class RowMessage implements ReferenceCounted, ServerMessage {
 
     private final FieldReader reader;
 
+    /**
+     * The last field which is still arriving, the {@link #reader} contains fields before it.
+     */
+    @Nullable
+    private final StreamingFieldValue streaming;
+
     RowMessage(FieldReader reader) {
+        this(reader, null);
+    }
+
+    RowMessage(FieldReader reader, @Nullable StreamingFieldValue streaming) {
         this.reader = requireNonNull(reader, "reader must not be null");
+        this.streaming = streaming;
     }
 
     /**
@@ -49,12 +65,67 @@ public final class RowMessage implements ReferenceCounted, ServerMessage {
         return isBinary ? binary(context) : text(context.length);
     }
 
+    /**
+     * Decode this message to a {@link CompactRowValue}, which retains the buffer of this message once instead of
+     * retaining a slice for each field.
+     * <p>
+     * A row split across multiple packets is still decoded compactly, because its packets are combined into one
+     * buffer.  It falls back only if the fields can not be held by one buffer, i.e. the total size of the row is
+     * greater than {@link Integer#MAX_VALUE}, or if the last field of the row is streaming.
+     *
+     * @param isBinary if decode with binary protocol.
+     * @param context  information context array.
+     * @return the {@link CompactRowValue}, or {@code null} if it should fall back to {@link #decode}.
+     */
+    @Nullable
+    public CompactRowValue decodeCompact(boolean isBinary, MySqlReadableMetadata[] context) {
+        ByteBuf buf = reader.getBuffer();
+
+        if (buf == null || streaming != null) {
+            return null;
+        }
+
+        int[] fields = isBinary ? compactBinary(buf, context) : compactText(buf, context.length);
+
+        return new CompactRowValue(buf.retain(), fields);
+    }
+
+    /**
+     * Decode this message as a row of MariaDB bulk unit results. The row contains the auto-generated id and the
+     * affected rows of a parameter set, both of them are {@code BIGINT} in binary protocol.
+     *
+     * @param serverStatuses the server statuses of the synthetic {@link OkMessage}.
+     * @return the {@link OkMessage} of the parameter set.
+     */
+    public OkMessage decodeBulkUnitResult(short serverStatuses) {
+        reader.skipOneByte(); // constant 0x00
+
+        byte nullBitmap = reader.readSizeFixedBytes(1)[0];
+        long lastInsertId = (nullBitmap & BIT_MASK_INIT) == 0 ? readLongLE() : 0;
+        long affectedRows = (nullBitmap & (BIT_MASK_INIT << 1)) == 0 ? readLongLE() : 0;
+
+        return OkMessage.synthetic(affectedRows, lastInsertId, serverStatuses, 0);
+    }
+
+    private long readLongLE() {
+        byte[] bytes = reader.readSizeFixedBytes(Long.BYTES);
+        long value = 0;
+
+        for (int i = Long.BYTES - 1; i >= 0; --i) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+
+        return value;
+    }
+
     private FieldValue[] text(int size) {
         FieldValue[] fields = new FieldValue[size];
 
         try {
             for (int i = 0; i < size; ++i) {
-                if (NULL_VALUE == reader.getUnsignedByte()) {
+                if (streaming != null && i + 1 == size) {
+                    fields[i] = streaming.retain();
+                } else if (NULL_VALUE == reader.getUnsignedByte()) {
                     reader.skipOneByte();
                     fields[i] = FieldValue.nullField();
                 } else {
@@ -69,6 +140,68 @@ public final class RowMessage implements ReferenceCounted, ServerMessage {
         }
     }
 
+    private static int[] compactText(ByteBuf buf, int size) {
+        int[] fields = new int[size << 1];
+
+        for (int i = 0; i < size; ++i) {
+            if (NULL_VALUE == buf.getUnsignedByte(buf.readerIndex())) {
+                buf.skipBytes(Byte.BYTES);
+                fields[i << 1] = -1;
+            } else {
+                readVarIntSizedField(buf, fields, i);
+            }
+        }
+
+        return fields;
+    }
+
+    private static int[] compactBinary(ByteBuf buf, MySqlReadableMetadata[] context) {
+        buf.skipBytes(Byte.BYTES); // constant 0x00
+
+        int size = context.length;
+        int bitmapStart = buf.readerIndex();
+        int bitmapIndex = 0;
+        byte bitMask = BIT_MASK_INIT;
+        int[] fields = new int[size << 1];
+
+        buf.skipBytes((size + 9) >> 3);
+
+        for (int i = 0; i < size; ++i) {
+            if ((buf.getByte(bitmapStart + bitmapIndex) & bitMask) != 0) {
+                fields[i << 1] = -1;
+            } else {
+                int bytes = context[i].getType().getBinarySize();
+
+                if (bytes > 0) {
+                    fields[i << 1] = buf.readerIndex();
+                    fields[(i << 1) + 1] = bytes;
+                    buf.skipBytes(bytes);
+                } else {
+                    readVarIntSizedField(buf, fields, i);
+                }
+            }
+
+            bitMask <<= 1;
+
+            // Same as binary(context), circular left shift 1-bit.
+            if ((bitMask & 0xFF) == 0) {
+                bitMask = 1;
+                ++bitmapIndex;
+            }
+        }
+
+        return fields;
+    }
+
+    private static void readVarIntSizedField(ByteBuf buf, int[] fields, int i) {
+        // Normal field will NEVER be greater than Integer.MAX_VALUE.
+        int length = (int) VarIntUtils.readVarInt(buf);
+
+        fields[i << 1] = buf.readerIndex();
+        fields[(i << 1) + 1] = length;
+        buf.skipBytes(length);
+    }
+
     private FieldValue[] binary(MySqlReadableMetadata[] context) {
         reader.skipOneByte(); // constant 0x00
 
@@ -81,7 +214,9 @@ public final class RowMessage implements ReferenceCounted, ServerMessage {
 
         try {
             for (int i = 0; i < size; ++i) {
-                if ((nullBitmap[bitmapIndex] & bitMask) != 0) {
+                if (streaming != null && i + 1 == size) {
+                    fields[i] = streaming.retain();
+                } else if ((nullBitmap[bitmapIndex] & bitMask) != 0) {
                     fields[i] = FieldValue.nullField();
                 } else {
                     int bytes = context[i].getType().getBinarySize();
@@ -118,12 +253,22 @@ public final class RowMessage implements ReferenceCounted, ServerMessage {
     @Override
     public RowMessage retain() {
         reader.retain();
+
+        if (streaming != null) {
+            streaming.retain();
+        }
+
         return this;
     }
 
     @Override
     public RowMessage retain(int increment) {
         reader.retain(increment);
+
+        if (streaming != null) {
+            streaming.retain(increment);
+        }
+
         return this;
     }
 
@@ -141,11 +286,20 @@ public final class RowMessage implements ReferenceCounted, ServerMessage {
 
     @Override
     public boolean release() {
+        // The streaming field has the same references as this message.
+        if (streaming != null) {
+            streaming.release();
+        }
+
         return reader.release();
     }
 
     @Override
     public boolean release(int decrement) {
+        if (streaming != null) {
+            streaming.release(decrement);
+        }
+
         return reader.release(decrement);
     }
 
@@ -170,4 +324,87 @@ public final class RowMessage implements ReferenceCounted, ServerMessage {
     public String toString() {
         return "RowMessage(encoded)";
     }
+
+    /**
+     * Finds the var-integer header of the last field in the first packet of a row which exceeds a single packet.
+     * The last field can be streamed only if all fields before it and its header are contained in the packet.
+     *
+     * @param buf     the first packet of the row.
+     * @param context the result decode context which contains column definitions.
+     * @return the index of the header, or {@literal -1} if the last field cannot be streamed.
+     */
+    static int streamingFieldIndex(ByteBuf buf, ResultDecodeContext context) {
+        boolean isBinary = context.isBinary();
+        int size = context.getTotalColumns();
+
+        if (!context.isLob(size - 1)) {
+            return -1;
+        }
+
+        ByteBuf walker = buf.duplicate();
+        int bitmapStart = 0;
+        int bitmapIndex = 0;
+        byte bitMask = BIT_MASK_INIT;
+
+        if (isBinary) {
+            bitmapStart = walker.readerIndex() + Byte.BYTES; // after constant 0x00
+
+            if (walker.skipBytes(Byte.BYTES).readableBytes() < (size + 9) >> 3) {
+                return -1;
+            }
+
+            walker.skipBytes((size + 9) >> 3);
+        }
+
+        for (int i = 0; i < size; ++i) {
+            boolean isNull;
+
+            if (isBinary) {
+                isNull = (walker.getByte(bitmapStart + bitmapIndex) & bitMask) != 0;
+                bitMask <<= 1;
+
+                if ((bitMask & 0xFF) == 0) {
+                    bitMask = 1;
+                    ++bitmapIndex;
+                }
+            } else {
+                isNull = walker.isReadable() && NULL_VALUE == walker.getUnsignedByte(walker.readerIndex());
+
+                if (isNull) {
+                    walker.skipBytes(Byte.BYTES);
+                }
+            }
+
+            if (i + 1 == size) {
+                // The last field should be non-null and its header should be contained.
+                return isNull || VarIntUtils.checkNextVarInt(walker) < 0 ? -1 : walker.readerIndex();
+            } else if (isNull) {
+                continue;
+            }
+
+            int bytes = isBinary ? context.getBinarySize(i) : 0;
+
+            if (bytes <= 0) {
+                if (VarIntUtils.checkNextVarInt(walker) < 0) {
+                    return -1;
+                }
+
+                long length = VarIntUtils.readVarInt(walker);
+
+                if (length < 0 || length > walker.readableBytes()) {
+                    return -1;
+                }
+
+                bytes = (int) length;
+            }
+
+            if (bytes > walker.readableBytes()) {
+                return -1;
+            }
+
+            walker.skipBytes(bytes);
+        }
+
+        return -1;
+    }
 }
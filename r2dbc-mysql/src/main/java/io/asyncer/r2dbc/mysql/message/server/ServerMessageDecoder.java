@@ -20,6 +20,7 @@ import io.asyncer.r2dbc.mysql.ConnectionContext;
 import io.asyncer.r2dbc.mysql.constant.Packets;
 import io.asyncer.r2dbc.mysql.internal.util.NettyBufferUtils;
 import io.asyncer.r2dbc.mysql.internal.util.VarIntUtils;
+import io.asyncer.r2dbc.mysql.message.StreamingFieldValue;
 import io.netty.buffer.ByteBuf;
 import io.netty.util.ReferenceCountUtil;
 import io.r2dbc.spi.R2dbcNonTransientResourceException;
@@ -55,6 +56,28 @@ public final class ServerMessageDecoder {
 
     private final List<ByteBuf> parts = new ArrayList<>();
 
+    private final Runnable onDrain;
+
+    /**
+     * The last field of a row which is still arriving, following packets will be offered to it.
+     */
+    @Nullable
+    private StreamingFieldValue streaming;
+
+    public ServerMessageDecoder() {
+        this(() -> { });
+    }
+
+    /**
+     * Creates a decoder with a hook which is called when a streaming field is drained, it may be called by any
+     * thread.
+     *
+     * @param onDrain the hook to resume reading.
+     */
+    public ServerMessageDecoder(Runnable onDrain) {
+        this.onDrain = requireNonNull(onDrain, "onDrain must not be null");
+    }
+
     /**
      * Decode a server-side message from {@link #parts} and current envelope.
      *
@@ -69,20 +92,64 @@ public final class ServerMessageDecoder {
         requireNonNull(context, "context must not be null");
         requireNonNull(decodeContext, "decodeContext must not be null");
 
-        parts.add(payload);
+        StreamingFieldValue streaming = this.streaming;
+
+        if (streaming != null) {
+            boolean last = payload.readableBytes() != Packets.MAX_PAYLOAD_SIZE;
+
+            streaming.offer(payload);
+
+            if (last) {
+                this.streaming = null;
+                streaming.complete();
+            }
+
+            return null;
+        }
 
         if (payload.readableBytes() == Packets.MAX_PAYLOAD_SIZE) {
+            if (parts.isEmpty() && context.isLobStreaming()) {
+                RowMessage row = decodeStreaming(payload, decodeContext);
+
+                if (row != null) {
+                    return row;
+                }
+            }
+
+            parts.add(payload);
+
             // Not last packet.
             return null;
         }
 
+        parts.add(payload);
+
         return decodeMessage(parts, context, decodeContext);
     }
 
+    /**
+     * Checks if a streaming field has too many buffers that are not consumed, so reading should be suspended.
+     *
+     * @return if it is backlogged.
+     */
+    public boolean isBacklogged() {
+        StreamingFieldValue streaming = this.streaming;
+
+        return streaming != null && streaming.isBacklogged();
+    }
+
     /**
      * Dispose the underlying resource.
      */
     public void dispose() {
+        StreamingFieldValue streaming = this.streaming;
+
+        if (streaming != null) {
+            this.streaming = null;
+            streaming.error(new R2dbcNonTransientResourceException(
+                "Connection closed before the streaming field is completed"));
+        }
+
         if (parts.isEmpty()) {
             return;
         }
@@ -91,6 +158,38 @@ public final class ServerMessageDecoder {
         parts.clear();
     }
 
+    /**
+     * Decodes the first packet of a row which exceeds a single packet, and emits the row early if its last field
+     * can be streamed.
+     *
+     * @param payload       the first packet of the row.
+     * @param decodeContext the decode context.
+     * @return the row which last field is streaming, or {@code null} if it should be collected entirely.
+     */
+    @Nullable
+    private RowMessage decodeStreaming(ByteBuf payload, DecodeContext decodeContext) {
+        if (!(decodeContext instanceof ResultDecodeContext) ||
+            ((ResultDecodeContext) decodeContext).isInMetadata()) {
+            return null;
+        }
+
+        int index = RowMessage.streamingFieldIndex(payload, (ResultDecodeContext) decodeContext);
+
+        if (index < 0) {
+            return null;
+        }
+
+        StreamingFieldValue field = new StreamingFieldValue(onDrain);
+        ByteBuf fields = payload.retainedSlice(payload.readerIndex(), index - payload.readerIndex());
+
+        // The remaining of the packet is the first part of the last field.
+        VarIntUtils.readVarInt(payload.readerIndex(index));
+        field.offer(payload);
+        this.streaming = field;
+
+        return new RowMessage(new NormalFieldReader(fields), field);
+    }
+
     @Nullable
     private static ServerMessage decodeMessage(List<ByteBuf> buffers, ConnectionContext context,
         DecodeContext decodeContext) {
@@ -229,10 +328,13 @@ public final class ServerMessageDecoder {
                 break;
         }
 
-        if (VarIntUtils.checkNextVarInt(buf) == 0) {
+        int remaining = VarIntUtils.checkNextVarInt(buf);
+
+        if (remaining == 0 || (remaining == 1 && ColumnCountMessage.isMetadataFlagged(context))) {
             // EOF message must be 5-bytes, it will never be looks like a var integer.
             // It looks like has only a var integer, should be column count.
-            return ColumnCountMessage.decode(buf);
+            // MariaDB may append a flag byte which indicates if column metadata follows.
+            return ColumnCountMessage.decode(buf, context);
         }
 
         throw new R2dbcNonTransientResourceException("Unknown message header 0x" +
@@ -359,6 +461,8 @@ public final class ServerMessageDecoder {
 
         if (EOF == header && EofMessage.isValidSize(buf.readableBytes())) {
             message = EofMessage.decode(buf);
+        } else if (decodeContext instanceof ResultDecodeContext) {
+            message = ((ResultDecodeContext) decodeContext).decodeDefinition(buf, context);
         } else {
             message = DefinitionMetadataMessage.decode(buf, context);
         }
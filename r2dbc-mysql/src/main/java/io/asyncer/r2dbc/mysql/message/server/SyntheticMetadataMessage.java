@@ -41,11 +41,20 @@ public final class SyntheticMetadataMessage implements ServerMessage {
     @Nullable
     private final EofMessage eof;
 
+    @Nullable
+    private final CachedResultMetadata cached;
+
     SyntheticMetadataMessage(boolean completed, DefinitionMetadataMessage[] messages,
         @Nullable EofMessage eof) {
+        this(completed, messages, eof, null);
+    }
+
+    SyntheticMetadataMessage(boolean completed, DefinitionMetadataMessage[] messages,
+        @Nullable EofMessage eof, @Nullable CachedResultMetadata cached) {
         this.completed = completed;
         this.messages = requireNonNull(messages, "messages must not be null");
         this.eof = eof;
+        this.cached = cached;
     }
 
     public DefinitionMetadataMessage[] unwrap() {
@@ -61,6 +70,19 @@ public final class SyntheticMetadataMessage implements ServerMessage {
         return eof;
     }
 
+    /**
+     * Gets the cacheable column metadata of a prepared statement, which contains the same columns as
+     * {@link #unwrap()}.
+     *
+     * @return the cacheable column metadata, or {@code null} if it is not column metadata of a prepared
+     * statement.
+     * @since 1.3.2
+     */
+    @Nullable
+    public CachedResultMetadata getCached() {
+        return cached;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
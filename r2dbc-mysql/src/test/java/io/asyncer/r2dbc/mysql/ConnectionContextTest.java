@@ -16,14 +16,17 @@
 
 package io.asyncer.r2dbc.mysql;
 
+import io.asyncer.r2dbc.mysql.api.MySqlTransactionDefinition;
 import io.asyncer.r2dbc.mysql.cache.Caches;
 import io.asyncer.r2dbc.mysql.constant.ServerStatuses;
-import io.asyncer.r2dbc.mysql.constant.ZeroDateOption;
 import io.r2dbc.spi.IsolationLevel;
+import io.r2dbc.spi.TransactionDefinition;
+import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
 import java.time.ZoneId;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
@@ -37,9 +40,7 @@ public class ConnectionContextTest {
     void getTimeZone() {
         for (int i = -12; i <= 12; ++i) {
             String id = i < 0 ? "UTC" + i : "UTC+" + i;
-            ConnectionContext context = new ConnectionContext(
-                ZeroDateOption.USE_NULL, null,
-                8192, true, ZoneId.of(id));
+            ConnectionContext context = create(ZoneId.of(id), builder -> { });
 
             assertThat(context.getTimeZone()).isEqualTo(ZoneId.of(id));
         }
@@ -47,15 +48,17 @@ public class ConnectionContextTest {
 
     @Test
     void setTwiceTimeZone() {
-        ConnectionContext context = new ConnectionContext(ZeroDateOption.USE_NULL, null,
-            8192, true, null);
+        ConnectionContext context = create(null, builder -> { });
 
         context.initSession(
             Caches.createPrepareCache(0),
             IsolationLevel.REPEATABLE_READ,
             false, Duration.ZERO,
             null,
-            ZoneId.systemDefault()
+            ZoneId.systemDefault(),
+            4194304,
+            1,
+            -1
         );
         assertThatIllegalStateException().isThrownBy(() -> context.initSession(
             Caches.createPrepareCache(0),
@@ -63,24 +66,130 @@ public class ConnectionContextTest {
             false,
             Duration.ZERO,
             null,
-            ZoneId.systemDefault()
+            ZoneId.systemDefault(),
+            4194304,
+            1,
+            -1
         ));
     }
 
     @Test
     void badSetTimeZone() {
-        ConnectionContext context = new ConnectionContext(ZeroDateOption.USE_NULL, null,
-            8192, true, ZoneId.systemDefault());
+        ConnectionContext context = create(ZoneId.systemDefault(), builder -> { });
         assertThatIllegalStateException().isThrownBy(() -> context.initSession(
             Caches.createPrepareCache(0),
             IsolationLevel.REPEATABLE_READ,
             false,
             Duration.ZERO,
             null,
-            ZoneId.systemDefault()
+            ZoneId.systemDefault(),
+            4194304,
+            1,
+            -1
         ));
     }
 
+    @Test
+    void statementDirty() {
+        ConnectionContext context = mock();
+
+        assertThat(context.clearStatementDirty(1)).isFalse();
+
+        context.markStatementDirty(1);
+        context.markStatementDirty(2);
+
+        assertThat(context.clearStatementDirty(1)).isTrue();
+        assertThat(context.clearStatementDirty(1)).isFalse();
+        assertThat(context.clearStatementDirty(2)).isTrue();
+    }
+
+    @Test
+    void bindParameterTypes() {
+        ConnectionContext context = mock();
+        short[] types = { 3, 253 };
+
+        assertThat(context.bindParameterTypes(1, types)).isTrue();
+        assertThat(context.bindParameterTypes(1, new short[] { 3, 253 })).isFalse();
+        assertThat(context.bindParameterTypes(1, new short[] { 8, 253 })).isTrue();
+        assertThat(context.bindParameterTypes(2, types)).isTrue();
+
+        context.markStatementDirty(1);
+        assertThat(context.clearStatementDirty(1)).isTrue();
+        assertThat(context.bindParameterTypes(1, types)).isTrue();
+
+        assertThat(context.bindParameterTypes(2, null)).isTrue();
+        assertThat(context.bindParameterTypes(2, types)).isTrue();
+
+        context.clearStatement(2);
+        assertThat(context.bindParameterTypes(2, types)).isTrue();
+    }
+
+    @Test
+    void pendingTransaction() {
+        ConnectionContext context = mock();
+
+        context.initSession(
+            Caches.createPrepareCache(0),
+            IsolationLevel.REPEATABLE_READ,
+            false,
+            Duration.ZERO,
+            null,
+            null,
+            4194304,
+            1,
+            -1
+        );
+
+        assertThat(context.isInTransaction()).isFalse();
+        assertThat(context.isAutoCommit()).isTrue();
+        assertThat(context.takePendingTransaction()).isNull();
+
+        TransactionDefinition definition = MySqlTransactionDefinition.from(IsolationLevel.READ_COMMITTED);
+
+        context.beginPendingTransaction(definition);
+
+        assertThat(context.isInTransaction()).isTrue();
+        assertThat(context.isAutoCommit()).isFalse();
+        assertThat(context.getCurrentIsolationLevel()).isEqualTo(IsolationLevel.READ_COMMITTED);
+        assertThat(context.takePendingTransaction()).isSameAs(definition);
+        assertThat(context.takePendingTransaction()).isNull();
+        assertThat(context.isInTransaction()).isFalse();
+    }
+
+    @Test
+    void resetSession() {
+        ConnectionContext context = mock();
+
+        context.initSession(
+            Caches.createPrepareCache(0),
+            IsolationLevel.REPEATABLE_READ,
+            true,
+            Duration.ofSeconds(50),
+            null,
+            null,
+            4194304,
+            1,
+            -1
+        );
+
+        assertThat(context.isResetConnectionSupported()).isTrue();
+        assertThat(context.isSessionChanged()).isFalse();
+
+        context.setSessionIsolationLevel(IsolationLevel.SERIALIZABLE);
+        context.setCurrentIsolationLevel(IsolationLevel.SERIALIZABLE);
+        context.setAllLockWaitTimeout(Duration.ofSeconds(5));
+        context.markSessionChanged();
+
+        assertThat(context.isSessionChanged()).isTrue();
+
+        context.resetSession();
+
+        assertThat(context.isSessionChanged()).isFalse();
+        assertThat(context.getSessionIsolationLevel()).isEqualTo(IsolationLevel.REPEATABLE_READ);
+        assertThat(context.getCurrentIsolationLevel()).isEqualTo(IsolationLevel.REPEATABLE_READ);
+        assertThat(context.getSessionLockWaitTimeout()).isEqualTo(Duration.ofSeconds(50));
+    }
+
     public static ConnectionContext mock() {
         return mock(false, ZoneId.systemDefault());
     }
@@ -90,8 +199,16 @@ public class ConnectionContextTest {
     }
 
     public static ConnectionContext mock(boolean isMariaDB, ZoneId zoneId) {
-        ConnectionContext context = new ConnectionContext(ZeroDateOption.USE_NULL, null,
-            8192, true, zoneId);
+        return mock(isMariaDB, zoneId, false);
+    }
+
+    public static ConnectionContext mock(boolean isMariaDB, ZoneId zoneId, boolean lobStreaming) {
+        return mock(isMariaDB, zoneId, builder -> builder.lobStreaming(lobStreaming));
+    }
+
+    public static ConnectionContext mock(boolean isMariaDB, @Nullable ZoneId zoneId,
+        Consumer<MySqlConnectionConfiguration.Builder> customizer) {
+        ConnectionContext context = create(zoneId, customizer);
 
         context.initHandshake(1, ServerVersion.parse(isMariaDB ? "11.2.22.MOCKED" : "8.0.11.MOCKED"),
             Capability.of(~(isMariaDB ? 1 : 0)));
@@ -99,4 +216,18 @@ public class ConnectionContextTest {
 
         return context;
     }
+
+    static ConnectionContext create(
+        @Nullable ZoneId zoneId,
+        Consumer<MySqlConnectionConfiguration.Builder> customizer
+    ) {
+        MySqlConnectionConfiguration.Builder builder = MySqlConnectionConfiguration.builder()
+            .host("localhost")
+            .user("root")
+            .autodetectExtensions(false);
+
+        customizer.accept(builder);
+
+        return new ConnectionContext(builder.build(), zoneId, null);
+    }
 }
@@ -17,6 +17,7 @@
 package io.asyncer.r2dbc.mysql;
 
 import io.asyncer.r2dbc.mysql.extension.Extension;
+import io.asyncer.r2dbc.mysql.extension.MetricsRecorder;
 import io.asyncer.r2dbc.mysql.json.JacksonCodecRegistrar;
 import org.junit.jupiter.api.Test;
 
@@ -26,6 +27,7 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 /**
  * Unit tests for {@link Extensions}.
@@ -51,6 +53,23 @@ class ExtensionsTest {
             .isEqualTo(Arrays.asList(manual));
     }
 
+    @Test
+    void metricsRecorder() {
+        MetricsRecorder first = mock(MetricsRecorder.class);
+        MetricsRecorder second = mock(MetricsRecorder.class);
+
+        assertThat(Extensions.from(Arrays.asList(manual), false).getMetricsRecorder()).isNull();
+        assertThat(Extensions.from(Arrays.asList(manual[0], first), false).getMetricsRecorder()).isSameAs(first);
+
+        MetricsRecorder composite = Extensions.from(Arrays.asList(first, manual[0], second), false)
+            .getMetricsRecorder();
+
+        assertThat(composite).isNotNull();
+        composite.recordRowsDecoded(3);
+        verify(first).recordRowsDecoded(3);
+        verify(second).recordRowsDecoded(3);
+    }
+
     private List<Extension> extract(Extensions extensions) {
         List<Extension> result = new ArrayList<>();
 
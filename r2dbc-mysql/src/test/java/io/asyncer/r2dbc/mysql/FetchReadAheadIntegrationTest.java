@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for reading ahead when fetching by cursor of {@link PrepareParameterizedStatement}.
+ */
+class FetchReadAheadIntegrationTest extends IntegrationTestSupport {
+
+    private static final String TDL = "CREATE TEMPORARY TABLE test(id INT PRIMARY KEY AUTO_INCREMENT,value INT)";
+
+    FetchReadAheadIntegrationTest() {
+        super(configuration(builder -> builder.useServerPrepareStatement().fetchReadAhead(true)));
+    }
+
+    @Test
+    void fetchSize() {
+        complete(connection -> Mono.from(connection.createStatement(TDL).execute())
+            .flatMap(IntegrationTestSupport::extractRowsUpdated)
+            .then(Mono.from(connection.createStatement("INSERT INTO test(`value`) VALUES (1),(2),(3),(4),(5)")
+                .execute()))
+            .flatMap(IntegrationTestSupport::extractRowsUpdated)
+            .thenMany(connection.createStatement("SELECT value FROM test WHERE id > ? ORDER BY id")
+                .bind(0, 0)
+                .add()
+                .bind(0, 1)
+                .add()
+                .bind(0, 5)
+                .add()
+                .bind(0, 3)
+                .fetchSize(2)
+                .execute())
+            .concatMap(r -> r.map((row, metadata) -> row.get(0, Integer.TYPE)))
+            .collectList()
+            // Rows of the second binding are exactly divided by the fetch size.
+            .doOnNext(it -> assertThat(it).isEqualTo(Arrays.asList(1, 2, 3, 4, 5, 2, 3, 4, 5, 4, 5))));
+    }
+
+    @Test
+    void queryAfterFetch() {
+        complete(connection -> Mono.from(connection.createStatement(TDL).execute())
+            .flatMap(IntegrationTestSupport::extractRowsUpdated)
+            .then(Mono.from(connection.createStatement("INSERT INTO test(`value`) VALUES (1),(2),(3)")
+                .execute()))
+            .flatMap(IntegrationTestSupport::extractRowsUpdated)
+            .thenMany(connection.createStatement("SELECT value FROM test WHERE id > ?")
+                .bind(0, 0)
+                .fetchSize(1)
+                .execute())
+            .concatMap(r -> r.map((row, metadata) -> row.get(0, Integer.TYPE)))
+            .then(Mono.from(connection.createStatement("SELECT COUNT(*) FROM test").execute()))
+            .flatMap(r -> Mono.from(r.map((row, metadata) -> row.get(0, Long.class))))
+            .doOnNext(it -> assertThat(it).isEqualTo(3L)));
+    }
+}
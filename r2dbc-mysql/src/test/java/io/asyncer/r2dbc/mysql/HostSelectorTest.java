@@ -0,0 +1,125 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.constant.HostSelection;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link HostSelector}.
+ */
+class HostSelectorTest {
+
+    private static final InetSocketAddress FIRST = InetSocketAddress.createUnresolved("first", 3306);
+
+    private static final InetSocketAddress SECOND = InetSocketAddress.createUnresolved("second", 3306);
+
+    private static final InetSocketAddress THIRD = InetSocketAddress.createUnresolved("third", 3306);
+
+    @Test
+    void sequential() {
+        HostSelector selector = selector(HostSelection.SEQUENTIAL, Duration.ofMinutes(1));
+        List<InetSocketAddress> tried = new ArrayList<>();
+
+        selector.connect(address -> {
+            tried.add(address);
+            return address == THIRD ? Mono.just(address) : Mono.error(new IllegalStateException("down"));
+        }, ignored -> Mono.never())
+            .as(StepVerifier::create)
+            .expectNext(THIRD)
+            .verifyComplete();
+
+        assertThat(tried).containsExactly(FIRST, SECOND, THIRD);
+        // Failed hosts are blacklisted, so they are tried after the healthy host.
+        assertThat(addresses(selector)).containsExactly(THIRD, FIRST, SECOND);
+    }
+
+    @Test
+    void allFailed() {
+        HostSelector selector = selector(HostSelection.SEQUENTIAL, Duration.ofMinutes(1));
+
+        selector.connect(address -> Mono.error(new IllegalStateException(address.getHostString())),
+                ignored -> Mono.never())
+            .as(StepVerifier::create)
+            .expectErrorSatisfies(e -> {
+                assertThat(e).hasMessage("third");
+                assertThat(e.getSuppressed()).extracting(Throwable::getMessage).containsExactly("first", "second");
+            })
+            .verify();
+    }
+
+    @Test
+    void recoverAfterBlacklist() {
+        HostSelector selector = selector(HostSelection.SEQUENTIAL, Duration.ZERO);
+
+        selector.connect(address -> address == FIRST ? Mono.error(new IllegalStateException("down")) :
+                Mono.just(address), ignored -> Mono.never())
+            .as(StepVerifier::create)
+            .expectNext(SECOND)
+            .verifyComplete();
+
+        assertThat(addresses(selector)).containsExactly(FIRST, SECOND, THIRD);
+    }
+
+    @Test
+    void leastConnections() {
+        HostSelector selector = selector(HostSelection.LEAST_CONNECTIONS, Duration.ofMinutes(1));
+        Sinks.Empty<Void> closed = Sinks.empty();
+
+        selector.connect(Mono::just, ignored -> closed.asMono())
+            .as(StepVerifier::create)
+            .expectNext(FIRST)
+            .verifyComplete();
+        selector.connect(Mono::just, ignored -> Mono.never())
+            .as(StepVerifier::create)
+            .expectNext(SECOND)
+            .verifyComplete();
+
+        assertThat(addresses(selector)).containsExactly(THIRD, FIRST, SECOND);
+
+        closed.tryEmitEmpty();
+
+        assertThat(addresses(selector)).containsExactly(FIRST, THIRD, SECOND);
+    }
+
+    @Test
+    void random() {
+        HostSelector selector = selector(HostSelection.RANDOM, Duration.ofMinutes(1));
+
+        assertThat(addresses(selector)).containsExactlyInAnyOrder(FIRST, SECOND, THIRD);
+    }
+
+    private static HostSelector selector(HostSelection selection, Duration blacklistDuration) {
+        return new HostSelector(Arrays.asList(FIRST, SECOND, THIRD), selection, blacklistDuration);
+    }
+
+    private static List<InetSocketAddress> addresses(HostSelector selector) {
+        return selector.candidates().stream().map(HostSelector.Host::getAddress).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.client.Client;
+import io.asyncer.r2dbc.mysql.client.FluxExchangeable;
+import io.asyncer.r2dbc.mysql.codec.Codecs;
+import io.asyncer.r2dbc.mysql.constant.ServerStatuses;
+import io.asyncer.r2dbc.mysql.message.client.ClientMessage;
+import io.asyncer.r2dbc.mysql.message.client.InitDbMessage;
+import io.asyncer.r2dbc.mysql.message.client.TextQueryMessage;
+import io.asyncer.r2dbc.mysql.message.server.ErrorMessage;
+import io.asyncer.r2dbc.mysql.message.server.OkMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessageDecoderTest;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SynchronousSink;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link InitFlow}.
+ */
+class InitFlowTest {
+
+    private static final String[] SESSION_COLUMNS = { "i", "v", "s", "t", "p", "m" };
+
+    private static final String[] VARIABLE_COLUMNS = { "Variable_name", "Value" };
+
+    private static final short MORE = ServerStatuses.MORE_RESULTS_EXISTS;
+
+    private static final String LOAD_SESSION = "SELECT @@transaction_isolation AS i,@@version_comment AS v," +
+        "@@system_time_zone AS s,@@time_zone AS t,@@max_allowed_packet AS p,@@max_prepared_stmt_count AS m;" +
+        "SHOW VARIABLES LIKE 'innodb_lock_wait_timeout'";
+
+    @Test
+    void loadSessionWithoutVariables() {
+        ConnectionContext context = ConnectionContextTest.mock(false, null, builder -> { });
+        List<ClientMessage> requests = new ArrayList<>();
+        Queue<Flux<ServerMessage>> responses = new ArrayDeque<>();
+        List<ServerMessage> messages = new ArrayList<>(session(context, MORE));
+
+        messages.addAll(lockWaitTimeout(context, (short) 0, "50"));
+        responses.add(Flux.fromIterable(messages));
+
+        Client client = client(context, requests, responses);
+
+        assertThat(initSession(client, "", Collections.emptyList(), null)).isNotNull();
+        assertThat(requests).containsExactly(new TextQueryMessage(LOAD_SESSION));
+        assertThat(context.isLockWaitTimeoutSupported()).isTrue();
+        assertThat(context.getSessionLockWaitTimeout()).isEqualTo(Duration.ofSeconds(50));
+        assertThat(context.getRestoreStatements()).isEmpty();
+    }
+
+    @Test
+    void ignoreUnsupportedLockWaitTimeout() {
+        ConnectionContext context = ConnectionContextTest.mock(false, null, builder -> { });
+        List<ClientMessage> requests = new ArrayList<>();
+        Queue<Flux<ServerMessage>> responses = new ArrayDeque<>();
+        List<ServerMessage> messages = new ArrayList<>();
+
+        messages.add(OkMessage.synthetic(0, 0, MORE, 0));
+        messages.addAll(session(context, MORE));
+        // InnoDB is disabled, so the lock wait timeout is unknown and setting it fails.
+        messages.addAll(ServerMessageDecoderTest.textResult(context, MORE, VARIABLE_COLUMNS));
+        messages.add(error(1193, "HY000", "Unknown system variable 'innodb_lock_wait_timeout'"));
+        responses.add(Flux.fromIterable(messages));
+        responses.add(Flux.just(OkMessage.synthetic(0, 0, (short) 0, 0)));
+
+        Client client = client(context, requests, responses);
+
+        assertThat(initSession(client, "test", Collections.singletonList("sql_mode='ANSI'"),
+            Duration.ofSeconds(10))).isNotNull();
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0)).isEqualTo(new TextQueryMessage("SET SESSION sql_mode='ANSI';" + LOAD_SESSION +
+            ";SET innodb_lock_wait_timeout=10;USE `test`"));
+        // The USE statement is aborted by the error, so the database is initialized by COM_INIT_DB.
+        assertThat(requests.get(1)).isInstanceOf(InitDbMessage.class);
+        assertThat(context.isLockWaitTimeoutSupported()).isFalse();
+        assertThat(context.getRestoreStatements()).containsExactly("SET SESSION sql_mode='ANSI'");
+    }
+
+    @Test
+    void initDatabaseIfUseFailed() {
+        ConnectionContext context = ConnectionContextTest.mock(false, null, builder -> { });
+        List<ClientMessage> requests = new ArrayList<>();
+        Queue<Flux<ServerMessage>> responses = new ArrayDeque<>();
+        List<ServerMessage> messages = new ArrayList<>(session(context, MORE));
+
+        messages.addAll(lockWaitTimeout(context, MORE, "50"));
+        messages.add(OkMessage.synthetic(0, 0, MORE, 0));
+        messages.add(error(1049, "42000", "Unknown database 'test'"));
+        responses.add(Flux.fromIterable(messages));
+        responses.add(Flux.just(error(1049, "42000", "Unknown database 'test'")));
+        responses.add(Flux.just(OkMessage.synthetic(1, 0, (short) 0, 0)));
+        responses.add(Flux.just(OkMessage.synthetic(0, 0, (short) 0, 0)));
+
+        Client client = client(context, requests, responses);
+
+        assertThat(initSession(client, "test", Collections.emptyList(), Duration.ofSeconds(10))).isNotNull();
+        assertThat(requests).hasSize(4);
+        assertThat(requests.get(0)).isEqualTo(new TextQueryMessage(LOAD_SESSION +
+            ";SET innodb_lock_wait_timeout=10;USE `test`"));
+        assertThat(requests.get(1)).isInstanceOf(InitDbMessage.class);
+        assertThat(requests.get(2)).isEqualTo(new TextQueryMessage("CREATE DATABASE IF NOT EXISTS `test`"));
+        assertThat(requests.get(3)).isInstanceOf(InitDbMessage.class);
+        assertThat(responses).isEmpty();
+        assertThat(context.isLockWaitTimeoutSupported()).isTrue();
+        assertThat(context.getSessionLockWaitTimeout()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(context.getRestoreStatements()).containsExactly("SET innodb_lock_wait_timeout=10");
+    }
+
+    private static Codecs initSession(Client client, String database, List<String> sessionVariables,
+        Duration lockWaitTimeout) {
+        return InitFlow.initSession(client, database, 0, sessionVariables, false, lockWaitTimeout, null,
+            Extensions.from(Collections.emptyList(), false)).block();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Client client(ConnectionContext context, List<ClientMessage> requests,
+        Queue<Flux<ServerMessage>> responses) {
+        Client client = mock(Client.class);
+
+        when(client.getContext()).thenReturn(context);
+        when(client.exchange(any())).thenAnswer(it -> Flux.defer(() -> {
+            FluxExchangeable<ServerMessage> exchangeable = it.getArgument(0);
+
+            requests.add(exchangeable.blockFirst());
+
+            return responses.remove().handle(exchangeable);
+        }));
+        when(client.exchange(any(), any())).thenAnswer(it -> Flux.defer(() -> {
+            BiConsumer<ServerMessage, SynchronousSink<Object>> handler = it.getArgument(1);
+
+            requests.add(it.getArgument(0));
+
+            return responses.remove().handle(handler);
+        }));
+
+        return client;
+    }
+
+    private static List<ServerMessage> session(ConnectionContext context, short serverStatuses) {
+        return ServerMessageDecoderTest.textResult(context, serverStatuses, SESSION_COLUMNS, "REPEATABLE-READ",
+            "MySQL Community Server - GPL", "UTC", "SYSTEM", 67108864L, 16382L);
+    }
+
+    private static List<ServerMessage> lockWaitTimeout(ConnectionContext context, short serverStatuses,
+        String value) {
+        return ServerMessageDecoderTest.textResult(context, serverStatuses, VARIABLE_COLUMNS,
+            "innodb_lock_wait_timeout", value);
+    }
+
+    private static ErrorMessage error(int code, String sqlState, String message) {
+        ByteBuf buf = Unpooled.buffer();
+
+        try {
+            buf.writeByte(0xFF).writeShortLE(code).writeByte('#');
+            buf.writeCharSequence(sqlState, StandardCharsets.US_ASCII);
+            buf.writeCharSequence(message, StandardCharsets.US_ASCII);
+
+            return ErrorMessage.decode(buf);
+        } finally {
+            buf.release();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for killing the executing query when its result is cancelled.
+ */
+class KillQueryOnCancelIntegrationTest extends IntegrationTestSupport {
+
+    /**
+     * A query which produces a huge number of rows, it takes a long time to drain all of them.
+     */
+    private static final String HUGE_QUERY = "SELECT a.COLUMN_NAME FROM information_schema.COLUMNS a, " +
+        "information_schema.COLUMNS b, information_schema.COLUMNS c";
+
+    KillQueryOnCancelIntegrationTest() {
+        super(configuration(builder -> builder.killQueryOnCancel(true)));
+    }
+
+    @Test
+    void cancelHugeResult() {
+        complete(connection -> Flux.from(connection.createStatement(HUGE_QUERY).execute())
+            .concatMap(result -> Flux.from(result.map((row, metadata) -> row.get(0, String.class))).take(1))
+            .then(Mono.from(connection.createStatement("SELECT 1").execute()))
+            .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get(0, Integer.class))))
+            // The following query should not wait for draining all rows of the huge query.
+            .timeout(Duration.ofSeconds(10))
+            .doOnNext(it -> assertThat(it).isEqualTo(1)));
+    }
+
+    @Test
+    void cancelAfterOnlyRow() {
+        complete(connection -> Mono.from(connection.createStatement("SELECT 1").execute())
+            .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get(0, Integer.class))))
+            .then(Mono.from(connection.createStatement("SELECT 2").execute()))
+            .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get(0, Integer.class))))
+            .doOnNext(it -> assertThat(it).isEqualTo(2)));
+    }
+}
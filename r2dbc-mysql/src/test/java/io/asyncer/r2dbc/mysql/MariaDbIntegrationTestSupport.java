@@ -149,6 +149,34 @@ abstract class MariaDbIntegrationTestSupport extends IntegrationTestSupport {
             .doOnNext(it -> assertThat(it).isEqualTo(2)));
     }
 
+    @Test
+    void batchUpdates() {
+        complete(conn -> conn.createStatement("CREATE TEMPORARY TABLE test(" +
+                "id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,value INT)")
+            .execute()
+            .flatMap(IntegrationTestSupport::extractRowsUpdated)
+            .thenMany(conn.createStatement("INSERT INTO test(value) VALUES (?)")
+                .bind(0, 2).add()
+                .bindNull(0, Integer.class).add()
+                .bind(0, 6)
+                .execute())
+            .concatMap(IntegrationTestSupport::extractRowsUpdated)
+            .collectList()
+            .doOnNext(list -> assertThat(list).containsExactly(1L, 1L, 1L))
+            .thenMany(conn.createStatement("UPDATE test SET value = ? WHERE id = ?")
+                .bind(0, 3).bind(1, 1).add()
+                .bind(0, 5).bind(1, 2).add()
+                .bind(0, 7).bind(1, 4)
+                .execute())
+            .concatMap(IntegrationTestSupport::extractRowsUpdated)
+            .collectList()
+            .doOnNext(list -> assertThat(list).containsExactly(1L, 1L, 0L))
+            .thenMany(conn.createStatement("SELECT value FROM test ORDER BY id").execute())
+            .concatMap(result -> result.map(r -> r.get(0, Integer.class)))
+            .collectList()
+            .doOnNext(list -> assertThat(list).containsExactly(3, 5, 6)));
+    }
+
     @Test
     @EnabledIf("envIsMariaDb10_5_1")
     void returningExtendedTypeInfoJson() {
@@ -17,6 +17,7 @@
 package io.asyncer.r2dbc.mysql;
 
 import io.asyncer.r2dbc.mysql.constant.CompressionAlgorithm;
+import io.asyncer.r2dbc.mysql.constant.HostSelection;
 import io.asyncer.r2dbc.mysql.constant.SslMode;
 import io.asyncer.r2dbc.mysql.constant.TlsVersions;
 import io.asyncer.r2dbc.mysql.constant.ZeroDateOption;
@@ -45,7 +46,7 @@ import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 /**
  * Unit tests for {@link MySqlConnectionConfiguration}.
  */
-class MySqlConnectionConfigurationTest {
+public class MySqlConnectionConfigurationTest {
 
     private static final String HOST = "localhost";
 
@@ -64,6 +65,12 @@ class MySqlConnectionConfigurationTest {
         asserted.isThrownBy(() -> MySqlConnectionConfiguration.builder().host(HOST).build());
         asserted.isThrownBy(() -> MySqlConnectionConfiguration.builder().unixSocket(UNIX_SOCKET).build());
         asserted.isThrownBy(() -> MySqlConnectionConfiguration.builder().user(USER).build());
+        asserted.isThrownBy(() -> MySqlConnectionConfiguration.builder().preparePipelineWindow(0));
+        asserted.isThrownBy(() -> MySqlConnectionConfiguration.builder().autoBatchSize(0));
+        asserted.isThrownBy(() -> MySqlConnectionConfiguration.builder().autoBatchWindow(Duration.ofMillis(-1)));
+        asserted.isThrownBy(() -> MySqlConnectionConfiguration.builder().readHighWatermark(-1));
+        asserted.isThrownBy(() -> MySqlConnectionConfiguration.builder().host(HOST).user(USER)
+            .readLowWatermark(16).readHighWatermark(16).build());
     }
 
     @Test
@@ -230,6 +237,30 @@ class MySqlConnectionConfigurationTest {
             .build();
     }
 
+    /**
+     * Creates a {@link MySqlSslConfiguration} which requires SSL with files.
+     *
+     * @param sslCa   the path of the CA file.
+     * @param sslCert the path of the certificate file, it should be {@code null} if {@code sslKey} is.
+     * @param sslKey  the path of the key file, it should be {@code null} if {@code sslCert} is.
+     * @return the {@link MySqlSslConfiguration}.
+     */
+    public static MySqlSslConfiguration ssl(
+        @Nullable String sslCa,
+        @Nullable String sslCert,
+        @Nullable String sslKey
+    ) {
+        return MySqlConnectionConfiguration.builder()
+            .host(HOST)
+            .user(USER)
+            .sslMode(SslMode.REQUIRED)
+            .sslCa(sslCa)
+            .sslCert(sslCert)
+            .sslKey(sslKey)
+            .build()
+            .getSsl();
+    }
+
     private static MySqlConnectionConfiguration hostedSslMode(SslMode sslMode, @Nullable String sslCa) {
         return MySqlConnectionConfiguration.builder()
             .host(HOST)
@@ -249,6 +280,11 @@ class MySqlConnectionConfigurationTest {
             .createDatabaseIfNotExist(true)
             .tcpKeepAlive(true)
             .tcpNoDelay(true)
+            .addHost("failover1")
+            .addHost("failover2", 3307)
+            .addReadOnlyHost("replica", 3308)
+            .hostSelection(HostSelection.LEAST_CONNECTIONS)
+            .hostBlacklistDuration(Duration.ofSeconds(10))
             .connectTimeout(Duration.ofSeconds(3))
             .sslMode(SslMode.VERIFY_IDENTITY)
             .sslCa(SSL_CA)
@@ -263,8 +299,21 @@ class MySqlConnectionConfigurationTest {
             .forceConnectionTimeZoneToSession(true)
             .zeroDateOption(ZeroDateOption.USE_NULL)
             .sslHostnameVerifier((host, s) -> true)
+            .useAdaptivePrepareStatement(3)
             .queryCacheSize(128)
             .prepareCacheSize(0)
+            .preparePipelineWindow(16)
+            .rewriteBatchedInserts(true)
+            .fetchReadAhead(true)
+            .readLowWatermark(64)
+            .readHighWatermark(256)
+            .lobStreaming(true)
+            .killQueryOnCancel(true)
+            .queryPipelining(true)
+            .lazyTransactionBegin(true)
+            .resetConnectionOnRelease(true)
+            .autoBatchSize(16)
+            .autoBatchWindow(Duration.ofMillis(2))
             .sessionVariables("sql_mode=ANSI_QUOTES")
             .lockWaitTimeout(Duration.ofSeconds(5))
             .statementTimeout(Duration.ofSeconds(10))
@@ -17,6 +17,7 @@
 package io.asyncer.r2dbc.mysql;
 
 import io.asyncer.r2dbc.mysql.constant.CompressionAlgorithm;
+import io.asyncer.r2dbc.mysql.constant.HostSelection;
 import io.asyncer.r2dbc.mysql.constant.SslMode;
 import io.asyncer.r2dbc.mysql.constant.ZeroDateOption;
 import io.netty.handler.ssl.SslContextBuilder;
@@ -39,6 +40,7 @@ import javax.net.ssl.SSLSession;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.net.InetSocketAddress;
 import java.net.URLEncoder;
 import java.time.Duration;
 import java.time.ZoneId;
@@ -469,14 +471,55 @@ class MySqlConnectionFactoryProviderTest {
         assertThat(ConnectionFactories.get(options)).isExactlyInstanceOf(MySqlConnectionFactory.class);
     }
 
+    @Test
+    void multipleHosts() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.builder()
+            .option(DRIVER, "mysql")
+            .option(HOST, "127.0.0.1")
+            .option(USER, "root")
+            .option(Option.valueOf("failoverHosts"), "failover1, failover2:3307,[::1],[::2]:3308")
+            .option(Option.valueOf("readOnlyHosts"), new String[] { "replica1:3309", "replica2" })
+            .option(Option.valueOf("hostSelection"), "random")
+            .option(Option.valueOf("hostBlacklistDuration"), "PT10S")
+            .build();
+        MySqlConnectionConfiguration configuration = MySqlConnectionFactoryProvider.setup(options);
+
+        assertThat(configuration.getFailoverHosts()).containsExactly(
+            InetSocketAddress.createUnresolved("failover1", 3306),
+            InetSocketAddress.createUnresolved("failover2", 3307),
+            InetSocketAddress.createUnresolved("::1", 3306),
+            InetSocketAddress.createUnresolved("::2", 3308));
+        assertThat(configuration.getReadOnlyHosts()).containsExactly(
+            InetSocketAddress.createUnresolved("replica1", 3309),
+            InetSocketAddress.createUnresolved("replica2", 3306));
+        assertThat(configuration.getHostSelection()).isEqualTo(HostSelection.RANDOM);
+        assertThat(configuration.getHostBlacklistDuration()).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "::1", "failover:port", "[::1" })
+    void invalidMultipleHosts(String host) {
+        assertThatIllegalArgumentException().isThrownBy(() -> MySqlConnectionFactoryProvider.setup(
+            ConnectionFactoryOptions.builder()
+                .option(DRIVER, "mysql")
+                .option(HOST, "127.0.0.1")
+                .option(USER, "root")
+                .option(Option.valueOf("failoverHosts"), host)
+                .build()));
+    }
+
     @Test
     void allConfigurationOptions() {
         List<String> exceptConfigs = Arrays.asList(
             "extendWith",
+            "addHost",
+            "addReadOnlyHost",
             "username",
             "zeroDateOption");
         List<String> exceptOptions = Arrays.asList(
             "driver",
+            "failoverHosts",
+            "readOnlyHosts",
             "ssl",
             "protocol",
             "zeroDate");
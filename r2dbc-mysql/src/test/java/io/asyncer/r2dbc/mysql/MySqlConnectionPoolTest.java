@@ -0,0 +1,359 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.api.MySqlConnection;
+import io.asyncer.r2dbc.mysql.cache.Caches;
+import io.asyncer.r2dbc.mysql.client.Client;
+import io.asyncer.r2dbc.mysql.codec.Codecs;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import org.assertj.core.api.ThrowableTypeAssert;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.LoopResources;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link MySqlConnectionPool}.
+ */
+class MySqlConnectionPoolTest {
+
+    private static final MySqlConnectionConfiguration CONFIGURATION = MySqlConnectionConfiguration.builder()
+        .host("localhost")
+        .user("root")
+        .build();
+
+    @Test
+    void badArguments() {
+        ThrowableTypeAssert<?> asserted = assertThatIllegalArgumentException();
+
+        asserted.isThrownBy(() -> MySqlConnectionPool.builder(null));
+        asserted.isThrownBy(() -> MySqlConnectionPool.builder(CONFIGURATION).maxSizePerLoop(0));
+        asserted.isThrownBy(() -> MySqlConnectionPool.builder(CONFIGURATION).warmUpSizePerLoop(-1));
+        asserted.isThrownBy(() -> MySqlConnectionPool.builder(CONFIGURATION).warmUpStatements((String[]) null));
+        asserted.isThrownBy(() -> MySqlConnectionPool.builder(CONFIGURATION).warmUpStatements("SELECT 1", null));
+        asserted.isThrownBy(() -> MySqlConnectionPool.builder(CONFIGURATION)
+            .maxSizePerLoop(1)
+            .warmUpSizePerLoop(2)
+            .build());
+        asserted.isThrownBy(() -> MySqlConnectionPool.builder(CONFIGURATION).acquireTimeout(null));
+        asserted.isThrownBy(() -> MySqlConnectionPool.builder(CONFIGURATION).acquireTimeout(Duration.ofMillis(-1)));
+    }
+
+    @Test
+    void closed() {
+        LoopResources loopResources = LoopResources.create("pool-test", 2, true);
+
+        try {
+            MySqlConnectionPool pool = MySqlConnectionPool.builder(MySqlConnectionConfiguration.builder()
+                .host("localhost")
+                .user("root")
+                .loopResources(loopResources)
+                .build()).build();
+
+            pool.close()
+                .as(StepVerifier::create)
+                .verifyComplete();
+
+            pool.create()
+                .as(StepVerifier::create)
+                .verifyError(R2dbcNonTransientResourceException.class);
+        } finally {
+            loopResources.dispose();
+        }
+    }
+
+    @Test
+    void reuseLastReleased() {
+        LoopResources loopResources = LoopResources.create("pool-test", 1, true);
+
+        try {
+            Connections connections = new Connections();
+            MySqlConnectionPool pool = connections.pool(loopResources, 2, 0, null);
+            MySqlConnection first = acquire(pool);
+            MySqlConnection second = acquire(pool);
+
+            first.close().block();
+            second.close().block();
+
+            assertThat(acquire(pool).getMetadata()).isSameAs(connections.get(1).getMetadata());
+            assertThat(acquire(pool).getMetadata()).isSameAs(connections.get(0).getMetadata());
+            assertThat(connections.size()).isEqualTo(2);
+        } finally {
+            loopResources.dispose();
+        }
+    }
+
+    @Test
+    void stealFromOtherShards() {
+        LoopResources loopResources = LoopResources.create("pool-test", 2, true);
+
+        try {
+            Connections connections = new Connections();
+            MySqlConnectionPool pool = connections.pool(loopResources, 1, 0, null);
+
+            // The caller is not on an event loop, so shards are used one by one.
+            acquire(pool);
+            acquire(pool).close().block();
+
+            assertThat(acquire(pool).getMetadata()).isSameAs(connections.get(1).getMetadata());
+            assertThat(connections.size()).isEqualTo(2);
+        } finally {
+            loopResources.dispose();
+        }
+    }
+
+    @Test
+    void serveWaiterByRelease() {
+        LoopResources loopResources = LoopResources.create("pool-test", 1, true);
+
+        try {
+            Connections connections = new Connections();
+            MySqlConnectionPool pool = connections.pool(loopResources, 1, 0, null);
+            MySqlConnection first = acquire(pool);
+            AtomicReference<MySqlConnection> waiter = new AtomicReference<>();
+
+            pool.create().subscribe(waiter::set);
+
+            assertThat(waiter.get()).isNull();
+
+            first.close().block();
+
+            assertThat(waiter.get()).isNotNull();
+            assertThat(waiter.get().getMetadata()).isSameAs(connections.get(0).getMetadata());
+            assertThat(connections.size()).isEqualTo(1);
+        } finally {
+            loopResources.dispose();
+        }
+    }
+
+    @Test
+    void serveWaiterOfOtherShards() {
+        LoopResources loopResources = LoopResources.create("pool-test", 2, true);
+
+        try {
+            Connections connections = new Connections();
+            MySqlConnectionPool pool = connections.pool(loopResources, 1, 0, null);
+            AtomicReference<MySqlConnection> waiter = new AtomicReference<>();
+
+            acquire(pool);
+
+            MySqlConnection second = acquire(pool);
+
+            // The waiter is parked on the first shard.
+            pool.create().subscribe(waiter::set);
+
+            assertThat(waiter.get()).isNull();
+
+            second.close().block();
+
+            assertThat(waiter.get()).isNotNull();
+            assertThat(waiter.get().getMetadata()).isSameAs(connections.get(1).getMetadata());
+            assertThat(connections.size()).isEqualTo(2);
+        } finally {
+            loopResources.dispose();
+        }
+    }
+
+    @Test
+    void cancelledWaiterNotLeak() {
+        LoopResources loopResources = LoopResources.create("pool-test", 1, true);
+
+        try {
+            Connections connections = new Connections();
+            MySqlConnectionPool pool = connections.pool(loopResources, 1, 0, null);
+            MySqlConnection first = acquire(pool);
+            AtomicReference<MySqlConnection> cancelled = new AtomicReference<>();
+            Disposable waiter = pool.create().subscribe(cancelled::set);
+
+            waiter.dispose();
+            first.close().block();
+
+            assertThat(cancelled.get()).isNull();
+            assertThat(acquire(pool).getMetadata()).isSameAs(connections.get(0).getMetadata());
+            assertThat(connections.size()).isEqualTo(1);
+        } finally {
+            loopResources.dispose();
+        }
+    }
+
+    @Test
+    void acquireTimeout() {
+        LoopResources loopResources = LoopResources.create("pool-test", 1, true);
+
+        try {
+            Connections connections = new Connections();
+            MySqlConnectionPool pool = connections.pool(loopResources, 1, 0, Duration.ofMillis(100));
+            MySqlConnection first = acquire(pool);
+
+            assertThatExceptionOfType(R2dbcTimeoutException.class).isThrownBy(() -> acquire(pool));
+
+            first.close().block();
+
+            assertThat(acquire(pool).getMetadata()).isSameAs(connections.get(0).getMetadata());
+            assertThat(connections.size()).isEqualTo(1);
+        } finally {
+            loopResources.dispose();
+        }
+    }
+
+    @Test
+    void discardDeadIdle() {
+        LoopResources loopResources = LoopResources.create("pool-test", 1, true);
+
+        try {
+            Connections connections = new Connections();
+            MySqlConnectionPool pool = connections.pool(loopResources, 1, 0, null);
+
+            acquire(pool).close().block();
+            connections.kill(0);
+
+            assertThat(acquire(pool).getMetadata()).isSameAs(connections.get(1).getMetadata());
+            assertThat(connections.size()).isEqualTo(2);
+        } finally {
+            loopResources.dispose();
+        }
+    }
+
+    @Test
+    void warmUpUpToMaxSize() {
+        LoopResources loopResources = LoopResources.create("pool-test", 2, true);
+
+        try {
+            Connections connections = new Connections();
+            MySqlConnectionPool pool = connections.pool(loopResources, 2, 2, null);
+            MySqlConnection first = acquire(pool);
+
+            pool.warmUp().block(Duration.ofSeconds(5));
+
+            // The first shard has a borrowed connection, so it can pre-warm only one connection.
+            assertThat(connections.size()).isEqualTo(4);
+
+            first.close().block();
+            pool.warmUp().block(Duration.ofSeconds(5));
+
+            assertThat(connections.size()).isEqualTo(4);
+        } finally {
+            loopResources.dispose();
+        }
+    }
+
+    @Test
+    void releasedConnection() {
+        LoopResources loopResources = LoopResources.create("pool-test", 1, true);
+
+        try {
+            Connections connections = new Connections();
+            MySqlConnectionPool pool = connections.pool(loopResources, 1, 0, null);
+            MySqlConnection connection = acquire(pool);
+
+            connection.close().block();
+            connection.close().block();
+
+            assertThatExceptionOfType(R2dbcNonTransientResourceException.class)
+                .isThrownBy(() -> connection.createStatement("SELECT 1"));
+            assertThatExceptionOfType(R2dbcNonTransientResourceException.class)
+                .isThrownBy(connection::beginTransaction);
+            assertThatExceptionOfType(R2dbcNonTransientResourceException.class)
+                .isThrownBy(connection::isAutoCommit);
+        } finally {
+            loopResources.dispose();
+        }
+    }
+
+    private static MySqlConnection acquire(MySqlConnectionPool pool) {
+        MySqlConnection connection = pool.create().block(Duration.ofSeconds(5));
+
+        assertThat(connection).isNotNull();
+
+        return connection;
+    }
+
+    /**
+     * Connections created by a pool, they are backed by mocked clients.
+     */
+    private static final class Connections {
+
+        private final List<MySqlSimpleConnection> created = new CopyOnWriteArrayList<>();
+
+        private final List<AtomicBoolean> connected = new CopyOnWriteArrayList<>();
+
+        private MySqlConnectionPool pool(
+            LoopResources loopResources,
+            int maxSizePerLoop,
+            int warmUpSizePerLoop,
+            @Nullable Duration acquireTimeout
+        ) {
+            return new MySqlConnectionPool(
+                loopResources.onClient(LoopResources.DEFAULT_NATIVE),
+                loop -> Mono.fromCallable(this::create),
+                maxSizePerLoop,
+                warmUpSizePerLoop,
+                Collections.emptyList(),
+                acquireTimeout
+            );
+        }
+
+        private MySqlSimpleConnection get(int index) {
+            return created.get(index);
+        }
+
+        private int size() {
+            return created.size();
+        }
+
+        private void kill(int index) {
+            connected.get(index).set(false);
+        }
+
+        private MySqlSimpleConnection create() {
+            AtomicBoolean alive = new AtomicBoolean(true);
+            Client client = mock(Client.class);
+
+            when(client.getContext()).thenReturn(ConnectionContextTest.mock());
+            when(client.isConnected()).thenAnswer(it -> alive.get());
+            when(client.exchange(any())).thenReturn(Flux.empty());
+            when(client.close()).thenReturn(Mono.empty());
+
+            MySqlSimpleConnection connection = new MySqlSimpleConnection(client, mock(Codecs.class),
+                Caches.createQueryCache(0), null);
+
+            connected.add(alive);
+            created.add(connection);
+
+            return connection;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package io.asyncer.r2dbc.mysql;
 
+import io.asyncer.r2dbc.mysql.api.MySqlResult;
 import io.asyncer.r2dbc.mysql.api.MySqlTransactionDefinition;
 import io.asyncer.r2dbc.mysql.cache.Caches;
 import io.asyncer.r2dbc.mysql.cache.PrepareCache;
@@ -24,8 +25,15 @@ import io.asyncer.r2dbc.mysql.client.FluxExchangeable;
 import io.asyncer.r2dbc.mysql.codec.Codecs;
 import io.asyncer.r2dbc.mysql.constant.ServerStatuses;
 import io.asyncer.r2dbc.mysql.message.client.ClientMessage;
+import io.asyncer.r2dbc.mysql.message.client.PrepareQueryMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedTextQueryMessage;
 import io.asyncer.r2dbc.mysql.message.client.TextQueryMessage;
 import io.asyncer.r2dbc.mysql.message.server.CompleteMessage;
+import io.asyncer.r2dbc.mysql.message.server.ErrorMessage;
+import io.asyncer.r2dbc.mysql.message.server.OkMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import io.r2dbc.spi.IsolationLevel;
 import org.assertj.core.api.ThrowableTypeAssert;
 import org.junit.jupiter.api.Test;
@@ -33,12 +41,17 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import reactor.core.CoreSubscriber;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.core.publisher.SynchronousSink;
 import reactor.test.StepVerifier;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -47,6 +60,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -102,6 +117,84 @@ class MySqlSimpleConnectionTest {
             .isExactlyInstanceOf(PrepareParameterizedStatement.class);
     }
 
+    @Test
+    void createAdaptiveStatement() {
+        String simple = "SELECT * FROM test WHERE id=1";
+        String parameterized = "SELECT * FROM test WHERE id=?";
+        MySqlSimpleConnection adaptive = new MySqlSimpleConnection(
+            mockClient(),
+            CODECS,
+            Caches.createQueryCache(0),
+            null,
+            Caches.createPreparePromoter(3, 256));
+
+        for (int i = 0; i < 2; ++i) {
+            assertThat(adaptive.createStatement(simple)).isExactlyInstanceOf(TextSimpleStatement.class);
+            assertThat(adaptive.createStatement(parameterized))
+                .isExactlyInstanceOf(TextParameterizedStatement.class);
+        }
+
+        assertThat(adaptive.createStatement(simple)).isExactlyInstanceOf(PrepareSimpleStatement.class);
+        assertThat(adaptive.createStatement(parameterized))
+            .isExactlyInstanceOf(PrepareParameterizedStatement.class);
+        assertThat(adaptive.createStatement("SELECT * FROM test WHERE id=2"))
+            .isExactlyInstanceOf(TextSimpleStatement.class);
+    }
+
+    @Test
+    void promotedFallbackToText() {
+        ConnectionContext context = ConnectionContextTest.create(null, builder -> { });
+        Client client = mock(Client.class);
+        List<ClientMessage> requests = new ArrayList<>();
+        ByteBuf error = UnpooledByteBufAllocator.DEFAULT.buffer();
+
+        error.writeByte(0xFF).writeShortLE(1461).writeByte('#')
+            .writeCharSequence("42000Can't create more than max_prepared_stmt_count statements",
+                StandardCharsets.US_ASCII);
+
+        Queue<ServerMessage> responses = new ArrayDeque<>(Arrays.asList(
+            ErrorMessage.decode(error),
+            OkMessage.synthetic(1, 0, ServerStatuses.AUTO_COMMIT, 0)
+        ));
+
+        error.release();
+        context.initHandshake(1, ServerVersion.parse("8.0.11.MOCKED"), Capability.of(~0));
+        context.setServerStatuses(ServerStatuses.AUTO_COMMIT);
+        context.initSession(
+            mock(PrepareCache.class),
+            IsolationLevel.REPEATABLE_READ,
+            false,
+            Duration.ZERO,
+            null,
+            null,
+            4194304,
+            1,
+            -1
+        );
+        when(client.getContext()).thenReturn(context);
+        when(client.exchange(any())).thenAnswer(it -> Flux.defer(() -> {
+            FluxExchangeable<ServerMessage> exchangeable = it.getArgument(0);
+
+            requests.add(exchangeable.blockFirst());
+
+            return Flux.just(responses.remove()).handle(exchangeable);
+        }));
+
+        MySqlSimpleConnection adaptive = new MySqlSimpleConnection(client, Codecs.builder().build(),
+            Caches.createQueryCache(0), null, Caches.createPreparePromoter(1, 256));
+
+        adaptive.createStatement("UPDATE t SET v = ? WHERE id = 1").bind(0, 2).execute()
+            .flatMap(MySqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1L)
+            .verifyComplete();
+
+        // The server refuses to prepare more statements, so the execution falls back to text query.
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0)).isExactlyInstanceOf(PrepareQueryMessage.class);
+        assertThat(requests.get(1)).isExactlyInstanceOf(PreparedTextQueryMessage.class);
+    }
+
     @SuppressWarnings("ConstantConditions")
     @Test
     void badCreateStatement() {
@@ -213,7 +306,10 @@ class MySqlSimpleConnectionTest {
             false,
             Duration.ZERO,
             null,
-            null
+            null,
+            4194304,
+            1,
+            -1
         );
         MySqlSimpleConnection noPrepare = newNoPrepare(client);
 
@@ -235,6 +331,175 @@ class MySqlSimpleConnectionTest {
         assertThat(client.getContext().getSessionIsolationLevel()).isEqualTo(sessionLevel);
     }
 
+    @Test
+    void lazyBeginTransaction() {
+        ConnectionContext context = ConnectionContextTest.create(null, builder -> builder.lazyTransactionBegin(true));
+        Client client = mock(Client.class);
+
+        context.initHandshake(1, ServerVersion.parse("8.0.11.MOCKED"), Capability.of(~0));
+        context.setServerStatuses(ServerStatuses.AUTO_COMMIT);
+        context.initSession(
+            mock(PrepareCache.class),
+            IsolationLevel.REPEATABLE_READ,
+            false,
+            Duration.ZERO,
+            null,
+            null,
+            4194304,
+            1,
+            -1
+        );
+        when(client.getContext()).thenReturn(context);
+
+        MySqlSimpleConnection noPrepare = newNoPrepare(client);
+
+        noPrepare.beginTransaction(MySqlTransactionDefinition.from(IsolationLevel.READ_COMMITTED))
+            .as(StepVerifier::create)
+            .verifyComplete();
+
+        assertThat(noPrepare.isAutoCommit()).isFalse();
+        assertThat(noPrepare.getTransactionIsolationLevel()).isEqualTo(IsolationLevel.READ_COMMITTED);
+
+        // Nothing is executed in the transaction, so nothing should be sent to the server.
+        noPrepare.commitTransaction()
+            .as(StepVerifier::create)
+            .verifyComplete();
+
+        assertThat(noPrepare.isAutoCommit()).isTrue();
+        assertThat(noPrepare.getTransactionIsolationLevel()).isEqualTo(IsolationLevel.REPEATABLE_READ);
+        verify(client, never()).exchange(any());
+        verify(client, never()).exchange(any(), any());
+    }
+
+    @Test
+    void lazyBeginWithConsistentSnapshot() {
+        ConnectionContext context = ConnectionContextTest.create(null, builder -> builder.lazyTransactionBegin(true));
+        Client client = mock(Client.class);
+        List<ClientMessage> requests = new ArrayList<>();
+
+        context.initHandshake(1, ServerVersion.parse("8.0.11.MOCKED"), Capability.of(~0));
+        context.setServerStatuses(ServerStatuses.AUTO_COMMIT);
+        context.initSession(
+            mock(PrepareCache.class),
+            IsolationLevel.REPEATABLE_READ,
+            false,
+            Duration.ZERO,
+            null,
+            null,
+            4194304,
+            1,
+            -1
+        );
+        when(client.getContext()).thenReturn(context);
+        when(client.exchange(any())).thenAnswer(it -> Flux.defer(() -> {
+            FluxExchangeable<Void> exchangeable = it.getArgument(0);
+
+            requests.add(exchangeable.blockFirst());
+
+            return Flux.<ServerMessage>just(OkMessage.synthetic(0, 0, ServerStatuses.IN_TRANSACTION, 0))
+                .handle(exchangeable);
+        }));
+
+        MySqlSimpleConnection noPrepare = newNoPrepare(client);
+
+        noPrepare.beginTransaction(MySqlTransactionDefinition.empty().consistent())
+            .as(StepVerifier::create)
+            .verifyComplete();
+
+        // The snapshot should be established by beginTransaction, rather than the first statement.
+        assertThat(requests).containsExactly(new TextQueryMessage("START TRANSACTION WITH CONSISTENT SNAPSHOT"));
+    }
+
+    @Test
+    void lazyBeginWithClientPreparedStatement() {
+        ConnectionContext context = ConnectionContextTest.create(null, builder -> builder.lazyTransactionBegin(true));
+        Client client = mock(Client.class);
+        List<String> requests = new ArrayList<>();
+
+        context.initHandshake(1, ServerVersion.parse("8.0.11.MOCKED"), Capability.of(~0));
+        context.setServerStatuses(ServerStatuses.AUTO_COMMIT);
+        context.initSession(
+            mock(PrepareCache.class),
+            IsolationLevel.REPEATABLE_READ,
+            false,
+            Duration.ZERO,
+            null,
+            null,
+            4194304,
+            1,
+            -1
+        );
+        when(client.getContext()).thenReturn(context);
+        when(client.exchange(any())).thenAnswer(it -> Flux.defer(() -> {
+            FluxExchangeable<ServerMessage> exchangeable = it.getArgument(0);
+            ByteBuf buf = Mono.from(exchangeable.blockFirst().encode(UnpooledByteBufAllocator.DEFAULT, context))
+                .block();
+
+            try {
+                requests.add(buf.skipBytes(1).toString(StandardCharsets.UTF_8));
+            } finally {
+                buf.release();
+            }
+
+            return Flux.<ServerMessage>just(
+                OkMessage.synthetic(0, 0, ServerStatuses.MORE_RESULTS_EXISTS, 0),
+                OkMessage.synthetic(0, 0, ServerStatuses.MORE_RESULTS_EXISTS, 0),
+                OkMessage.synthetic(1, 0, ServerStatuses.IN_TRANSACTION, 0)
+            ).handle(exchangeable);
+        }));
+
+        MySqlSimpleConnection noPrepare = new MySqlSimpleConnection(client, Codecs.builder().build(),
+            Caches.createQueryCache(0), null);
+
+        noPrepare.beginTransaction(MySqlTransactionDefinition.from(IsolationLevel.READ_COMMITTED))
+            .thenMany(noPrepare.createStatement("UPDATE t SET v = ? WHERE id = 1").bind(0, 2).execute())
+            .flatMap(MySqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1L)
+            .verifyComplete();
+
+        // The transaction is begun by the first binding, without an extra round trip.
+        assertThat(requests).containsExactly("SET TRANSACTION ISOLATION LEVEL READ COMMITTED;" +
+            "BEGIN;UPDATE t SET v = 2 WHERE id = 1");
+        assertThat(noPrepare.getTransactionIsolationLevel()).isEqualTo(IsolationLevel.READ_COMMITTED);
+    }
+
+    @Test
+    void resetConnectionOnIdleRelease() {
+        ConnectionContext context = ConnectionContextTest.create(null, builder -> builder
+            .lazyTransactionBegin(true)
+            .resetConnectionOnRelease(true));
+        Client client = mock(Client.class);
+
+        context.initHandshake(1, ServerVersion.parse("8.0.11.MOCKED"), Capability.of(~0));
+        context.setServerStatuses(ServerStatuses.AUTO_COMMIT);
+        context.initSession(
+            mock(PrepareCache.class),
+            IsolationLevel.REPEATABLE_READ,
+            false,
+            Duration.ZERO,
+            null,
+            null,
+            4194304,
+            1,
+            -1
+        );
+        when(client.getContext()).thenReturn(context);
+
+        MySqlSimpleConnection noPrepare = newNoPrepare(client);
+
+        noPrepare.beginTransaction(MySqlTransactionDefinition.from(IsolationLevel.READ_COMMITTED))
+            .then(noPrepare.preRelease())
+            .as(StepVerifier::create)
+            .verifyComplete();
+
+        // The session is neither in a transaction nor changed, so nothing should be sent to the server.
+        assertThat(noPrepare.isAutoCommit()).isTrue();
+        assertThat(noPrepare.getTransactionIsolationLevel()).isEqualTo(IsolationLevel.REPEATABLE_READ);
+        verify(client, never()).exchange(any());
+        verify(client, never()).exchange(any(), any());
+    }
+
     @SuppressWarnings("ConstantConditions")
     @Test
     void badValidate() {
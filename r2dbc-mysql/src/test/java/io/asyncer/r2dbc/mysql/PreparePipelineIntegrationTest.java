@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.api.MySqlResult;
+import io.asyncer.r2dbc.mysql.api.MySqlStatement;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for pipelined executions of {@link PrepareParameterizedStatement}.
+ */
+class PreparePipelineIntegrationTest extends IntegrationTestSupport {
+
+    private static final String TDL = "CREATE TEMPORARY TABLE test(id INT PRIMARY KEY,value INT)";
+
+    PreparePipelineIntegrationTest() {
+        super(configuration(builder -> builder.useServerPrepareStatement().preparePipelineWindow(8)));
+    }
+
+    @Test
+    void pipelinedUpdates() {
+        complete(connection -> Mono.from(connection.createStatement(TDL).execute())
+            .flatMap(IntegrationTestSupport::extractRowsUpdated)
+            .thenMany(insert(connection.createStatement("INSERT INTO test VALUES (?,?)"), 0, 100))
+            .flatMap(IntegrationTestSupport::extractRowsUpdated)
+            .collectList()
+            .doOnNext(it -> assertThat(it).isEqualTo(Collections.nCopies(100, 1L)))
+            .thenMany(connection.createStatement("SELECT value FROM test WHERE id = ?")
+                .bind(0, 3).add()
+                .bind(0, 1).add()
+                .bind(0, 2)
+                .execute())
+            .concatMap(result -> result.map((row, metadata) -> row.get(0, Integer.class)))
+            .collectList()
+            .doOnNext(it -> assertThat(it).containsExactly(6, 2, 4)));
+    }
+
+    @Test
+    void drainAfterError() {
+        complete(connection -> Mono.from(connection.createStatement(TDL).execute())
+            .flatMap(IntegrationTestSupport::extractRowsUpdated)
+            .thenMany(insert(connection.createStatement("INSERT INTO test VALUES (?,?)"), 0, 10))
+            .flatMap(IntegrationTestSupport::extractRowsUpdated)
+            .thenMany(connection.createStatement("INSERT INTO test VALUES (?,?)")
+                .bind(0, 100).bind(1, 200).add()
+                .bind(0, 1).bind(1, 2).add()
+                .bind(0, 101).bind(1, 202)
+                .execute())
+            .concatMap(IntegrationTestSupport::extractRowsUpdated)
+            .then(Mono.<Long>error(new IllegalStateException("Duplicate entry expected")))
+            .onErrorResume(R2dbcDataIntegrityViolationException.class, e -> Mono.from(connection
+                .createStatement("SELECT COUNT(*) FROM test").execute())
+                .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get(0, Long.class)))))
+            // The execution written ahead of the failed one has been executed by the server.
+            .doOnNext(it -> assertThat(it).isEqualTo(12L)));
+    }
+
+    private static Flux<? extends MySqlResult> insert(MySqlStatement statement, int from, int to) {
+        List<Integer> ids = IntStream.range(from, to).boxed().collect(Collectors.toList());
+
+        for (int i = 0, n = ids.size(); i < n; ++i) {
+            int id = ids.get(i);
+
+            statement.bind(0, id).bind(1, id << 1);
+
+            if (i + 1 < n) {
+                statement.add();
+            }
+        }
+
+        return statement.execute();
+    }
+}
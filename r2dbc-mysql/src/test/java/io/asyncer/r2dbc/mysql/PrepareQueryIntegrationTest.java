@@ -66,6 +66,26 @@ class PrepareQueryIntegrationTest extends QueryIntegrationTestSupport {
             .doOnNext(it -> assertEquals(it, Arrays.asList(1, 2, 3, 4, 5, 4, 5, 1, 2, 3, 4, 5))));
     }
 
+    @Test
+    void reuseAfterCancelFetch() {
+        String sql = "SELECT value FROM test WHERE id > ? ORDER BY id";
+
+        complete(connection -> Mono.from(connection.createStatement("CREATE TEMPORARY TABLE test" +
+            "(id INT PRIMARY KEY AUTO_INCREMENT,value INT)").execute())
+            .flatMap(IntegrationTestSupport::extractRowsUpdated)
+            .then(Mono.from(connection.createStatement("INSERT INTO test(`value`) VALUES (1),(2),(3),(4),(5)")
+                .execute()))
+            .flatMap(IntegrationTestSupport::extractRowsUpdated)
+            .thenMany(connection.createStatement(sql).bind(0, 0).fetchSize(1).execute())
+            .concatMap(r -> r.map((row, metadata) -> row.get(0, Integer.TYPE)))
+            .take(2)
+            // The cursor is still open, the cached statement should be reset before reusing.
+            .thenMany(connection.createStatement(sql).bind(0, 0).fetchSize(1).execute())
+            .concatMap(r -> r.map((row, metadata) -> row.get(0, Integer.TYPE)))
+            .collectList()
+            .doOnNext(it -> assertEquals(it, Arrays.asList(1, 2, 3, 4, 5))));
+    }
+
     @Test
     void insertFetch() {
         complete(connection -> Mono.from(connection.createStatement("CREATE TEMPORARY TABLE test" +
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.api.MySqlTransactionDefinition;
+import io.asyncer.r2dbc.mysql.cache.Caches;
+import io.asyncer.r2dbc.mysql.client.Client;
+import io.asyncer.r2dbc.mysql.client.FluxExchangeable;
+import io.asyncer.r2dbc.mysql.constant.ServerStatuses;
+import io.asyncer.r2dbc.mysql.message.client.ClientMessage;
+import io.asyncer.r2dbc.mysql.message.client.PingMessage;
+import io.asyncer.r2dbc.mysql.message.client.TextQueryMessage;
+import io.asyncer.r2dbc.mysql.message.server.ErrorMessage;
+import io.asyncer.r2dbc.mysql.message.server.OkMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.ReferenceCounted;
+import io.r2dbc.spi.IsolationLevel;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link QueryBatcher}.
+ */
+class QueryBatcherTest {
+
+    @Test
+    void badArguments() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new QueryBatcher(1, Duration.ofMillis(1)));
+        assertThatIllegalArgumentException().isThrownBy(() -> new QueryBatcher(2, null));
+    }
+
+    @Test
+    void batchable() {
+        ConnectionContext context = ConnectionContextTest.mock();
+
+        assertThat(QueryBatcher.isBatchable(context, "SELECT * FROM t WHERE id = ?")).isTrue();
+        assertThat(QueryBatcher.isBatchable(context, "  select value from t where id = 1")).isTrue();
+        assertThat(QueryBatcher.isBatchable(context, "SELECT(1)")).isTrue();
+        assertThat(QueryBatcher.isBatchable(context, "SELECTED")).isFalse();
+        assertThat(QueryBatcher.isBatchable(context, "UPDATE t SET value = 1 WHERE id = 1")).isFalse();
+        assertThat(QueryBatcher.isBatchable(context, "SELECT 1; SELECT 2")).isFalse();
+        assertThat(QueryBatcher.isBatchable(context, "SELECT ';'")).isFalse();
+        assertThat(QueryBatcher.isBatchable(context, "SELECT * FROM t WHERE id = 1 FOR UPDATE")).isFalse();
+        assertThat(QueryBatcher.isBatchable(context, "SELECT * FROM t WHERE id = 1 for share")).isFalse();
+        assertThat(QueryBatcher.isBatchable(context, "SELECT * FROM t WHERE id = 1 LOCK IN SHARE MODE")).isFalse();
+        assertThat(QueryBatcher.isBatchable(context, "SELECT value INTO @v FROM t WHERE id = 1")).isFalse();
+        assertThat(QueryBatcher.isBatchable(context, "SELECT lock_time, format FROM t WHERE id = 1")).isTrue();
+    }
+
+    @Test
+    void notBatchableInTransaction() {
+        ConnectionContext context = ConnectionContextTest.mock();
+
+        context.initSession(
+            Caches.createPrepareCache(0),
+            IsolationLevel.REPEATABLE_READ,
+            false,
+            Duration.ZERO,
+            null,
+            null,
+            4194304,
+            1,
+            -1
+        );
+        context.beginPendingTransaction(MySqlTransactionDefinition.from(IsolationLevel.READ_COMMITTED));
+
+        assertThat(QueryBatcher.isBatchable(context, "SELECT * FROM t WHERE id = ?")).isFalse();
+    }
+
+    @Test
+    void splitByCompleteMessages() {
+        List<ClientMessage> requests = new ArrayList<>();
+        Queue<Flux<ServerMessage>> responses = new ArrayDeque<>();
+        QueryBatcher batcher = new QueryBatcher(2, Duration.ofMinutes(1));
+        ServerMessage first = new Row();
+        ServerMessage second = new Row();
+        ServerMessage third = new Row();
+        ServerMessage firstDone = ok(ServerStatuses.MORE_RESULTS_EXISTS);
+        ServerMessage secondDone = ok((short) 0);
+        List<ServerMessage> firstResult = new ArrayList<>();
+        List<ServerMessage> secondResult = new ArrayList<>();
+
+        responses.add(Flux.just(first, firstDone, second, third, secondDone));
+
+        Client client = client(requests, responses);
+
+        batcher.submit(client, "SELECT 1").subscribe(firstResult::add);
+        assertThat(requests).isEmpty();
+
+        batcher.submit(client, "SELECT 2").subscribe(secondResult::add);
+
+        assertThat(requests).containsExactly(new TextQueryMessage("SELECT 1;SELECT 2"));
+        assertThat(firstResult).containsExactly(first, firstDone);
+        assertThat(secondResult).containsExactly(second, third, secondDone);
+    }
+
+    @Test
+    void executeFollowingAfterError() {
+        List<ClientMessage> requests = new ArrayList<>();
+        Queue<Flux<ServerMessage>> responses = new ArrayDeque<>();
+        QueryBatcher batcher = new QueryBatcher(3, Duration.ofMinutes(1));
+        ServerMessage firstDone = ok(ServerStatuses.MORE_RESULTS_EXISTS);
+        ServerMessage row = new Row();
+        ServerMessage thirdDone = ok((short) 0);
+        List<ServerMessage> firstResult = new ArrayList<>();
+        List<ServerMessage> secondResult = new ArrayList<>();
+        List<ServerMessage> thirdResult = new ArrayList<>();
+
+        responses.add(Flux.just(firstDone, error()));
+        responses.add(Flux.just(row, thirdDone));
+
+        Client client = client(requests, responses);
+
+        batcher.submit(client, "SELECT 1").subscribe(firstResult::add);
+        batcher.submit(client, "SELECT 2").subscribe(secondResult::add);
+        batcher.submit(client, "SELECT 3").subscribe(thirdResult::add);
+
+        // The following statement is sent in the same exchange, so no other exchange can overtake it.
+        assertThat(requests).containsExactly(new TextQueryMessage("SELECT 1;SELECT 2;SELECT 3"),
+            new TextQueryMessage("SELECT 3"));
+        verify(client, times(1)).exchange(any());
+        assertThat(firstResult).containsExactly(firstDone);
+        assertThat(secondResult).hasSize(1);
+        assertThat(secondResult.get(0)).isInstanceOf(ErrorMessage.class);
+        assertThat(((ErrorMessage) secondResult.get(0)).toException().getSql()).isEqualTo("SELECT 2");
+        assertThat(thirdResult).containsExactly(row, thirdDone);
+    }
+
+    @Test
+    void skipCancelledBeforeSending() {
+        List<ClientMessage> requests = new ArrayList<>();
+        Queue<Flux<ServerMessage>> responses = new ArrayDeque<>();
+        QueryBatcher batcher = new QueryBatcher(3, Duration.ofMinutes(1));
+        ServerMessage firstDone = ok(ServerStatuses.MORE_RESULTS_EXISTS);
+        ServerMessage thirdDone = ok((short) 0);
+        List<ServerMessage> firstResult = new ArrayList<>();
+        List<ServerMessage> thirdResult = new ArrayList<>();
+
+        responses.add(Flux.just(firstDone, thirdDone));
+
+        Client client = client(requests, responses);
+
+        batcher.submit(client, "SELECT 1").subscribe(firstResult::add);
+        batcher.submit(client, "SELECT 2").subscribe().dispose();
+        batcher.submit(client, "SELECT 3").subscribe(thirdResult::add);
+
+        assertThat(requests).containsExactly(new TextQueryMessage("SELECT 1;SELECT 3"));
+        assertThat(firstResult).containsExactly(firstDone);
+        assertThat(thirdResult).containsExactly(thirdDone);
+    }
+
+    @Test
+    void releaseCancelledAfterSending() {
+        List<ClientMessage> requests = new ArrayList<>();
+        Queue<Flux<ServerMessage>> responses = new ArrayDeque<>();
+        QueryBatcher batcher = new QueryBatcher(2, Duration.ofMinutes(1));
+        Sinks.Many<ServerMessage> server = Sinks.many().unicast().onBackpressureBuffer();
+        ServerMessage firstDone = ok(ServerStatuses.MORE_RESULTS_EXISTS);
+        Row row = new Row();
+        List<ServerMessage> firstResult = new ArrayList<>();
+        List<ServerMessage> secondResult = new ArrayList<>();
+
+        responses.add(server.asFlux());
+
+        Client client = client(requests, responses);
+
+        batcher.submit(client, "SELECT 1").subscribe(firstResult::add);
+
+        Disposable second = batcher.submit(client, "SELECT 2").subscribe(secondResult::add);
+
+        server.tryEmitNext(firstDone);
+        second.dispose();
+        server.tryEmitNext(row);
+        server.tryEmitNext(ok((short) 0));
+        server.tryEmitComplete();
+
+        assertThat(firstResult).containsExactly(firstDone);
+        assertThat(secondResult).isEmpty();
+        assertThat(row.refCnt()).isZero();
+    }
+
+    @Test
+    void flushBeforeOtherExchanges() {
+        List<ClientMessage> requests = new ArrayList<>();
+        Queue<Flux<ServerMessage>> responses = new ArrayDeque<>();
+        ConnectionContext context = ConnectionContextTest.create(null, builder -> builder
+            .autoBatchSize(3)
+            .autoBatchWindow(Duration.ofMinutes(1)));
+        QueryBatcher batcher = context.getQueryBatcher();
+        ServerMessage firstDone = ok(ServerStatuses.MORE_RESULTS_EXISTS);
+        ServerMessage secondDone = ok((short) 0);
+        ServerMessage thirdDone = ok((short) 0);
+        List<ServerMessage> firstResult = new ArrayList<>();
+        List<ServerMessage> secondResult = new ArrayList<>();
+        List<ServerMessage> thirdResult = new ArrayList<>();
+
+        responses.add(Flux.just(firstDone, secondDone));
+        responses.add(Flux.just(thirdDone));
+
+        Client client = client(requests, responses);
+
+        when(client.getContext()).thenReturn(context);
+        when(client.exchange(any(), any())).thenAnswer(it -> {
+            requests.add(it.getArgument(0));
+
+            return Flux.empty();
+        });
+
+        assertThat(batcher).isNotNull();
+
+        batcher.submit(client, "SELECT 1").subscribe(firstResult::add);
+        batcher.submit(client, "SELECT 2").subscribe(secondResult::add);
+        QueryFlow.ping(client).subscribe();
+        batcher.submit(client, "SELECT 3").subscribe(thirdResult::add);
+        QueryFlow.executeVoid(client, "SET @v = 1").subscribe();
+
+        assertThat(requests).containsExactly(
+            new TextQueryMessage("SELECT 1;SELECT 2"),
+            PingMessage.INSTANCE,
+            new TextQueryMessage("SELECT 3"),
+            new TextQueryMessage("SET @v = 1")
+        );
+        assertThat(firstResult).containsExactly(firstDone);
+        assertThat(secondResult).containsExactly(secondDone);
+        assertThat(thirdResult).containsExactly(thirdDone);
+    }
+
+    private static Client client(List<ClientMessage> requests, Queue<Flux<ServerMessage>> responses) {
+        Client client = mock(Client.class);
+
+        when(client.exchange(any())).thenAnswer(it -> Flux.defer(() -> {
+            FluxExchangeable<ServerMessage> exchangeable = it.getArgument(0);
+
+            return exchangeable.concatMap(request -> {
+                requests.add(request);
+
+                return responses.remove();
+            }).handle(exchangeable).doFinally(ignored -> exchangeable.dispose());
+        }));
+
+        return client;
+    }
+
+    private static OkMessage ok(short serverStatuses) {
+        return OkMessage.synthetic(0, 0, serverStatuses, 0);
+    }
+
+    private static ErrorMessage error() {
+        ByteBuf buf = Unpooled.buffer();
+
+        try {
+            buf.writeByte(0xFF).writeShortLE(1146).writeByte('#');
+            buf.writeCharSequence("42S02", StandardCharsets.US_ASCII);
+            buf.writeCharSequence("Table 'test.t' doesn't exist", StandardCharsets.US_ASCII);
+
+            return ErrorMessage.decode(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static final class Row extends AbstractReferenceCounted implements ServerMessage {
+
+        @Override
+        protected void deallocate() {
+            // Nothing to release.
+        }
+
+        @Override
+        public ReferenceCounted touch(Object hint) {
+            return this;
+        }
+    }
+}
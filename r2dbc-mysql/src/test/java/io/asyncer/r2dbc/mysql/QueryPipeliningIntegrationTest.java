@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.r2dbc.spi.R2dbcBadGrammarException;
+import io.r2dbc.spi.ValidationDepth;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for pipelining simple queries across exchanges.
+ */
+class QueryPipeliningIntegrationTest extends IntegrationTestSupport {
+
+    QueryPipeliningIntegrationTest() {
+        super(configuration(builder -> builder.queryPipelining(true)));
+    }
+
+    @Test
+    void concurrentQueries() {
+        complete(connection -> Flux.range(0, 50)
+            .flatMap(i -> Flux.from(connection.createStatement("SELECT " + i).execute())
+                .flatMap(result -> result.map((row, metadata) -> row.get(0, Integer.class))))
+            .collectList()
+            .doOnNext(it -> assertThat(it).containsExactlyInAnyOrderElementsOf(IntStream.range(0, 50)
+                .boxed()
+                .collect(Collectors.toList()))));
+    }
+
+    @Test
+    void isolatedErrors() {
+        complete(connection -> Flux.merge(
+                Flux.from(connection.createStatement("SELECT * FROM `no_such_table`").execute())
+                    .flatMap(result -> result.map((row, metadata) -> row.get(0, Integer.class)))
+                    .then(Mono.<Integer>error(new IllegalStateException("Bad grammar expected")))
+                    .onErrorResume(R2dbcBadGrammarException.class, e -> Mono.just(-1)),
+                Flux.from(connection.createStatement("SELECT 1").execute())
+                    .flatMap(result -> result.map((row, metadata) -> row.get(0, Integer.class))),
+                Mono.from(connection.validate(ValidationDepth.REMOTE)).map(valid -> valid ? 2 : 0))
+            .collectList()
+            .doOnNext(it -> assertThat(it).containsExactlyInAnyOrder(-1, 1, 2)));
+    }
+}
@@ -253,6 +253,36 @@ class QueryTest {
         assertThat(query1).isEqualTo(query2);
     }
 
+    @Test
+    void rewritableInsert() {
+        Query query = Query.parse("INSERT INTO `user` (`id`, `value`) VALUES (?id, '(?)' + ?value)  ");
+
+        assertThat(query.isRewritableInsert()).isTrue();
+        assertThat(query.getInsertPrefix()).isEqualTo("INSERT INTO `user` (`id`, `value`) VALUES ");
+        assertThat(query.getInsertValues().getFormattedSql()).isEqualTo("(?, '(?)' + ?)");
+        assertThat(query.getInsertValues().getNamedIndexes()).isEqualTo(query.getNamedIndexes());
+
+        query = Query.parse("insert user value(?, (SELECT MAX(id) FROM t))");
+
+        assertThat(query.isRewritableInsert()).isTrue();
+        assertThat(query.getInsertPrefix()).isEqualTo("insert user value");
+        assertThat(query.getInsertValues().getFormattedSql()).isEqualTo("(?, (SELECT MAX(id) FROM t))");
+
+        assertThat(Query.parse("INSERT INTO `user` VALUES (1, 2)").isRewritableInsert()).isFalse();
+        assertThat(Query.parse("INSERT IGNORE INTO `user` VALUES (?)").isRewritableInsert()).isFalse();
+        assertThat(Query.parse("INSERT LOW_PRIORITY IGNORE INTO `user` VALUES (?)").isRewritableInsert())
+            .isFalse();
+        assertThat(Query.parse("INSERT INTO `user` VALUES (?), (?)").isRewritableInsert()).isFalse();
+        assertThat(Query.parse("INSERT INTO `user` VALUES (?);").isRewritableInsert()).isFalse();
+        assertThat(Query.parse("INSERT INTO `user` VALUES (?) ON DUPLICATE KEY UPDATE `id` = ?")
+            .isRewritableInsert()).isFalse();
+        assertThat(Query.parse("INSERT INTO `user` SELECT * FROM `t` WHERE `id` = ?").isRewritableInsert())
+            .isFalse();
+        assertThat(Query.parse("INSERT INTO `user` VALUES (? /* ) */)").isRewritableInsert()).isFalse();
+        assertThat(Query.parse("/* hint */ INSERT INTO `user` VALUES (?)").isRewritableInsert()).isFalse();
+        assertThat(Query.parse("UPDATE `user` SET `name` = ?").isRewritableInsert()).isFalse();
+    }
+
     @Test
     void indexesEquals() {
         Query query1 = Query.parse("INSERT INTO `user` (`id`, `name`, `age`, `updated_at`, `created_at`) " +
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.api.MySqlStatement;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for rewriting batched {@code INSERT} statements of {@link TextParameterizedStatement}.
+ */
+class RewriteBatchedInsertsIntegrationTest extends IntegrationTestSupport {
+
+    private static final String TDL = "CREATE TEMPORARY TABLE test(" +
+        "id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,value VARCHAR(20))";
+
+    RewriteBatchedInsertsIntegrationTest() {
+        super(configuration(builder -> builder.rewriteBatchedInserts(true)));
+    }
+
+    @Test
+    void rowsUpdated() {
+        complete(connection -> Mono.from(connection.createStatement(TDL).execute())
+            .flatMap(IntegrationTestSupport::extractRowsUpdated)
+            .thenMany(insert(connection.createStatement("INSERT INTO test(value) VALUES (?value)"), 50)
+                .execute())
+            .concatMap(IntegrationTestSupport::extractRowsUpdated)
+            .collectList()
+            .doOnNext(it -> assertThat(it).isEqualTo(Collections.nCopies(50, 1L)))
+            .thenMany(connection.createStatement("SELECT value FROM test WHERE id IN (1, 25, 50) ORDER BY id")
+                .execute())
+            .concatMap(result -> result.map((row, metadata) -> row.get(0, String.class)))
+            .collectList()
+            .doOnNext(it -> assertThat(it).containsExactly("v'0", "v'24", "v'49")));
+    }
+
+    @Test
+    void generatedKeys() {
+        complete(connection -> Mono.from(connection.createStatement(TDL).execute())
+            .flatMap(IntegrationTestSupport::extractRowsUpdated)
+            .thenMany(insert(connection.createStatement("INSERT INTO test(value) VALUES (?value)"), 5)
+                .returnGeneratedValues("id")
+                .execute())
+            .concatMap(result -> result.map((row, metadata) -> row.get(0, Integer.class)))
+            .collectList()
+            .doOnNext(it -> assertThat(it).containsExactly(1, 2, 3, 4, 5)));
+    }
+
+    private static MySqlStatement insert(MySqlStatement statement, int size) {
+        for (int i = 0; i < size; ++i) {
+            statement.bind("value", "v'" + i);
+
+            if (i + 1 < size) {
+                statement.add();
+            }
+        }
+
+        return statement;
+    }
+}
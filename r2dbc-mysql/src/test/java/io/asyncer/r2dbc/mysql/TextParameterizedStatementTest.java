@@ -16,9 +16,22 @@
 
 package io.asyncer.r2dbc.mysql;
 
+import io.asyncer.r2dbc.mysql.api.MySqlResult;
+import io.asyncer.r2dbc.mysql.cache.PrepareCache;
 import io.asyncer.r2dbc.mysql.client.Client;
+import io.asyncer.r2dbc.mysql.client.FluxExchangeable;
 import io.asyncer.r2dbc.mysql.codec.Codecs;
+import io.asyncer.r2dbc.mysql.constant.ServerStatuses;
+import io.asyncer.r2dbc.mysql.message.server.OkMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
+import io.r2dbc.spi.IsolationLevel;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -47,6 +60,58 @@ class TextParameterizedStatementTest implements StatementTestSupport<TextParamet
         );
     }
 
+    private Flux<Long> executeRewritten(long affectedRows) {
+        ConnectionContext context = ConnectionContextTest.create(null, builder -> builder.rewriteBatchedInserts(true));
+        Client client = mock(Client.class);
+
+        context.initHandshake(1, ServerVersion.parse("8.0.11.MOCKED"), Capability.of(~0));
+        context.setServerStatuses(ServerStatuses.AUTO_COMMIT);
+        context.initSession(
+            mock(PrepareCache.class),
+            IsolationLevel.REPEATABLE_READ,
+            false,
+            Duration.ZERO,
+            null,
+            null,
+            4194304,
+            1,
+            -1
+        );
+        when(client.getContext()).thenReturn(context);
+        when(client.exchange(any())).thenAnswer(it -> Flux.defer(() -> {
+            FluxExchangeable<ServerMessage> exchangeable = it.getArgument(0);
+
+            exchangeable.blockFirst();
+
+            return Flux.<ServerMessage>just(OkMessage.synthetic(affectedRows, 0, ServerStatuses.AUTO_COMMIT, 0))
+                .handle(exchangeable);
+        }));
+
+        TextParameterizedStatement statement = new TextParameterizedStatement(client, codecs,
+            Query.parse("INSERT INTO test(value) VALUES (?)"));
+
+        statement.bind(0, "a").add().bind(0, "b").add().bind(0, "c");
+
+        return statement.execute().concatMap(MySqlResult::getRowsUpdated);
+    }
+
+    @Test
+    void rewriteBatchedInserts() {
+        executeRewritten(3)
+            .as(StepVerifier::create)
+            .expectNext(1L, 1L, 1L)
+            .verifyComplete();
+    }
+
+    @Test
+    void rewriteBatchedInsertsMismatched() {
+        // Some rows are not inserted, the result cannot be split into bindings, so it is merged.
+        executeRewritten(2)
+            .as(StepVerifier::create)
+            .expectNext(2L)
+            .verifyComplete();
+    }
+
     @Override
     public boolean supportsBinding() {
         return true;
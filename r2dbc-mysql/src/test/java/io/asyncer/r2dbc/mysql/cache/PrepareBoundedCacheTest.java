@@ -16,8 +16,12 @@
 
 package io.asyncer.r2dbc.mysql.cache;
 
+import io.asyncer.r2dbc.mysql.extension.MetricsRecorder;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.IntConsumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -52,6 +56,57 @@ class PrepareBoundedCacheTest {
         assertThat(cache.getIfPresent("SELECT 1")).isEqualTo(1);
     }
 
+    @Test
+    void clear() {
+        PrepareBoundedCache cache = mock();
+
+        assertThat(cache.putIfAbsent("SELECT 1", 1, ExceptionConsumer.INSTANCE)).isTrue();
+        assertThat(cache.putIfAbsent("SELECT 2", 2, ExceptionConsumer.INSTANCE)).isTrue();
+
+        cache.clear();
+
+        assertThat(cache.toString()).isEqualTo("[][][]");
+        assertThat(cache.getIfPresent("SELECT 1")).isNull();
+        assertThat(cache.putIfAbsent("SELECT 1", 3, ExceptionConsumer.INSTANCE)).isTrue();
+        assertThat(cache.toString()).isEqualTo("[3][][]");
+        assertThat(cache.getIfPresent("SELECT 1")).isEqualTo(3);
+    }
+
+    @Test
+    void metrics() {
+        AtomicInteger hits = new AtomicInteger();
+        AtomicInteger misses = new AtomicInteger();
+        AtomicInteger evictions = new AtomicInteger();
+        PrepareBoundedCache cache = new PrepareBoundedCache(3, new MetricsRecorder() {
+
+            @Override
+            public void recordCacheLookup(CacheType cache, boolean hit) {
+                assertThat(cache).isEqualTo(CacheType.PREPARE);
+                (hit ? hits : misses).incrementAndGet();
+            }
+
+            @Override
+            public void recordCacheEviction(CacheType cache) {
+                assertThat(cache).isEqualTo(CacheType.PREPARE);
+                evictions.incrementAndGet();
+            }
+        });
+        List<Integer> evicted = new ArrayList<>();
+
+        assertThat(cache.getIfPresent("SELECT 1")).isNull();
+        assertThat(cache.putIfAbsent("SELECT 1", 1, evicted::add)).isTrue();
+        assertThat(cache.getIfPresent("SELECT 1")).isEqualTo(1);
+
+        for (int i = 2; i <= 10; ++i) {
+            assertThat(cache.putIfAbsent("SELECT " + i, i, evicted::add)).isTrue();
+        }
+
+        assertThat(hits).hasValue(1);
+        assertThat(misses).hasValue(1);
+        assertThat(evicted).isNotEmpty();
+        assertThat(evictions).hasValue(evicted.size());
+    }
+
     private static PrepareBoundedCache mock() {
         return new PrepareBoundedCache(DEFAULT_CAPACITY);
     }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link PreparePromoter}.
+ */
+class PreparePromoterTest {
+
+    @Test
+    void promote() {
+        PreparePromoter promoter = Caches.createPreparePromoter(3, 256);
+
+        assertThat(promoter.test("SELECT 1")).isFalse();
+        assertThat(promoter.test("SELECT 1")).isFalse();
+        assertThat(promoter.test("SELECT 2")).isFalse();
+        assertThat(promoter.test("SELECT 1")).isTrue();
+        assertThat(promoter.test("SELECT 1")).isTrue();
+        assertThat(promoter.test("SELECT 2")).isFalse();
+    }
+
+    @Test
+    void alwaysPromote() {
+        PreparePromoter promoter = Caches.createPreparePromoter(1, -1);
+
+        assertThat(promoter.test("SELECT 1")).isTrue();
+        assertThat(promoter.test("SELECT 2")).isTrue();
+    }
+
+    @Test
+    void badThreshold() {
+        assertThatIllegalArgumentException().isThrownBy(() -> Caches.createPreparePromoter(0, 256));
+        assertThatIllegalArgumentException().isThrownBy(() -> Caches.createPreparePromoter(
+            Caches.MAX_PROMOTE_THRESHOLD + 1, 256));
+    }
+}
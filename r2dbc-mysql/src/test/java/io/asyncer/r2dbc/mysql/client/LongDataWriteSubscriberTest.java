@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.asyncer.r2dbc.mysql.ConnectionContextTest;
+import io.asyncer.r2dbc.mysql.MySqlParameter;
+import io.asyncer.r2dbc.mysql.ParameterWriter;
+import io.asyncer.r2dbc.mysql.constant.MySqlType;
+import io.asyncer.r2dbc.mysql.message.client.PreparedLargeDataMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link LongDataWriteSubscriber}.
+ */
+class LongDataWriteSubscriberTest {
+
+    @Test
+    void packetByPacket() {
+        AtomicLong requested = new AtomicLong();
+        EmbeddedChannel channel = new EmbeddedChannel(new MessageDuplexCodec(ConnectionContextTest.mock()));
+
+        channel.writeAndFlush(new PreparedLargeDataMessage(7, 1, new ChunkedParameter(3, requested)));
+        channel.runPendingTasks();
+
+        // Each chunk is an individual packet which sequence starts from 0.
+        assertThat(outbound(channel)).containsExactly(
+            "09000000", "180700000001000000",
+            "09000000", "180700000001000101",
+            "09000000", "180700000001000202"
+        );
+        // One by one, including the request for completion.
+        assertThat(requested).hasValue(4);
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void emptyData() {
+        EmbeddedChannel channel = new EmbeddedChannel(new MessageDuplexCodec(ConnectionContextTest.mock()));
+
+        channel.writeAndFlush(new PreparedLargeDataMessage(7, 1, new ChunkedParameter(0, new AtomicLong())));
+        channel.runPendingTasks();
+
+        assertThat(outbound(channel)).containsExactly("07000000", "18070000000100");
+        channel.finishAndReleaseAll();
+    }
+
+    private static List<String> outbound(EmbeddedChannel channel) {
+        List<String> result = new ArrayList<>();
+        ByteBuf buf;
+
+        while ((buf = channel.readOutbound()) != null) {
+            if (buf.isReadable()) {
+                result.add(ByteBufUtil.hexDump(buf));
+            }
+
+            buf.release();
+        }
+
+        return result;
+    }
+
+    private static final class ChunkedParameter implements MySqlParameter {
+
+        private final int chunks;
+
+        private final AtomicLong requested;
+
+        private ChunkedParameter(int chunks, AtomicLong requested) {
+            this.chunks = chunks;
+            this.requested = requested;
+        }
+
+        @Override
+        public Mono<ByteBuf> publishBinary(ByteBufAllocator allocator) {
+            return Mono.error(new IllegalStateException("Unexpected binary encoding"));
+        }
+
+        @Override
+        public Mono<Void> publishText(ParameterWriter writer) {
+            return Mono.error(new IllegalStateException("Unexpected text encoding"));
+        }
+
+        @Override
+        public MySqlType getType() {
+            return MySqlType.LONGBLOB;
+        }
+
+        @Override
+        public boolean isLongData() {
+            return true;
+        }
+
+        @Override
+        public Flux<ByteBuf> publishLongData(ByteBufAllocator allocator) {
+            return Flux.range(0, chunks)
+                .doOnRequest(requested::addAndGet)
+                .map(i -> allocator.buffer().writeByte(i).writeByte(i));
+        }
+    }
+}
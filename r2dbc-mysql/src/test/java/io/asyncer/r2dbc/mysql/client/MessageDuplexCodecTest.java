@@ -0,0 +1,152 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.asyncer.r2dbc.mysql.ConnectionContextTest;
+import io.asyncer.r2dbc.mysql.api.MySqlReadableMetadata;
+import io.asyncer.r2dbc.mysql.constant.Packets;
+import io.asyncer.r2dbc.mysql.message.FieldValue;
+import io.asyncer.r2dbc.mysql.message.StreamingFieldValue;
+import io.asyncer.r2dbc.mysql.message.server.OkMessage;
+import io.asyncer.r2dbc.mysql.message.server.RowMessage;
+import io.asyncer.r2dbc.mysql.message.server.SyntheticMetadataMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link MessageDuplexCodec}.
+ */
+class MessageDuplexCodecTest {
+
+    @Test
+    void suspendReadingWhileStreamingBacklogged() {
+        ReadCounter counter = new ReadCounter();
+        EmbeddedChannel channel = new EmbeddedChannel(counter,
+            new MessageDuplexCodec(ConnectionContextTest.mock(false, ZoneId.systemDefault(), true)));
+
+        assertThat(channel.config().isAutoRead()).isTrue();
+
+        // Login completed, then a result with an integer column and a LOB column.
+        channel.writeInbound(packet(2, Unpooled.wrappedBuffer(new byte[] { 0, 0, 0, 2, 0, 0, 0 })));
+        assertThat((Object) channel.readInbound()).isInstanceOf(OkMessage.class);
+
+        channel.writeInbound(packet(1, Unpooled.wrappedBuffer(new byte[] { 2 })));
+        channel.writeInbound(packet(2, columnDefinition("id", 3, 0x21)));
+        channel.writeInbound(packet(3, columnDefinition("data", 251, 0x3F)));
+
+        assertThat((Object) channel.readInbound()).isInstanceOf(SyntheticMetadataMessage.class);
+
+        ByteBuf first = Unpooled.buffer(Packets.MAX_PAYLOAD_SIZE)
+            .writeByte(1).writeByte('1')
+            .writeByte(0xFE).writeLongLE(Packets.MAX_PAYLOAD_SIZE * 3L);
+
+        first.writeZero(Packets.MAX_PAYLOAD_SIZE - first.readableBytes());
+        channel.writeInbound(packet(4, first));
+
+        RowMessage row = channel.readInbound();
+        FieldValue[] fields = row.decode(false, new MySqlReadableMetadata[2]);
+
+        row.release();
+        assertThat(fields[1]).isInstanceOf(StreamingFieldValue.class);
+        assertThat(channel.config().isAutoRead()).isTrue();
+
+        channel.writeInbound(packet(5, Unpooled.buffer(Packets.MAX_PAYLOAD_SIZE)
+            .writeZero(Packets.MAX_PAYLOAD_SIZE)));
+        assertThat(channel.config().isAutoRead()).isFalse();
+
+        int reads = counter.reads;
+
+        // Explicit read operations are held back while the streaming field is backlogged.
+        channel.read();
+        assertThat(counter.reads).isEqualTo(reads);
+
+        ConsumeOne consumer = new ConsumeOne();
+
+        ((StreamingFieldValue) fields[1]).stream().subscribe(consumer);
+        channel.runPendingTasks();
+
+        assertThat(channel.config().isAutoRead()).isTrue();
+        assertThat(counter.reads).isEqualTo(reads + 1);
+
+        consumer.dispose();
+        assertThat(fields[0].release()).isTrue();
+        assertThat(fields[1].release()).isTrue();
+        channel.finishAndReleaseAll();
+    }
+
+    private static ByteBuf packet(int sequenceId, ByteBuf payload) {
+        ByteBuf buf = Unpooled.buffer(payload.readableBytes() + Packets.NORMAL_HEADER_SIZE)
+            .writeMediumLE(payload.readableBytes())
+            .writeByte(sequenceId)
+            .writeBytes(payload);
+
+        payload.release();
+
+        return buf;
+    }
+
+    private static ByteBuf columnDefinition(String name, int typeId, int collationId) {
+        ByteBuf buf = Unpooled.buffer();
+
+        for (String part : new String[] { "def", "test", "t", "t", name, name }) {
+            buf.writeByte(part.length()).writeCharSequence(part, StandardCharsets.US_ASCII);
+        }
+
+        return buf.writeByte(0x0C)
+            .writeShortLE(collationId)
+            .writeIntLE(0)
+            .writeByte(typeId)
+            .writeShortLE(0)
+            .writeByte(0)
+            .writeZero(2);
+    }
+
+    private static final class ReadCounter extends ChannelOutboundHandlerAdapter {
+
+        private int reads;
+
+        @Override
+        public void read(ChannelHandlerContext ctx) {
+            ++reads;
+            ctx.read();
+        }
+    }
+
+    private static final class ConsumeOne extends BaseSubscriber<ByteBuf> {
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            subscription.request(1);
+        }
+
+        @Override
+        protected void hookOnNext(ByteBuf value) {
+            value.release();
+        }
+    }
+}
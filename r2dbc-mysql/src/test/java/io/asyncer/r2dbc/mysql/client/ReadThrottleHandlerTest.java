@@ -0,0 +1,121 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.asyncer.r2dbc.mysql.message.server.OkMessage;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ReadThrottleHandler}.
+ */
+class ReadThrottleHandlerTest {
+
+    @Test
+    void suspendAndResume() {
+        ReadCounter counter = new ReadCounter();
+        ReadThrottleHandler handler = new ReadThrottleHandler(1, 3);
+        EmbeddedChannel channel = new EmbeddedChannel(counter, handler);
+
+        assertThat(channel.config().isAutoRead()).isTrue();
+
+        channel.writeInbound(message(), message());
+        assertThat(channel.config().isAutoRead()).isTrue();
+
+        channel.writeInbound(message());
+        assertThat(channel.config().isAutoRead()).isFalse();
+
+        int reads = counter.reads;
+
+        // Explicit read operations are held back during the suspension.
+        channel.read();
+        assertThat(counter.reads).isEqualTo(reads);
+
+        handler.consumed();
+        channel.runPendingTasks();
+        assertThat(channel.config().isAutoRead()).isFalse();
+        assertThat(counter.reads).isEqualTo(reads);
+
+        handler.consumed();
+        channel.runPendingTasks();
+        assertThat(channel.config().isAutoRead()).isTrue();
+        assertThat(counter.reads).isEqualTo(reads + 1);
+
+        channel.read();
+        assertThat(counter.reads).isEqualTo(reads + 2);
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void reset() {
+        ReadCounter counter = new ReadCounter();
+        ReadThrottleHandler handler = new ReadThrottleHandler(0, 2);
+        EmbeddedChannel channel = new EmbeddedChannel(counter, handler);
+
+        channel.writeInbound(message(), message(), message());
+        assertThat(channel.config().isAutoRead()).isFalse();
+
+        int reads = counter.reads;
+
+        handler.reset();
+        channel.runPendingTasks();
+        assertThat(channel.config().isAutoRead()).isTrue();
+        assertThat(counter.reads).isEqualTo(reads + 1);
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void keepManualRead() {
+        ReadCounter counter = new ReadCounter();
+        ReadThrottleHandler handler = new ReadThrottleHandler(0, 1);
+        EmbeddedChannel channel = new EmbeddedChannel(counter, handler);
+
+        channel.config().setAutoRead(false);
+
+        int reads = counter.reads;
+
+        channel.writeInbound(message());
+        channel.read();
+        assertThat(counter.reads).isEqualTo(reads);
+
+        handler.consumed();
+        channel.runPendingTasks();
+        // The auto-read is not enabled by the throttle, the held back read operation is reissued.
+        assertThat(channel.config().isAutoRead()).isFalse();
+        assertThat(counter.reads).isEqualTo(reads + 1);
+        channel.finishAndReleaseAll();
+    }
+
+    private static OkMessage message() {
+        return OkMessage.synthetic(0, 0, (short) 0, 0);
+    }
+
+    private static final class ReadCounter extends ChannelOutboundHandlerAdapter {
+
+        private int reads;
+
+        @Override
+        public void read(ChannelHandlerContext ctx) {
+            ++reads;
+            ctx.read();
+        }
+    }
+}
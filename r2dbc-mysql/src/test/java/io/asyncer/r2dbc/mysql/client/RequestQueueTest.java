@@ -17,6 +17,7 @@
 package io.asyncer.r2dbc.mysql.client;
 
 import io.asyncer.r2dbc.mysql.ConnectionContext;
+import io.asyncer.r2dbc.mysql.extension.MetricsRecorder;
 import io.asyncer.r2dbc.mysql.message.client.ClientMessage;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
@@ -132,6 +133,69 @@ class RequestQueueTest {
         assertThat(sources).extracting(Disposable::isDisposed).containsOnly(true);
     }
 
+    @Test
+    void pipeline() {
+        RequestQueue queue = new RequestQueue(true, null);
+        List<String> written = new ArrayList<>();
+        List<String> received = new ArrayList<>();
+
+        pipeline(queue, "A", written, received).subscribe();
+        pipeline(queue, "B", written, received).subscribe();
+        Mono.<Flux<String>>create(sink -> queue.submit(RequestTask.wrap(sink, Flux.defer(() -> {
+                written.add("C");
+                return Flux.just("C");
+            }).doOnNext(received::add))))
+            .flatMapMany(Function.identity())
+            .subscribe();
+        pipeline(queue, "D", written, received).subscribe();
+
+        // B is written ahead, C is not pipelinable, so D waits for C.
+        assertThat(written).containsExactly("A", "B");
+        assertThat(received).containsExactly("A");
+
+        queue.run();
+        queue.run();
+        assertThat(written).containsExactly("A", "B", "C");
+        assertThat(received).containsExactly("A", "B", "C");
+
+        Disposable canceled = pipeline(queue, "E", written, received).subscribe();
+
+        queue.run();
+        assertThat(written).containsExactly("A", "B", "C", "D", "E");
+        assertThat(received).containsExactly("A", "B", "C", "D");
+
+        // E has been written, so its responses should be drained after canceled.
+        canceled.dispose();
+        queue.run();
+        assertThat(received).containsExactly("A", "B", "C", "D", "E");
+    }
+
+    @Test
+    void metrics() {
+        List<Integer> depths = new ArrayList<>();
+        List<Long> waits = new ArrayList<>();
+        RequestQueue queue = new RequestQueue(false, new MetricsRecorder() {
+
+            @Override
+            public void recordRequestQueue(int depth, long waitNanos) {
+                depths.add(depth);
+                waits.add(waitNanos);
+            }
+        });
+
+        for (int i = 0; i < 3; ++i) {
+            Mono.<Mono<Boolean>>create(sink -> queue.submit(RequestTask.wrap(sink, Mono.just(true))))
+                .subscribe();
+        }
+
+        assertThat(depths).containsExactly(0);
+
+        queue.run();
+        queue.run();
+        assertThat(depths).containsExactly(0, 1, 0);
+        assertThat(waits).allSatisfy(it -> assertThat(it).isNotNegative());
+    }
+
     @Test
     void keeping() {
         RequestQueue queue = new RequestQueue();
@@ -139,6 +203,13 @@ class RequestQueueTest {
         assertThat(queue.keeping(-1)).isEqualTo(-1L);
     }
 
+    private static Flux<String> pipeline(RequestQueue queue, String name, List<String> written,
+        List<String> received) {
+        return Mono.<Flux<String>>create(sink -> queue.submit(RequestTask.pipeline(null, sink,
+                Flux.just(name).doOnNext(received::add), () -> written.add(name))))
+            .flatMapMany(Function.identity());
+    }
+
     private static final class IntegerData extends AtomicInteger implements ClientMessage, Disposable {
 
         private final int data;
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.asyncer.r2dbc.mysql.MySqlConnectionConfigurationTest;
+import io.asyncer.r2dbc.mysql.MySqlSslConfiguration;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link SslContextCache}.
+ */
+class SslContextCacheTest {
+
+    private static final String[] TLS1_2 = { "TLSv1.2" };
+
+    private static final String[] TLS1_2_AND_1_3 = { "TLSv1.2", "TLSv1.3" };
+
+    @Test
+    void keyByProtocols() {
+        SslContextCache cache = new SslContextCache();
+        MySqlSslConfiguration ssl = MySqlConnectionConfigurationTest.ssl(null, null, null);
+        AtomicInteger builds = new AtomicInteger();
+        Supplier<SslContext> builder = counting(builds);
+
+        SslContext first = cache.get(ssl, TLS1_2, builder);
+
+        assertThat(cache.get(ssl, TLS1_2.clone(), builder)).isSameAs(first);
+        assertThat(builds.get()).isOne();
+
+        SslContext second = cache.get(ssl, TLS1_2_AND_1_3, builder);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(builds.get()).isEqualTo(2);
+        assertThat(cache.get(ssl, TLS1_2, builder)).isSameAs(first);
+        assertThat(cache.get(ssl, TLS1_2_AND_1_3, builder)).isSameAs(second);
+        assertThat(builds.get()).isEqualTo(2);
+    }
+
+    @Test
+    void rebuildIfFilesChanged() throws IOException {
+        Path ca = Files.createTempFile("ca", ".pem");
+        Path cert = Files.createTempFile("cert", ".pem");
+        Path key = Files.createTempFile("key", ".pem");
+
+        try {
+            SslContextCache cache = new SslContextCache();
+            MySqlSslConfiguration ssl = MySqlConnectionConfigurationTest.ssl(ca.toString(), cert.toString(),
+                key.toString());
+            AtomicInteger builds = new AtomicInteger();
+            Supplier<SslContext> builder = counting(builds);
+
+            write(ca, "ca");
+            write(cert, "cert");
+            write(key, "key");
+
+            SslContext context = cache.get(ssl, TLS1_2, builder);
+
+            assertThat(cache.get(ssl, TLS1_2, builder)).isSameAs(context);
+            assertThat(builds.get()).isOne();
+
+            // The length has been changed.
+            write(cert, "new-cert");
+
+            SslContext lengthChanged = cache.get(ssl, TLS1_2, builder);
+
+            assertThat(lengthChanged).isNotSameAs(context);
+            assertThat(cache.get(ssl, TLS1_2, builder)).isSameAs(lengthChanged);
+            assertThat(builds.get()).isEqualTo(2);
+
+            // The modified time has been changed, but the length has not.
+            File keyFile = key.toFile();
+
+            assertThat(keyFile.setLastModified(keyFile.lastModified() - 60_000)).isTrue();
+
+            SslContext timeChanged = cache.get(ssl, TLS1_2, builder);
+
+            assertThat(timeChanged).isNotSameAs(lengthChanged);
+            assertThat(cache.get(ssl, TLS1_2, builder)).isSameAs(timeChanged);
+            assertThat(builds.get()).isEqualTo(3);
+
+            // The file has been removed.
+            Files.delete(ca);
+
+            assertThat(cache.get(ssl, TLS1_2, builder)).isNotSameAs(timeChanged);
+            assertThat(builds.get()).isEqualTo(4);
+        } finally {
+            Files.deleteIfExists(ca);
+            Files.deleteIfExists(cert);
+            Files.deleteIfExists(key);
+        }
+    }
+
+    private static void write(Path path, String content) throws IOException {
+        Files.write(path, content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static Supplier<SslContext> counting(AtomicInteger builds) {
+        return () -> {
+            builds.incrementAndGet();
+
+            try {
+                return SslContextBuilder.forClient().build();
+            } catch (SSLException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+}
@@ -80,6 +80,31 @@ interface CodecTestSupport<T> {
         }
     }
 
+    @Test
+    default void writeBinary() {
+        Codec<T> codec = getCodec();
+        T[] origin = originParameters();
+        ByteBuf[] binaries = binaryParameters(CharCollation.clientCharCollation().getCharset());
+
+        assertThat(origin).hasSize(binaries.length);
+
+        for (int i = 0; i < origin.length; ++i) {
+            ByteBuf buf = UnpooledByteBufAllocator.DEFAULT.buffer();
+            ByteBuf sized = sized(binaries[i]);
+            try {
+                if (codec.encode(origin[i], context()).writeBinary(buf)) {
+                    assertThat(buf).isEqualTo(sized);
+                } else {
+                    // Unsupported by the fast path, nothing should be written.
+                    assertThat(buf.isReadable()).isFalse();
+                }
+            } finally {
+                sized.release();
+                buf.release();
+            }
+        }
+    }
+
     @Test
     default void encodeStringify() {
         Codec<T> codec = getCodec();
@@ -16,6 +16,8 @@
 
 package io.asyncer.r2dbc.mysql.codec.lob;
 
+import io.asyncer.r2dbc.mysql.collation.CharCollation;
+import io.asyncer.r2dbc.mysql.message.StreamingFieldValue;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.junit.jupiter.api.Test;
@@ -23,6 +25,7 @@ import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -90,6 +93,63 @@ class LobUtilsTest {
         assertThat(buffers).extracting(ByteBuf::refCnt).containsOnly(0);
     }
 
+    @Test
+    void streamingFieldValue() {
+        StreamingFieldValue value = new StreamingFieldValue(() -> { });
+        List<ByteBuf> buffers = createMulti();
+
+        buffers.forEach(value::offer);
+        value.complete();
+
+        Flux.from(LobUtils.createBlob(value).stream())
+            .as(StepVerifier::create)
+            .expectNext(ByteBuffer.wrap(MULTI[0].getBytes()), ByteBuffer.wrap(MULTI[1].getBytes()),
+                ByteBuffer.wrap(MULTI[2].getBytes()))
+            .verifyComplete();
+
+        // Mock row releasing.
+        assertThat(value.release()).isTrue();
+        assertThat(buffers).extracting(ByteBuf::refCnt).containsOnly(0);
+    }
+
+    @Test
+    void streamingSplitCharacters() {
+        StreamingFieldValue value = new StreamingFieldValue(() -> { });
+        byte[] bytes = "R2DBC\u00e9\u4e2d".getBytes(StandardCharsets.UTF_8);
+
+        // Split both of 2-bytes and 3-bytes characters.
+        value.offer(Unpooled.wrappedBuffer(bytes, 0, 6));
+        value.offer(Unpooled.wrappedBuffer(bytes, 6, 2));
+        value.offer(Unpooled.wrappedBuffer(bytes, 8, bytes.length - 8));
+        value.complete();
+
+        Flux.from(LobUtils.createClob(value, CharCollation.clientCharCollation()).stream())
+            .map(CharSequence::toString)
+            .as(StepVerifier::create)
+            .expectNext("R2DBC", "\u00e9", "\u4e2d")
+            .verifyComplete();
+
+        assertThat(value.release()).isTrue();
+    }
+
+    @Test
+    void discardStreaming() {
+        StreamingFieldValue value = new StreamingFieldValue(() -> { });
+        List<ByteBuf> buffers = createMulti();
+
+        value.offer(buffers.get(0));
+
+        LobUtils.createBlob(value).discard().as(StepVerifier::create).verifyComplete();
+        // Mock row releasing, following buffers will be dropped.
+        assertThat(value.release()).isTrue();
+
+        value.offer(buffers.get(1));
+        value.offer(buffers.get(2));
+        value.complete();
+
+        assertThat(buffers).extracting(ByteBuf::refCnt).containsOnly(0);
+    }
+
     private static ByteBuf createSingle() {
         return Unpooled.wrappedBuffer(SINGLE.getBytes());
     }
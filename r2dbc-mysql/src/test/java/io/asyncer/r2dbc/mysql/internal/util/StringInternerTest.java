@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.internal.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link StringInterner}.
+ */
+class StringInternerTest {
+
+    @Test
+    void interned() {
+        StringInterner interner = new StringInterner(16);
+        ByteBuf buf = Unpooled.copiedBuffer("idnameid", StandardCharsets.UTF_8);
+
+        try {
+            String first = interner.read(buf, 2, StandardCharsets.UTF_8);
+            String name = interner.read(buf, 4, StandardCharsets.UTF_8);
+            String second = interner.read(buf, 2, StandardCharsets.UTF_8);
+
+            assertThat(first).isEqualTo("id").isSameAs(second);
+            assertThat(name).isEqualTo("name");
+            assertThat(buf.isReadable()).isFalse();
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void replaced() {
+        // Only one slot, every different string replaces the previous one.
+        StringInterner interner = new StringInterner(1);
+        ByteBuf buf = Unpooled.copiedBuffer("abcdab", StandardCharsets.UTF_8);
+
+        try {
+            String first = interner.read(buf, 2, StandardCharsets.UTF_8);
+
+            assertThat(interner.read(buf, 2, StandardCharsets.UTF_8)).isEqualTo("cd");
+            assertThat(interner.read(buf, 2, StandardCharsets.UTF_8)).isEqualTo(first).isNotSameAs(first);
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void charsetMismatch() {
+        StringInterner interner = new StringInterner(16);
+        ByteBuf buf = Unpooled.wrappedBuffer(new byte[] { (byte) 0xC3, (byte) 0xA9, (byte) 0xC3, (byte) 0xA9 });
+
+        assertThat(interner.read(buf, 2, StandardCharsets.UTF_8)).isEqualTo("é");
+        assertThat(interner.read(buf, 2, StandardCharsets.ISO_8859_1)).isEqualTo("Ã©");
+    }
+
+    @Test
+    void emptyAndBadCapacity() {
+        StringInterner interner = new StringInterner(4);
+
+        assertThat(interner.read(Unpooled.EMPTY_BUFFER, 0, StandardCharsets.UTF_8)).isEmpty();
+        assertThatIllegalArgumentException().isThrownBy(() -> new StringInterner(0));
+        assertThatIllegalArgumentException().isThrownBy(() -> new StringInterner(3));
+    }
+}
@@ -47,6 +47,31 @@ class StringUtilsTest {
         assertThat(StringUtils.quoteIdentifier(name)).isEqualTo('`' + name.replaceAll("`", "``") + '`');
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "INSERT INTO test VALUES (?)",
+        "  insert into test values (?)",
+        "REPLACE test(id) VALUES (?)",
+        "\n\tUpdate test SET value = ? WHERE id = ?",
+        "DELETE FROM test WHERE id = ?",
+    })
+    void isModification(String sql) {
+        assertThat(StringUtils.isModification(sql)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "",
+        "SELECT * FROM test WHERE id = ?",
+        "/* comment */ INSERT INTO test VALUES (?)",
+        "INSERT INTO test VALUES (?) RETURNING id",
+        "DELETE FROM test WHERE id = ? returning *",
+        "CALL insert_test(?)",
+    })
+    void isNotModification(String sql) {
+        assertThat(StringUtils.isModification(sql)).isFalse();
+    }
+
     @ParameterizedTest
     @NullAndEmptySource
     void badQuoteIdentifier(String name) {
@@ -17,6 +17,8 @@
 package io.asyncer.r2dbc.mysql.message.client;
 
 import io.asyncer.r2dbc.mysql.Query;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -26,6 +28,7 @@ import reactor.test.StepVerifier;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -178,6 +181,39 @@ class ParamWriterTest {
         assertThat(values).extracting(MockMySqlParameter::refCnt).containsOnly(0);
     }
 
+    @Test
+    void publishBufferSuccess() {
+        MockMySqlParameter[] values = { new MockMySqlParameter(true), new MockMySqlParameter(true) };
+        Query query = Query.parse("SELECT ? AS \u00e9, ? AS b");
+
+        for (int i = 0; i < 2; ++i) {
+            // Second publishing will use pre-encoded parts.
+            ByteBuf buf = Unpooled.buffer();
+
+            ParamWriter.publish(false, query, Flux.fromArray(values), buf, StandardCharsets.UTF_8)
+                .map(it -> it.toString(StandardCharsets.UTF_8))
+                .as(StepVerifier::create)
+                .expectNext("SELECT '' AS \u00e9, '' AS b")
+                .verifyComplete();
+
+            assertThat(buf.refCnt()).isOne();
+            buf.release();
+        }
+    }
+
+    @Test
+    void publishBufferPartially() {
+        MockMySqlParameter[] values = { new MockMySqlParameter(true), new MockMySqlParameter(false) };
+        ByteBuf buf = Unpooled.buffer();
+
+        ParamWriter.publish(false, parameterOnly(2), Flux.fromArray(values), buf, StandardCharsets.UTF_8)
+            .as(StepVerifier::create)
+            .verifyError(MockException.class);
+
+        assertThat(values).extracting(MockMySqlParameter::refCnt).containsOnly(0);
+        assertThat(buf.refCnt()).isZero();
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {
         "abc",
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.message.client;
+
+import io.asyncer.r2dbc.mysql.ConnectionContext;
+import io.asyncer.r2dbc.mysql.ConnectionContextTest;
+import io.asyncer.r2dbc.mysql.MySqlParameter;
+import io.asyncer.r2dbc.mysql.ParameterWriter;
+import io.asyncer.r2dbc.mysql.constant.MySqlType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PreparedBulkExecuteMessage}.
+ */
+class PreparedBulkExecuteMessageTest {
+
+    /**
+     * Flag, statement ID, bulk flags and types of 2 parameters.
+     */
+    private static final int HEADER_SIZE = Byte.BYTES + Integer.BYTES + Short.BYTES + Short.BYTES * 2;
+
+    /**
+     * Indicators of 2 parameters, a value of 40 bytes and a value of 50 bytes, includes their var-integer lengths.
+     */
+    private static final int ROW_SIZE = 2 + 41 + 51;
+
+    @Test
+    void splitByMaxAllowedPacket() {
+        ConnectionContext context = ConnectionContextTest.mock(true);
+        List<MySqlParameter[]> rows = new ArrayList<>();
+
+        for (int i = 0; i < 5; ++i) {
+            // Mix the synchronous fast path and the asynchronous encoding.
+            rows.add(new MySqlParameter[] { new FixedParameter(40, i % 2 == 0), new FixedParameter(50, true) });
+        }
+
+        PreparedBulkExecuteMessage message = new PreparedBulkExecuteMessage(1, rows,
+            HEADER_SIZE + ROW_SIZE * 2 + 1);
+        List<Integer> sizes = new ArrayList<>();
+
+        while (message != null) {
+            sizes.add(encodedSize(message, context));
+            message = message.takeRemaining();
+        }
+
+        assertThat(sizes).containsExactly(HEADER_SIZE + ROW_SIZE * 2, HEADER_SIZE + ROW_SIZE * 2,
+            HEADER_SIZE + ROW_SIZE);
+    }
+
+    @Test
+    void exceedByFirstRow() {
+        ConnectionContext context = ConnectionContextTest.mock(true);
+        List<MySqlParameter[]> rows = new ArrayList<>();
+
+        rows.add(new MySqlParameter[] { new FixedParameter(40, true), new FixedParameter(50, false) });
+        rows.add(new MySqlParameter[] { new FixedParameter(40, false), new FixedParameter(50, true) });
+
+        PreparedBulkExecuteMessage message = new PreparedBulkExecuteMessage(1, rows, HEADER_SIZE);
+
+        assertThat(encodedSize(message, context)).isEqualTo(HEADER_SIZE + ROW_SIZE);
+
+        PreparedBulkExecuteMessage remaining = message.takeRemaining();
+
+        assertThat(remaining).isNotNull();
+        assertThat(message.takeRemaining()).isNull();
+        assertThat(encodedSize(remaining, context)).isEqualTo(HEADER_SIZE + ROW_SIZE);
+        assertThat(remaining.takeRemaining()).isNull();
+    }
+
+    private static int encodedSize(PreparedBulkExecuteMessage message, ConnectionContext context) {
+        List<ByteBuf> buffers = message.encode(UnpooledByteBufAllocator.DEFAULT, context).collectList().block();
+        int size = 0;
+
+        assertThat(buffers).isNotNull();
+
+        for (ByteBuf buf : buffers) {
+            size += buf.readableBytes();
+            buf.release();
+        }
+
+        return size;
+    }
+
+    private static final class FixedParameter implements MySqlParameter {
+
+        private final int size;
+
+        private final boolean fast;
+
+        private FixedParameter(int size, boolean fast) {
+            this.size = size;
+            this.fast = fast;
+        }
+
+        @Override
+        public Mono<ByteBuf> publishBinary(ByteBufAllocator allocator) {
+            return Mono.fromSupplier(() -> allocator.buffer().writeByte(size).writeZero(size));
+        }
+
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            if (fast) {
+                buf.writeByte(size).writeZero(size);
+            }
+
+            return fast;
+        }
+
+        @Override
+        public Mono<Void> publishText(ParameterWriter writer) {
+            return Mono.empty();
+        }
+
+        @Override
+        public MySqlType getType() {
+            return MySqlType.VARCHAR;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2024 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.message.server;
+
+import io.asyncer.r2dbc.mysql.api.MySqlReadableMetadata;
+import io.asyncer.r2dbc.mysql.constant.MySqlType;
+import io.asyncer.r2dbc.mysql.message.CompactRowValue;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link RowMessage}.
+ */
+class RowMessageTest {
+
+    @Test
+    void decodeCompactText() {
+        ByteBuf buf = Unpooled.buffer()
+            .writeByte(3).writeBytes("abc".getBytes(StandardCharsets.US_ASCII))
+            .writeByte(RowMessage.NULL_VALUE)
+            .writeByte(0)
+            .writeByte(1).writeByte('1');
+        RowMessage message = new RowMessage(FieldReader.of(buffers(buf)));
+        CompactRowValue row = message.decodeCompact(false, metadata(
+            MySqlType.VARCHAR, MySqlType.VARCHAR, MySqlType.VARCHAR, MySqlType.INT));
+
+        message.release();
+
+        assertThat(row).isNotNull();
+        assertThat(row.size()).isEqualTo(4);
+        assertThat(row.getBufferSlice(0).toString(StandardCharsets.US_ASCII)).isEqualTo("abc");
+        assertThat(row.isNull(1)).isTrue();
+        assertThat(row.isNull(2)).isFalse();
+        assertThat(row.getBufferSlice(2).readableBytes()).isZero();
+        assertThat(row.getBufferSlice(3).toString(StandardCharsets.US_ASCII)).isEqualTo("1");
+        assertThat(row.release()).isTrue();
+        assertThat(buf.refCnt()).isZero();
+    }
+
+    @Test
+    void decodeCompactBinary() {
+        ByteBuf buf = Unpooled.buffer()
+            .writeByte(0)
+            // Null bitmap of 3 columns with 2-bits offset, the second column is null.
+            .writeByte(1 << 3)
+            .writeIntLE(42)
+            .writeByte(2).writeBytes("ok".getBytes(StandardCharsets.US_ASCII));
+        RowMessage message = new RowMessage(FieldReader.of(buffers(buf)));
+        CompactRowValue row = message.decodeCompact(true, metadata(
+            MySqlType.INT, MySqlType.BIGINT, MySqlType.VARCHAR));
+
+        message.release();
+
+        assertThat(row).isNotNull();
+        assertThat(row.size()).isEqualTo(3);
+        assertThat(row.getBufferSlice(0).readIntLE()).isEqualTo(42);
+        assertThat(row.isNull(1)).isTrue();
+        assertThat(row.getBufferSlice(2).toString(StandardCharsets.US_ASCII)).isEqualTo("ok");
+        assertThat(row.release()).isTrue();
+        assertThat(buf.refCnt()).isZero();
+    }
+
+    @Test
+    void decodeCompactMultiplePackets() {
+        // A row exceeds a packet, the fields are split into multiple buffers.
+        ByteBuf first = Unpooled.buffer().writeByte(3).writeBytes("ab".getBytes(StandardCharsets.US_ASCII));
+        ByteBuf second = Unpooled.buffer().writeByte('c').writeByte(1).writeByte('1');
+        List<ByteBuf> buffers = new ArrayList<>();
+
+        buffers.add(first);
+        buffers.add(second);
+
+        RowMessage message = new RowMessage(FieldReader.of(buffers));
+        CompactRowValue row = message.decodeCompact(false, metadata(MySqlType.VARCHAR, MySqlType.INT));
+
+        message.release();
+
+        assertThat(row).isNotNull();
+        assertThat(row.getBufferSlice(0).toString(StandardCharsets.US_ASCII)).isEqualTo("abc");
+        assertThat(row.getBufferSlice(1).toString(StandardCharsets.US_ASCII)).isEqualTo("1");
+        assertThat(row.release()).isTrue();
+        assertThat(first.refCnt()).isZero();
+        assertThat(second.refCnt()).isZero();
+    }
+
+    private static List<ByteBuf> buffers(ByteBuf buf) {
+        return new ArrayList<>(Collections.singletonList(buf));
+    }
+
+    private static MySqlReadableMetadata[] metadata(MySqlType... types) {
+        MySqlReadableMetadata[] metadata = new MySqlReadableMetadata[types.length];
+
+        for (int i = 0; i < types.length; ++i) {
+            metadata[i] = mock(MySqlReadableMetadata.class);
+            when(metadata[i].getType()).thenReturn(types[i]);
+        }
+
+        return metadata;
+    }
+}
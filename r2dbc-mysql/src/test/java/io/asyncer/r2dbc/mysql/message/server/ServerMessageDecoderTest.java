@@ -16,14 +16,24 @@
 
 package io.asyncer.r2dbc.mysql.message.server;
 
+import io.asyncer.r2dbc.mysql.ConnectionContext;
 import io.asyncer.r2dbc.mysql.ConnectionContextTest;
+import io.asyncer.r2dbc.mysql.api.MySqlReadableMetadata;
+import io.asyncer.r2dbc.mysql.constant.Packets;
+import io.asyncer.r2dbc.mysql.message.FieldValue;
+import io.asyncer.r2dbc.mysql.message.StreamingFieldValue;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.assertj.core.api.AbstractObjectAssert;
 import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -31,7 +41,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 /**
  * Unit tests for {@link ServerMessageDecoder}.
  */
-class ServerMessageDecoderTest {
+public class ServerMessageDecoderTest {
 
     @ParameterizedTest
     @MethodSource(value = { "okLikePayload" })
@@ -54,6 +64,216 @@ class ServerMessageDecoderTest {
         preparedOk.extracting(PreparedOkMessage::getTotalParameters).isEqualTo(1);
     }
 
+    @Test
+    void streamLastLobField() {
+        ConnectionContext context = ConnectionContextTest.mock(false, ZoneId.systemDefault(), true);
+        ServerMessageDecoder decoder = new ServerMessageDecoder();
+        DecodeContext result = lobResult(decoder, context);
+        // Header bytes: 2 bytes of the first field and 9 bytes of var-int length.
+        long length = Packets.MAX_PAYLOAD_SIZE - 11 + 5;
+        ServerMessage message = decoder.decode(firstRowPacket(length), context, result);
+
+        assertThat(message).isExactlyInstanceOf(RowMessage.class);
+
+        FieldValue[] fields = ((RowMessage) message).decode(false, new MySqlReadableMetadata[2]);
+
+        ((RowMessage) message).release();
+
+        assertThat(fields[1]).isExactlyInstanceOf(StreamingFieldValue.class);
+        assertThat(decoder.isBacklogged()).isFalse();
+
+        ByteBuf last = Unpooled.buffer().writeZero(5);
+
+        assertThat(decoder.decode(last, context, result)).isNull();
+        assertThat(decoder.isBacklogged()).isFalse();
+
+        Long total = ((StreamingFieldValue) fields[1]).stream()
+            .map(buf -> {
+                try {
+                    return (long) buf.readableBytes();
+                } finally {
+                    buf.release();
+                }
+            })
+            .reduce(0L, Long::sum)
+            .block();
+
+        assertThat(total).isEqualTo(length);
+        assertThat(fields[0].release()).isTrue();
+        assertThat(fields[1].release()).isTrue();
+        assertThat(last.refCnt()).isZero();
+    }
+
+    @Test
+    void dropReleasedStreamingField() {
+        ConnectionContext context = ConnectionContextTest.mock(false, ZoneId.systemDefault(), true);
+        ServerMessageDecoder decoder = new ServerMessageDecoder();
+        DecodeContext result = lobResult(decoder, context);
+        ByteBuf first = firstRowPacket(Packets.MAX_PAYLOAD_SIZE * 2L);
+        ServerMessage message = decoder.decode(first, context, result);
+
+        assertThat(message).isExactlyInstanceOf(RowMessage.class);
+
+        ByteBuf second = Unpooled.buffer(Packets.MAX_PAYLOAD_SIZE).writeZero(Packets.MAX_PAYLOAD_SIZE);
+
+        assertThat(decoder.decode(second, context, result)).isNull();
+        assertThat(decoder.isBacklogged()).isTrue();
+        assertThat(((RowMessage) message).release()).isTrue();
+        assertThat(decoder.isBacklogged()).isFalse();
+        assertThat(first.refCnt()).isZero();
+        assertThat(second.refCnt()).isZero();
+
+        ByteBuf last = Unpooled.buffer().writeZero(11);
+
+        assertThat(decoder.decode(last, context, result)).isNull();
+        assertThat(last.refCnt()).isZero();
+    }
+
+    @Test
+    void reuseCachedMetadata() {
+        ConnectionContext context = ConnectionContextTest.mock();
+        ServerMessageDecoder decoder = new ServerMessageDecoder();
+        SyntheticMetadataMessage first = preparedResult(decoder, context, null, "v");
+        CachedResultMetadata cached = first.getCached();
+
+        assertThat(cached).isNotNull();
+
+        SyntheticMetadataMessage second = preparedResult(decoder, context, cached, "v");
+
+        assertThat(second.getCached()).isSameAs(cached);
+        assertThat(second.unwrap()).isSameAs(first.unwrap());
+
+        SyntheticMetadataMessage changed = preparedResult(decoder, context, cached, "w");
+
+        assertThat(changed.getCached()).isNotNull().isNotSameAs(cached);
+        assertThat(changed.unwrap()[0]).isSameAs(first.unwrap()[0]);
+        assertThat(changed.unwrap()[1].getColumn()).isEqualTo("w");
+        assertThat(preparedResult(decoder, context, changed.getCached(), "w").getCached())
+            .isSameAs(changed.getCached());
+    }
+
+    @Test
+    void skippedMetadata() {
+        ConnectionContext context = ConnectionContextTest.mock(true);
+        ServerMessageDecoder decoder = new ServerMessageDecoder();
+
+        assertThat(decoder.decode(Unpooled.wrappedBuffer(new byte[] { 2, 0 }), context, DecodeContext.command()))
+            .isExactlyInstanceOf(ColumnCountMessage.class)
+            .extracting(message -> ((ColumnCountMessage) message).isMetadataFollows())
+            .isEqualTo(false);
+        assertThat(decoder.decode(Unpooled.wrappedBuffer(new byte[] { 2, 1 }), context, DecodeContext.command()))
+            .extracting(message -> ((ColumnCountMessage) message).isMetadataFollows())
+            .isEqualTo(true);
+
+        CachedResultMetadata cached = preparedResult(decoder, ConnectionContextTest.mock(), null, "v").getCached();
+
+        assertThat(cached).isNotNull();
+
+        ServerMessage message = decoder.decode(Unpooled.wrappedBuffer(new byte[] { (byte) 0xFE, 0, 0, 2, 0 }),
+            context, DecodeContext.cachedResult(false, cached));
+
+        assertThat(message).isExactlyInstanceOf(SyntheticMetadataMessage.class)
+            .extracting(it -> ((SyntheticMetadataMessage) it).getCached())
+            .isSameAs(cached);
+    }
+
+    /**
+     * Decodes a text result which contains at most one row, a {@link Long} value is defined as {@code BIGINT},
+     * others are defined as {@code VARCHAR}.
+     *
+     * @param context        the connection context.
+     * @param serverStatuses the server statuses of the OK message that terminates the result.
+     * @param columns        the column names.
+     * @param values         the values of the row, or empty if the result has no row.
+     * @return the decoded messages of the result.
+     */
+    public static List<ServerMessage> textResult(ConnectionContext context, short serverStatuses, String[] columns,
+        Object... values) {
+        ServerMessageDecoder decoder = new ServerMessageDecoder();
+        DecodeContext result = DecodeContext.result(true, columns.length, false);
+        List<ServerMessage> messages = new ArrayList<>();
+
+        for (int i = 0; i < columns.length; ++i) {
+            int typeId = values.length > 0 && values[i] instanceof Long ? 8 : 253;
+            ServerMessage message = decoder.decode(columnDefinition(columns[i], typeId, 0x21), context, result);
+
+            if (message != null) {
+                messages.add(message);
+            }
+        }
+
+        if (values.length > 0) {
+            ByteBuf row = Unpooled.buffer();
+
+            for (Object value : values) {
+                if (value == null) {
+                    row.writeByte(RowMessage.NULL_VALUE);
+                } else {
+                    String text = value.toString();
+
+                    row.writeByte(text.length()).writeCharSequence(text, StandardCharsets.US_ASCII);
+                }
+            }
+
+            messages.add(decoder.decode(row, context, result));
+        }
+
+        ByteBuf ok = Unpooled.buffer().writeByte(0xFE).writeByte(0).writeByte(0)
+            .writeShortLE(serverStatuses)
+            .writeShortLE(0);
+
+        messages.add(decoder.decode(ok, context, result));
+
+        return messages;
+    }
+
+    private static SyntheticMetadataMessage preparedResult(ServerMessageDecoder decoder, ConnectionContext context,
+        @Nullable CachedResultMetadata cached, String lastColumn) {
+        DecodeContext result = DecodeContext.preparedResult(true, 2, cached);
+
+        assertThat(decoder.decode(columnDefinition("id", 3, 0x21), context, result)).isNull();
+
+        ServerMessage message = decoder.decode(columnDefinition(lastColumn, 253, 0x21), context, result);
+
+        assertThat(message).isExactlyInstanceOf(SyntheticMetadataMessage.class);
+
+        return (SyntheticMetadataMessage) message;
+    }
+
+    private static DecodeContext lobResult(ServerMessageDecoder decoder, ConnectionContext context) {
+        DecodeContext result = DecodeContext.result(true, 2, false);
+
+        assertThat(decoder.decode(columnDefinition("id", 3, 0x21), context, result)).isNull();
+        assertThat(decoder.decode(columnDefinition("data", 251, 0x3F), context, result))
+            .isExactlyInstanceOf(SyntheticMetadataMessage.class);
+
+        return result;
+    }
+
+    private static ByteBuf columnDefinition(String name, int typeId, int collationId) {
+        ByteBuf buf = Unpooled.buffer();
+
+        for (String part : new String[] { "def", "test", "t", "t", name, name }) {
+            buf.writeByte(part.length()).writeCharSequence(part, StandardCharsets.US_ASCII);
+        }
+
+        return buf.writeByte(0x0C)
+            .writeShortLE(collationId)
+            .writeIntLE(0)
+            .writeByte(typeId)
+            .writeShortLE(0)
+            .writeByte(0)
+            .writeZero(2);
+    }
+
+    private static ByteBuf firstRowPacket(long length) {
+        ByteBuf buf = Unpooled.buffer(Packets.MAX_PAYLOAD_SIZE)
+            .writeByte(1).writeByte('1')
+            .writeByte(0xFE).writeLongLE(length);
+
+        return buf.writeZero(Packets.MAX_PAYLOAD_SIZE - buf.readableBytes());
+    }
+
     @Nullable
     private static ServerMessage decode(ByteBuf buf, DecodeContext decodeContext) {
         return new ServerMessageDecoder().decode(buf, ConnectionContextTest.mock(), decodeContext);